@@ -0,0 +1,32 @@
+package com.example.shop.adapter.in.rest.admin;
+
+import com.example.shop.adapter.in.rest.common.AdmissionControl;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+/**
+ * REST controller for the operators: reports how many cart changes the admission control admitted,
+ * and how many it rejected because their customer exceeded their rate or because too many were in
+ * progress, since the start.
+ *
+ * <p>Like the rest of the API, it isn't protected; expose {@code /admin} only internally.
+ *
+ * @author Paul Anthony Begley
+ */
+@Path("/admin/admission-control")
+@Produces(MediaType.APPLICATION_JSON)
+public class AdmissionControlController {
+
+  private final AdmissionControl admissionControl;
+
+  public AdmissionControlController(AdmissionControl admissionControl) {
+    this.admissionControl = admissionControl;
+  }
+
+  @GET
+  public AdmissionControlWebModel admissionControl() {
+    return AdmissionControlWebModel.fromDomainModel(admissionControl);
+  }
+}
@@ -0,0 +1,20 @@
+package com.example.shop.adapter.in.rest.admin;
+
+import com.example.shop.adapter.in.rest.common.AdmissionControl;
+
+/**
+ * Model class for returning the counters of an admission control via REST API.
+ *
+ * @author Paul Anthony Begley
+ */
+public record AdmissionControlWebModel(
+    long admittedRequests, long rateLimitedRequests, long shedRequests, int requestsInProgress) {
+
+  public static AdmissionControlWebModel fromDomainModel(AdmissionControl admissionControl) {
+    return new AdmissionControlWebModel(
+        admissionControl.admittedRequests(),
+        admissionControl.rateLimitedRequests(),
+        admissionControl.shedRequests(),
+        admissionControl.requestsInProgress());
+  }
+}
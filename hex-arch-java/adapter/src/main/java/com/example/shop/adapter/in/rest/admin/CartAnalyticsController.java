@@ -0,0 +1,79 @@
+package com.example.shop.adapter.in.rest.admin;
+
+import static com.example.shop.adapter.in.rest.common.ControllerCommons.clientErrorException;
+
+import com.example.shop.application.port.in.cart.GetCartAnalyticsUseCase;
+import com.example.shop.model.cart.CartAnalytics;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.Currency;
+
+/**
+ * REST controller for merchandising: returns live totals over all open carts, with their value in
+ * the requested currency, and the {@code top} products with the most items in carts (10 by default,
+ * at most 100).
+ *
+ * <p>Like the rest of the API, it isn't protected; expose {@code /admin} only internally.
+ *
+ * @author Paul Anthony Begley
+ */
+@Path("/admin/cart-analytics")
+@Produces(MediaType.APPLICATION_JSON)
+public class CartAnalyticsController {
+
+  static final int DEFAULT_TOP_PRODUCTS = 10;
+  static final int MAX_TOP_PRODUCTS = 100;
+
+  private final GetCartAnalyticsUseCase getCartAnalyticsUseCase;
+
+  public CartAnalyticsController(GetCartAnalyticsUseCase getCartAnalyticsUseCase) {
+    this.getCartAnalyticsUseCase = getCartAnalyticsUseCase;
+  }
+
+  @GET
+  public CartAnalyticsWebModel cartAnalytics(
+      @QueryParam("currency") String currencyCode, @QueryParam("top") String top) {
+    Currency currency = parseCurrency(currencyCode);
+    int topProducts = parseTopProducts(top);
+
+    CartAnalytics analytics;
+    try {
+      analytics = getCartAnalyticsUseCase.getCartAnalytics(currency, topProducts);
+    } catch (IllegalArgumentException e) {
+      throw clientErrorException(Response.Status.BAD_REQUEST, "No exchange rate for 'currency'");
+    }
+    return CartAnalyticsWebModel.fromDomainModel(analytics);
+  }
+
+  private static Currency parseCurrency(String currencyCode) {
+    if (currencyCode == null) {
+      throw clientErrorException(Response.Status.BAD_REQUEST, "Missing 'currency'");
+    }
+
+    try {
+      return Currency.getInstance(currencyCode);
+    } catch (IllegalArgumentException e) {
+      throw clientErrorException(Response.Status.BAD_REQUEST, "Invalid 'currency'");
+    }
+  }
+
+  private static int parseTopProducts(String top) {
+    if (top == null) {
+      return DEFAULT_TOP_PRODUCTS;
+    }
+
+    try {
+      int topProducts = Integer.parseInt(top);
+      if (topProducts >= 0 && topProducts <= MAX_TOP_PRODUCTS) {
+        return topProducts;
+      }
+    } catch (NumberFormatException e) {
+      // handled below
+    }
+    throw clientErrorException(Response.Status.BAD_REQUEST, "Invalid 'top'");
+  }
+}
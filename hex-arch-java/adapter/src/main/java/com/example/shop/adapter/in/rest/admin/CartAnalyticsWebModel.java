@@ -0,0 +1,42 @@
+package com.example.shop.adapter.in.rest.admin;
+
+import com.example.shop.model.cart.CartAnalytics;
+import com.example.shop.model.cart.CartAnalytics.ProductInCarts;
+import com.example.shop.model.money.Money;
+import java.util.List;
+
+/**
+ * Model class for returning the totals over all open carts via REST API.
+ *
+ * @author Paul Anthony Begley
+ */
+public record CartAnalyticsWebModel(
+    long openCarts,
+    long numberOfItems,
+    double averageNumberOfItems,
+    Money totalValue,
+    List<ProductInCartsWebModel> topProducts) {
+
+  public static CartAnalyticsWebModel fromDomainModel(CartAnalytics analytics) {
+    return new CartAnalyticsWebModel(
+        analytics.openCarts(),
+        analytics.numberOfItems(),
+        analytics.averageNumberOfItems(),
+        analytics.totalValue(),
+        analytics.topProducts().stream().map(ProductInCartsWebModel::fromDomainModel).toList());
+  }
+
+  /** A product with the number of its items in all carts and the number of carts containing it. */
+  public record ProductInCartsWebModel(
+      String productId, String productName, Money price, long numberOfItems, long carts) {
+
+    static ProductInCartsWebModel fromDomainModel(ProductInCarts productInCarts) {
+      return new ProductInCartsWebModel(
+          productInCarts.product().id().value(),
+          productInCarts.product().name(),
+          productInCarts.product().price(),
+          productInCarts.numberOfItems(),
+          productInCarts.carts());
+    }
+  }
+}
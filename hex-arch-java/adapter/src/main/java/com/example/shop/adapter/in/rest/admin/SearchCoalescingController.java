@@ -0,0 +1,32 @@
+package com.example.shop.adapter.in.rest.admin;
+
+import com.example.shop.application.port.in.product.GetSearchCoalescingUseCase;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+/**
+ * REST controller for the operators: reports how many product searches were requested and how many
+ * were actually run, the others having been coalesced with an identical search, since the start.
+ *
+ * <p>Like the rest of the API, it isn't protected; expose {@code /admin} only internally.
+ *
+ * @author Paul Anthony Begley
+ */
+@Path("/admin/search-coalescing")
+@Produces(MediaType.APPLICATION_JSON)
+public class SearchCoalescingController {
+
+  private final GetSearchCoalescingUseCase getSearchCoalescingUseCase;
+
+  public SearchCoalescingController(GetSearchCoalescingUseCase getSearchCoalescingUseCase) {
+    this.getSearchCoalescingUseCase = getSearchCoalescingUseCase;
+  }
+
+  @GET
+  public SearchCoalescingWebModel searchCoalescing() {
+    return SearchCoalescingWebModel.fromDomainModel(
+        getSearchCoalescingUseCase.getSearchCoalescing());
+  }
+}
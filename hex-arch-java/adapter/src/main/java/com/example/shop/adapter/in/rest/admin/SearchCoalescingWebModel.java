@@ -0,0 +1,18 @@
+package com.example.shop.adapter.in.rest.admin;
+
+import com.example.shop.application.port.in.product.SearchCoalescing;
+
+/**
+ * Model class for returning the counters of the search coalescing via REST API.
+ *
+ * @author Paul Anthony Begley
+ */
+public record SearchCoalescingWebModel(long searches, long executions, double coalescingRatio) {
+
+  public static SearchCoalescingWebModel fromDomainModel(SearchCoalescing searchCoalescing) {
+    return new SearchCoalescingWebModel(
+        searchCoalescing.searches(),
+        searchCoalescing.executions(),
+        searchCoalescing.coalescingRatio());
+  }
+}
@@ -0,0 +1,40 @@
+package com.example.shop.adapter.in.rest.admin;
+
+import com.example.shop.adapter.in.rest.common.SlowRequest;
+import com.example.shop.application.timing.RequestTiming.Layer;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Model class for returning a slow request via REST API, with durations in milliseconds.
+ *
+ * @author Paul Anthony Begley
+ */
+public record SlowRequestWebModel(
+    String finishedAt,
+    String method,
+    String path,
+    int status,
+    double totalMillis,
+    Map<String, Double> layerMillis) {
+
+  public static SlowRequestWebModel fromDomainModel(SlowRequest request) {
+    Map<String, Double> layerMillis = new LinkedHashMap<>();
+    for (Layer layer : Layer.values()) {
+      layerMillis.put(layer.name().toLowerCase(Locale.ROOT), millis(request.layers().get(layer)));
+    }
+    return new SlowRequestWebModel(
+        request.finishedAt().toString(),
+        request.method(),
+        request.path(),
+        request.status(),
+        millis(request.total()),
+        layerMillis);
+  }
+
+  private static double millis(Duration duration) {
+    return duration.toNanos() / 1_000_000.0;
+  }
+}
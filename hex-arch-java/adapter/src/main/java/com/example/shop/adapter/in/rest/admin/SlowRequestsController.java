@@ -0,0 +1,34 @@
+package com.example.shop.adapter.in.rest.admin;
+
+import com.example.shop.adapter.in.rest.common.SlowRequestLog;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import java.util.List;
+
+/**
+ * REST controller for the operators: lists the most recent slow requests, with the time each spent
+ * per layer.
+ *
+ * <p>Like the rest of the API, it isn't protected; expose {@code /admin} only internally.
+ *
+ * @author Paul Anthony Begley
+ */
+@Path("/admin/slow-requests")
+@Produces(MediaType.APPLICATION_JSON)
+public class SlowRequestsController {
+
+  private final SlowRequestLog slowRequestLog;
+
+  public SlowRequestsController(SlowRequestLog slowRequestLog) {
+    this.slowRequestLog = slowRequestLog;
+  }
+
+  @GET
+  public List<SlowRequestWebModel> slowRequests() {
+    return slowRequestLog.recentRequests().stream()
+        .map(SlowRequestWebModel::fromDomainModel)
+        .toList();
+  }
+}
@@ -0,0 +1,90 @@
+package com.example.shop.adapter.in.rest.cart;
+
+import static com.example.shop.adapter.in.rest.cart.CustomerIdParser.parseCustomerId;
+import static com.example.shop.adapter.in.rest.cart.ProductIdParser.parseProductId;
+import static com.example.shop.adapter.in.rest.common.ControllerCommons.clientErrorException;
+import static com.example.shop.adapter.in.rest.common.ControllerCommons.errorResponse;
+
+import com.example.shop.adapter.in.rest.common.AdmissionControl;
+import com.example.shop.adapter.in.rest.common.UseCaseExecutor;
+import com.example.shop.application.port.in.cart.AddToCartResult;
+import com.example.shop.application.port.in.cart.AddToCartResult.Added;
+import com.example.shop.application.port.in.cart.AddToCartResult.NotEnoughItemsInStock;
+import com.example.shop.application.port.in.cart.AddToCartResult.ProductNotFound;
+import com.example.shop.application.port.in.cart.AddToCartUseCase;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.product.ProductId;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * REST controller for the "add a product to a shopping cart" use case. The use case runs
+ * asynchronously on the {@link UseCaseExecutor}, releasing the web server's thread while the
+ * product and cart are loaded and the cart is saved. Requests must pass the {@link
+ * AdmissionControl} first, which keeps bots from flooding the use case.
+ *
+ * @author Paul Anthony Begley
+ */
+@Path("/carts")
+@Produces(MediaType.APPLICATION_JSON)
+public class AddToCartController {
+
+  private final AddToCartUseCase addToCartUseCase;
+  private final UseCaseExecutor useCaseExecutor;
+  private final AdmissionControl admissionControl;
+
+  public AddToCartController(AddToCartUseCase addToCartUseCase, UseCaseExecutor useCaseExecutor) {
+    this(addToCartUseCase, useCaseExecutor, AdmissionControl.unlimited());
+  }
+
+  public AddToCartController(
+      AddToCartUseCase addToCartUseCase,
+      UseCaseExecutor useCaseExecutor,
+      AdmissionControl admissionControl) {
+    this.addToCartUseCase = addToCartUseCase;
+    this.useCaseExecutor = useCaseExecutor;
+    this.admissionControl = admissionControl;
+  }
+
+  @POST
+  @Path("/{customerId}/line-items")
+  public CompletionStage<Response> addLineItem(
+      @PathParam("customerId") String customerIdString,
+      @QueryParam("productId") String productIdString,
+      @QueryParam("quantity") int quantity) {
+    CustomerId customerId = parseCustomerId(customerIdString);
+    ProductId productId = parseProductId(productIdString);
+
+    return admissionControl.admit(
+        customerId,
+        () -> useCaseExecutor.supplyAsync(() -> addToCart(customerId, productId, quantity)));
+  }
+
+  /**
+   * Maps the use case's result directly to a response, so that the frequent failures while a
+   * product is sold out don't cost an exception each.
+   */
+  private Response addToCart(CustomerId customerId, ProductId productId, int quantity) {
+    AddToCartResult result;
+    try {
+      result = addToCartUseCase.tryAddToCart(customerId, productId, quantity);
+    } catch (IllegalArgumentException e) {
+      throw clientErrorException(Response.Status.BAD_REQUEST, "Invalid 'quantity'");
+    }
+
+    return switch (result) {
+      case Added(Cart cart) -> Response.ok(CartWebModel.fromDomainModel(cart)).build();
+      case ProductNotFound() ->
+          errorResponse(Response.Status.BAD_REQUEST, "The requested product does not exist");
+      case NotEnoughItemsInStock(int itemsInStock) ->
+          errorResponse(Response.Status.BAD_REQUEST, "Only " + itemsInStock + " items in stock");
+    };
+  }
+}
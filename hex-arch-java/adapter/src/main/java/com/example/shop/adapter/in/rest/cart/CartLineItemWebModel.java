@@ -0,0 +1,20 @@
+package com.example.shop.adapter.in.rest.cart;
+
+import com.example.shop.model.cart.CartLineItem;
+import com.example.shop.model.money.Money;
+import com.example.shop.model.product.Product;
+
+/**
+ * Model class for returning a shopping cart line item via REST API.
+ *
+ * @author Paul Anthony Begley
+ */
+public record CartLineItemWebModel(
+    String productId, String productName, Money price, int quantity) {
+
+  public static CartLineItemWebModel fromDomainModel(CartLineItem lineItem) {
+    Product product = lineItem.product();
+    return new CartLineItemWebModel(
+        product.id().value(), product.name(), product.price(), lineItem.quantity());
+  }
+}
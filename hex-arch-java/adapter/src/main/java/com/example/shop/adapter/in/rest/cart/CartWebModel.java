@@ -0,0 +1,26 @@
+package com.example.shop.adapter.in.rest.cart;
+
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.money.Money;
+import java.util.List;
+
+/**
+ * Model class for returning a shopping cart via REST API.
+ *
+ * @author Paul Anthony Begley
+ */
+public record CartWebModel(
+    List<CartLineItemWebModel> lineItems, int numberOfItems, Money subTotal) {
+
+  public static CartWebModel fromDomainModel(Cart cart) {
+    return fromDomainModel(cart, cart.subTotal());
+  }
+
+  /** Creates the model with the given subtotal, e.g. one converted into another currency. */
+  public static CartWebModel fromDomainModel(Cart cart, Money subTotal) {
+    return new CartWebModel(
+        cart.lineItems().stream().map(CartLineItemWebModel::fromDomainModel).toList(),
+        cart.numberOfItems(),
+        subTotal);
+  }
+}
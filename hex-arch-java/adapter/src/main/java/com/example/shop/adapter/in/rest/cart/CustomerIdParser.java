@@ -0,0 +1,25 @@
+package com.example.shop.adapter.in.rest.cart;
+
+import static com.example.shop.adapter.in.rest.common.ControllerCommons.clientErrorException;
+
+import com.example.shop.model.customer.CustomerId;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * A parser for customer IDs, throwing {@link jakarta.ws.rs.ClientErrorException}s for invalid
+ * customer IDs.
+ *
+ * @author Paul Anthony Begley
+ */
+final class CustomerIdParser {
+
+  private CustomerIdParser() {}
+
+  static CustomerId parseCustomerId(String string) {
+    try {
+      return new CustomerId(Integer.parseInt(string));
+    } catch (IllegalArgumentException e) {
+      throw clientErrorException(Response.Status.BAD_REQUEST, "Invalid 'customerId'");
+    }
+  }
+}
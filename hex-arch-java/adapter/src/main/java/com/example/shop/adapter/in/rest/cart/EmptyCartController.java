@@ -0,0 +1,59 @@
+package com.example.shop.adapter.in.rest.cart;
+
+import static com.example.shop.adapter.in.rest.cart.CustomerIdParser.parseCustomerId;
+
+import com.example.shop.adapter.in.rest.common.AdmissionControl;
+import com.example.shop.adapter.in.rest.common.UseCaseExecutor;
+import com.example.shop.application.port.in.cart.EmptyCartUseCase;
+import com.example.shop.model.customer.CustomerId;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * REST controller for the "empty cart" use case. The use case runs asynchronously on the {@link
+ * UseCaseExecutor}, releasing the web server's thread while the cart is deleted. Requests must pass
+ * the {@link AdmissionControl} first.
+ *
+ * @author Paul Anthony Begley
+ */
+@Path("/carts")
+@Produces(MediaType.APPLICATION_JSON)
+public class EmptyCartController {
+
+  private final EmptyCartUseCase emptyCartUseCase;
+  private final UseCaseExecutor useCaseExecutor;
+  private final AdmissionControl admissionControl;
+
+  public EmptyCartController(EmptyCartUseCase emptyCartUseCase, UseCaseExecutor useCaseExecutor) {
+    this(emptyCartUseCase, useCaseExecutor, AdmissionControl.unlimited());
+  }
+
+  public EmptyCartController(
+      EmptyCartUseCase emptyCartUseCase,
+      UseCaseExecutor useCaseExecutor,
+      AdmissionControl admissionControl) {
+    this.emptyCartUseCase = emptyCartUseCase;
+    this.useCaseExecutor = useCaseExecutor;
+    this.admissionControl = admissionControl;
+  }
+
+  @DELETE
+  @Path("/{customerId}")
+  public CompletionStage<Response> deleteCart(@PathParam("customerId") String customerIdString) {
+    CustomerId customerId = parseCustomerId(customerIdString);
+
+    return admissionControl.admit(
+        customerId,
+        () ->
+            useCaseExecutor.supplyAsync(
+                () -> {
+                  emptyCartUseCase.emptyCart(customerId);
+                  return Response.noContent().build();
+                }));
+  }
+}
@@ -0,0 +1,86 @@
+package com.example.shop.adapter.in.rest.cart;
+
+import static com.example.shop.adapter.in.rest.cart.CustomerIdParser.parseCustomerId;
+import static com.example.shop.adapter.in.rest.common.ControllerCommons.clientErrorException;
+
+import com.example.shop.adapter.in.rest.common.UseCaseExecutor;
+import com.example.shop.application.port.in.cart.GetCartUseCase;
+import com.example.shop.application.port.in.money.GetExchangeRatesUseCase;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.money.ExchangeRates;
+import com.example.shop.model.money.Money;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.Currency;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * REST controller for the "get cart" use case. The use case runs asynchronously on the {@link
+ * UseCaseExecutor}, releasing the web server's thread while the cart is loaded.
+ *
+ * <p>With the {@code currency} parameter, the subtotal is converted into that currency at the
+ * current exchange rates, so it can be shown for carts with products priced in different
+ * currencies.
+ *
+ * @author Paul Anthony Begley
+ */
+@Path("/carts")
+@Produces(MediaType.APPLICATION_JSON)
+public class GetCartController {
+
+  private final GetCartUseCase getCartUseCase;
+  private final GetExchangeRatesUseCase getExchangeRatesUseCase;
+  private final UseCaseExecutor useCaseExecutor;
+
+  public GetCartController(GetCartUseCase getCartUseCase, UseCaseExecutor useCaseExecutor) {
+    this(getCartUseCase, ExchangeRates::none, useCaseExecutor);
+  }
+
+  public GetCartController(
+      GetCartUseCase getCartUseCase,
+      GetExchangeRatesUseCase getExchangeRatesUseCase,
+      UseCaseExecutor useCaseExecutor) {
+    this.getCartUseCase = getCartUseCase;
+    this.getExchangeRatesUseCase = getExchangeRatesUseCase;
+    this.useCaseExecutor = useCaseExecutor;
+  }
+
+  @GET
+  @Path("/{customerId}")
+  public CompletionStage<CartWebModel> getCart(
+      @PathParam("customerId") String customerIdString,
+      @QueryParam("currency") String currencyCode) {
+    CustomerId customerId = parseCustomerId(customerIdString);
+    Currency currency = currencyCode != null ? parseCurrency(currencyCode) : null;
+
+    return useCaseExecutor.supplyAsync(
+        () -> {
+          Cart cart = getCartUseCase.getCart(customerId);
+          return currency != null
+              ? CartWebModel.fromDomainModel(cart, convertedSubTotal(cart, currency))
+              : CartWebModel.fromDomainModel(cart);
+        });
+  }
+
+  private Money convertedSubTotal(Cart cart, Currency currency) {
+    try {
+      return cart.subTotal(currency, getExchangeRatesUseCase.getExchangeRates());
+    } catch (IllegalArgumentException e) {
+      throw clientErrorException(Response.Status.BAD_REQUEST, "No exchange rate for 'currency'");
+    }
+  }
+
+  private static Currency parseCurrency(String currencyCode) {
+    try {
+      return Currency.getInstance(currencyCode);
+    } catch (IllegalArgumentException e) {
+      throw clientErrorException(Response.Status.BAD_REQUEST, "Invalid 'currency'");
+    }
+  }
+}
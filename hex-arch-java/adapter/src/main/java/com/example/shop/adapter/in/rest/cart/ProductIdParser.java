@@ -0,0 +1,29 @@
+package com.example.shop.adapter.in.rest.cart;
+
+import static com.example.shop.adapter.in.rest.common.ControllerCommons.clientErrorException;
+
+import com.example.shop.model.product.ProductId;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * A parser for product IDs, throwing {@link jakarta.ws.rs.ClientErrorException}s for invalid
+ * product IDs.
+ *
+ * @author Paul Anthony Begley
+ */
+final class ProductIdParser {
+
+  private ProductIdParser() {}
+
+  static ProductId parseProductId(String string) {
+    if (string == null) {
+      throw clientErrorException(Response.Status.BAD_REQUEST, "Missing 'productId'");
+    }
+
+    try {
+      return new ProductId(string);
+    } catch (IllegalArgumentException e) {
+      throw clientErrorException(Response.Status.BAD_REQUEST, "Invalid 'productId'");
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.example.shop.adapter.in.rest.common;
+
+import com.example.shop.model.customer.CustomerId;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Decides whether a request may invoke its use case, and rejects it with "429 Too Many Requests"
+ * otherwise, before it costs more than a few counter updates.
+ *
+ * <p>A request is rejected if its customer exceeds their rate (see {@link CustomerRateLimiter}), or
+ * if {@code maxConcurrentRequests} admitted requests are still in progress. The latter sheds load
+ * early, while the admitted requests are still served quickly, instead of letting them all queue up
+ * on the {@link UseCaseExecutor} until every request is slow. A rejection tells the client when to
+ * retry in a "Retry-After" header.
+ *
+ * <p>The limit of concurrent requests is checked first, so a shed request doesn't cost its customer
+ * a token: under overload, customers within their rate aren't rate-limited on top of being shed.
+ *
+ * @author Paul Anthony Begley
+ */
+public class AdmissionControl {
+
+  private static final long SHED_RETRY_AFTER_SECONDS = 1;
+
+  private final CustomerRateLimiter rateLimiter;
+  private final int maxConcurrentRequests;
+  private final AtomicInteger requestsInProgress = new AtomicInteger();
+
+  private final LongAdder admitted = new LongAdder();
+  private final LongAdder rateLimited = new LongAdder();
+  private final LongAdder shed = new LongAdder();
+
+  /**
+   * Creates an admission control with the given per-customer rate limiter ({@code null} for none)
+   * and limit of concurrent requests.
+   */
+  public AdmissionControl(CustomerRateLimiter rateLimiter, int maxConcurrentRequests) {
+    if (maxConcurrentRequests < 1) {
+      throw new IllegalArgumentException("'maxConcurrentRequests' must be greater than 0");
+    }
+    this.rateLimiter = rateLimiter;
+    this.maxConcurrentRequests = maxConcurrentRequests;
+  }
+
+  /** Returns an admission control that admits all requests, but still counts them. */
+  public static AdmissionControl unlimited() {
+    return new AdmissionControl(null, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Invokes the use case if the request is admitted, and returns the resulting stage. Otherwise,
+   * returns a stage failed with a {@link ClientErrorException} with status 429.
+   */
+  public <T> CompletionStage<T> admit(
+      CustomerId customerId, Supplier<CompletionStage<T>> useCaseInvocation) {
+    if (!tryStartRequest()) {
+      shed.increment();
+      return CompletableFuture.failedFuture(
+          tooManyRequests(SHED_RETRY_AFTER_SECONDS, "Too many requests in progress"));
+    }
+    long waitNanos = rateLimiter != null ? rateLimiter.tryAcquire(customerId) : 0;
+    if (waitNanos > 0) {
+      requestsInProgress.decrementAndGet();
+      rateLimited.increment();
+      return CompletableFuture.failedFuture(
+          tooManyRequests(
+              retryAfterSeconds(waitNanos), "Too many requests from customer; try again later"));
+    }
+
+    admitted.increment();
+    CompletionStage<T> stage;
+    try {
+      stage = useCaseInvocation.get();
+    } catch (RuntimeException | Error e) {
+      requestsInProgress.decrementAndGet();
+      throw e;
+    }
+    return stage.whenComplete((result, failure) -> requestsInProgress.decrementAndGet());
+  }
+
+  public long admittedRequests() {
+    return admitted.sum();
+  }
+
+  /** Returns the number of requests rejected because their customer exceeded their rate. */
+  public long rateLimitedRequests() {
+    return rateLimited.sum();
+  }
+
+  /** Returns the number of requests rejected because too many requests were in progress. */
+  public long shedRequests() {
+    return shed.sum();
+  }
+
+  public int requestsInProgress() {
+    return requestsInProgress.get();
+  }
+
+  private boolean tryStartRequest() {
+    int inProgress;
+    do {
+      inProgress = requestsInProgress.get();
+      if (inProgress >= maxConcurrentRequests) {
+        return false;
+      }
+    } while (!requestsInProgress.compareAndSet(inProgress, inProgress + 1));
+    return true;
+  }
+
+  private static long retryAfterSeconds(long waitNanos) {
+    return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+  }
+
+  private static ClientErrorException tooManyRequests(long retryAfterSeconds, String message) {
+    Response.Status status = Response.Status.TOO_MANY_REQUESTS;
+    return new ClientErrorException(
+        Response.status(status)
+            .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+            .entity(new ErrorEntity(status.getStatusCode(), message))
+            .build());
+  }
+}
@@ -0,0 +1,148 @@
+package com.example.shop.adapter.in.rest.common;
+
+import com.example.shop.model.customer.CustomerId;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the rate of requests per customer with a token bucket for each customer: a customer may
+ * send {@code burst} requests at once, and one more for every token refilled at {@code
+ * requestsPerSecond}.
+ *
+ * <p>A bucket is kept as a single number, the time at which it will be full again ("theoretical
+ * arrival time", as in the generic cell rate algorithm), in a primitive open-addressing table keyed
+ * by the customer ID. The tables are striped by customer, each stripe guarded by its own monitor,
+ * so checking a request allocates nothing and contends only with requests of customers on the same
+ * stripe.
+ *
+ * <p>A bucket that has been full since the customer's last request is the same as no bucket at all.
+ * Such idle buckets are removed lazily, when a stripe's table runs full, instead of growing the
+ * table.
+ *
+ * @author Paul Anthony Begley
+ */
+public class CustomerRateLimiter {
+
+  private static final int STRIPE_BITS = 6;
+  private static final int STRIPES = 1 << STRIPE_BITS;
+  private static final int INITIAL_STRIPE_CAPACITY = 16;
+
+  private final long emissionIntervalNanos;
+  private final long burstToleranceNanos;
+  private final LongSupplier nanoClock;
+  private final Stripe[] stripes = new Stripe[STRIPES];
+
+  public CustomerRateLimiter(double requestsPerSecond, int burst) {
+    this(requestsPerSecond, burst, System::nanoTime);
+  }
+
+  CustomerRateLimiter(double requestsPerSecond, int burst, LongSupplier nanoClock) {
+    if (!(requestsPerSecond > 0)) {
+      throw new IllegalArgumentException("'requestsPerSecond' must be greater than 0");
+    }
+    if (burst < 1) {
+      throw new IllegalArgumentException("'burst' must be greater than 0");
+    }
+    this.emissionIntervalNanos = Math.max(1, (long) (1e9 / requestsPerSecond));
+    this.burstToleranceNanos = (burst - 1) * emissionIntervalNanos;
+    this.nanoClock = nanoClock;
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new Stripe();
+    }
+  }
+
+  /**
+   * Takes a token from the customer's bucket. Returns 0 if there was one, so the request may
+   * proceed; otherwise, the number of nanoseconds until the next token is refilled.
+   */
+  public long tryAcquire(CustomerId customerId) {
+    int key = customerId.value();
+    int hash = hash(key);
+    return stripes[hash & (STRIPES - 1)].tryAcquire(key, nanoClock.getAsLong());
+  }
+
+  /** Returns the number of buckets kept, including idle ones not removed yet. */
+  public int buckets() {
+    int buckets = 0;
+    for (Stripe stripe : stripes) {
+      buckets += stripe.size();
+    }
+    return buckets;
+  }
+
+  private static int hash(int key) {
+    int hash = key * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  /** The buckets of the customers whose IDs hash to one stripe. */
+  private final class Stripe {
+
+    // Guarded by this. Customer IDs are positive, so key 0 marks a free slot.
+    private int[] keys = new int[INITIAL_STRIPE_CAPACITY];
+    private long[] fullAt = new long[INITIAL_STRIPE_CAPACITY];
+    private int size;
+
+    synchronized long tryAcquire(int key, long now) {
+      int slot = slotOf(key, keys);
+      boolean present = keys[slot] == key;
+      long bucketFullAt = present && fullAt[slot] - now > 0 ? fullAt[slot] : now;
+
+      long wait = bucketFullAt - burstToleranceNanos - now;
+      if (wait > 0) {
+        return wait;
+      }
+
+      if (!present) {
+        if (2 * (size + 1) > keys.length) {
+          makeRoom(now);
+          slot = slotOf(key, keys);
+        }
+        keys[slot] = key;
+        size++;
+      }
+      fullAt[slot] = bucketFullAt + emissionIntervalNanos;
+      return 0;
+    }
+
+    synchronized int size() {
+      return size;
+    }
+
+    /**
+     * Rebuilds the table without the idle buckets, growing it only if it would still be more than
+     * half full.
+     */
+    private void makeRoom(long now) {
+      int active = 0;
+      for (int slot = 0; slot < keys.length; slot++) {
+        if (keys[slot] != 0 && fullAt[slot] - now > 0) {
+          active++;
+        }
+      }
+      int capacity = 4 * (active + 1) > keys.length ? 2 * keys.length : keys.length;
+
+      int[] newKeys = new int[capacity];
+      long[] newFullAt = new long[capacity];
+      for (int slot = 0; slot < keys.length; slot++) {
+        if (keys[slot] != 0 && fullAt[slot] - now > 0) {
+          int newSlot = slotOf(keys[slot], newKeys);
+          newKeys[newSlot] = keys[slot];
+          newFullAt[newSlot] = fullAt[slot];
+        }
+      }
+      keys = newKeys;
+      fullAt = newFullAt;
+      size = active;
+    }
+
+    /** Returns the slot holding the key, or the free slot where it belongs (linear probing). */
+    private static int slotOf(int key, int[] keys) {
+      int mask = keys.length - 1;
+      int slot = (hash(key) >>> STRIPE_BITS) & mask;
+      while (keys[slot] != 0 && keys[slot] != key) {
+        slot = (slot + 1) & mask;
+      }
+      return slot;
+    }
+  }
+}
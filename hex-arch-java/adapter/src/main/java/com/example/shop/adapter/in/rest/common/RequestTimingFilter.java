@@ -0,0 +1,141 @@
+package com.example.shop.adapter.in.rest.common;
+
+import static com.example.shop.application.timing.RequestTiming.Layer.SERIALIZATION;
+
+import com.example.shop.application.timing.RequestTiming;
+import com.example.shop.application.timing.RequestTiming.Layer;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Times every REST request with a {@link RequestTiming}, reports the time spent per layer in a
+ * {@code Server-Timing} response header, and logs slow requests to a {@link SlowRequestLog}.
+ *
+ * <p>For example: {@code Server-Timing: controller;dur=0.081, service;dur=0.012,
+ * repository;dur=0.734, serialization;dur=0.215, total;dur=1.042} (in milliseconds).
+ *
+ * <p>The response entity is serialized into a buffer first, so that the serialization time can be
+ * reported in the header, which has to be sent before the entity. The responses of this API are
+ * small, so the extra copy costs far less than the serialization itself.
+ *
+ * @author Paul Anthony Begley
+ */
+@Provider
+public class RequestTimingFilter
+    implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+  public static final String SERVER_TIMING = "Server-Timing";
+
+  private static final String TIMED_REQUEST_PROPERTY = TimedRequest.class.getName();
+
+  private static final String[] LAYER_NAMES = new String[Layer.values().length];
+
+  static {
+    for (Layer layer : Layer.values()) {
+      LAYER_NAMES[layer.ordinal()] = layer.name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  private final SlowRequestLog slowRequestLog;
+
+  public RequestTimingFilter(SlowRequestLog slowRequestLog) {
+    this.slowRequestLog = slowRequestLog;
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext) {
+    TimedRequest request =
+        new TimedRequest(
+            RequestTiming.start(),
+            requestContext.getMethod(),
+            requestContext.getUriInfo().getPath());
+    requestContext.setProperty(TIMED_REQUEST_PROPERTY, request);
+  }
+
+  @Override
+  public void filter(
+      ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+    if (!(requestContext.getProperty(TIMED_REQUEST_PROPERTY) instanceof TimedRequest request)) {
+      return;
+    }
+
+    request.timing.unbind();
+    request.timing.switchTo(null);
+    request.status = responseContext.getStatus();
+    if (!responseContext.hasEntity()) {
+      finish(request, responseContext.getHeaders());
+    }
+  }
+
+  @Override
+  public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+    if (!(context.getProperty(TIMED_REQUEST_PROPERTY) instanceof TimedRequest request)) {
+      context.proceed();
+      return;
+    }
+
+    OutputStream entityStream = context.getOutputStream();
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    context.setOutputStream(buffer);
+    request.timing.switchTo(SERIALIZATION);
+    try {
+      context.proceed();
+    } finally {
+      context.setOutputStream(entityStream);
+    }
+
+    finish(request, context.getHeaders());
+    buffer.writeTo(entityStream);
+  }
+
+  private void finish(TimedRequest request, MultivaluedMap<String, Object> headers) {
+    request.timing.finish();
+    headers.add(SERVER_TIMING, serverTiming(request.timing));
+    slowRequestLog.log(request.method, request.path, request.status, request.timing);
+  }
+
+  private static String serverTiming(RequestTiming timing) {
+    StringBuilder header = new StringBuilder(128);
+    for (Layer layer : Layer.values()) {
+      appendMetric(header, LAYER_NAMES[layer.ordinal()], timing.nanos(layer));
+      header.append(", ");
+    }
+    appendMetric(header, "total", timing.totalNanos());
+    return header.toString();
+  }
+
+  /** Appends the metric with its duration in milliseconds, with microsecond precision. */
+  private static void appendMetric(StringBuilder header, String name, long nanos) {
+    long micros = nanos / 1_000;
+    header.append(name).append(";dur=").append(micros / 1_000).append('.');
+    long fraction = micros % 1_000;
+    if (fraction < 100) {
+      header.append(fraction < 10 ? "00" : "0");
+    }
+    header.append(fraction);
+  }
+
+  /** The timing of a request, with what the slow request log needs to know about it. */
+  private static final class TimedRequest {
+    private final RequestTiming timing;
+    private final String method;
+    private final String path;
+    private int status;
+
+    private TimedRequest(RequestTiming timing, String method, String path) {
+      this.timing = timing;
+      this.method = method;
+      this.path = path;
+    }
+  }
+}
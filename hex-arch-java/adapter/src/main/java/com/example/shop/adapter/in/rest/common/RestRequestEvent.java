@@ -0,0 +1,45 @@
+package com.example.shop.adapter.in.rest.common;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * A Java Flight Recorder event for a REST request, from the moment it's matched to a controller
+ * until its response entity has been written; emitted by {@link RestRequestEventFilter}.
+ *
+ * <p>Only requests taking at least 10 ms are recorded by default, without a stack trace; change the
+ * threshold in the recording settings, e.g. {@code jfr configure
+ * com.example.shop.RestRequest#threshold=0ms}.
+ *
+ * @author Paul Anthony Begley
+ */
+@Name(RestRequestEvent.NAME)
+@Label("REST Request")
+@Category({"Shop", "REST"})
+@Description("A REST request, including the serialization of its response")
+@Threshold("10 ms")
+@StackTrace(false)
+public class RestRequestEvent extends Event {
+
+  public static final String NAME = "com.example.shop.RestRequest";
+
+  @Label("Method")
+  String method;
+
+  @Label("Path")
+  String path;
+
+  @Label("Status")
+  int status;
+
+  @Label("Serialization")
+  @Description("The time spent writing the response entity")
+  @Timespan(Timespan.NANOSECONDS)
+  long serialization;
+}
@@ -0,0 +1,68 @@
+package com.example.shop.adapter.in.rest.common;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import java.io.IOException;
+import jdk.jfr.EventType;
+
+/**
+ * Emits a {@link RestRequestEvent} for every REST request while a recording has the event enabled.
+ *
+ * <p>The event is started when the request is matched and committed once the response entity has
+ * been written, so it includes the serialization, which is also recorded on its own. A response
+ * without an entity commits the event right away. While the event isn't enabled, no event object is
+ * created.
+ *
+ * @author Paul Anthony Begley
+ */
+@Provider
+public class RestRequestEventFilter
+    implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+  private static final String EVENT_PROPERTY = RestRequestEvent.class.getName();
+  private static final EventType EVENT_TYPE = EventType.getEventType(RestRequestEvent.class);
+
+  @Override
+  public void filter(ContainerRequestContext requestContext) {
+    if (!EVENT_TYPE.isEnabled()) {
+      return;
+    }
+    RestRequestEvent event = new RestRequestEvent();
+    event.begin();
+    event.method = requestContext.getMethod();
+    event.path = requestContext.getUriInfo().getPath();
+    requestContext.setProperty(EVENT_PROPERTY, event);
+  }
+
+  @Override
+  public void filter(
+      ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+    if (requestContext.getProperty(EVENT_PROPERTY) instanceof RestRequestEvent event) {
+      event.status = responseContext.getStatus();
+      if (!responseContext.hasEntity()) {
+        event.commit();
+      }
+    }
+  }
+
+  @Override
+  public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+    if (!(context.getProperty(EVENT_PROPERTY) instanceof RestRequestEvent event)) {
+      context.proceed();
+      return;
+    }
+
+    long start = System.nanoTime();
+    try {
+      context.proceed();
+    } finally {
+      event.serialization = System.nanoTime() - start;
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.example.shop.adapter.in.rest.common;
+
+import com.example.shop.application.timing.RequestTiming.Layer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A request that took at least the threshold of the {@link SlowRequestLog}, with the time it spent
+ * in each layer.
+ *
+ * @author Paul Anthony Begley
+ */
+public record SlowRequest(
+    Instant finishedAt,
+    String method,
+    String path,
+    int status,
+    Duration total,
+    Map<Layer, Duration> layers) {}
@@ -0,0 +1,75 @@
+package com.example.shop.adapter.in.rest.common;
+
+import com.example.shop.application.timing.RequestTiming;
+import com.example.shop.application.timing.RequestTiming.Layer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the most recent requests that took at least a threshold, in a ring buffer of fixed
+ * capacity, so that slow requests can be inspected after the fact without logging every request.
+ *
+ * <p>Requests below the threshold cost one comparison. Logging a slow request claims the next slot
+ * with an atomic increment and overwrites the oldest entry, so concurrent requests never wait for
+ * each other, and the memory used stays bounded however many requests are slow.
+ *
+ * @author Paul Anthony Begley
+ */
+public class SlowRequestLog {
+
+  private final long thresholdNanos;
+  private final AtomicReferenceArray<Entry> entries;
+  private final AtomicLong sequence = new AtomicLong();
+
+  public SlowRequestLog(Duration threshold, int capacity) {
+    if (threshold.isNegative()) {
+      throw new IllegalArgumentException("'threshold' must not be negative");
+    }
+    if (capacity < 1) {
+      throw new IllegalArgumentException("'capacity' must be greater than 0");
+    }
+    this.thresholdNanos = threshold.toNanos();
+    this.entries = new AtomicReferenceArray<>(capacity);
+  }
+
+  /** Logs the given finished request if it took at least the threshold. */
+  public void log(String method, String path, int status, RequestTiming timing) {
+    long totalNanos = timing.totalNanos();
+    if (totalNanos < thresholdNanos) {
+      return;
+    }
+
+    Map<Layer, Duration> layers = new EnumMap<>(Layer.class);
+    for (Layer layer : Layer.values()) {
+      layers.put(layer, Duration.ofNanos(timing.nanos(layer)));
+    }
+    SlowRequest request =
+        new SlowRequest(
+            Instant.now(), method, path, status, Duration.ofNanos(totalNanos), Map.copyOf(layers));
+
+    long number = sequence.getAndIncrement();
+    entries.set((int) (number % entries.length()), new Entry(number, request));
+  }
+
+  /** Returns the logged requests, the most recent first. */
+  public List<SlowRequest> recentRequests() {
+    List<Entry> logged = new ArrayList<>(entries.length());
+    for (int i = 0; i < entries.length(); i++) {
+      Entry entry = entries.get(i);
+      if (entry != null) {
+        logged.add(entry);
+      }
+    }
+    logged.sort(Comparator.comparingLong(Entry::number).reversed());
+    return logged.stream().map(Entry::request).toList();
+  }
+
+  private record Entry(long number, SlowRequest request) {}
+}
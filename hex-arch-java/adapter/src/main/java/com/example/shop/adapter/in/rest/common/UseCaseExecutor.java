@@ -0,0 +1,77 @@
+package com.example.shop.adapter.in.rest.common;
+
+import static com.example.shop.adapter.in.rest.common.ControllerCommons.serverErrorException;
+
+import jakarta.ws.rs.core.Response;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A bounded executor on which asynchronous REST controllers run their use cases, so that slow
+ * persistence adapters don't block the web server's IO and worker threads.
+ *
+ * <p>Both the number of threads and the number of queued use case invocations are bounded. If the
+ * queue is full, the request is rejected with "503 Service Unavailable" instead of piling up.
+ *
+ * @author Paul Anthony Begley
+ */
+public class UseCaseExecutor implements AutoCloseable {
+
+  private final ThreadPoolExecutor executor;
+
+  public UseCaseExecutor(int threads, int queueCapacity) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("'threads' must be greater than 0");
+    }
+    if (queueCapacity < 1) {
+      throw new IllegalArgumentException("'queueCapacity' must be greater than 0");
+    }
+
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new UseCaseThreadFactory());
+  }
+
+  /**
+   * Invokes the given use case on this executor. The returned stage completes exceptionally with
+   * whatever (typically {@link jakarta.ws.rs.WebApplicationException}) the use case call throws.
+   */
+  public <T> CompletionStage<T> supplyAsync(Supplier<T> useCaseCall) {
+    try {
+      return CompletableFuture.supplyAsync(useCaseCall, executor);
+    } catch (RejectedExecutionException e) {
+      return CompletableFuture.failedFuture(
+          serverErrorException(
+              Response.Status.SERVICE_UNAVAILABLE, "Too many requests in progress"));
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+
+  private static final class UseCaseThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger threadNumber = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "use-case-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
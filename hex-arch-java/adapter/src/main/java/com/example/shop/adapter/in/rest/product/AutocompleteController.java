@@ -0,0 +1,42 @@
+package com.example.shop.adapter.in.rest.product;
+
+import static com.example.shop.adapter.in.rest.common.ControllerCommons.clientErrorException;
+
+import com.example.shop.application.port.in.product.AutocompleteUseCase;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.List;
+
+/**
+ * REST controller for the autocomplete use case, invoked by the search box on every keystroke.
+ *
+ * @author Paul Anthony Begley
+ */
+@Path("/products")
+@Produces(MediaType.APPLICATION_JSON)
+public class AutocompleteController {
+
+  private final AutocompleteUseCase autocompleteUseCase;
+
+  public AutocompleteController(AutocompleteUseCase autocompleteUseCase) {
+    this.autocompleteUseCase = autocompleteUseCase;
+  }
+
+  @GET
+  @Path("/suggestions")
+  public List<String> suggest(@QueryParam("input") String input) {
+    if (input == null) {
+      throw clientErrorException(Response.Status.BAD_REQUEST, "Missing 'input'");
+    }
+
+    try {
+      return autocompleteUseCase.autocomplete(input);
+    } catch (IllegalArgumentException e) {
+      throw clientErrorException(Response.Status.BAD_REQUEST, "Invalid 'input'");
+    }
+  }
+}
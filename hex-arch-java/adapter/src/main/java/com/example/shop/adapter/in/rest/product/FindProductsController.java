@@ -1,9 +1,13 @@
 package com.example.shop.adapter.in.rest.product;
 
 import static com.example.shop.adapter.in.rest.common.ControllerCommons.clientErrorException;
+import static com.example.shop.adapter.in.rest.product.ProductSearchParamsParser.parseFilter;
+import static com.example.shop.adapter.in.rest.product.ProductSearchParamsParser.parseSortOrder;
 
 import com.example.shop.application.port.in.product.FindProductsUseCase;
 import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductSortOrder;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
@@ -28,15 +32,36 @@ public class FindProductsController {
   }
 
   @GET
-  public List<ProductInListWebModel> findProducts(@QueryParam("query") String query) {
+  public List<ProductInListWebModel> findProducts(
+      @QueryParam("query") String query,
+      @QueryParam("fuzzy") boolean fuzzy,
+      @QueryParam("terms") boolean terms,
+      @QueryParam("minPrice") String minPrice,
+      @QueryParam("maxPrice") String maxPrice,
+      @QueryParam("currency") String currency,
+      @QueryParam("inStock") boolean inStockOnly,
+      @QueryParam("sort") String sort) {
     if (query == null) {
       throw clientErrorException(Response.Status.BAD_REQUEST, "Missing 'query'");
     }
+    if (fuzzy && terms) {
+      throw clientErrorException(
+          Response.Status.BAD_REQUEST, "'fuzzy' and 'terms' can't be combined");
+    }
+
+    ProductFilter filter = parseFilter(minPrice, maxPrice, currency, inStockOnly);
+    ProductSortOrder sortOrder = parseSortOrder(sort);
 
     List<Product> products;
 
     try {
-      products = findProductsUseCase.findByNameOrDescription(query);
+      if (terms) {
+        products = findProductsUseCase.findByTerms(query, filter, sortOrder);
+      } else if (fuzzy) {
+        products = findProductsUseCase.findByNameOrDescriptionFuzzy(query, filter, sortOrder);
+      } else {
+        products = findProductsUseCase.findByNameOrDescription(query, filter, sortOrder);
+      }
     } catch (IllegalArgumentException e) {
       throw clientErrorException(Response.Status.BAD_REQUEST, "Invalid 'query'");
     }
@@ -0,0 +1,81 @@
+package com.example.shop.adapter.in.rest.product;
+
+import static com.example.shop.adapter.in.rest.common.ControllerCommons.clientErrorException;
+
+import com.example.shop.model.money.Money;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductSortOrder;
+import jakarta.ws.rs.core.Response;
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * A parser for the filter and sort parameters of product searches, throwing {@link
+ * jakarta.ws.rs.ClientErrorException}s for invalid parameters.
+ *
+ * @author Paul Anthony Begley
+ */
+final class ProductSearchParamsParser {
+
+  private ProductSearchParamsParser() {}
+
+  static ProductFilter parseFilter(
+      String minPrice, String maxPrice, String currencyCode, boolean inStockOnly) {
+    if (minPrice == null && maxPrice == null) {
+      return inStockOnly ? new ProductFilter(null, null, true) : ProductFilter.NONE;
+    }
+
+    Currency currency = parseCurrency(currencyCode);
+    try {
+      return new ProductFilter(
+          parsePrice(minPrice, currency, "minPrice"),
+          parsePrice(maxPrice, currency, "maxPrice"),
+          inStockOnly);
+    } catch (IllegalArgumentException e) {
+      throw clientErrorException(Response.Status.BAD_REQUEST, "Invalid price range");
+    }
+  }
+
+  static ProductSortOrder parseSortOrder(String sort) {
+    if (sort == null) {
+      return ProductSortOrder.RELEVANCE;
+    }
+
+    return switch (sort) {
+      case "relevance" -> ProductSortOrder.RELEVANCE;
+      case "price_asc" -> ProductSortOrder.PRICE_ASCENDING;
+      case "price_desc" -> ProductSortOrder.PRICE_DESCENDING;
+      default -> throw clientErrorException(Response.Status.BAD_REQUEST, "Invalid 'sort'");
+    };
+  }
+
+  private static Currency parseCurrency(String currencyCode) {
+    if (currencyCode == null) {
+      throw clientErrorException(Response.Status.BAD_REQUEST, "Missing 'currency'");
+    }
+
+    try {
+      return Currency.getInstance(currencyCode);
+    } catch (IllegalArgumentException e) {
+      throw clientErrorException(Response.Status.BAD_REQUEST, "Invalid 'currency'");
+    }
+  }
+
+  private static Money parsePrice(String price, Currency currency, String parameterName) {
+    if (price == null) {
+      return null;
+    }
+
+    try {
+      BigDecimal amount = new BigDecimal(price);
+      int fractionDigits = currency.getDefaultFractionDigits();
+      if (amount.scale() < fractionDigits) {
+        amount = amount.setScale(fractionDigits);
+      }
+      return new Money(currency, amount);
+    } catch (IllegalArgumentException e) {
+      throw clientErrorException(
+          Response.Status.BAD_REQUEST, "Invalid '%s'".formatted(parameterName));
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.example.shop.adapter.out.persistence;
+
+import com.example.shop.model.money.Money;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductId;
+import java.util.Currency;
+import java.util.Random;
+
+/**
+ * Generates a reproducible catalog of synthetic products for benchmarks and load tests. Names and
+ * descriptions are made up of pseudo-words drawn from a fixed vocabulary.
+ */
+public final class SyntheticProducts {
+
+  private static final Currency EUR = Currency.getInstance("EUR");
+  private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+  private static final int WORDS_PER_NAME = 3;
+  private static final int WORDS_PER_DESCRIPTION = 8;
+
+  private final Random random;
+  private final String[] vocabulary;
+  private long sequence;
+
+  public SyntheticProducts(long seed, int vocabularySize) {
+    this.random = new Random(seed);
+    this.vocabulary = new String[vocabularySize];
+    for (int i = 0; i < vocabularySize; i++) {
+      vocabulary[i] = randomWord(4 + random.nextInt(7));
+    }
+  }
+
+  public Product next() {
+    return new Product(
+        new ProductId("S%09d".formatted(sequence++)),
+        capitalize(words(WORDS_PER_NAME)),
+        capitalize(words(WORDS_PER_DESCRIPTION)),
+        Money.of(EUR, random.nextInt(1_000), random.nextInt(100)),
+        random.nextInt(10) == 0 ? 0 : random.nextInt(10_000));
+  }
+
+  public String randomVocabularyWord() {
+    return vocabulary[random.nextInt(vocabulary.length)];
+  }
+
+  /** Returns the given word with one random character replaced, inserted or deleted. */
+  public String withTypo(String word) {
+    int position = random.nextInt(word.length());
+    char letter = LETTERS.charAt(random.nextInt(LETTERS.length()));
+    return switch (random.nextInt(3)) {
+      case 0 -> word.substring(0, position) + letter + word.substring(position + 1);
+      case 1 -> word.substring(0, position) + letter + word.substring(position);
+      default -> word.substring(0, position) + word.substring(position + 1);
+    };
+  }
+
+  private String words(int count) {
+    StringBuilder words = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        words.append(' ');
+      }
+      words.append(randomVocabularyWord());
+    }
+    return words.toString();
+  }
+
+  private String randomWord(int length) {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+    }
+    return new String(chars);
+  }
+
+  private static String capitalize(String text) {
+    return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+  }
+}
@@ -0,0 +1,288 @@
+package com.example.shop.adapter.out.persistence.analytics;
+
+import com.example.shop.application.port.out.persistence.CartAnalyticsIndex;
+import com.example.shop.application.port.out.persistence.CartRepository;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.cart.CartAnalytics;
+import com.example.shop.model.cart.CartAnalytics.ProductInCarts;
+import com.example.shop.model.cart.CartLineItem;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.money.ExchangeRates;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Persistence adapter: Keeps a summary of every open cart of the wrapped repository, so totals over
+ * all carts can be aggregated without loading, locking or copying the carts themselves.
+ *
+ * <p>After every save, the cart is read back from the wrapped repository and its line items are
+ * copied into an immutable summary (two small arrays, sharing the products with the cart), which
+ * replaces the previous one in one of {@code segments} concurrent maps; an emptied or deleted cart
+ * gets an empty summary, which isn't counted. The summary is taken from the stored cart, not the
+ * saved one, as a repository that {@linkplain CartRepository#appendsEvents() appends events} merges
+ * them into a cart that may have changed since the saved one was loaded. The cart is read without
+ * holding any lock, so writers of other carts never wait for it; each summary has a version taken
+ * after the save and before the read, and a summary never replaces one with a higher version, so
+ * the last summary of a cart is read after its last save. That's also why an empty summary is kept
+ * rather than removed. {@link #aggregate} scans the segments in parallel on a fork-join pool once
+ * there are at least {@code parallelThreshold} open carts, splitting the range of segments in
+ * halves as long as other workers are idle to steal them, and merges the partial aggregates when
+ * the tasks are joined.
+ *
+ * <p>The scan takes no locks, so writers aren't blocked while it runs; a save costs one summary
+ * more and a read. Each cart is aggregated as it was after one of its saves, never half-changed,
+ * but carts saved during the scan may be aggregated before or after the change. So while carts are
+ * being changed, the totals are approximate, as if taken at some moment during the scan; otherwise
+ * they're exact, and the value is rounded only once (see {@link ExchangeRates.Sum}). Only carts
+ * saved through this repository are counted.
+ *
+ * @author Paul Anthony Begley
+ */
+public class AnalyticsCartRepository implements CartRepository, CartAnalyticsIndex {
+
+  public static final int DEFAULT_SEGMENTS = 64;
+  public static final int DEFAULT_PARALLEL_THRESHOLD = 16_384;
+
+  // Splitting stops as soon as there are more queued tasks than this (see RecursiveTask javadoc)
+  private static final int MAX_SURPLUS_QUEUED_TASKS = 3;
+
+  private static final Comparator<ProductTotals> MOST_ITEMS_FIRST =
+      Comparator.comparingLong((ProductTotals totals) -> totals.numberOfItems)
+          .reversed()
+          .thenComparing(totals -> totals.product.id().value());
+
+  private final CartRepository cartRepository;
+  private final ForkJoinPool pool;
+  private final int parallelThreshold;
+  private final List<Map<CustomerId, CartSummary>> segments;
+  private final AtomicLong summaryVersions = new AtomicLong();
+  private final LongAdder openCarts = new LongAdder();
+
+  public AnalyticsCartRepository(CartRepository cartRepository) {
+    this(cartRepository, ForkJoinPool.commonPool(), DEFAULT_SEGMENTS, DEFAULT_PARALLEL_THRESHOLD);
+  }
+
+  public AnalyticsCartRepository(
+      CartRepository cartRepository, ForkJoinPool pool, int segments, int parallelThreshold) {
+    if (segments < 1) {
+      throw new IllegalArgumentException("'segments' must be greater than 0");
+    }
+    this.cartRepository = cartRepository;
+    this.pool = pool;
+    this.parallelThreshold = parallelThreshold;
+    this.segments = new ArrayList<>(segments);
+    for (int i = 0; i < segments; i++) {
+      this.segments.add(new ConcurrentHashMap<>());
+    }
+  }
+
+  @Override
+  public void save(Cart cart) {
+    cartRepository.save(cart);
+    updateSummary(cart.id());
+  }
+
+  @Override
+  public void saveAll(Collection<Cart> carts) {
+    cartRepository.saveAll(carts);
+    for (Cart cart : carts) {
+      updateSummary(cart.id());
+    }
+  }
+
+  @Override
+  public Optional<Cart> findByCustomerId(CustomerId customerId) {
+    return cartRepository.findByCustomerId(customerId);
+  }
+
+  @Override
+  public void deleteByCustomerId(CustomerId customerId) {
+    cartRepository.deleteByCustomerId(customerId);
+    updateSummary(customerId);
+  }
+
+  @Override
+  public boolean appendsEvents() {
+    return cartRepository.appendsEvents();
+  }
+
+  @Override
+  public CartAnalytics aggregate(Currency currency, ExchangeRates exchangeRates, int topProducts) {
+    AggregateTask task = new AggregateTask(currency, exchangeRates, 0, segments.size());
+    Aggregate aggregate = isParallel() ? pool.invoke(task) : task.aggregateSequentially();
+    return aggregate.toCartAnalytics(topProducts);
+  }
+
+  /** Returns the number of open carts, which may be changing concurrently. */
+  public long openCarts() {
+    return openCarts.sum();
+  }
+
+  private boolean isParallel() {
+    return pool.getParallelism() > 1 && openCarts() >= parallelThreshold;
+  }
+
+  /**
+   * Replaces the customer's summary with one of the stored cart, unless a summary read later
+   * replaced it already.
+   */
+  private void updateSummary(CustomerId customerId) {
+    long version = summaryVersions.incrementAndGet();
+    List<CartLineItem> lineItems =
+        cartRepository.findByCustomerId(customerId).map(Cart::lineItems).orElse(List.of());
+    CartSummary summary = CartSummary.of(lineItems, version);
+    segment(customerId)
+        .compute(
+            customerId,
+            (ignored, previous) -> {
+              if (previous != null && previous.version() > version) {
+                return previous;
+              }
+              boolean wasOpen = previous != null && previous.isOpen();
+              if (wasOpen != summary.isOpen()) {
+                openCarts.add(summary.isOpen() ? 1 : -1);
+              }
+              return summary;
+            });
+  }
+
+  private Map<CustomerId, CartSummary> segment(CustomerId customerId) {
+    return segments.get(Math.floorMod(customerId.hashCode(), segments.size()));
+  }
+
+  /** The line items of a cart as they were stored, and the version of the summary. */
+  private record CartSummary(Product[] products, int[] quantities, long version) {
+
+    static CartSummary of(List<CartLineItem> lineItems, long version) {
+      Product[] products = new Product[lineItems.size()];
+      int[] quantities = new int[lineItems.size()];
+      for (int i = 0; i < products.length; i++) {
+        products[i] = lineItems.get(i).product();
+        quantities[i] = lineItems.get(i).quantity();
+      }
+      return new CartSummary(products, quantities, version);
+    }
+
+    boolean isOpen() {
+      return products.length > 0;
+    }
+  }
+
+  private class AggregateTask extends RecursiveTask<Aggregate> {
+
+    private final Currency currency;
+    private final ExchangeRates exchangeRates;
+    private final int fromSegment;
+    private final int toSegment;
+
+    AggregateTask(Currency currency, ExchangeRates exchangeRates, int fromSegment, int toSegment) {
+      this.currency = currency;
+      this.exchangeRates = exchangeRates;
+      this.fromSegment = fromSegment;
+      this.toSegment = toSegment;
+    }
+
+    @Override
+    protected Aggregate compute() {
+      if (toSegment - fromSegment < 2 || getSurplusQueuedTaskCount() > MAX_SURPLUS_QUEUED_TASKS) {
+        return aggregateSequentially();
+      }
+
+      int middle = (fromSegment + toSegment) >>> 1;
+      AggregateTask right = new AggregateTask(currency, exchangeRates, middle, toSegment);
+      right.fork();
+      Aggregate aggregate =
+          new AggregateTask(currency, exchangeRates, fromSegment, middle).compute();
+      return aggregate.merge(right.join());
+    }
+
+    Aggregate aggregateSequentially() {
+      Aggregate aggregate = new Aggregate(exchangeRates.sum(currency));
+      for (int i = fromSegment; i < toSegment; i++) {
+        for (CartSummary summary : segments.get(i).values()) {
+          if (summary.isOpen()) {
+            aggregate.add(summary);
+          }
+        }
+      }
+      return aggregate;
+    }
+  }
+
+  /** The totals over some carts. Not thread-safe. */
+  private static class Aggregate {
+
+    private final ExchangeRates.Sum totalValue;
+    private final Map<ProductId, ProductTotals> products = new HashMap<>();
+    private long openCarts;
+    private long numberOfItems;
+
+    Aggregate(ExchangeRates.Sum totalValue) {
+      this.totalValue = totalValue;
+    }
+
+    void add(CartSummary summary) {
+      openCarts++;
+      for (int i = 0; i < summary.products.length; i++) {
+        Product product = summary.products[i];
+        int quantity = summary.quantities[i];
+        numberOfItems += quantity;
+        totalValue.add(product.price(), quantity);
+        ProductTotals totals =
+            products.computeIfAbsent(product.id(), productId -> new ProductTotals(product));
+        totals.numberOfItems += quantity;
+        totals.carts++;
+      }
+    }
+
+    Aggregate merge(Aggregate other) {
+      openCarts += other.openCarts;
+      numberOfItems += other.numberOfItems;
+      totalValue.add(other.totalValue);
+      other.products.forEach(
+          (productId, otherTotals) -> {
+            ProductTotals totals = products.putIfAbsent(productId, otherTotals);
+            if (totals != null) {
+              totals.numberOfItems += otherTotals.numberOfItems;
+              totals.carts += otherTotals.carts;
+            }
+          });
+      return this;
+    }
+
+    CartAnalytics toCartAnalytics(int topProducts) {
+      List<ProductInCarts> top =
+          products.values().stream()
+              .sorted(MOST_ITEMS_FIRST)
+              .limit(topProducts)
+              .map(totals -> new ProductInCarts(totals.product, totals.numberOfItems, totals.carts))
+              .toList();
+      return new CartAnalytics(openCarts, numberOfItems, totalValue.total(), top);
+    }
+  }
+
+  /** The totals of one product; the product is the one of the first cart it was found in. */
+  private static class ProductTotals {
+
+    private final Product product;
+    private long numberOfItems;
+    private long carts;
+
+    ProductTotals(Product product) {
+      this.product = product;
+    }
+  }
+}
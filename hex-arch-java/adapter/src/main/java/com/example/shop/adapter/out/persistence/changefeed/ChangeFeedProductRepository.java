@@ -0,0 +1,85 @@
+package com.example.shop.adapter.out.persistence.changefeed;
+
+import com.example.shop.application.port.out.persistence.ProductRepository;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductId;
+import com.example.shop.model.product.ProductQuery;
+import com.example.shop.model.product.ProductSortOrder;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Persistence adapter: Publishes every product saved to the wrapped repository on a {@link
+ * ProductChangeFeed}, so other nodes can invalidate their caches or update their indexes.
+ *
+ * <p>Saves are serialized, so the feed's order is the order in which the products were saved; a
+ * change is published only after the save succeeded.
+ *
+ * @author Paul Anthony Begley
+ */
+public class ChangeFeedProductRepository implements ProductRepository {
+
+  private final ProductRepository productRepository;
+  private final ProductChangeFeed changeFeed;
+  private final ReentrantLock saveLock = new ReentrantLock();
+
+  public ChangeFeedProductRepository(
+      ProductRepository productRepository, ProductChangeFeed changeFeed) {
+    this.productRepository = productRepository;
+    this.changeFeed = changeFeed;
+  }
+
+  @Override
+  public void save(Product product) {
+    saveAll(List.of(product));
+  }
+
+  @Override
+  public void saveAll(Collection<Product> products) {
+    saveLock.lock();
+    try {
+      productRepository.saveAll(products);
+      for (Product product : products) {
+        changeFeed.publish(copyOf(product));
+      }
+    } finally {
+      saveLock.unlock();
+    }
+  }
+
+  @Override
+  public Optional<Product> findById(ProductId productId) {
+    return productRepository.findById(productId);
+  }
+
+  @Override
+  public List<Product> findByNameOrDescription(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return productRepository.findByNameOrDescription(query, filter, sortOrder, limit);
+  }
+
+  @Override
+  public List<Product> findByNameOrDescriptionFuzzy(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return productRepository.findByNameOrDescriptionFuzzy(query, filter, sortOrder, limit);
+  }
+
+  @Override
+  public List<Product> findByTerms(
+      ProductQuery query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return productRepository.findByTerms(query, filter, sortOrder, limit);
+  }
+
+  // Product is mutable, and the published change must not change after the fact
+  private static Product copyOf(Product product) {
+    return new Product(
+        product.id(),
+        product.name(),
+        product.description(),
+        product.price(),
+        product.itemsInStock());
+  }
+}
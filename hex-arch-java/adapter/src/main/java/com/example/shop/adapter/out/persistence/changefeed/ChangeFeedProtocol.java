@@ -0,0 +1,27 @@
+package com.example.shop.adapter.out.persistence.changefeed;
+
+/**
+ * The protocol between a {@link RemoteProductChangeFeed} and a {@link ProductChangeFeedServer}: the
+ * client sends the {@linkplain ProductChangeFeed#epoch() epoch} of the feed it has seen changes of
+ * ({@link #UNKNOWN_EPOCH} if none) and the sequence number of the last change it has seen. The
+ * server answers with the epoch of its feed and whether the client starts over: if the epochs
+ * differ, e.g. because the server's JVM restarted, or the client has seen changes the feed hasn't
+ * published, the client's position is meaningless in this feed, so the server sends a {@link
+ * #CHANGES_MISSED} message and then all retained changes.
+ *
+ * <p>The server then streams a message per change, each consisting of a message type and its
+ * content. A {@link #CHANGE} message contains the sequence number and the product (see {@link
+ * com.example.shop.adapter.out.persistence.wire.WireFormat}); a {@link #CHANGES_MISSED} message has
+ * no content.
+ *
+ * @author Paul Anthony Begley
+ */
+final class ChangeFeedProtocol {
+
+  static final byte CHANGE = 1;
+  static final byte CHANGES_MISSED = 2;
+
+  static final long UNKNOWN_EPOCH = 0;
+
+  private ChangeFeedProtocol() {}
+}
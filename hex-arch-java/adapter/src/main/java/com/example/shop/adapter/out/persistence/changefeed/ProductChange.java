@@ -0,0 +1,11 @@
+package com.example.shop.adapter.out.persistence.changefeed;
+
+import com.example.shop.model.product.Product;
+
+/**
+ * A saved product, as published on a {@link ProductChangeFeed}. Sequence numbers start at 1 and
+ * increase by one with each change, so a subscriber can tell which changes it has seen.
+ *
+ * @author Paul Anthony Begley
+ */
+public record ProductChange(long sequenceNumber, Product product) {}
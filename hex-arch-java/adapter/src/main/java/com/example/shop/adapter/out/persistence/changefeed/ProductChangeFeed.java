@@ -0,0 +1,169 @@
+package com.example.shop.adapter.out.persistence.changefeed;
+
+import com.example.shop.model.product.Product;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The in-process product change feed: numbers the published changes and passes them to any number
+ * of subscribers, each on a virtual thread of its own, so a slow subscriber delays neither the
+ * publisher nor the other subscribers.
+ *
+ * <p>The most recent {@code retainedChanges} changes are retained in a ring buffer, so subscribers
+ * can catch up after subscribing late or reconnecting. A subscriber that falls further behind is
+ * told it has missed changes (see {@link ProductChangeListener#onChangesMissed()}) and continues
+ * with the oldest retained change.
+ *
+ * <p>Sequence numbers start at 1 in every feed, e.g. again after the JVM restarted, so each feed
+ * has a random {@link #epoch()} to tell its numbering from that of earlier feeds.
+ *
+ * @author Paul Anthony Begley
+ */
+public class ProductChangeFeed implements ProductChangeSource {
+
+  public static final int DEFAULT_RETAINED_CHANGES = 65_536;
+
+  private final ProductChange[] ring;
+  private final long epoch = newEpoch();
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition changePublished = lock.newCondition();
+
+  // Guarded by lock:
+  private long lastSequenceNumber;
+
+  public ProductChangeFeed() {
+    this(DEFAULT_RETAINED_CHANGES);
+  }
+
+  public ProductChangeFeed(int retainedChanges) {
+    if (retainedChanges < 1) {
+      throw new IllegalArgumentException("'retainedChanges' must be greater than 0");
+    }
+    this.ring = new ProductChange[retainedChanges];
+  }
+
+  /** Publishes a change of the given product and returns its sequence number. */
+  public long publish(Product product) {
+    lock.lock();
+    try {
+      long sequenceNumber = lastSequenceNumber + 1;
+      ring[slot(sequenceNumber)] = new ProductChange(sequenceNumber, product);
+      lastSequenceNumber = sequenceNumber;
+      changePublished.signalAll();
+      return sequenceNumber;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Returns the random, non-zero ID of this feed's numbering of changes. */
+  public long epoch() {
+    return epoch;
+  }
+
+  public long lastSequenceNumber() {
+    lock.lock();
+    try {
+      return lastSequenceNumber;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Subscription subscribe(long afterSequenceNumber, ProductChangeListener listener) {
+    if (afterSequenceNumber < 0) {
+      throw new IllegalArgumentException("'afterSequenceNumber' must not be negative");
+    }
+    Subscriber subscriber = new Subscriber(afterSequenceNumber + 1, listener);
+    Thread.ofVirtual().name("product-change-subscriber").start(subscriber);
+    return subscriber;
+  }
+
+  private static long newEpoch() {
+    long epoch;
+    do {
+      epoch = ThreadLocalRandom.current().nextLong();
+    } while (epoch == 0);
+    return epoch;
+  }
+
+  private int slot(long sequenceNumber) {
+    return (int) (sequenceNumber % ring.length);
+  }
+
+  private class Subscriber implements Runnable, Subscription {
+
+    private final ProductChangeListener listener;
+    private long nextSequenceNumber;
+    private volatile boolean closed;
+
+    Subscriber(long nextSequenceNumber, ProductChangeListener listener) {
+      this.nextSequenceNumber = nextSequenceNumber;
+      this.listener = listener;
+    }
+
+    @Override
+    public void run() {
+      List<ProductChange> batch = new ArrayList<>();
+      boolean changesMissed;
+      while (!closed) {
+        batch.clear();
+        lock.lock();
+        try {
+          while (nextSequenceNumber > lastSequenceNumber && !closed) {
+            changePublished.awaitUninterruptibly();
+          }
+          long oldestRetained = Math.max(1, lastSequenceNumber - ring.length + 1);
+          changesMissed = nextSequenceNumber < oldestRetained;
+          if (changesMissed) {
+            nextSequenceNumber = oldestRetained;
+          }
+          for (long sequenceNumber = nextSequenceNumber;
+              sequenceNumber <= lastSequenceNumber;
+              sequenceNumber++) {
+            batch.add(ring[slot(sequenceNumber)]);
+          }
+        } finally {
+          lock.unlock();
+        }
+
+        if (changesMissed && !closed) {
+          deliver(listener::onChangesMissed);
+        }
+        for (ProductChange change : batch) {
+          if (closed) {
+            return;
+          }
+          deliver(() -> listener.onChange(change));
+          nextSequenceNumber = change.sequenceNumber() + 1;
+        }
+      }
+    }
+
+    /** Passes a change on; a failing listener mustn't stop the subscription. */
+    private void deliver(Runnable delivery) {
+      try {
+        delivery.run();
+      } catch (RuntimeException e) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+      }
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+      lock.lock();
+      try {
+        changePublished.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+}
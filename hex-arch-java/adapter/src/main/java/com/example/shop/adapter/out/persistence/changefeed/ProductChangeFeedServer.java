@@ -0,0 +1,102 @@
+package com.example.shop.adapter.out.persistence.changefeed;
+
+import com.example.shop.adapter.out.persistence.wire.LoopbackServer;
+import com.example.shop.adapter.out.persistence.wire.WireFormat;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * Serves a {@link ProductChangeFeed} to {@link RemoteProductChangeFeed}s in other JVMs over TCP
+ * (see {@link ChangeFeedProtocol}). Each connection is a subscription to the feed; it's read on a
+ * virtual thread of its own, which only waits for the client to disconnect.
+ *
+ * @author Paul Anthony Begley
+ */
+public class ProductChangeFeedServer implements AutoCloseable {
+
+  private final ProductChangeFeed changeFeed;
+  private final LoopbackServer server;
+
+  /** Starts serving the given feed on the loopback interface; port 0 picks a free port. */
+  public ProductChangeFeedServer(ProductChangeFeed changeFeed, int port) {
+    this.changeFeed = changeFeed;
+    this.server = new LoopbackServer("change-feed-server", port, this::serve);
+  }
+
+  public int port() {
+    return server.port();
+  }
+
+  private void serve(Socket socket) throws IOException {
+    DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    long subscriberEpoch = in.readLong();
+    long afterSequenceNumber = in.readLong();
+
+    // The feed's sequence numbers only grow, so a subscriber ahead of them is from another epoch
+    boolean startOver =
+        (subscriberEpoch != ChangeFeedProtocol.UNKNOWN_EPOCH
+                && subscriberEpoch != changeFeed.epoch())
+            || afterSequenceNumber > changeFeed.lastSequenceNumber();
+    out.writeLong(changeFeed.epoch());
+    out.writeBoolean(startOver);
+    if (startOver) {
+      out.writeByte(ChangeFeedProtocol.CHANGES_MISSED);
+      afterSequenceNumber = 0;
+    }
+    out.flush();
+
+    try (ProductChangeSource.Subscription subscription =
+        changeFeed.subscribe(afterSequenceNumber, new Forwarder(socket, out))) {
+      while (in.read() != -1) {
+        // The client sends nothing after subscribing; wait until it disconnects
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    server.close();
+  }
+
+  /** Writes the changes to a connection; closes it if that fails, which ends the subscription. */
+  private record Forwarder(Socket socket, DataOutputStream out) implements ProductChangeListener {
+
+    @Override
+    public void onChange(ProductChange change) {
+      send(
+          () -> {
+            out.writeByte(ChangeFeedProtocol.CHANGE);
+            out.writeLong(change.sequenceNumber());
+            WireFormat.writeProduct(out, change.product());
+          });
+    }
+
+    @Override
+    public void onChangesMissed() {
+      send(() -> out.writeByte(ChangeFeedProtocol.CHANGES_MISSED));
+    }
+
+    private void send(MessageWriter message) {
+      try {
+        message.write();
+        out.flush();
+      } catch (IOException e) {
+        try {
+          socket.close();
+        } catch (IOException ignored) {
+          // Nothing left to do with a broken connection
+        }
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface MessageWriter {
+    void write() throws IOException;
+  }
+}
@@ -0,0 +1,19 @@
+package com.example.shop.adapter.out.persistence.changefeed;
+
+/**
+ * Receives the changes of a {@link ProductChangeSource}, one at a time and in the order of their
+ * sequence numbers, e.g. to invalidate cached search results or to update a local index.
+ *
+ * @author Paul Anthony Begley
+ */
+@FunctionalInterface
+public interface ProductChangeListener {
+
+  void onChange(ProductChange change);
+
+  /**
+   * Called instead of passing changes that are no longer retained by the feed, before passing the
+   * oldest retained one. Anything derived from the missed changes must be rebuilt.
+   */
+  default void onChangesMissed() {}
+}
@@ -0,0 +1,24 @@
+package com.example.shop.adapter.out.persistence.changefeed;
+
+/**
+ * An ordered stream of product changes that listeners can subscribe to, either in the process
+ * producing the changes ({@link ProductChangeFeed}) or in another one ({@link
+ * RemoteProductChangeFeed}).
+ *
+ * @author Paul Anthony Begley
+ */
+public interface ProductChangeSource {
+
+  /**
+   * Passes all changes with sequence numbers greater than {@code afterSequenceNumber} to the
+   * listener, on a thread of its own, until the subscription is closed. Pass 0 to receive all
+   * retained changes, or the sequence number of the last change seen to resume a subscription.
+   */
+  Subscription subscribe(long afterSequenceNumber, ProductChangeListener listener);
+
+  /** A subscription to a {@link ProductChangeSource}; closing it stops passing changes. */
+  interface Subscription extends AutoCloseable {
+    @Override
+    void close();
+  }
+}
@@ -0,0 +1,138 @@
+package com.example.shop.adapter.out.persistence.changefeed;
+
+import com.example.shop.adapter.out.persistence.wire.WireFormat;
+import com.example.shop.model.product.Product;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.time.Duration;
+
+/**
+ * A {@link ProductChangeFeed} served by a {@link ProductChangeFeedServer}, usually in another JVM.
+ *
+ * <p>Each subscription holds a connection of its own. If the connection breaks, e.g. because the
+ * other JVM restarted, the subscription reconnects after a short delay and resumes after the last
+ * change it has passed on, so no change is passed twice or skipped. If the server's feed is a new
+ * one, e.g. because the other JVM restarted and numbers its changes from 1 again, the subscription
+ * is told it has missed changes (see {@link ProductChangeListener#onChangesMissed()}) and starts
+ * over with the new feed's changes.
+ *
+ * @author Paul Anthony Begley
+ */
+public class RemoteProductChangeFeed implements ProductChangeSource {
+
+  static final Duration RECONNECT_DELAY = Duration.ofMillis(100);
+
+  private final String host;
+  private final int port;
+
+  public RemoteProductChangeFeed(String host, int port) {
+    this.host = host;
+    this.port = port;
+  }
+
+  @Override
+  public Subscription subscribe(long afterSequenceNumber, ProductChangeListener listener) {
+    if (afterSequenceNumber < 0) {
+      throw new IllegalArgumentException("'afterSequenceNumber' must not be negative");
+    }
+    RemoteSubscription subscription = new RemoteSubscription(afterSequenceNumber, listener);
+    subscription.thread =
+        Thread.ofVirtual().name("remote-product-change-subscriber").start(subscription);
+    return subscription;
+  }
+
+  private class RemoteSubscription implements Runnable, Subscription {
+
+    private final ProductChangeListener listener;
+    private long epoch = ChangeFeedProtocol.UNKNOWN_EPOCH;
+    private long lastSequenceNumber;
+    private volatile boolean closed;
+    private volatile Socket socket;
+    private volatile Thread thread;
+
+    RemoteSubscription(long afterSequenceNumber, ProductChangeListener listener) {
+      this.lastSequenceNumber = afterSequenceNumber;
+      this.listener = listener;
+    }
+
+    @Override
+    public void run() {
+      while (!closed) {
+        try (Socket socket = new Socket(host, port)) {
+          this.socket = socket;
+          if (closed) {
+            return;
+          }
+          receiveChanges(socket);
+        } catch (IOException e) {
+          // Not connected, or the connection broke; try again
+        }
+        pauseBeforeReconnecting();
+      }
+    }
+
+    private void receiveChanges(Socket socket) throws IOException {
+      DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+      out.writeLong(epoch);
+      out.writeLong(lastSequenceNumber);
+      out.flush();
+
+      DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      epoch = in.readLong();
+      if (in.readBoolean()) { // starting over; a CHANGES_MISSED message follows
+        lastSequenceNumber = 0;
+      }
+      while (!closed) {
+        byte message = in.readByte();
+        if (message == ChangeFeedProtocol.CHANGE) {
+          long sequenceNumber = in.readLong();
+          Product product = WireFormat.readProduct(in);
+          deliver(() -> listener.onChange(new ProductChange(sequenceNumber, product)));
+          lastSequenceNumber = sequenceNumber;
+        } else if (message == ChangeFeedProtocol.CHANGES_MISSED) {
+          deliver(listener::onChangesMissed);
+        } else {
+          throw new IOException("Unknown message type " + message);
+        }
+      }
+    }
+
+    /** Passes a change on; a failing listener mustn't stop the subscription. */
+    private void deliver(Runnable delivery) {
+      try {
+        delivery.run();
+      } catch (RuntimeException e) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+      }
+    }
+
+    private void pauseBeforeReconnecting() {
+      try {
+        Thread.sleep(RECONNECT_DELAY);
+      } catch (InterruptedException e) {
+        // Closed while pausing
+      }
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+      Socket socket = this.socket;
+      if (socket != null) {
+        try {
+          socket.close();
+        } catch (IOException e) {
+          // Nothing left to do with a broken connection
+        }
+      }
+      Thread thread = this.thread;
+      if (thread != null) {
+        thread.interrupt();
+      }
+    }
+  }
+}
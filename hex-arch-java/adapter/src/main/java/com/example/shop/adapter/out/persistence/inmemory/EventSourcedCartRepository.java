@@ -0,0 +1,200 @@
+package com.example.shop.adapter.out.persistence.inmemory;
+
+import com.example.shop.application.port.out.persistence.CartRepository;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.cart.CartEvent;
+import com.example.shop.model.cart.CartEvent.CartEmptied;
+import com.example.shop.model.cart.CartLineItem;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.product.Product;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistence adapter: Stores carts in memory as logs of their events.
+ *
+ * <p>Saving a cart appends just the events recorded since it was loaded, so the cost of a change
+ * doesn't depend on the size of the cart. Deleting a cart appends a {@link CartEmptied} event. The
+ * full history of each cart is kept for analytics; see {@link #history(CustomerId)}.
+ *
+ * <p>To load a cart, it's rebuilt from the latest snapshot of its line items and the events after
+ * it. A snapshot is taken every {@code snapshotInterval} events (and whenever the cart is emptied),
+ * so a rebuild never replays more than that many events. Like the events, a snapshot is immutable:
+ * it's taken from a cart rebuilt just for it, and a cart rebuilt from it gets copies of its
+ * products, so changing a loaded cart's products doesn't change the snapshot.
+ *
+ * @author Paul Anthony Begley
+ */
+public class EventSourcedCartRepository implements CartRepository {
+
+  public static final int DEFAULT_SNAPSHOT_INTERVAL = 64;
+
+  /**
+   * A customer's cart, or its absence, as of a position in its log, i.e. after that many events.
+   */
+  public record PositionedCart(CustomerId customerId, Optional<Cart> cart, int position) {}
+
+  private final Map<CustomerId, CartLog> logs = new ConcurrentHashMap<>();
+  private final int snapshotInterval;
+
+  public EventSourcedCartRepository() {
+    this(DEFAULT_SNAPSHOT_INTERVAL);
+  }
+
+  public EventSourcedCartRepository(int snapshotInterval) {
+    if (snapshotInterval < 1) {
+      throw new IllegalArgumentException("'snapshotInterval' must be greater than 0");
+    }
+    this.snapshotInterval = snapshotInterval;
+  }
+
+  @Override
+  public void save(Cart cart) {
+    logs.computeIfAbsent(cart.id(), CartLog::new).append(cart.uncommittedEvents());
+    cart.markEventsCommitted();
+  }
+
+  /**
+   * Appends events recorded elsewhere, e.g. by the primary this repository replicates, to the
+   * customer's cart, creating the cart if it doesn't exist.
+   */
+  public void append(CustomerId customerId, List<CartEvent> events) {
+    logs.computeIfAbsent(customerId, CartLog::new).append(events);
+  }
+
+  @Override
+  public Optional<Cart> findByCustomerId(CustomerId customerId) {
+    CartLog log = logs.get(customerId);
+    return log != null ? log.rebuild() : Optional.empty();
+  }
+
+  @Override
+  public void deleteByCustomerId(CustomerId customerId) {
+    CartLog log = logs.get(customerId);
+    if (log != null) {
+      log.empty();
+    }
+  }
+
+  @Override
+  public boolean appendsEvents() {
+    return true;
+  }
+
+  /** Returns all existing carts, e.g. to copy them to another node. */
+  public List<Cart> findAll() {
+    return logs.values().stream().flatMap(log -> log.rebuild().stream()).toList();
+  }
+
+  /**
+   * Returns the state of all carts, each with its position, e.g. to copy them to another node while
+   * they're being changed. Each cart is read atomically, but not all of them at the same time.
+   */
+  public List<PositionedCart> findAllPositioned() {
+    return logs.values().stream().map(CartLog::positioned).toList();
+  }
+
+  /**
+   * Returns the number of events of the customer's cart. It grows with every change to the cart, so
+   * it tells whether a {@link PositionedCart} includes a change.
+   */
+  public int position(CustomerId customerId) {
+    CartLog log = logs.get(customerId);
+    return log != null ? log.position() : 0;
+  }
+
+  /** Deletes all carts and their histories. */
+  public void clear() {
+    logs.clear();
+  }
+
+  /** Returns all events of the customer's cart, the oldest one first. */
+  public List<CartEvent> history(CustomerId customerId) {
+    CartLog log = logs.get(customerId);
+    return log != null ? log.history() : List.of();
+  }
+
+  /** Returns the number of events replayed to rebuild the customer's cart. */
+  int eventsSinceSnapshot(CustomerId customerId) {
+    CartLog log = logs.get(customerId);
+    return log != null ? log.eventsSinceSnapshot() : 0;
+  }
+
+  private class CartLog {
+
+    private final CustomerId customerId;
+    private final List<CartEvent> events = new ArrayList<>();
+
+    // Guarded by this:
+    private List<CartLineItem> snapshot = List.of();
+    private int snapshotPosition;
+    private boolean exists;
+
+    CartLog(CustomerId customerId) {
+      this.customerId = customerId;
+    }
+
+    synchronized void append(List<CartEvent> newEvents) {
+      events.addAll(newEvents);
+      exists = true;
+      if (eventsSinceSnapshot() >= snapshotInterval) {
+        snapshot = replay().lineItems();
+        snapshotPosition = events.size();
+      }
+    }
+
+    synchronized void empty() {
+      if (!exists) {
+        return;
+      }
+      events.add(new CartEmptied());
+      snapshot = List.of();
+      snapshotPosition = events.size();
+      exists = false;
+    }
+
+    synchronized Optional<Cart> rebuild() {
+      return exists ? Optional.of(replay()) : Optional.empty();
+    }
+
+    synchronized PositionedCart positioned() {
+      return new PositionedCart(customerId, rebuild(), events.size());
+    }
+
+    synchronized int position() {
+      return events.size();
+    }
+
+    synchronized List<CartEvent> history() {
+      return List.copyOf(events);
+    }
+
+    synchronized int eventsSinceSnapshot() {
+      return events.size() - snapshotPosition;
+    }
+
+    private Cart replay() {
+      return Cart.replay(
+          customerId, copyOf(snapshot), events.subList(snapshotPosition, events.size()));
+    }
+  }
+
+  private static List<CartLineItem> copyOf(List<CartLineItem> lineItems) {
+    List<CartLineItem> copies = new ArrayList<>(lineItems.size());
+    for (CartLineItem lineItem : lineItems) {
+      Product product = lineItem.product();
+      Product copy =
+          new Product(
+              product.id(),
+              product.name(),
+              product.description(),
+              product.price(),
+              product.itemsInStock());
+      copies.add(new CartLineItem(copy, lineItem.quantity()));
+    }
+    return copies;
+  }
+}
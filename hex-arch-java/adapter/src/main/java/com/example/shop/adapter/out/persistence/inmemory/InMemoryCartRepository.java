@@ -0,0 +1,34 @@
+package com.example.shop.adapter.out.persistence.inmemory;
+
+import com.example.shop.application.port.out.persistence.CartRepository;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.customer.CustomerId;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistence adapter: Stores carts in memory.
+ *
+ * @author Paul Anthony Begley
+ */
+public class InMemoryCartRepository implements CartRepository {
+
+  private final Map<CustomerId, Cart> carts = new ConcurrentHashMap<>();
+
+  @Override
+  public void save(Cart cart) {
+    carts.put(cart.id(), cart);
+    cart.markEventsCommitted(); // the cart itself is stored, so its events aren't needed
+  }
+
+  @Override
+  public Optional<Cart> findByCustomerId(CustomerId customerId) {
+    return Optional.ofNullable(carts.get(customerId));
+  }
+
+  @Override
+  public void deleteByCustomerId(CustomerId customerId) {
+    carts.remove(customerId);
+  }
+}
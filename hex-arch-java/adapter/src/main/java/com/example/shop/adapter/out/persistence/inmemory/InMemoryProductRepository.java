@@ -1,52 +1,174 @@
 package com.example.shop.adapter.out.persistence.inmemory;
 
 import com.example.shop.adapter.out.persistence.DemoProducts;
+import com.example.shop.adapter.out.persistence.search.ParallelTopKScan;
+import com.example.shop.adapter.out.persistence.search.Scored;
+import com.example.shop.application.port.out.persistence.AutocompleteIndex;
 import com.example.shop.application.port.out.persistence.ProductRepository;
 import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
 import com.example.shop.model.product.ProductId;
+import com.example.shop.model.product.ProductQuery;
+import com.example.shop.model.product.ProductSortOrder;
+import java.util.Collection;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Persistence adapter: Stores products in memory.
  *
+ * <p>The products and their search indexes are kept in a {@link ProductCatalog}, which is published
+ * to readers in consistent versions: a search never locks, never waits for a writer and always sees
+ * the catalog as of one version, i.e. before or after each {@link #save(Product)} or {@link
+ * #saveAll(Collection)}, never in between. Saving many products with {@link #saveAll(Collection)}
+ * publishes them all in a single new version. See {@link LeftRight}.
+ *
+ * <p>As {@link Product} is mutable, products are copied when saved and when returned; modifying a
+ * returned product doesn't change the stored one until it's saved.
+ *
  * @author Paul Anthony Begley
  */
-public class InMemoryProductRepository implements ProductRepository {
+public class InMemoryProductRepository implements ProductRepository, AutocompleteIndex {
 
-  private final Map<ProductId, Product> products = new ConcurrentHashMap<>();
+  private final LeftRight<ProductCatalog> catalog;
 
   public InMemoryProductRepository() {
-    createDemoProducts();
+    this(ForkJoinPool.commonPool(), ParallelTopKScan.DEFAULT_PARALLEL_THRESHOLD);
+  }
+
+  /**
+   * Creates a repository that scans catalogs of at least {@code parallelThreshold} products on the
+   * given pool.
+   */
+  public InMemoryProductRepository(ForkJoinPool scanPool, int parallelThreshold) {
+    this(scanPool, parallelThreshold, true);
+  }
+
+  private InMemoryProductRepository(
+      ForkJoinPool scanPool, int parallelThreshold, boolean withDemoProducts) {
+    ParallelTopKScan scan = new ParallelTopKScan(scanPool, parallelThreshold);
+    this.catalog = new LeftRight<>(() -> new ProductCatalog(scan));
+    if (withDemoProducts) {
+      createDemoProducts();
+    }
+  }
+
+  /** Creates a repository without the demo products, e.g. for a shard of a larger catalog. */
+  public static InMemoryProductRepository empty() {
+    return new InMemoryProductRepository(
+        ForkJoinPool.commonPool(), ParallelTopKScan.DEFAULT_PARALLEL_THRESHOLD, false);
   }
 
   private void createDemoProducts() {
-    DemoProducts.DEMO_PRODUCTS.forEach(this::save);
+    saveAll(DemoProducts.DEMO_PRODUCTS);
   }
 
   @Override
   public void save(Product product) {
-    products.put(product.id(), product);
+    Product copy = copyOf(product);
+    catalog.modify(productCatalog -> productCatalog.save(copy));
+  }
+
+  /** Saves all given products and publishes them at once, in a single new catalog version. */
+  @Override
+  public void saveAll(Collection<Product> products) {
+    List<Product> copies = products.stream().map(InMemoryProductRepository::copyOf).toList();
+    catalog.modify(productCatalog -> copies.forEach(productCatalog::save));
+  }
+
+  /** Returns the number of catalog versions published so far. */
+  public long version() {
+    return catalog.version();
   }
 
   @Override
   public Optional<Product> findById(ProductId productId) {
-    return Optional.ofNullable(products.get(productId));
+    return catalog
+        .read(productCatalog -> productCatalog.findById(productId))
+        .map(InMemoryProductRepository::copyOf);
+  }
+
+  @Override
+  public List<Product> findByNameOrDescription(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return items(findScoredByNameOrDescription(query, filter, sortOrder, limit));
+  }
+
+  /**
+   * Like {@link #findByNameOrDescription(String, ProductFilter, ProductSortOrder, int)}, but
+   * returns the relevance scores, too.
+   */
+  public List<Scored<Product>> findScoredByNameOrDescription(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return copiesOf(
+        catalog.read(
+            productCatalog ->
+                productCatalog.findScoredByNameOrDescription(query, filter, sortOrder, limit)));
   }
 
   @Override
-  public List<Product> findByNameOrDescription(String query) {
-    String queryLowerCase = query.toLowerCase(Locale.ROOT);
-    return products.values().stream()
-        .filter(product -> matchesQuery(product, queryLowerCase))
+  public List<Product> findByNameOrDescriptionFuzzy(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return items(findScoredByNameOrDescriptionFuzzy(query, filter, sortOrder, limit));
+  }
+
+  /**
+   * Like {@link #findByNameOrDescriptionFuzzy(String, ProductFilter, ProductSortOrder, int)}, but
+   * returns the relevance scores, too.
+   */
+  public List<Scored<Product>> findScoredByNameOrDescriptionFuzzy(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return copiesOf(
+        catalog.read(
+            productCatalog ->
+                productCatalog.findScoredByNameOrDescriptionFuzzy(
+                    query, filter, sortOrder, limit)));
+  }
+
+  @Override
+  public List<Product> findByTerms(
+      ProductQuery query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return items(findScoredByTerms(query, filter, sortOrder, limit));
+  }
+
+  /**
+   * Like {@link #findByTerms(ProductQuery, ProductFilter, ProductSortOrder, int)}, but returns the
+   * relevance scores, too.
+   */
+  public List<Scored<Product>> findScoredByTerms(
+      ProductQuery query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return copiesOf(
+        catalog.read(
+            productCatalog -> productCatalog.findScoredByTerms(query, filter, sortOrder, limit)));
+  }
+
+  @Override
+  public List<String> findCompletions(String prefix, int limit) {
+    return catalog.read(productCatalog -> productCatalog.findCompletions(prefix, limit));
+  }
+
+  /** Returns an estimate of the heap retained by the term posting lists, in bytes. */
+  long termPostingsSizeInBytes() {
+    return catalog.read(ProductCatalog::termPostingsSizeInBytes);
+  }
+
+  private static List<Product> items(List<Scored<Product>> scoredProducts) {
+    return scoredProducts.stream().map(Scored::item).toList();
+  }
+
+  private static List<Scored<Product>> copiesOf(List<Scored<Product>> scoredProducts) {
+    return scoredProducts.stream()
+        .map(scored -> new Scored<>(copyOf(scored.item()), scored.score()))
         .toList();
   }
 
-  private boolean matchesQuery(Product product, String query) {
-    return product.name().toLowerCase(Locale.ROOT).contains(query)
-        || product.description().toLowerCase(Locale.ROOT).contains(query);
+  private static Product copyOf(Product product) {
+    return new Product(
+        product.id(),
+        product.name(),
+        product.description(),
+        product.price(),
+        product.itemsInStock());
   }
 }
@@ -0,0 +1,148 @@
+package com.example.shop.adapter.out.persistence.inmemory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Publishes a mutable, not thread-safe data structure to concurrent readers that never lock, never
+ * retry and never see a partially applied update (the "Left-Right" technique).
+ *
+ * <p>Two instances of the structure are kept. Readers always read the <em>active</em> one; writers
+ * apply a batch of changes to the inactive one, publish it atomically as the new active instance
+ * together with a new version number, wait until no reader uses the previous instance anymore, and
+ * replay the batch on that one, too. So every read sees exactly the state after some batch, and a
+ * batch of any size costs a single publish. The price is twice the memory and applying every batch
+ * twice; writers are serialized.
+ *
+ * <p>Readers announce themselves on one of two striped counters (picked by the writer-controlled
+ * version index) rather than on the instance they read, so a writer can wait for the readers of the
+ * previous instance without blocking new readers, which already read the new one.
+ *
+ * @author Paul Anthony Begley
+ */
+public class LeftRight<T> {
+
+  private static final int STRIPES = Integer.highestOneBit(4 * ncpus() - 1) << 1;
+
+  // One counter per 128 bytes, so readers on different cores don't share a cache line
+  private static final int PADDING = 16;
+
+  private static final int SPINS_BEFORE_PARKING = 100;
+  private static final long PARK_NANOS = 10_000;
+
+  private final T left;
+  private final T right;
+  private final ReadIndicator[] readIndicators = {new ReadIndicator(), new ReadIndicator()};
+  private final ReentrantLock writerLock = new ReentrantLock();
+
+  private volatile T active;
+  private volatile int readIndicatorIndex;
+  private volatile long version;
+
+  /** Creates the two instances with the given factory; they must be equal. */
+  public LeftRight(Supplier<T> factory) {
+    this.left = factory.get();
+    this.right = factory.get();
+    this.active = left;
+  }
+
+  /**
+   * Applies the given function to the current version of the structure. The function must not
+   * modify the structure, and must not leak references to its internals beyond its return.
+   */
+  public <R> R read(Function<? super T, R> reader) {
+    ReadIndicator readIndicator = readIndicators[readIndicatorIndex];
+    int stripe = readIndicator.arrive();
+    try {
+      return reader.apply(active);
+    } finally {
+      readIndicator.depart(stripe);
+    }
+  }
+
+  /**
+   * Applies the given batch of changes and publishes the result atomically. The batch is applied to
+   * both instances, so it must be deterministic and must not keep a reference to the instance.
+   *
+   * @return the new version
+   */
+  public long modify(Consumer<? super T> batch) {
+    writerLock.lock();
+    try {
+      T inactive = active == left ? right : left;
+      batch.accept(inactive);
+
+      T previous = active;
+      active = inactive;
+      long newVersion = version + 1;
+      version = newVersion;
+
+      // Readers that arrived at the current indicator may still read the previous instance. New
+      // readers arrive at the other indicator once it's drained; after that, those that arrived at
+      // the current one are gone, too.
+      int previousIndex = readIndicatorIndex;
+      int nextIndex = previousIndex ^ 1;
+      awaitNoReaders(readIndicators[nextIndex]);
+      readIndicatorIndex = nextIndex;
+      awaitNoReaders(readIndicators[previousIndex]);
+
+      batch.accept(previous);
+      return newVersion;
+    } finally {
+      writerLock.unlock();
+    }
+  }
+
+  /** Returns the number of batches published so far. */
+  public long version() {
+    return version;
+  }
+
+  private static void awaitNoReaders(ReadIndicator readIndicator) {
+    for (int spins = 0; !readIndicator.isEmpty(); spins++) {
+      if (spins < SPINS_BEFORE_PARKING) {
+        Thread.onSpinWait();
+      } else {
+        LockSupport.parkNanos(PARK_NANOS);
+      }
+    }
+  }
+
+  private static int ncpus() {
+    return Runtime.getRuntime().availableProcessors();
+  }
+
+  /** Counts the readers in progress, on counters striped by thread to avoid contention. */
+  private static class ReadIndicator {
+
+    private final AtomicLongArray counters = new AtomicLongArray(STRIPES * PADDING);
+
+    int arrive() {
+      int stripe = (int) mix(Thread.currentThread().threadId()) & (STRIPES - 1);
+      counters.getAndIncrement(stripe * PADDING);
+      return stripe;
+    }
+
+    void depart(int stripe) {
+      counters.getAndDecrement(stripe * PADDING);
+    }
+
+    boolean isEmpty() {
+      for (int stripe = 0; stripe < STRIPES; stripe++) {
+        if (counters.get(stripe * PADDING) != 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static long mix(long threadId) {
+      long h = threadId * 0x9E3779B97F4A7C15L;
+      return h ^ (h >>> 32);
+    }
+  }
+}
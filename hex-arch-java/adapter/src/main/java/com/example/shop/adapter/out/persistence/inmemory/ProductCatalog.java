@@ -0,0 +1,396 @@
+package com.example.shop.adapter.out.persistence.inmemory;
+
+import com.example.shop.adapter.out.persistence.search.InvertedIndex;
+import com.example.shop.adapter.out.persistence.search.ParallelTopKScan;
+import com.example.shop.adapter.out.persistence.search.PrefixTrie;
+import com.example.shop.adapter.out.persistence.search.ProductOrders;
+import com.example.shop.adapter.out.persistence.search.RelevanceScorer;
+import com.example.shop.adapter.out.persistence.search.Scored;
+import com.example.shop.adapter.out.persistence.search.SegmentedList;
+import com.example.shop.adapter.out.persistence.search.SortedLongIndex;
+import com.example.shop.adapter.out.persistence.search.TermBitmapIndex;
+import com.example.shop.adapter.out.persistence.search.TermMatch;
+import com.example.shop.adapter.out.persistence.search.TopKCollector;
+import com.example.shop.model.money.Money;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductId;
+import com.example.shop.model.product.ProductQuery;
+import com.example.shop.model.product.ProductQuery.Term;
+import com.example.shop.model.product.ProductSortOrder;
+import com.example.shop.model.product.Tokenizer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * The products of an {@link InMemoryProductRepository} together with their indexes, all updated
+ * incrementally on every {@link #save(Product)}:
+ *
+ * <ul>
+ *   <li>a prefix trie over the words of all product names for autocompletion, weighted by the
+ *       number of products whose name contains the word,
+ *   <li>an inverted index over the words of all names and descriptions for typo-tolerant search,
+ *   <li>per field, an inverted index of compressed bitmaps for boolean searches of whole words,
+ *   <li>per currency, a sorted index of the prices (in minor units), for price ranges and sorting
+ *       by price, and
+ *   <li>a bitmap of the products in stock.
+ * </ul>
+ *
+ * <p>The products are also stored by their ordinal in fixed-size segments, so a (non-fuzzy) search
+ * can scan large catalogs in parallel on a fork-join pool; see {@link ParallelTopKScan}.
+ *
+ * <p>This class is not thread-safe. The repository keeps two instances and publishes one of them to
+ * readers at a time; see {@link LeftRight}. Saving the same products in the same order into two
+ * instances yields the same ordinals in both.
+ *
+ * @author Paul Anthony Begley
+ */
+final class ProductCatalog {
+
+  private final Map<ProductId, SearchableProduct> products = new HashMap<>();
+  private final SegmentedList<SearchableProduct> productsByOrdinal = new SegmentedList<>();
+  private final PrefixTrie nameTokens = new PrefixTrie();
+  private final InvertedIndex terms = new InvertedIndex();
+  private final TermBitmapIndex termBitmaps = new TermBitmapIndex();
+  private final Map<Currency, SortedLongIndex> priceIndexes = new HashMap<>();
+  private final BitSet inStock = new BitSet();
+
+  private final ParallelTopKScan scan;
+
+  ProductCatalog(ParallelTopKScan scan) {
+    this.scan = scan;
+  }
+
+  void save(Product product) {
+    SearchableProduct previous = products.get(product.id());
+    int ordinal = previous != null ? previous.ordinal() : productsByOrdinal.size();
+    SearchableProduct searchableProduct = new SearchableProduct(product, ordinal);
+
+    products.put(product.id(), searchableProduct);
+    if (previous != null) {
+      productsByOrdinal.set(ordinal, searchableProduct);
+      Tokenizer.distinctTokens(previous.nameLowerCase())
+          .forEach(token -> nameTokens.addWeight(token, -1));
+      terms.remove(ordinal, previous.terms());
+      termBitmaps.remove(ordinal, previous.nameTerms(), previous.descriptionTerms());
+      priceIndexes.get(previous.currency()).remove(previous.priceMinorUnits(), ordinal);
+    } else {
+      productsByOrdinal.add(searchableProduct);
+    }
+    Tokenizer.distinctTokens(searchableProduct.nameLowerCase())
+        .forEach(token -> nameTokens.addWeight(token, 1));
+    terms.add(ordinal, searchableProduct.terms());
+    termBitmaps.add(ordinal, searchableProduct.nameTerms(), searchableProduct.descriptionTerms());
+    priceIndexes
+        .computeIfAbsent(searchableProduct.currency(), currency -> new SortedLongIndex())
+        .add(searchableProduct.priceMinorUnits(), ordinal);
+    inStock.set(ordinal, product.itemsInStock() > 0);
+  }
+
+  Optional<Product> findById(ProductId productId) {
+    return Optional.ofNullable(products.get(productId)).map(SearchableProduct::product);
+  }
+
+  List<Scored<Product>> findScoredByNameOrDescription(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    String queryLowerCase = query.toLowerCase(Locale.ROOT);
+    PriceRange priceRange = PriceRange.of(filter);
+    ToIntFunction<SearchableProduct> scorer =
+        searchableProduct ->
+            isInStockIfRequired(searchableProduct, filter)
+                ? searchableProduct.score(queryLowerCase)
+                : RelevanceScorer.NO_MATCH;
+
+    if (sortOrder != ProductSortOrder.RELEVANCE) {
+      return searchInPriceOrder(scorer, priceRange, sortOrder, limit);
+    }
+
+    if (priceRange != null) {
+      TopKCollector<Product> topK = new TopKCollector<>(limit, ProductOrders.BY_ID);
+      forEachInPriceRange(
+          priceRange,
+          false,
+          (priceMinorUnits, ordinal) -> {
+            SearchableProduct searchableProduct = productsByOrdinal.get(ordinal);
+            int score = scorer.applyAsInt(searchableProduct);
+            if (score != RelevanceScorer.NO_MATCH) {
+              topK.offer(searchableProduct.product(), score);
+            }
+            return true;
+          });
+      return topK.toScoredList();
+    }
+
+    return scan.scan(
+            productsByOrdinal, scorer, SearchableProduct::product, limit, ProductOrders.BY_ID)
+        .toScoredList();
+  }
+
+  /**
+   * Walks the price indexes in the requested order and scores each product until {@code limit}
+   * products have matched (plus those priced the same as the last one, which are ordered by ID).
+   */
+  private List<Scored<Product>> searchInPriceOrder(
+      ToIntFunction<SearchableProduct> scorer,
+      PriceRange priceRange,
+      ProductSortOrder sortOrder,
+      int limit) {
+    boolean descending = sortOrder == ProductSortOrder.PRICE_DESCENDING;
+    List<Scored<SearchableProduct>> matches = new ArrayList<>();
+    SortedLongIndex.EntryVisitor visitor =
+        (priceMinorUnits, ordinal) -> {
+          if (matches.size() >= limit
+              && priceMinorUnits != matches.get(limit - 1).item().priceMinorUnits()) {
+            return false;
+          }
+          SearchableProduct searchableProduct = productsByOrdinal.get(ordinal);
+          int score = scorer.applyAsInt(searchableProduct);
+          if (score != RelevanceScorer.NO_MATCH) {
+            matches.add(new Scored<>(searchableProduct, score));
+          }
+          return true;
+        };
+
+    if (priceRange != null) {
+      forEachInPriceRange(priceRange, descending, visitor);
+    } else {
+      for (Currency currency : currenciesInOrder(descending)) {
+        PriceRange wholeRange = new PriceRange(currency, Long.MIN_VALUE, Long.MAX_VALUE);
+        forEachInPriceRange(wholeRange, descending, visitor);
+        if (matches.size() >= limit) {
+          break;
+        }
+      }
+    }
+
+    return firstInPriceOrder(matches, sortOrder, limit);
+  }
+
+  private void forEachInPriceRange(
+      PriceRange priceRange, boolean descending, SortedLongIndex.EntryVisitor visitor) {
+    SortedLongIndex priceIndex = priceIndexes.get(priceRange.currency());
+    if (priceIndex != null) {
+      priceIndex.forEachInRange(
+          priceRange.minMinorUnits(), priceRange.maxMinorUnits(), descending, visitor);
+    }
+  }
+
+  private List<Currency> currenciesInOrder(boolean descending) {
+    Comparator<Currency> byCode = Comparator.comparing(Currency::getCurrencyCode);
+    return priceIndexes.keySet().stream().sorted(descending ? byCode.reversed() : byCode).toList();
+  }
+
+  private static List<Scored<Product>> firstInPriceOrder(
+      List<Scored<SearchableProduct>> matches, ProductSortOrder sortOrder, int limit) {
+    Comparator<Product> order = ProductOrders.byPrice(sortOrder);
+    return matches.stream()
+        .map(match -> new Scored<>(match.item().product(), match.score()))
+        .sorted(Comparator.comparing(Scored::item, order))
+        .limit(limit)
+        .toList();
+  }
+
+  private boolean isInStockIfRequired(SearchableProduct searchableProduct, ProductFilter filter) {
+    return !filter.inStockOnly() || inStock.get(searchableProduct.ordinal());
+  }
+
+  /**
+   * Finds the products containing, for each word of the query, a word within a few edits of it.
+   * Instead of comparing the query with every product, this looks up the words within reach in the
+   * term dictionary and then only filters and scores the products containing them.
+   */
+  List<Scored<Product>> findScoredByNameOrDescriptionFuzzy(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    Set<String> queryTokens = Tokenizer.distinctTokens(query.toLowerCase(Locale.ROOT));
+    if (queryTokens.isEmpty()) {
+      return List.of();
+    }
+
+    PriceRange priceRange = PriceRange.of(filter);
+    List<List<TermMatch>> termMatchesPerToken = new ArrayList<>(queryTokens.size());
+    for (String queryToken : queryTokens) {
+      List<TermMatch> termMatches = terms.fuzzyMatches(queryToken, maxEdits(queryToken));
+      if (termMatches.isEmpty()) {
+        return List.of();
+      }
+      termMatchesPerToken.add(termMatches);
+    }
+
+    TopKCollector<Product> topK = new TopKCollector<>(limit, ProductOrders.BY_ID);
+    List<Scored<SearchableProduct>> matches = new ArrayList<>();
+    for (int ordinal : terms.union(termMatchesPerToken.get(0))) {
+      SearchableProduct searchableProduct = productsByOrdinal.get(ordinal);
+      if (!isInStockIfRequired(searchableProduct, filter)
+          || (priceRange != null && !priceRange.contains(searchableProduct))) {
+        continue;
+      }
+      int score = fuzzyScore(searchableProduct, termMatchesPerToken);
+      if (score == RelevanceScorer.NO_MATCH) {
+        continue;
+      }
+      if (sortOrder == ProductSortOrder.RELEVANCE) {
+        topK.offer(searchableProduct.product(), score);
+      } else {
+        matches.add(new Scored<>(searchableProduct, score));
+      }
+    }
+    return sortOrder == ProductSortOrder.RELEVANCE
+        ? topK.toScoredList()
+        : firstInPriceOrder(matches, sortOrder, limit);
+  }
+
+  /**
+   * The number of typos tolerated in a word: none in very short words (which would match almost
+   * anything otherwise), one in words of up to five characters, two in longer words.
+   */
+  static int maxEdits(String word) {
+    if (word.length() <= 2) {
+      return 0;
+    }
+    return word.length() <= 5 ? 1 : 2;
+  }
+
+  private int fuzzyScore(SearchableProduct product, List<List<TermMatch>> termMatchesPerToken) {
+    int score = 0;
+    for (List<TermMatch> termMatches : termMatchesPerToken) {
+      TermMatch closestMatch = terms.closestMatchIn(product.ordinal(), termMatches);
+      if (closestMatch == null) {
+        return RelevanceScorer.NO_MATCH;
+      }
+      score += product.score(closestMatch.term()) / (1 + closestMatch.distance());
+    }
+    return score;
+  }
+
+  /**
+   * Finds the products matching a boolean query of whole words in the term bitmaps, then filters
+   * and scores only those. A product scores the sum of its relevance scores for the query's words
+   * it contains.
+   */
+  List<Scored<Product>> findScoredByTerms(
+      ProductQuery query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    PriceRange priceRange = PriceRange.of(filter);
+    List<Term> queryTerms = query.clauses().stream().flatMap(List::stream).distinct().toList();
+
+    TopKCollector<Product> topK = new TopKCollector<>(limit, ProductOrders.BY_ID);
+    List<Scored<SearchableProduct>> matches = new ArrayList<>();
+    termBitmaps
+        .matches(query)
+        .forEach(
+            ordinal -> {
+              SearchableProduct searchableProduct = productsByOrdinal.get(ordinal);
+              if (!isInStockIfRequired(searchableProduct, filter)
+                  || (priceRange != null && !priceRange.contains(searchableProduct))) {
+                return;
+              }
+              int score = termScore(searchableProduct, queryTerms);
+              if (sortOrder == ProductSortOrder.RELEVANCE) {
+                topK.offer(searchableProduct.product(), score);
+              } else {
+                matches.add(new Scored<>(searchableProduct, score));
+              }
+            });
+    return sortOrder == ProductSortOrder.RELEVANCE
+        ? topK.toScoredList()
+        : firstInPriceOrder(matches, sortOrder, limit);
+  }
+
+  private int termScore(SearchableProduct product, List<Term> queryTerms) {
+    int score = 0;
+    for (Term term : queryTerms) {
+      if (termBitmaps.contains(product.ordinal(), term)) {
+        score += product.score(term.word());
+      }
+    }
+    return score;
+  }
+
+  /** Returns an estimate of the heap retained by the term posting lists, in bytes. */
+  long termPostingsSizeInBytes() {
+    return termBitmaps.postingsSizeInBytes();
+  }
+
+  List<String> findCompletions(String prefix, int limit) {
+    return nameTokens.topCompletions(prefix, limit);
+  }
+
+  /**
+   * A product together with its ordinal (a dense number identifying it in the indexes), its
+   * lower-cased texts, so they're not lower-cased on every search, and its price in minor units.
+   */
+  private record SearchableProduct(
+      Product product,
+      int ordinal,
+      String nameLowerCase,
+      String descriptionLowerCase,
+      long priceMinorUnits) {
+
+    SearchableProduct(Product product, int ordinal) {
+      this(
+          product,
+          ordinal,
+          product.name().toLowerCase(Locale.ROOT),
+          product.description().toLowerCase(Locale.ROOT),
+          minorUnits(product.price()));
+    }
+
+    Currency currency() {
+      return product.price().currency();
+    }
+
+    int score(String queryLowerCase) {
+      return RelevanceScorer.score(
+          nameLowerCase, descriptionLowerCase, product.itemsInStock(), queryLowerCase);
+    }
+
+    Set<String> terms() {
+      Set<String> terms = new LinkedHashSet<>(nameTerms());
+      terms.addAll(descriptionTerms());
+      return terms;
+    }
+
+    Set<String> nameTerms() {
+      return Tokenizer.distinctTokens(nameLowerCase);
+    }
+
+    Set<String> descriptionTerms() {
+      return Tokenizer.distinctTokens(descriptionLowerCase);
+    }
+  }
+
+  /** A price range in minor units of a currency; both bounds are inclusive. */
+  private record PriceRange(Currency currency, long minMinorUnits, long maxMinorUnits) {
+
+    /** Returns the filter's price range, or {@code null} if it has none. */
+    static PriceRange of(ProductFilter filter) {
+      if (!filter.hasPriceRange()) {
+        return null;
+      }
+      return new PriceRange(
+          filter.currency().orElseThrow(),
+          filter.minPrice() != null ? minorUnits(filter.minPrice()) : Long.MIN_VALUE,
+          filter.maxPrice() != null ? minorUnits(filter.maxPrice()) : Long.MAX_VALUE);
+    }
+
+    boolean contains(SearchableProduct searchableProduct) {
+      return searchableProduct.currency().equals(currency)
+          && searchableProduct.priceMinorUnits() >= minMinorUnits
+          && searchableProduct.priceMinorUnits() <= maxMinorUnits;
+    }
+  }
+
+  private static long minorUnits(Money money) {
+    int fractionDigits = Math.max(money.currency().getDefaultFractionDigits(), 0);
+    return money.amount().movePointRight(fractionDigits).longValueExact();
+  }
+}
@@ -0,0 +1,188 @@
+package com.example.shop.adapter.out.persistence.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A pool of up to {@code maxConnections} JDBC connections, opened on demand and kept open for
+ * reuse, together with the statements prepared on them (see {@link PooledConnection}).
+ *
+ * <p>A caller waits up to {@link #BORROW_TIMEOUT} for a connection when all of them are in use. The
+ * most recently returned connection is handed out first, so under light load the same few
+ * connections (and their prepared statements) stay warm. A connection that fails is closed instead
+ * of being returned to the pool.
+ *
+ * @author Paul Anthony Begley
+ */
+public class ConnectionPool implements AutoCloseable {
+
+  public static final int DEFAULT_MAX_CONNECTIONS = 10;
+
+  static final Duration BORROW_TIMEOUT = Duration.ofSeconds(5);
+  private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+  private final String url;
+  private final String user;
+  private final String password;
+  private final Semaphore permits;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  // Guarded by lock:
+  private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+  private int openConnections;
+  private boolean closed;
+
+  public ConnectionPool(String url, String user, String password) {
+    this(url, user, password, DEFAULT_MAX_CONNECTIONS);
+  }
+
+  public ConnectionPool(String url, String user, String password, int maxConnections) {
+    if (maxConnections < 1) {
+      throw new IllegalArgumentException("'maxConnections' must be greater than 0");
+    }
+    this.url = url;
+    this.user = user;
+    this.password = password;
+    this.permits = new Semaphore(maxConnections, true);
+  }
+
+  /** Does the given work with a connection in auto-commit mode. */
+  public <T> T execute(SqlFunction<T> work) {
+    PooledConnection connection = borrow();
+    boolean healthy = true;
+    try {
+      return work.apply(connection);
+    } catch (SQLException e) {
+      healthy = isValid(connection);
+      throw new UncheckedSqlException(e);
+    } finally {
+      release(connection, healthy);
+    }
+  }
+
+  /** Does the given work in a single transaction, which is rolled back if the work fails. */
+  public <T> T executeInTransaction(SqlFunction<T> work) {
+    return execute(
+        connection -> {
+          Connection jdbcConnection = connection.connection();
+          jdbcConnection.setAutoCommit(false);
+          try {
+            T result = work.apply(connection);
+            jdbcConnection.commit();
+            return result;
+          } catch (SQLException | RuntimeException e) {
+            jdbcConnection.rollback();
+            throw e;
+          } finally {
+            jdbcConnection.setAutoCommit(true);
+          }
+        });
+  }
+
+  public int openConnections() {
+    lock.lock();
+    try {
+      return openConnections;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int idleConnections() {
+    lock.lock();
+    try {
+      return idleConnections.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Closes the idle connections now, and the borrowed ones when they're returned. */
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      closed = true;
+      idleConnections.forEach(PooledConnection::close);
+      openConnections -= idleConnections.size();
+      idleConnections.clear();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private PooledConnection borrow() {
+    try {
+      if (!permits.tryAcquire(BORROW_TIMEOUT.toNanos(), TimeUnit.NANOSECONDS)) {
+        throw new UncheckedSqlException(
+            "No connection became available within " + BORROW_TIMEOUT.toMillis() + " ms");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new UncheckedSqlException("Interrupted while waiting for a connection");
+    }
+
+    lock.lock();
+    try {
+      if (closed) {
+        permits.release();
+        throw new IllegalStateException("The connection pool is closed");
+      }
+      PooledConnection idleConnection = idleConnections.pollFirst();
+      if (idleConnection != null) {
+        return idleConnection;
+      }
+      openConnections++;
+    } finally {
+      lock.unlock();
+    }
+
+    try {
+      return new PooledConnection(DriverManager.getConnection(url, user, password));
+    } catch (SQLException e) {
+      connectionClosed();
+      permits.release();
+      throw new UncheckedSqlException(e);
+    }
+  }
+
+  private void release(PooledConnection connection, boolean healthy) {
+    lock.lock();
+    try {
+      if (healthy && !closed) {
+        idleConnections.addFirst(connection);
+      } else {
+        connection.close();
+        openConnections--;
+      }
+    } finally {
+      lock.unlock();
+    }
+    permits.release();
+  }
+
+  private void connectionClosed() {
+    lock.lock();
+    try {
+      openConnections--;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static boolean isValid(PooledConnection connection) {
+    try {
+      return connection.connection().isValid(VALIDATION_TIMEOUT_SECONDS);
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+}
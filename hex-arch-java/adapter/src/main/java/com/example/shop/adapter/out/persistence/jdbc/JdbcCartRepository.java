@@ -0,0 +1,164 @@
+package com.example.shop.adapter.out.persistence.jdbc;
+
+import com.example.shop.adapter.out.persistence.wire.WireFormat;
+import com.example.shop.application.port.out.persistence.CartRepository;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.cart.CartLineItem;
+import com.example.shop.model.customer.CustomerId;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistence adapter: Stores carts in a relational database, accessed via JDBC.
+ *
+ * <p>Each cart is one row of the {@code carts} table, with its line items (including the products
+ * as they were when added) encoded in a binary column. So saving a cart is a single upsert, however
+ * many line items it has, and loading it is a single primary-key lookup. {@link
+ * #saveAll(Collection)} sends the upserts in JDBC batches of up to {@link
+ * JdbcProductRepository#BATCH_SIZE} statements, in one transaction.
+ *
+ * @author Paul Anthony Begley
+ */
+public class JdbcCartRepository implements CartRepository {
+
+  private static final String CREATE_TABLE =
+      """
+      CREATE TABLE IF NOT EXISTS carts (
+        customer_id INTEGER PRIMARY KEY,
+        line_items VARBINARY(1048576) NOT NULL)""";
+
+  private static final String UPSERT =
+      """
+      MERGE INTO carts c
+      USING (VALUES (CAST(? AS INTEGER), CAST(? AS VARBINARY(1048576))))
+        AS v(customer_id, line_items)
+      ON c.customer_id = v.customer_id
+      WHEN MATCHED THEN UPDATE SET line_items = v.line_items
+      WHEN NOT MATCHED THEN INSERT (customer_id, line_items)
+        VALUES (v.customer_id, v.line_items)""";
+
+  private static final String SELECT_BY_CUSTOMER_ID =
+      "SELECT line_items FROM carts WHERE customer_id = ?";
+
+  private static final String DELETE_BY_CUSTOMER_ID = "DELETE FROM carts WHERE customer_id = ?";
+
+  private final ConnectionPool connectionPool;
+
+  /** Creates the table if it doesn't exist yet. */
+  public JdbcCartRepository(ConnectionPool connectionPool) {
+    this.connectionPool = connectionPool;
+    connectionPool.execute(
+        connection -> {
+          try (Statement statement = connection.connection().createStatement()) {
+            statement.execute(CREATE_TABLE);
+          }
+          return null;
+        });
+  }
+
+  @Override
+  public void save(Cart cart) {
+    byte[] lineItems = encode(cart.lineItems());
+    connectionPool.execute(
+        connection -> {
+          PreparedStatement upsert = connection.prepare(UPSERT);
+          upsert.setInt(1, cart.id().value());
+          upsert.setBytes(2, lineItems);
+          return upsert.executeUpdate();
+        });
+    cart.markEventsCommitted(); // the whole cart is stored, so its events aren't needed
+  }
+
+  /** Saves all given carts in one transaction, sending the upserts in batches. */
+  @Override
+  public void saveAll(Collection<Cart> carts) {
+    List<byte[]> lineItems = carts.stream().map(cart -> encode(cart.lineItems())).toList();
+    connectionPool.executeInTransaction(
+        connection -> {
+          PreparedStatement upsert = connection.prepare(UPSERT);
+          try {
+            int batched = 0;
+            int i = 0;
+            for (Cart cart : carts) {
+              upsert.setInt(1, cart.id().value());
+              upsert.setBytes(2, lineItems.get(i++));
+              upsert.addBatch();
+              if (++batched == JdbcProductRepository.BATCH_SIZE) {
+                upsert.executeBatch();
+                batched = 0;
+              }
+            }
+            if (batched > 0) {
+              upsert.executeBatch();
+            }
+            return null;
+          } finally {
+            // The statement is reused, so a failed save must not leave its upserts behind
+            upsert.clearBatch();
+          }
+        });
+    carts.forEach(Cart::markEventsCommitted);
+  }
+
+  @Override
+  public Optional<Cart> findByCustomerId(CustomerId customerId) {
+    Optional<byte[]> lineItems =
+        connectionPool.execute(
+            connection -> {
+              PreparedStatement select = connection.prepare(SELECT_BY_CUSTOMER_ID);
+              select.setInt(1, customerId.value());
+              try (ResultSet resultSet = select.executeQuery()) {
+                return resultSet.next() ? Optional.of(resultSet.getBytes(1)) : Optional.empty();
+              }
+            });
+    return lineItems.map(bytes -> Cart.replay(customerId, decode(bytes), List.of()));
+  }
+
+  @Override
+  public void deleteByCustomerId(CustomerId customerId) {
+    connectionPool.execute(
+        connection -> {
+          PreparedStatement delete = connection.prepare(DELETE_BY_CUSTOMER_ID);
+          delete.setInt(1, customerId.value());
+          return delete.executeUpdate();
+        });
+  }
+
+  private static byte[] encode(List<CartLineItem> lineItems) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(lineItems.size());
+      for (CartLineItem lineItem : lineItems) {
+        WireFormat.writeProduct(out, lineItem.product());
+        out.writeInt(lineItem.quantity());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static List<CartLineItem> decode(byte[] bytes) {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      int size = in.readInt();
+      List<CartLineItem> lineItems = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        lineItems.add(new CartLineItem(WireFormat.readProduct(in), in.readInt()));
+      }
+      return lineItems;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
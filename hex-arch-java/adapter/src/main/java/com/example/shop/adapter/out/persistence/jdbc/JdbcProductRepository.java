@@ -0,0 +1,212 @@
+package com.example.shop.adapter.out.persistence.jdbc;
+
+import com.example.shop.adapter.out.persistence.inmemory.InMemoryProductRepository;
+import com.example.shop.application.port.out.persistence.AutocompleteIndex;
+import com.example.shop.application.port.out.persistence.ProductRepository;
+import com.example.shop.model.money.Money;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductId;
+import com.example.shop.model.product.ProductQuery;
+import com.example.shop.model.product.ProductSortOrder;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Persistence adapter: Stores products in a relational database, accessed via JDBC.
+ *
+ * <p>The {@code products} table is the system of record; {@link #findById(ProductId)} always reads
+ * it, so prices and stock are up to date when a product is added to a cart. SQL can't rank matches
+ * by relevance or match misspelled words, so searches are answered by an in-memory search index,
+ * which is loaded from the table on construction and updated after every successful save. It only
+ * sees changes made through this repository; with several nodes writing to the same database, feed
+ * it from a {@link com.example.shop.adapter.out.persistence.changefeed.ProductChangeFeed} as well.
+ *
+ * <p>Each save is a single upsert; {@link #saveAll(Collection)} sends the upserts in JDBC batches
+ * of up to {@link #BATCH_SIZE} statements, in one transaction. The statements are written in
+ * standard SQL (including {@code MERGE}), so they run on H2 and HSQLDB alike.
+ *
+ * @author Paul Anthony Begley
+ */
+public class JdbcProductRepository implements ProductRepository, AutocompleteIndex {
+
+  static final int BATCH_SIZE = 500;
+
+  private static final String CREATE_TABLE =
+      """
+      CREATE TABLE IF NOT EXISTS products (
+        id VARCHAR(64) PRIMARY KEY,
+        name VARCHAR(1000) NOT NULL,
+        description VARCHAR(10000) NOT NULL,
+        price_currency CHAR(3) NOT NULL,
+        price_amount DECIMAL(19, 4) NOT NULL,
+        items_in_stock INTEGER NOT NULL)""";
+
+  private static final String UPSERT =
+      """
+      MERGE INTO products p
+      USING (VALUES (CAST(? AS VARCHAR(64)), CAST(? AS VARCHAR(1000)),
+          CAST(? AS VARCHAR(10000)), CAST(? AS CHAR(3)), CAST(? AS DECIMAL(19, 4)),
+          CAST(? AS INTEGER)))
+        AS v(id, name, description, price_currency, price_amount, items_in_stock)
+      ON p.id = v.id
+      WHEN MATCHED THEN UPDATE SET
+        name = v.name, description = v.description, price_currency = v.price_currency,
+        price_amount = v.price_amount, items_in_stock = v.items_in_stock
+      WHEN NOT MATCHED THEN INSERT
+        (id, name, description, price_currency, price_amount, items_in_stock)
+        VALUES (v.id, v.name, v.description, v.price_currency, v.price_amount, v.items_in_stock)""";
+
+  private static final String SELECT_COLUMNS =
+      "SELECT id, name, description, price_currency, price_amount, items_in_stock FROM products";
+
+  private static final String SELECT_BY_ID = SELECT_COLUMNS + " WHERE id = ?";
+
+  private final ConnectionPool connectionPool;
+  private final InMemoryProductRepository searchIndex = InMemoryProductRepository.empty();
+
+  // Keeps the search index in the order in which the products were written to the database
+  private final ReentrantLock writeLock = new ReentrantLock();
+
+  /** Creates the table if it doesn't exist yet and loads the search index from it. */
+  public JdbcProductRepository(ConnectionPool connectionPool) {
+    this.connectionPool = connectionPool;
+    connectionPool.execute(
+        connection -> {
+          try (Statement statement = connection.connection().createStatement()) {
+            statement.execute(CREATE_TABLE);
+          }
+          return null;
+        });
+    searchIndex.saveAll(findAll());
+  }
+
+  @Override
+  public void save(Product product) {
+    writeLock.lock();
+    try {
+      connectionPool.execute(
+          connection -> {
+            PreparedStatement upsert = connection.prepare(UPSERT);
+            bindProduct(upsert, product);
+            return upsert.executeUpdate();
+          });
+      searchIndex.save(product);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /** Saves all given products in one transaction, sending the upserts in batches. */
+  @Override
+  public void saveAll(Collection<Product> products) {
+    writeLock.lock();
+    try {
+      connectionPool.executeInTransaction(
+          connection -> {
+            PreparedStatement upsert = connection.prepare(UPSERT);
+            try {
+              int batched = 0;
+              for (Product product : products) {
+                bindProduct(upsert, product);
+                upsert.addBatch();
+                if (++batched == BATCH_SIZE) {
+                  upsert.executeBatch();
+                  batched = 0;
+                }
+              }
+              if (batched > 0) {
+                upsert.executeBatch();
+              }
+              return null;
+            } finally {
+              // The statement is reused, so a failed save must not leave its upserts behind
+              upsert.clearBatch();
+            }
+          });
+      searchIndex.saveAll(products);
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  @Override
+  public Optional<Product> findById(ProductId productId) {
+    return connectionPool.execute(
+        connection -> {
+          PreparedStatement select = connection.prepare(SELECT_BY_ID);
+          select.setString(1, productId.value());
+          try (ResultSet resultSet = select.executeQuery()) {
+            return resultSet.next() ? Optional.of(readProduct(resultSet)) : Optional.empty();
+          }
+        });
+  }
+
+  @Override
+  public List<Product> findByNameOrDescription(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return searchIndex.findByNameOrDescription(query, filter, sortOrder, limit);
+  }
+
+  @Override
+  public List<Product> findByNameOrDescriptionFuzzy(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return searchIndex.findByNameOrDescriptionFuzzy(query, filter, sortOrder, limit);
+  }
+
+  @Override
+  public List<Product> findByTerms(
+      ProductQuery query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return searchIndex.findByTerms(query, filter, sortOrder, limit);
+  }
+
+  @Override
+  public List<String> findCompletions(String prefix, int limit) {
+    return searchIndex.findCompletions(prefix, limit);
+  }
+
+  private List<Product> findAll() {
+    return connectionPool.execute(
+        connection -> {
+          List<Product> products = new ArrayList<>();
+          try (Statement statement = connection.connection().createStatement();
+              ResultSet resultSet = statement.executeQuery(SELECT_COLUMNS)) {
+            while (resultSet.next()) {
+              products.add(readProduct(resultSet));
+            }
+          }
+          return products;
+        });
+  }
+
+  private static void bindProduct(PreparedStatement statement, Product product)
+      throws SQLException {
+    statement.setString(1, product.id().value());
+    statement.setString(2, product.name());
+    statement.setString(3, product.description());
+    statement.setString(4, product.price().currency().getCurrencyCode());
+    statement.setBigDecimal(5, product.price().amount());
+    statement.setInt(6, product.itemsInStock());
+  }
+
+  /** Reads a product; the price gets its currency's usual number of fraction digits back. */
+  private static Product readProduct(ResultSet resultSet) throws SQLException {
+    Currency currency = Currency.getInstance(resultSet.getString("price_currency"));
+    return new Product(
+        new ProductId(resultSet.getString("id")),
+        resultSet.getString("name"),
+        resultSet.getString("description"),
+        new Money(
+            currency,
+            resultSet.getBigDecimal("price_amount").setScale(currency.getDefaultFractionDigits())),
+        resultSet.getInt("items_in_stock"));
+  }
+}
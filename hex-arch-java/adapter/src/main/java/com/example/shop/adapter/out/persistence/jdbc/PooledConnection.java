@@ -0,0 +1,52 @@
+package com.example.shop.adapter.out.persistence.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A connection borrowed from a {@link ConnectionPool}, with the statements prepared on it.
+ *
+ * <p>Statements are prepared once per connection and reused by every later borrower, so the
+ * database parses and plans each statement only once per connection. A connection is used by one
+ * thread at a time, so the statements need no synchronization.
+ *
+ * @author Paul Anthony Begley
+ */
+public class PooledConnection {
+
+  private final Connection connection;
+  private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+  PooledConnection(Connection connection) {
+    this.connection = connection;
+  }
+
+  /** Returns the statement for the given SQL, preparing it on the first call. */
+  public PreparedStatement prepare(String sql) throws SQLException {
+    PreparedStatement statement = statements.get(sql);
+    if (statement == null) {
+      statement = connection.prepareStatement(sql);
+      statements.put(sql, statement);
+    }
+    return statement;
+  }
+
+  public Connection connection() {
+    return connection;
+  }
+
+  int preparedStatements() {
+    return statements.size();
+  }
+
+  void close() {
+    try {
+      connection.close(); // also closes the statements
+    } catch (SQLException e) {
+      // Nothing left to do with a broken connection
+    }
+  }
+}
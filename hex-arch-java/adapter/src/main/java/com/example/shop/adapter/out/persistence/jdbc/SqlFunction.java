@@ -0,0 +1,10 @@
+package com.example.shop.adapter.out.persistence.jdbc;
+
+import java.sql.SQLException;
+
+/** Work done with a {@link PooledConnection}, which may fail with an {@link SQLException}. */
+@FunctionalInterface
+public interface SqlFunction<T> {
+
+  T apply(PooledConnection connection) throws SQLException;
+}
@@ -0,0 +1,20 @@
+package com.example.shop.adapter.out.persistence.jdbc;
+
+import java.sql.SQLException;
+
+/**
+ * Wraps an {@link SQLException}, as the persistence ports don't declare checked exceptions (like
+ * {@link java.io.UncheckedIOException} does for I/O errors).
+ *
+ * @author Paul Anthony Begley
+ */
+public class UncheckedSqlException extends RuntimeException {
+
+  public UncheckedSqlException(SQLException cause) {
+    super(cause.getMessage(), cause);
+  }
+
+  public UncheckedSqlException(String message) {
+    super(message);
+  }
+}
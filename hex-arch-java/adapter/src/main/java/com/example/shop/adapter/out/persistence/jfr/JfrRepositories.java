@@ -0,0 +1,226 @@
+package com.example.shop.adapter.out.persistence.jfr;
+
+import com.example.shop.application.port.out.persistence.AutocompleteIndex;
+import com.example.shop.application.port.out.persistence.CartRepository;
+import com.example.shop.application.port.out.persistence.ProductRepository;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductId;
+import com.example.shop.model.product.ProductQuery;
+import com.example.shop.model.product.ProductSortOrder;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistence adapters: Decorators that emit a {@link RepositoryEvent} for every call of a
+ * persistence port, naming the decorated adapter.
+ *
+ * <p>As with the use case decorators, the event object is removed by the JIT compiler while the
+ * event isn't enabled, and results are only measured for events that are committed.
+ *
+ * @author Paul Anthony Begley
+ */
+public final class JfrRepositories {
+
+  private JfrRepositories() {}
+
+  public static ProductRepository productRepository(ProductRepository productRepository) {
+    return new JfrProductRepository(
+        productRepository, productRepository.getClass().getSimpleName());
+  }
+
+  public static CartRepository cartRepository(CartRepository cartRepository) {
+    return new JfrCartRepository(cartRepository, cartRepository.getClass().getSimpleName());
+  }
+
+  public static AutocompleteIndex autocompleteIndex(AutocompleteIndex autocompleteIndex) {
+    return new JfrAutocompleteIndex(
+        autocompleteIndex, autocompleteIndex.getClass().getSimpleName());
+  }
+
+  private record JfrProductRepository(ProductRepository productRepository, String name)
+      implements ProductRepository {
+
+    @Override
+    public void save(Product product) {
+      RepositoryEvent event = RepositoryEvent.start(name, "save");
+      event.productId = product.id().value();
+      try {
+        productRepository.save(product);
+        if (event.shouldCommit()) {
+          event.commit(1);
+        }
+      } catch (RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+
+    @Override
+    public void saveAll(Collection<Product> products) {
+      RepositoryEvent event = RepositoryEvent.start(name, "saveAll");
+      try {
+        productRepository.saveAll(products);
+        if (event.shouldCommit()) {
+          event.commit(products.size());
+        }
+      } catch (RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+
+    @Override
+    public Optional<Product> findById(ProductId productId) {
+      RepositoryEvent event = RepositoryEvent.start(name, "findById");
+      event.productId = productId.value();
+      try {
+        Optional<Product> product = productRepository.findById(productId);
+        if (event.shouldCommit()) {
+          event.commit(product.isPresent() ? 1 : 0);
+        }
+        return product;
+      } catch (RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+
+    @Override
+    public List<Product> findByNameOrDescription(
+        String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+      RepositoryEvent event = RepositoryEvent.start(name, "findByNameOrDescription");
+      event.query = query;
+      try {
+        return committed(
+            event, productRepository.findByNameOrDescription(query, filter, sortOrder, limit));
+      } catch (RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+
+    @Override
+    public List<Product> findByNameOrDescriptionFuzzy(
+        String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+      RepositoryEvent event = RepositoryEvent.start(name, "findByNameOrDescriptionFuzzy");
+      event.query = query;
+      try {
+        return committed(
+            event, productRepository.findByNameOrDescriptionFuzzy(query, filter, sortOrder, limit));
+      } catch (RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+
+    @Override
+    public List<Product> findByTerms(
+        ProductQuery query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+      RepositoryEvent event = RepositoryEvent.start(name, "findByTerms");
+      event.query = query.text();
+      try {
+        return committed(event, productRepository.findByTerms(query, filter, sortOrder, limit));
+      } catch (RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+  }
+
+  private record JfrCartRepository(CartRepository cartRepository, String name)
+      implements CartRepository {
+
+    @Override
+    public void save(Cart cart) {
+      RepositoryEvent event = RepositoryEvent.start(name, "save");
+      event.customerId = cart.id().value();
+      try {
+        cartRepository.save(cart);
+        if (event.shouldCommit()) {
+          event.commit(cart.lineItems().size());
+        }
+      } catch (RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+
+    @Override
+    public void saveAll(Collection<Cart> carts) {
+      RepositoryEvent event = RepositoryEvent.start(name, "saveAll");
+      try {
+        cartRepository.saveAll(carts);
+        if (event.shouldCommit()) {
+          event.commit(carts.size());
+        }
+      } catch (RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+
+    @Override
+    public Optional<Cart> findByCustomerId(CustomerId customerId) {
+      RepositoryEvent event = RepositoryEvent.start(name, "findByCustomerId");
+      event.customerId = customerId.value();
+      try {
+        Optional<Cart> cart = cartRepository.findByCustomerId(customerId);
+        if (event.shouldCommit()) {
+          event.commit(cart.map(found -> found.lineItems().size()).orElse(0));
+        }
+        return cart;
+      } catch (RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+
+    @Override
+    public void deleteByCustomerId(CustomerId customerId) {
+      RepositoryEvent event = RepositoryEvent.start(name, "deleteByCustomerId");
+      event.customerId = customerId.value();
+      try {
+        cartRepository.deleteByCustomerId(customerId);
+        if (event.shouldCommit()) {
+          event.commit(0);
+        }
+      } catch (RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+
+    @Override
+    public boolean appendsEvents() {
+      return cartRepository.appendsEvents();
+    }
+  }
+
+  private record JfrAutocompleteIndex(AutocompleteIndex autocompleteIndex, String name)
+      implements AutocompleteIndex {
+
+    @Override
+    public List<String> findCompletions(String prefix, int limit) {
+      RepositoryEvent event = RepositoryEvent.start(name, "findCompletions");
+      event.query = prefix;
+      try {
+        return committed(event, autocompleteIndex.findCompletions(prefix, limit));
+      } catch (RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+  }
+
+  /** Commits the event, if it should be committed, for a call that returned the given list. */
+  private static <T> List<T> committed(RepositoryEvent event, List<T> result) {
+    if (event.shouldCommit()) {
+      event.commit(result.size());
+    }
+    return result;
+  }
+}
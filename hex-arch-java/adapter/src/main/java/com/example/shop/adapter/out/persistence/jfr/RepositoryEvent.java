@@ -0,0 +1,77 @@
+package com.example.shop.adapter.out.persistence.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A Java Flight Recorder event for a call of a persistence port, emitted by the decorators of
+ * {@link JfrRepositories}.
+ *
+ * <p>Only calls taking at least 1 ms are recorded by default, without a stack trace; change the
+ * threshold in the recording settings, e.g. {@code jfr configure
+ * com.example.shop.RepositoryCall#threshold=0ms}.
+ *
+ * @author Paul Anthony Begley
+ */
+@Name(RepositoryEvent.NAME)
+@Label("Repository Call")
+@Category({"Shop", "Persistence"})
+@Description("A call of a repository or index")
+@Threshold("1 ms")
+@StackTrace(false)
+public class RepositoryEvent extends Event {
+
+  public static final String NAME = "com.example.shop.RepositoryCall";
+
+  @Label("Repository")
+  @Description("The simple class name of the adapter")
+  String repository;
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Customer ID")
+  int customerId;
+
+  @Label("Product ID")
+  String productId;
+
+  @Label("Query")
+  String query;
+
+  @Label("Result Size")
+  @Description("The number of products, line items or completions read or written")
+  int resultSize;
+
+  @Label("Failure")
+  @Description("The simple name of the exception thrown, if any")
+  String failure;
+
+  /** Creates an event for the given operation of the given adapter and starts timing it. */
+  static RepositoryEvent start(String repository, String operation) {
+    RepositoryEvent event = new RepositoryEvent();
+    event.repository = repository;
+    event.operation = operation;
+    event.begin();
+    return event;
+  }
+
+  /** Commits the event; to be called only if {@link #shouldCommit()}. */
+  void commit(int resultSize) {
+    this.resultSize = resultSize;
+    commit();
+  }
+
+  /** Commits the event for a call that threw the given exception, if it should be committed. */
+  void commitFailure(RuntimeException exception) {
+    if (shouldCommit()) {
+      failure = exception.getClass().getSimpleName();
+      commit();
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package com.example.shop.adapter.out.persistence.replicated;
+
+import com.example.shop.adapter.out.persistence.inmemory.EventSourcedCartRepository;
+import com.example.shop.adapter.out.persistence.replicated.CartReplicationProtocol.Change;
+import com.example.shop.adapter.out.persistence.replicated.CartReplicationProtocol.Delete;
+import com.example.shop.adapter.out.persistence.replicated.CartReplicationProtocol.Reset;
+import com.example.shop.adapter.out.persistence.replicated.CartReplicationProtocol.Save;
+import com.example.shop.adapter.out.persistence.wire.LoopbackServer;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A replica of the carts of a {@link ReplicatedCartRepository}, kept in an {@link
+ * EventSourcedCartRepository} of its own and updated over TCP (see {@link
+ * CartReplicationProtocol}).
+ *
+ * <p>When the primary fails, {@link #promote()} the replica: it stops accepting changes and hands
+ * out its repository, which already holds the carts, so it can serve customers right away, e.g. as
+ * the local repository of a new primary.
+ *
+ * <p>Run {@link #main(String[])} to start a replica in a JVM of its own.
+ *
+ * @author Paul Anthony Begley
+ */
+public class CartReplica implements AutoCloseable {
+
+  private final EventSourcedCartRepository cartRepository = new EventSourcedCartRepository();
+  private final LoopbackServer server;
+
+  private final ReentrantLock applyLock = new ReentrantLock();
+  private boolean promoted; // guarded by applyLock
+
+  /** Starts accepting changes on the loopback interface; port 0 picks a free port. */
+  public CartReplica(int port) {
+    this.server = new LoopbackServer("cart-replica", port, this::serve);
+  }
+
+  public int port() {
+    return server.port();
+  }
+
+  /**
+   * Returns the replicated carts. Don't modify them unless the replica has been {@linkplain
+   * #promote() promoted}.
+   */
+  public EventSourcedCartRepository cartRepository() {
+    return cartRepository;
+  }
+
+  /**
+   * Stops accepting changes from the primary and returns the replicated carts, to be served by this
+   * node from now on.
+   */
+  public EventSourcedCartRepository promote() {
+    close();
+    applyLock.lock();
+    try {
+      promoted = true; // waits for a batch being applied, and stops applying further ones
+    } finally {
+      applyLock.unlock();
+    }
+    return cartRepository;
+  }
+
+  /** Applies batches until the primary closes the connection, or it breaks (then it reconnects). */
+  private void serve(Socket socket) throws IOException {
+    DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    while (applyBatch(CartReplicationProtocol.readBatch(in))) {
+      out.writeByte(CartReplicationProtocol.ACK);
+      out.flush();
+    }
+  }
+
+  private boolean applyBatch(List<Change> batch) {
+    applyLock.lock();
+    try {
+      if (promoted) {
+        return false;
+      }
+      batch.forEach(this::apply);
+      return true;
+    } finally {
+      applyLock.unlock();
+    }
+  }
+
+  private void apply(Change change) {
+    switch (change) {
+      case Reset() -> cartRepository.clear();
+      case Save save -> cartRepository.append(save.customerId(), save.events());
+      case Delete delete -> cartRepository.deleteByCustomerId(delete.customerId());
+    }
+  }
+
+  @Override
+  public void close() {
+    server.close();
+  }
+
+  /**
+   * Starts a replica in this JVM and serves until the JVM is terminated.
+   *
+   * <p>Arguments: the port to listen on.
+   */
+  public static void main(String[] args) throws InterruptedException {
+    if (args.length != 1) {
+      System.err.println("Usage: CartReplica <port>");
+      System.exit(1);
+    }
+
+    CartReplica replica = new CartReplica(Integer.parseInt(args[0]));
+    System.out.printf("Cart replica listening on port %d%n", replica.port());
+    Thread.currentThread().join();
+  }
+}
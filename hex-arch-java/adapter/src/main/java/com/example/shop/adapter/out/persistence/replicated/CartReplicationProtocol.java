@@ -0,0 +1,86 @@
+package com.example.shop.adapter.out.persistence.replicated;
+
+import com.example.shop.adapter.out.persistence.wire.WireFormat;
+import com.example.shop.model.cart.CartEvent;
+import com.example.shop.model.customer.CustomerId;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The protocol between a {@link ReplicatedCartRepository} (the primary) and a {@link CartReplica}:
+ * the primary sends batches of changes, each consisting of the number of changes followed by the
+ * changes, and the replica acknowledges each batch with {@link #ACK} once it has applied it. The
+ * primary sends the next batch only after the previous one was acknowledged.
+ *
+ * @author Paul Anthony Begley
+ */
+final class CartReplicationProtocol {
+
+  static final byte ACK = 0;
+
+  private static final byte RESET = 1;
+  private static final byte SAVE = 2;
+  private static final byte DELETE = 3;
+
+  private CartReplicationProtocol() {}
+
+  /** A change to replicate. */
+  sealed interface Change {}
+
+  /** Deletes all carts; starts a full copy of the primary's carts. */
+  record Reset() implements Change {}
+
+  /** Appends events to a cart, creating the cart if it doesn't exist. */
+  record Save(CustomerId customerId, List<CartEvent> events) implements Change {}
+
+  record Delete(CustomerId customerId) implements Change {}
+
+  static void writeBatch(DataOutput out, List<Change> batch) throws IOException {
+    out.writeInt(batch.size());
+    for (Change change : batch) {
+      switch (change) {
+        case Reset() -> out.writeByte(RESET);
+        case Save(CustomerId customerId, List<CartEvent> events) -> {
+          out.writeByte(SAVE);
+          out.writeInt(customerId.value());
+          out.writeInt(events.size());
+          for (CartEvent event : events) {
+            WireFormat.writeCartEvent(out, event);
+          }
+        }
+        case Delete(CustomerId customerId) -> {
+          out.writeByte(DELETE);
+          out.writeInt(customerId.value());
+        }
+      }
+    }
+  }
+
+  static List<Change> readBatch(DataInput in) throws IOException {
+    int size = in.readInt();
+    List<Change> batch = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      byte type = in.readByte();
+      batch.add(
+          switch (type) {
+            case RESET -> new Reset();
+            case SAVE -> new Save(new CustomerId(in.readInt()), readEvents(in));
+            case DELETE -> new Delete(new CustomerId(in.readInt()));
+            default -> throw new IOException("Unknown change type " + type);
+          });
+    }
+    return batch;
+  }
+
+  private static List<CartEvent> readEvents(DataInput in) throws IOException {
+    int size = in.readInt();
+    List<CartEvent> events = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      events.add(WireFormat.readCartEvent(in));
+    }
+    return events;
+  }
+}
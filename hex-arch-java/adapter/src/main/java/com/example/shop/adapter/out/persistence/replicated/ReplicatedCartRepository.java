@@ -0,0 +1,424 @@
+package com.example.shop.adapter.out.persistence.replicated;
+
+import com.example.shop.adapter.out.persistence.inmemory.EventSourcedCartRepository;
+import com.example.shop.adapter.out.persistence.inmemory.EventSourcedCartRepository.PositionedCart;
+import com.example.shop.adapter.out.persistence.replicated.CartReplicationProtocol.Change;
+import com.example.shop.adapter.out.persistence.replicated.CartReplicationProtocol.Delete;
+import com.example.shop.adapter.out.persistence.replicated.CartReplicationProtocol.Reset;
+import com.example.shop.adapter.out.persistence.replicated.CartReplicationProtocol.Save;
+import com.example.shop.application.port.out.persistence.CartRepository;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.cart.CartEvent;
+import com.example.shop.model.cart.CartEvent.ProductAdded;
+import com.example.shop.model.cart.CartLineItem;
+import com.example.shop.model.customer.CustomerId;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Persistence adapter: Stores carts in a local {@link EventSourcedCartRepository} (the primary) and
+ * replicates every change asynchronously to one or more {@link CartReplica}s, usually in other
+ * JVMs.
+ *
+ * <p>Each replica is fed by a virtual thread of its own, which sends the changes queued since its
+ * last batch in one batch (of at most {@code maxBatchSize} changes) and waits for the replica to
+ * acknowledge it. Only the events recorded since a cart was loaded are sent, not the whole cart.
+ * The replication lag is bounded: a save waits while more than {@code maxLag} changes haven't been
+ * acknowledged by a connected replica.
+ *
+ * <p>When a replica connects, or reconnects after a failure or a timeout, it first receives a full
+ * copy of the carts, then the changes made since the copy was taken. The copy is taken while carts
+ * are being saved: changes are queued from before the copy starts, and each queued change that the
+ * copy of its cart already includes is dropped, by the cart's {@linkplain
+ * EventSourcedCartRepository#position(CustomerId) position}. A disconnected replica doesn't hold up
+ * saves.
+ *
+ * @author Paul Anthony Begley
+ */
+public class ReplicatedCartRepository implements CartRepository, AutoCloseable {
+
+  public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+  public static final int DEFAULT_MAX_LAG = 4096;
+
+  static final Duration ACKNOWLEDGEMENT_TIMEOUT = Duration.ofSeconds(5);
+  static final Duration RECONNECT_DELAY = Duration.ofMillis(100);
+
+  private final EventSourcedCartRepository cartRepository;
+  private final int maxBatchSize;
+  private final int maxLag;
+  private final List<ReplicaLink> replicaLinks = new ArrayList<>();
+
+  // Serializes the changes, so they're queued for the replicas in the order they were made, each
+  // with the position of its cart after it
+  private final ReentrantLock writeLock = new ReentrantLock();
+
+  public ReplicatedCartRepository(
+      EventSourcedCartRepository cartRepository, List<InetSocketAddress> replicas) {
+    this(cartRepository, replicas, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_LAG);
+  }
+
+  public ReplicatedCartRepository(
+      EventSourcedCartRepository cartRepository,
+      List<InetSocketAddress> replicas,
+      int maxBatchSize,
+      int maxLag) {
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("'maxBatchSize' must be greater than 0");
+    }
+    if (maxLag < 1) {
+      throw new IllegalArgumentException("'maxLag' must be greater than 0");
+    }
+    this.cartRepository = cartRepository;
+    this.maxBatchSize = maxBatchSize;
+    this.maxLag = maxLag;
+    for (InetSocketAddress replica : replicas) {
+      ReplicaLink replicaLink = new ReplicaLink(replica);
+      replicaLinks.add(replicaLink);
+      replicaLink.thread =
+          Thread.ofVirtual().name("cart-replication-" + replica.getPort()).start(replicaLink);
+    }
+  }
+
+  @Override
+  public void save(Cart cart) {
+    List<CartEvent> events = cart.uncommittedEvents();
+    writeLock.lock();
+    try {
+      cartRepository.save(cart);
+      replicate(new Save(cart.id(), events), cartRepository.position(cart.id()));
+    } finally {
+      writeLock.unlock();
+    }
+    awaitBoundedLag();
+  }
+
+  @Override
+  public Optional<Cart> findByCustomerId(CustomerId customerId) {
+    return cartRepository.findByCustomerId(customerId);
+  }
+
+  @Override
+  public void deleteByCustomerId(CustomerId customerId) {
+    writeLock.lock();
+    try {
+      cartRepository.deleteByCustomerId(customerId);
+      replicate(new Delete(customerId), cartRepository.position(customerId));
+    } finally {
+      writeLock.unlock();
+    }
+    awaitBoundedLag();
+  }
+
+  @Override
+  public boolean appendsEvents() {
+    return true;
+  }
+
+  /** Returns the largest number of changes not yet acknowledged by a connected replica. */
+  public int replicationLag() {
+    return replicaLinks.stream().mapToInt(ReplicaLink::lag).max().orElse(0);
+  }
+
+  /**
+   * Waits until all replicas are connected and have acknowledged all changes, e.g. before a planned
+   * failover; returns {@code false} if that didn't happen within the timeout.
+   */
+  public boolean awaitReplicated(Duration timeout) throws InterruptedException {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    for (ReplicaLink replicaLink : replicaLinks) {
+      if (!replicaLink.awaitCaughtUp(deadline)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void close() {
+    replicaLinks.forEach(ReplicaLink::close);
+  }
+
+  private void replicate(Change change, int position) {
+    QueuedChange queuedChange = new QueuedChange(change, position);
+    for (ReplicaLink replicaLink : replicaLinks) {
+      replicaLink.enqueue(queuedChange);
+    }
+  }
+
+  private void awaitBoundedLag() {
+    for (ReplicaLink replicaLink : replicaLinks) {
+      replicaLink.awaitLagAtMost(maxLag);
+    }
+  }
+
+  /** A change to a cart, and the cart's position after it. */
+  private record QueuedChange(Change change, int position) {
+
+    CustomerId customerId() {
+      return switch (change) {
+        case Save save -> save.customerId();
+        case Delete delete -> delete.customerId();
+        case Reset reset -> throw new IllegalStateException("A reset isn't queued");
+      };
+    }
+  }
+
+  /** The connection to a replica, and the changes it hasn't acknowledged yet. */
+  private class ReplicaLink implements Runnable {
+
+    private final InetSocketAddress address;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    // Guarded by lock:
+    private final Deque<QueuedChange> pending = new ArrayDeque<>();
+    private boolean connected;
+    private boolean caughtUp;
+
+    private volatile boolean closed;
+    private volatile Socket socket;
+    private volatile Thread thread;
+
+    ReplicaLink(InetSocketAddress address) {
+      this.address = address;
+    }
+
+    void enqueue(QueuedChange change) {
+      lock.lock();
+      try {
+        if (connected) { // otherwise, the replica gets a full copy when it (re)connects
+          pending.add(change);
+          caughtUp = false;
+          changed.signalAll();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    int lag() {
+      lock.lock();
+      try {
+        return pending.size();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void awaitLagAtMost(int maxLag) {
+      lock.lock();
+      try {
+        while (connected && pending.size() > maxLag) {
+          changed.awaitUninterruptibly();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    boolean awaitCaughtUp(long deadline) throws InterruptedException {
+      lock.lock();
+      try {
+        while (!caughtUp) {
+          long remaining = deadline - System.nanoTime();
+          if (remaining <= 0) {
+            return false;
+          }
+          changed.awaitNanos(remaining);
+        }
+        return true;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public void run() {
+      while (!closed) {
+        try (Socket socket = new Socket()) {
+          this.socket = socket;
+          socket.connect(address, (int) ACKNOWLEDGEMENT_TIMEOUT.toMillis());
+          socket.setTcpNoDelay(true);
+          socket.setSoTimeout((int) ACKNOWLEDGEMENT_TIMEOUT.toMillis());
+          stream(socket);
+        } catch (IOException e) {
+          // Not connected, the connection broke, or the replica didn't acknowledge in time
+        } finally {
+          disconnected();
+        }
+        pauseBeforeReconnecting();
+      }
+    }
+
+    private void stream(Socket socket) throws IOException {
+      DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+      for (List<Change> batch : fullCopyInBatches()) {
+        send(batch, in, out);
+      }
+
+      while (!closed) {
+        List<Change> batch = nextBatch();
+        if (batch.isEmpty()) {
+          return;
+        }
+        send(batch, in, out);
+        acknowledged(batch.size());
+      }
+    }
+
+    /**
+     * Starts queueing changes, then takes a copy of all carts, without holding up saves. A change
+     * made while copying may or may not be in the copy; it's dropped from the queue if it is.
+     */
+    private List<List<Change>> fullCopyInBatches() {
+      lock.lock();
+      try {
+        pending.clear();
+        connected = true;
+      } finally {
+        lock.unlock();
+      }
+
+      List<Change> changes = new ArrayList<>();
+      changes.add(new Reset());
+      Map<CustomerId, Integer> copiedPositions = new HashMap<>();
+      for (PositionedCart positionedCart : cartRepository.findAllPositioned()) {
+        copiedPositions.put(positionedCart.customerId(), positionedCart.position());
+        positionedCart
+            .cart()
+            .ifPresent(cart -> changes.add(new Save(cart.id(), asEvents(cart.lineItems()))));
+      }
+
+      lock.lock();
+      try {
+        pending.removeIf(
+            change ->
+                change.position()
+                    <= copiedPositions.getOrDefault(change.customerId(), Integer.MIN_VALUE));
+      } finally {
+        lock.unlock();
+      }
+
+      List<List<Change>> batches = new ArrayList<>();
+      for (int from = 0; from < changes.size(); from += maxBatchSize) {
+        batches.add(changes.subList(from, Math.min(from + maxBatchSize, changes.size())));
+      }
+      return batches;
+    }
+
+    /**
+     * Waits for changes and returns up to a batch of them, without removing them from the queue.
+     */
+    private List<Change> nextBatch() {
+      lock.lock();
+      try {
+        while (pending.isEmpty() && !closed) {
+          caughtUp = true;
+          changed.signalAll();
+          changed.awaitUninterruptibly();
+        }
+        List<Change> batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+        Iterator<QueuedChange> iterator = pending.iterator();
+        while (iterator.hasNext() && batch.size() < maxBatchSize) {
+          batch.add(iterator.next().change());
+        }
+        return batch;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void send(List<Change> batch, DataInputStream in, DataOutputStream out)
+        throws IOException {
+      CartReplicationProtocol.writeBatch(out, batch);
+      out.flush();
+      byte response = in.readByte();
+      if (response != CartReplicationProtocol.ACK) {
+        throw new IOException("Unexpected response " + response);
+      }
+    }
+
+    private void acknowledged(int changes) {
+      lock.lock();
+      try {
+        for (int i = 0; i < changes; i++) {
+          pending.removeFirst();
+        }
+        changed.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void disconnected() {
+      lock.lock();
+      try {
+        connected = false;
+        caughtUp = false;
+        pending.clear();
+        changed.signalAll(); // releases saves waiting for this replica
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void pauseBeforeReconnecting() {
+      try {
+        TimeUnit.NANOSECONDS.sleep(RECONNECT_DELAY.toNanos());
+      } catch (InterruptedException e) {
+        // Closed while pausing
+      }
+    }
+
+    void close() {
+      closed = true;
+      lock.lock();
+      try {
+        changed.signalAll();
+      } finally {
+        lock.unlock();
+      }
+      Socket socket = this.socket;
+      if (socket != null) {
+        try {
+          socket.close();
+        } catch (IOException e) {
+          // Nothing left to do with a broken connection
+        }
+      }
+      Thread thread = this.thread;
+      if (thread != null) {
+        thread.interrupt();
+      }
+    }
+  }
+
+  /** Returns events that rebuild the given line items. */
+  private static List<CartEvent> asEvents(List<CartLineItem> lineItems) {
+    List<CartEvent> events = new ArrayList<>(lineItems.size());
+    for (CartLineItem lineItem : lineItems) {
+      events.add(new ProductAdded(lineItem.product(), lineItem.quantity()));
+    }
+    return events;
+  }
+}
@@ -0,0 +1,86 @@
+package com.example.shop.adapter.out.persistence.repricing;
+
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.product.ProductId;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A reverse index from products to the carts containing them, identified by their customers.
+ *
+ * <p>Updates of the same cart are serialized, and so are updates of the same product's set of
+ * carts, so concurrent saves of different carts never lose an entry. Each update has a version; an
+ * update arriving after one with a higher version is ignored, so a slow update can't replace the
+ * products of a later one. A removed cart keeps its version, without products, for that reason.
+ * Reading a product's carts doesn't block updates, and vice versa.
+ *
+ * @author Paul Anthony Begley
+ */
+class CartsByProduct {
+
+  private final Map<ProductId, Set<CustomerId>> customersByProduct = new ConcurrentHashMap<>();
+  private final Map<CustomerId, IndexedCart> cartsByCustomer = new ConcurrentHashMap<>();
+
+  /** The products of a cart as of an update, and the update's version. */
+  private record IndexedCart(List<ProductId> productIds, long version) {}
+
+  /**
+   * Records that the customer's cart contains exactly the given products, unless an update with a
+   * higher version was recorded already.
+   */
+  void update(CustomerId customerId, List<ProductId> productIds, long version) {
+    cartsByCustomer.compute(
+        customerId,
+        (ignored, previous) -> {
+          if (previous != null && previous.version() > version) {
+            return previous;
+          }
+          List<ProductId> previousProductIds = previous != null ? previous.productIds() : List.of();
+          for (ProductId productId : previousProductIds) {
+            if (!productIds.contains(productId)) {
+              removeCustomer(productId, customerId);
+            }
+          }
+          for (ProductId productId : productIds) {
+            if (!previousProductIds.contains(productId)) {
+              addCustomer(productId, customerId);
+            }
+          }
+          return new IndexedCart(productIds, version);
+        });
+  }
+
+  /** Returns a live view of the customers whose carts contain the given product. */
+  Set<CustomerId> customersWith(ProductId productId) {
+    Set<CustomerId> customers = customersByProduct.get(productId);
+    return customers != null ? Collections.unmodifiableSet(customers) : Set.of();
+  }
+
+  /** Returns a live view of the products contained in any cart. */
+  Set<ProductId> products() {
+    return Collections.unmodifiableSet(customersByProduct.keySet());
+  }
+
+  private void addCustomer(ProductId productId, CustomerId customerId) {
+    customersByProduct.compute(
+        productId,
+        (ignored, customers) -> {
+          Set<CustomerId> updatedCustomers =
+              customers != null ? customers : ConcurrentHashMap.newKeySet();
+          updatedCustomers.add(customerId);
+          return updatedCustomers;
+        });
+  }
+
+  private void removeCustomer(ProductId productId, CustomerId customerId) {
+    customersByProduct.computeIfPresent(
+        productId,
+        (ignored, customers) -> {
+          customers.remove(customerId);
+          return customers.isEmpty() ? null : customers;
+        });
+  }
+}
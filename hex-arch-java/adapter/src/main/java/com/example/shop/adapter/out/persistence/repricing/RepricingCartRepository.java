@@ -0,0 +1,173 @@
+package com.example.shop.adapter.out.persistence.repricing;
+
+import com.example.shop.adapter.out.persistence.changefeed.ProductChange;
+import com.example.shop.adapter.out.persistence.changefeed.ProductChangeListener;
+import com.example.shop.application.port.out.persistence.CartRepository;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Persistence adapter: Keeps the products in the carts of the wrapped repository up to date, so a
+ * cart shows the current price and stock of each product instead of the ones it was added with.
+ *
+ * <p>Subscribe it to a {@link com.example.shop.adapter.out.persistence.changefeed.ProductChangeFeed
+ * ProductChangeFeed}: for every saved product, it looks up the carts containing it in a reverse
+ * index, updates their line items (see {@link Cart#updateProduct(Product)}) and saves the changed
+ * carts in batches of {@code batchSize} with {@link CartRepository#saveAll(Collection)}. Carts
+ * without the product aren't touched, and neither are carts whose line item already shows the
+ * product's price and stock.
+ *
+ * <p>The index is updated after every save and delete of a cart from the stored cart, not the saved
+ * one: the wrapped repository merges the events of stale copies of a cart, so the stored cart may
+ * contain products the saved copy doesn't. The stored cart is read without holding any lock; the
+ * index keeps the products read after the latest save (see {@link CartsByProduct}).
+ *
+ * <p>The repricing runs on the feed's subscriber thread and takes no locks beyond the wrapped
+ * repository's own, so it delays neither the publisher nor cart reads. That's only safe because the
+ * wrapped repository must {@linkplain CartRepository#appendsEvents() append the events} of a saved
+ * cart, e.g. an {@link com.example.shop.adapter.out.persistence.inmemory.EventSourcedCartRepository
+ * EventSourcedCartRepository}: a repriced cart is saved as just a {@link
+ * com.example.shop.model.cart.CartEvent.ProductUpdated ProductUpdated} event, so a product added to
+ * the cart while it was being repriced is kept. A repository replacing the whole cart would lose
+ * it, so it's rejected.
+ *
+ * <p>If changes were missed, all products in any cart are looked up again and repriced. A cart
+ * saved with an outdated product while that product is being repriced keeps it until the product's
+ * next change.
+ *
+ * @author Paul Anthony Begley
+ */
+public class RepricingCartRepository implements CartRepository, ProductChangeListener {
+
+  public static final int DEFAULT_BATCH_SIZE = 1_000;
+
+  private final CartRepository cartRepository;
+  private final Function<ProductId, Optional<Product>> productLookup;
+  private final int batchSize;
+
+  private final CartsByProduct cartsByProduct = new CartsByProduct();
+  private final AtomicLong indexVersions = new AtomicLong();
+
+  /**
+   * Creates the decorator; {@code productLookup} returns a product's current state, to catch up
+   * after changes were missed.
+   */
+  public RepricingCartRepository(
+      CartRepository cartRepository, Function<ProductId, Optional<Product>> productLookup) {
+    this(cartRepository, productLookup, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * @throws IllegalArgumentException if the wrapped repository doesn't append the events of a saved
+   *     cart
+   */
+  public RepricingCartRepository(
+      CartRepository cartRepository,
+      Function<ProductId, Optional<Product>> productLookup,
+      int batchSize) {
+    if (!cartRepository.appendsEvents()) {
+      throw new IllegalArgumentException(
+          "'cartRepository' must append the events of a saved cart, so a repricing can't overwrite"
+              + " a concurrent change");
+    }
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("'batchSize' must be greater than 0");
+    }
+    this.cartRepository = cartRepository;
+    this.productLookup = productLookup;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public void save(Cart cart) {
+    cartRepository.save(cart);
+    updateIndex(cart.id());
+  }
+
+  @Override
+  public void saveAll(Collection<Cart> carts) {
+    cartRepository.saveAll(carts);
+    for (Cart cart : carts) {
+      updateIndex(cart.id());
+    }
+  }
+
+  @Override
+  public Optional<Cart> findByCustomerId(CustomerId customerId) {
+    return cartRepository.findByCustomerId(customerId);
+  }
+
+  @Override
+  public void deleteByCustomerId(CustomerId customerId) {
+    cartRepository.deleteByCustomerId(customerId);
+    updateIndex(customerId);
+  }
+
+  @Override
+  public boolean appendsEvents() {
+    return true;
+  }
+
+  @Override
+  public void onChange(ProductChange change) {
+    reprice(change.product());
+  }
+
+  @Override
+  public void onChangesMissed() {
+    for (ProductId productId : List.copyOf(cartsByProduct.products())) {
+      productLookup.apply(productId).ifPresent(this::reprice);
+    }
+  }
+
+  /**
+   * Updates the given product in all carts containing it, on the calling thread.
+   *
+   * @return the number of carts changed
+   */
+  public int reprice(Product product) {
+    int repricedCarts = 0;
+    List<Cart> batch = new ArrayList<>(batchSize);
+    for (CustomerId customerId : cartsByProduct.customersWith(product.id())) {
+      Optional<Cart> cart = cartRepository.findByCustomerId(customerId);
+      if (cart.isPresent() && cart.get().updateProduct(product)) {
+        batch.add(cart.get());
+        if (batch.size() == batchSize) {
+          cartRepository.saveAll(batch);
+          repricedCarts += batch.size();
+          batch.clear();
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      cartRepository.saveAll(batch);
+      repricedCarts += batch.size();
+    }
+    return repricedCarts;
+  }
+
+  /**
+   * Indexes the products of the customer's stored cart. The version is taken after the cart was
+   * changed and before it's read, so the read with the highest version sees all changes made so
+   * far.
+   */
+  private void updateIndex(CustomerId customerId) {
+    long version = indexVersions.incrementAndGet();
+    List<ProductId> productIds =
+        cartRepository.findByCustomerId(customerId).map(Cart::productIds).orElse(List.of());
+    cartsByProduct.update(customerId, productIds, version);
+  }
+
+  /** Returns the number of carts containing the given product. */
+  public int cartsWith(ProductId productId) {
+    return cartsByProduct.customersWith(productId).size();
+  }
+}
@@ -0,0 +1,483 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed set of product ordinals, used as a posting list of the {@link TermBitmapIndex}.
+ *
+ * <p>The ordinals are split into chunks of 65,536 by their upper 16 bits (in the manner of
+ * "Roaring" bitmaps). A chunk with up to {@value #MAX_ARRAY_CARDINALITY} ordinals stores their
+ * lower 16 bits in a sorted {@code char} array, 2 bytes per ordinal; a fuller chunk stores a bitmap
+ * of 1,024 {@code long}s, less than 2 bytes per ordinal. As ordinals are dense, a rare term costs 2
+ * bytes per product containing it, and a common one at most 1 bit per product in the catalog.
+ *
+ * <p>{@link #and(CompressedBitmap, CompressedBitmap)} and {@link #or(CompressedBitmap,
+ * CompressedBitmap)} combine two bitmaps chunk by chunk: two bitmap chunks a 64-bit word at a time,
+ * two array chunks by merging them, and an array chunk with a bitmap chunk by testing a bit per
+ * value. They return new bitmaps and don't modify or share the chunks of their arguments.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @author Paul Anthony Begley
+ */
+public class CompressedBitmap {
+
+  static final int MAX_ARRAY_CARDINALITY = 4096;
+
+  private static final int BITMAP_WORDS = 1024;
+  private static final long OBJECT_HEADER_BYTES = 16;
+
+  // The upper 16 bits of the ordinals in each chunk, sorted, and the chunks with the lower 16 bits
+  private char[] keys;
+  private Chunk[] chunks;
+  private int size;
+  private int cardinality;
+
+  public CompressedBitmap() {
+    this(new char[1], new Chunk[1], 0, 0);
+  }
+
+  private CompressedBitmap(char[] keys, Chunk[] chunks, int size, int cardinality) {
+    this.keys = keys;
+    this.chunks = chunks;
+    this.size = size;
+    this.cardinality = cardinality;
+  }
+
+  /** Creates a bitmap of the given ordinals, which needn't be sorted or distinct. */
+  public static CompressedBitmap of(int... ordinals) {
+    CompressedBitmap bitmap = new CompressedBitmap();
+    for (int ordinal : ordinals) {
+      bitmap.add(ordinal);
+    }
+    return bitmap;
+  }
+
+  public void add(int ordinal) {
+    if (ordinal < 0) {
+      throw new IllegalArgumentException("'ordinal' must not be negative");
+    }
+    char key = (char) (ordinal >>> 16);
+    int index = Arrays.binarySearch(keys, 0, size, key);
+    if (index < 0) {
+      index = -index - 1;
+      insertChunk(index, key, new ArrayChunk());
+    }
+    Chunk chunk = chunks[index];
+    int before = chunk.cardinality();
+    chunks[index] = chunk.add((char) ordinal);
+    cardinality += chunks[index].cardinality() - before;
+  }
+
+  public void remove(int ordinal) {
+    if (ordinal < 0) {
+      return;
+    }
+    int index = Arrays.binarySearch(keys, 0, size, (char) (ordinal >>> 16));
+    if (index < 0) {
+      return;
+    }
+    Chunk chunk = chunks[index];
+    int before = chunk.cardinality();
+    Chunk result = chunk.remove((char) ordinal);
+    cardinality += result.cardinality() - before;
+    if (result.cardinality() == 0) {
+      removeChunk(index);
+    } else {
+      chunks[index] = result;
+    }
+  }
+
+  public boolean contains(int ordinal) {
+    if (ordinal < 0) {
+      return false;
+    }
+    int index = Arrays.binarySearch(keys, 0, size, (char) (ordinal >>> 16));
+    return index >= 0 && chunks[index].contains((char) ordinal);
+  }
+
+  /** Returns the number of ordinals in the set. */
+  public int cardinality() {
+    return cardinality;
+  }
+
+  public boolean isEmpty() {
+    return cardinality == 0;
+  }
+
+  /** Passes each ordinal to the given action, in ascending order. */
+  public void forEach(IntConsumer action) {
+    for (int i = 0; i < size; i++) {
+      chunks[i].forEach(keys[i] << 16, action);
+    }
+  }
+
+  /** Returns the ordinals in ascending order. */
+  public int[] toArray() {
+    int[] ordinals = new int[cardinality];
+    int[] position = new int[1];
+    forEach(ordinal -> ordinals[position[0]++] = ordinal);
+    return ordinals;
+  }
+
+  /** Returns an estimate of the heap retained by this bitmap, in bytes. */
+  public long sizeInBytes() {
+    long bytes = OBJECT_HEADER_BYTES + 8 + OBJECT_HEADER_BYTES + 2L * keys.length;
+    bytes += OBJECT_HEADER_BYTES + 4L * chunks.length;
+    for (int i = 0; i < size; i++) {
+      bytes += chunks[i].sizeInBytes();
+    }
+    return bytes;
+  }
+
+  /** Returns the ordinals contained in both bitmaps. */
+  public static CompressedBitmap and(CompressedBitmap a, CompressedBitmap b) {
+    int capacity = Math.max(Math.min(a.size, b.size), 1);
+    CompressedBitmap result = new CompressedBitmap(new char[capacity], new Chunk[capacity], 0, 0);
+    int i = 0;
+    int j = 0;
+    while (i < a.size && j < b.size) {
+      if (a.keys[i] < b.keys[j]) {
+        i++;
+      } else if (a.keys[i] > b.keys[j]) {
+        j++;
+      } else {
+        Chunk chunk = a.chunks[i].and(b.chunks[j]);
+        if (chunk.cardinality() > 0) {
+          result.appendChunk(a.keys[i], chunk);
+        }
+        i++;
+        j++;
+      }
+    }
+    return result;
+  }
+
+  /** Returns the ordinals contained in either bitmap. */
+  public static CompressedBitmap or(CompressedBitmap a, CompressedBitmap b) {
+    int capacity = Math.max(a.size + b.size, 1);
+    CompressedBitmap result = new CompressedBitmap(new char[capacity], new Chunk[capacity], 0, 0);
+    int i = 0;
+    int j = 0;
+    while (i < a.size || j < b.size) {
+      if (j == b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+        result.appendChunk(a.keys[i], a.chunks[i].copy());
+        i++;
+      } else if (i == a.size || a.keys[i] > b.keys[j]) {
+        result.appendChunk(b.keys[j], b.chunks[j].copy());
+        j++;
+      } else {
+        result.appendChunk(a.keys[i], a.chunks[i].or(b.chunks[j]));
+        i++;
+        j++;
+      }
+    }
+    return result;
+  }
+
+  private void insertChunk(int index, char key, Chunk chunk) {
+    if (size == keys.length) {
+      keys = Arrays.copyOf(keys, size * 2);
+      chunks = Arrays.copyOf(chunks, size * 2);
+    }
+    System.arraycopy(keys, index, keys, index + 1, size - index);
+    System.arraycopy(chunks, index, chunks, index + 1, size - index);
+    keys[index] = key;
+    chunks[index] = chunk;
+    size++;
+  }
+
+  private void removeChunk(int index) {
+    System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+    System.arraycopy(chunks, index + 1, chunks, index, size - index - 1);
+    chunks[--size] = null;
+  }
+
+  /** Appends a chunk with a key greater than all others; only for building results. */
+  private void appendChunk(char key, Chunk chunk) {
+    keys[size] = key;
+    chunks[size++] = chunk;
+    cardinality += chunk.cardinality();
+  }
+
+  /** The lower 16 bits of the ordinals sharing the same upper 16 bits. */
+  private abstract static sealed class Chunk permits ArrayChunk, BitmapChunk {
+
+    abstract int cardinality();
+
+    abstract boolean contains(char value);
+
+    /** Adds the value; returns this chunk, or one of the other kind if it's become too full. */
+    abstract Chunk add(char value);
+
+    /** Removes the value; returns this chunk, or one of the other kind if it's become sparse. */
+    abstract Chunk remove(char value);
+
+    abstract Chunk and(Chunk other);
+
+    abstract Chunk or(Chunk other);
+
+    abstract Chunk copy();
+
+    abstract void forEach(int high, IntConsumer action);
+
+    abstract long sizeInBytes();
+  }
+
+  private static final class ArrayChunk extends Chunk {
+
+    private char[] values;
+    private int cardinality;
+
+    ArrayChunk() {
+      this(new char[4], 0);
+    }
+
+    ArrayChunk(char[] values, int cardinality) {
+      this.values = values;
+      this.cardinality = cardinality;
+    }
+
+    @Override
+    int cardinality() {
+      return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+      return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+    }
+
+    @Override
+    Chunk add(char value) {
+      int index = Arrays.binarySearch(values, 0, cardinality, value);
+      if (index >= 0) {
+        return this;
+      }
+      if (cardinality == MAX_ARRAY_CARDINALITY) {
+        return toBitmapChunk().add(value);
+      }
+      int insertionPoint = -index - 1;
+      if (cardinality == values.length) {
+        values = Arrays.copyOf(values, Math.min(cardinality * 2, MAX_ARRAY_CARDINALITY));
+      }
+      System.arraycopy(
+          values, insertionPoint, values, insertionPoint + 1, cardinality - insertionPoint);
+      values[insertionPoint] = value;
+      cardinality++;
+      return this;
+    }
+
+    @Override
+    Chunk remove(char value) {
+      int index = Arrays.binarySearch(values, 0, cardinality, value);
+      if (index >= 0) {
+        System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+        cardinality--;
+        if (values.length > 4 && cardinality <= values.length / 4) {
+          values = Arrays.copyOf(values, values.length / 2); // e.g. after leaving bitmap form
+        }
+      }
+      return this;
+    }
+
+    @Override
+    Chunk and(Chunk other) {
+      char[] result = new char[Math.min(cardinality, other.cardinality())];
+      int size = 0;
+      if (other instanceof BitmapChunk bitmap) {
+        for (int i = 0; i < cardinality; i++) {
+          if (bitmap.contains(values[i])) {
+            result[size++] = values[i];
+          }
+        }
+      } else {
+        ArrayChunk array = (ArrayChunk) other;
+        int i = 0;
+        int j = 0;
+        while (i < cardinality && j < array.cardinality) {
+          if (values[i] < array.values[j]) {
+            i++;
+          } else if (values[i] > array.values[j]) {
+            j++;
+          } else {
+            result[size++] = values[i];
+            i++;
+            j++;
+          }
+        }
+      }
+      return new ArrayChunk(result, size);
+    }
+
+    @Override
+    Chunk or(Chunk other) {
+      if (other instanceof BitmapChunk bitmap) {
+        return bitmap.or(this);
+      }
+      ArrayChunk array = (ArrayChunk) other;
+      if (cardinality + array.cardinality > MAX_ARRAY_CARDINALITY) {
+        return toBitmapChunk().or(array);
+      }
+      char[] result = new char[Math.max(cardinality + array.cardinality, 1)];
+      int size = 0;
+      int i = 0;
+      int j = 0;
+      while (i < cardinality || j < array.cardinality) {
+        if (j == array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+          result[size++] = values[i++];
+        } else if (i == cardinality || values[i] > array.values[j]) {
+          result[size++] = array.values[j++];
+        } else {
+          result[size++] = values[i++];
+          j++;
+        }
+      }
+      return new ArrayChunk(result, size);
+    }
+
+    @Override
+    Chunk copy() {
+      return new ArrayChunk(Arrays.copyOf(values, Math.max(cardinality, 1)), cardinality);
+    }
+
+    @Override
+    void forEach(int high, IntConsumer action) {
+      for (int i = 0; i < cardinality; i++) {
+        action.accept(high | values[i]);
+      }
+    }
+
+    @Override
+    long sizeInBytes() {
+      return OBJECT_HEADER_BYTES + 8 + OBJECT_HEADER_BYTES + 2L * values.length;
+    }
+
+    private BitmapChunk toBitmapChunk() {
+      long[] words = new long[BITMAP_WORDS];
+      for (int i = 0; i < cardinality; i++) {
+        words[values[i] >>> 6] |= 1L << values[i];
+      }
+      return new BitmapChunk(words, cardinality);
+    }
+  }
+
+  private static final class BitmapChunk extends Chunk {
+
+    private final long[] words;
+    private int cardinality;
+
+    BitmapChunk(long[] words, int cardinality) {
+      this.words = words;
+      this.cardinality = cardinality;
+    }
+
+    /** Creates a chunk of the bits set in the given words, as an array if there are few. */
+    static Chunk of(long[] words) {
+      int cardinality = 0;
+      for (long word : words) {
+        cardinality += Long.bitCount(word);
+      }
+      if (cardinality > MAX_ARRAY_CARDINALITY) {
+        return new BitmapChunk(words, cardinality);
+      }
+
+      char[] values = new char[Math.max(cardinality, 1)];
+      int size = 0;
+      for (int i = 0; i < words.length; i++) {
+        for (long word = words[i]; word != 0; word &= word - 1) {
+          values[size++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+        }
+      }
+      return new ArrayChunk(values, size);
+    }
+
+    @Override
+    int cardinality() {
+      return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+      return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    @Override
+    Chunk add(char value) {
+      if (!contains(value)) {
+        words[value >>> 6] |= 1L << value;
+        cardinality++;
+      }
+      return this;
+    }
+
+    @Override
+    Chunk remove(char value) {
+      if (contains(value)) {
+        words[value >>> 6] &= ~(1L << value);
+        cardinality--;
+        if (cardinality <= MAX_ARRAY_CARDINALITY) {
+          return of(words);
+        }
+      }
+      return this;
+    }
+
+    @Override
+    Chunk and(Chunk other) {
+      if (other instanceof ArrayChunk array) {
+        return array.and(this);
+      }
+      long[] otherWords = ((BitmapChunk) other).words;
+      long[] result = new long[BITMAP_WORDS];
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        result[i] = words[i] & otherWords[i];
+      }
+      return of(result);
+    }
+
+    @Override
+    Chunk or(Chunk other) {
+      long[] result = words.clone();
+      if (other instanceof ArrayChunk array) {
+        int added = 0;
+        for (int i = 0; i < array.cardinality; i++) {
+          char value = array.values[i];
+          long bit = 1L << value;
+          if ((result[value >>> 6] & bit) == 0) {
+            result[value >>> 6] |= bit;
+            added++;
+          }
+        }
+        return new BitmapChunk(result, cardinality + added);
+      }
+      long[] otherWords = ((BitmapChunk) other).words;
+      int resultCardinality = 0;
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        result[i] |= otherWords[i];
+        resultCardinality += Long.bitCount(result[i]);
+      }
+      return new BitmapChunk(result, resultCardinality);
+    }
+
+    @Override
+    Chunk copy() {
+      return new BitmapChunk(words.clone(), cardinality);
+    }
+
+    @Override
+    void forEach(int high, IntConsumer action) {
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        for (long word = words[i]; word != 0; word &= word - 1) {
+          action.accept(high | (i << 6) | Long.numberOfTrailingZeros(word));
+        }
+      }
+    }
+
+    @Override
+    long sizeInBytes() {
+      return OBJECT_HEADER_BYTES + 8 + OBJECT_HEADER_BYTES + 8L * BITMAP_WORDS;
+    }
+  }
+}
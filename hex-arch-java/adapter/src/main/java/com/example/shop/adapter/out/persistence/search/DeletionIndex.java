@@ -0,0 +1,184 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+
+/**
+ * A symmetric-deletion index (as popularized by SymSpell) for finding the terms within a few edits
+ * of a misspelled word.
+ *
+ * <p>Two words are within {@code k} edits of each other only if deleting at most {@code k}
+ * characters from each of them yields the same string. So every term is indexed under all strings
+ * obtained by deleting up to {@link #MAX_EDITS} characters from it, and a lookup generates the
+ * deletions of the query word, collects the terms indexed under them and verifies each candidate
+ * with the actual edit distance. Only the first {@link #PREFIX_LENGTH} characters of a word are
+ * used for generating deletions, which bounds the number of deletions per term.
+ *
+ * <p>The deletions are not stored as strings but as 64-bit hashes in an open-addressing hash table
+ * of primitive arrays; hash collisions only add candidates that fail verification.
+ *
+ * <p>Terms are never removed; the caller passes a predicate filtering out terms no longer in use.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @author Paul Anthony Begley
+ */
+public class DeletionIndex {
+
+  public static final int MAX_EDITS = 2;
+
+  static final int PREFIX_LENGTH = 7;
+
+  private static final int NO_ENTRY = -1;
+
+  private final Map<String, Integer> termIds = new HashMap<>();
+  private final List<String> terms = new ArrayList<>();
+
+  // Hash table from deletion hash to the head of a linked list of entries
+  private long[] slotHashes = new long[1024];
+  private int[] slotHeads = newSlotHeads(1024);
+  private int usedSlots;
+
+  // Linked list entries, each referring to a term
+  private int[] entryTermIds = new int[1024];
+  private int[] entryNext = new int[1024];
+  private int entryCount;
+
+  /** Adds the given term to the index; adding a term that is already indexed has no effect. */
+  public void add(String term) {
+    if (termIds.containsKey(term)) {
+      return;
+    }
+
+    int termId = terms.size();
+    terms.add(term);
+    termIds.put(term, termId);
+    forEachDeletion(term, MAX_EDITS, hash -> addEntry(hash, termId));
+  }
+
+  /**
+   * Returns the terms accepted by the given filter within {@code maxEdits} edits (at most {@link
+   * #MAX_EDITS}) of the given word, in no particular order.
+   */
+  public List<TermMatch> matches(String word, int maxEdits, Predicate<String> filter) {
+    if (maxEdits < 0 || maxEdits > MAX_EDITS) {
+      throw new IllegalArgumentException("'maxEdits' must be between 0 and " + MAX_EDITS);
+    }
+
+    List<TermMatch> matches = new ArrayList<>();
+    Set<Integer> candidates = new HashSet<>();
+    forEachDeletion(
+        word,
+        maxEdits,
+        hash -> {
+          for (int entry = slotHeads[slot(hash)]; entry != NO_ENTRY; entry = entryNext[entry]) {
+            int termId = entryTermIds[entry];
+            if (!candidates.add(termId)) {
+              continue;
+            }
+            String term = terms.get(termId);
+            int distance = EditDistance.between(word, term, maxEdits);
+            if (distance <= maxEdits && filter.test(term)) {
+              matches.add(new TermMatch(term, distance));
+            }
+          }
+        });
+    return matches;
+  }
+
+  private void addEntry(long hash, int termId) {
+    int slot = slot(hash);
+    if (slotHeads[slot] == NO_ENTRY) {
+      slotHashes[slot] = hash;
+      usedSlots++;
+    } else {
+      // The same deletion can be reached in several ways, e.g. "aab" minus either "a"
+      for (int entry = slotHeads[slot]; entry != NO_ENTRY; entry = entryNext[entry]) {
+        if (entryTermIds[entry] == termId) {
+          return;
+        }
+      }
+    }
+
+    if (entryCount == entryTermIds.length) {
+      entryTermIds = Arrays.copyOf(entryTermIds, entryCount * 2);
+      entryNext = Arrays.copyOf(entryNext, entryCount * 2);
+    }
+    entryTermIds[entryCount] = termId;
+    entryNext[entryCount] = slotHeads[slot];
+    slotHeads[slot] = entryCount;
+    entryCount++;
+
+    if (usedSlots * 2 > slotHashes.length) {
+      rehash();
+    }
+  }
+
+  private int slot(long hash) {
+    int mask = slotHashes.length - 1;
+    int slot = (int) (hash ^ (hash >>> 32)) & mask;
+    while (slotHeads[slot] != NO_ENTRY && slotHashes[slot] != hash) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void rehash() {
+    long[] oldHashes = slotHashes;
+    int[] oldHeads = slotHeads;
+    slotHashes = new long[oldHashes.length * 2];
+    slotHeads = newSlotHeads(oldHashes.length * 2);
+    for (int i = 0; i < oldHashes.length; i++) {
+      if (oldHeads[i] != NO_ENTRY) {
+        int slot = slot(oldHashes[i]);
+        slotHashes[slot] = oldHashes[i];
+        slotHeads[slot] = oldHeads[i];
+      }
+    }
+  }
+
+  private static int[] newSlotHeads(int capacity) {
+    int[] heads = new int[capacity];
+    Arrays.fill(heads, NO_ENTRY);
+    return heads;
+  }
+
+  /** Passes the hashes of the word's prefix and all its deletions to the given consumer. */
+  private static void forEachDeletion(String word, int maxDeletes, LongConsumer consumer) {
+    char[] prefix = word.substring(0, Math.min(word.length(), PREFIX_LENGTH)).toCharArray();
+    forEachDeletion(prefix, maxDeletes, 0, consumer);
+  }
+
+  private static void forEachDeletion(
+      char[] chars, int deletesLeft, int firstPosition, LongConsumer consumer) {
+    consumer.accept(hash(chars));
+    if (deletesLeft == 0 || chars.length <= 1) {
+      return;
+    }
+
+    // Deleting in ascending position order generates each combination of positions only once
+    for (int position = firstPosition; position < chars.length; position++) {
+      char[] shorter = new char[chars.length - 1];
+      System.arraycopy(chars, 0, shorter, 0, position);
+      System.arraycopy(chars, position + 1, shorter, position, chars.length - position - 1);
+      forEachDeletion(shorter, deletesLeft - 1, position, consumer);
+    }
+  }
+
+  /** 64-bit FNV-1a. */
+  private static long hash(char[] chars) {
+    long hash = 0xcbf29ce484222325L;
+    for (char c : chars) {
+      hash ^= c;
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+}
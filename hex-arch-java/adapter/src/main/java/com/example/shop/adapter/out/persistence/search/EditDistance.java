@@ -0,0 +1,57 @@
+package com.example.shop.adapter.out.persistence.search;
+
+/**
+ * The optimal string alignment distance between two words: the number of insertions, deletions,
+ * substitutions and transpositions of adjacent characters turning one into the other, without
+ * editing any substring more than once.
+ *
+ * @author Paul Anthony Begley
+ */
+public final class EditDistance {
+
+  private EditDistance() {}
+
+  /**
+   * Returns the distance between the given words, or {@code maxDistance + 1} if it exceeds {@code
+   * maxDistance}.
+   */
+  public static int between(String a, String b, int maxDistance) {
+    if (Math.abs(a.length() - b.length()) > maxDistance) {
+      return maxDistance + 1;
+    }
+
+    int[] previousPrevious = new int[b.length() + 1];
+    int[] previous = new int[b.length() + 1];
+    int[] current = new int[b.length() + 1];
+    for (int j = 0; j <= b.length(); j++) {
+      previous[j] = j;
+    }
+
+    for (int i = 1; i <= a.length(); i++) {
+      current[0] = i;
+      int rowMinimum = i;
+      for (int j = 1; j <= b.length(); j++) {
+        int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+        int distance =
+            Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+        if (i > 1
+            && j > 1
+            && a.charAt(i - 1) == b.charAt(j - 2)
+            && a.charAt(i - 2) == b.charAt(j - 1)) {
+          distance = Math.min(distance, previousPrevious[j - 2] + 1);
+        }
+        current[j] = distance;
+        rowMinimum = Math.min(rowMinimum, distance);
+      }
+      if (rowMinimum > maxDistance) {
+        return maxDistance + 1;
+      }
+
+      int[] recycled = previousPrevious;
+      previousPrevious = previous;
+      previous = current;
+      current = recycled;
+    }
+    return Math.min(previous[b.length()], maxDistance + 1);
+  }
+}
@@ -0,0 +1,105 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An inverted index from terms to the ordinals of the products containing them, plus a {@link
+ * DeletionIndex} over its terms for finding the terms within a few edits of a misspelled word.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @author Paul Anthony Begley
+ */
+public class InvertedIndex {
+
+  private static final OrdinalSet NO_POSTINGS = new OrdinalSet();
+
+  private final DeletionIndex dictionary = new DeletionIndex();
+  private final Map<String, OrdinalSet> postings = new HashMap<>();
+
+  public void add(int ordinal, Set<String> terms) {
+    for (String term : terms) {
+      OrdinalSet ordinals = postings.get(term);
+      if (ordinals == null) {
+        ordinals = new OrdinalSet();
+        postings.put(term, ordinals);
+        dictionary.add(term);
+      }
+      ordinals.add(ordinal);
+    }
+  }
+
+  public void remove(int ordinal, Set<String> terms) {
+    for (String term : terms) {
+      OrdinalSet ordinals = postings.get(term);
+      if (ordinals != null && ordinals.contains(ordinal)) {
+        ordinals.remove(ordinal);
+        if (ordinals.isEmpty()) {
+          postings.remove(term);
+        }
+      }
+    }
+  }
+
+  public OrdinalSet postings(String term) {
+    return postings.getOrDefault(term, NO_POSTINGS);
+  }
+
+  /**
+   * Returns the terms within {@code maxEdits} edits of the given word, the closest first and, among
+   * equally close ones, the most frequent first.
+   */
+  public List<TermMatch> fuzzyMatches(String word, int maxEdits) {
+    List<TermMatch> matches = dictionary.matches(word, maxEdits, postings::containsKey);
+    matches.sort(
+        Comparator.comparingInt(TermMatch::distance)
+            .thenComparing(
+                termMatch -> postings(termMatch.term()).size(), Comparator.reverseOrder())
+            .thenComparing(TermMatch::term));
+    return matches;
+  }
+
+  /** Returns the sorted, distinct ordinals of all products containing any of the given terms. */
+  public int[] union(List<TermMatch> termMatches) {
+    int total = 0;
+    for (TermMatch termMatch : termMatches) {
+      total += postings(termMatch.term()).size();
+    }
+
+    int[] union = new int[total];
+    int size = 0;
+    for (TermMatch termMatch : termMatches) {
+      OrdinalSet ordinals = postings(termMatch.term());
+      for (int i = 0; i < ordinals.size(); i++) {
+        union[size++] = ordinals.get(i);
+      }
+    }
+    Arrays.sort(union);
+
+    int distinct = 0;
+    for (int i = 0; i < size; i++) {
+      if (distinct == 0 || union[distinct - 1] != union[i]) {
+        union[distinct++] = union[i];
+      }
+    }
+    return Arrays.copyOf(union, distinct);
+  }
+
+  /**
+   * Returns the closest of the given term matches (which must be sorted by distance) contained in
+   * the product with the given ordinal, or {@code null} if the product contains none of them.
+   */
+  public TermMatch closestMatchIn(int ordinal, List<TermMatch> termMatches) {
+    for (TermMatch termMatch : termMatches) {
+      if (postings(termMatch.term()).contains(ordinal)) {
+        return termMatch;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,57 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import java.util.Arrays;
+
+/**
+ * A sorted set of product ordinals, stored in a primitive array.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @author Paul Anthony Begley
+ */
+public class OrdinalSet {
+
+  private int[] ordinals = new int[4];
+  private int size;
+
+  public void add(int ordinal) {
+    int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+    if (index >= 0) {
+      return;
+    }
+
+    int insertionPoint = -index - 1;
+    if (size == ordinals.length) {
+      ordinals = Arrays.copyOf(ordinals, size * 2);
+    }
+    System.arraycopy(ordinals, insertionPoint, ordinals, insertionPoint + 1, size - insertionPoint);
+    ordinals[insertionPoint] = ordinal;
+    size++;
+  }
+
+  public void remove(int ordinal) {
+    int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+    if (index < 0) {
+      return;
+    }
+
+    System.arraycopy(ordinals, index + 1, ordinals, index, size - index - 1);
+    size--;
+  }
+
+  public boolean contains(int ordinal) {
+    return Arrays.binarySearch(ordinals, 0, size, ordinal) >= 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int get(int index) {
+    return ordinals[index];
+  }
+}
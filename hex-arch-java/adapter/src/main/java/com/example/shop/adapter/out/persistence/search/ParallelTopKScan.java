@@ -0,0 +1,121 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Scores all items of a {@link SegmentedList} and returns the {@code k} best-scored ones, scanning
+ * the segments in parallel on a fork-join pool once the list is large enough to be worth it.
+ *
+ * <p>Lists with fewer than {@code parallelThreshold} items, or pools with a parallelism of one, are
+ * scanned on the calling thread. Otherwise the segments are split in halves recursively, as long as
+ * the current worker has no more than a few queued tasks that other workers could steal; so the
+ * scan adapts to the number of idle workers rather than always forking a task per segment. Each
+ * task collects its own top {@code k}, and the partial results are merged when the tasks are
+ * joined. As the {@link TopKCollector} breaks ties deterministically, the result doesn't depend on
+ * how the scan was split.
+ *
+ * <p>The list must not be modified during a scan.
+ *
+ * @author Paul Anthony Begley
+ */
+public class ParallelTopKScan {
+
+  public static final int DEFAULT_PARALLEL_THRESHOLD = 4 * SegmentedList.DEFAULT_SEGMENT_SIZE;
+
+  // Splitting stops as soon as there are more queued tasks than this (see RecursiveTask javadoc)
+  private static final int MAX_SURPLUS_QUEUED_TASKS = 3;
+
+  private final ForkJoinPool pool;
+  private final int parallelThreshold;
+
+  public ParallelTopKScan(ForkJoinPool pool, int parallelThreshold) {
+    this.pool = pool;
+    this.parallelThreshold = parallelThreshold;
+  }
+
+  /**
+   * Collects the results of the {@code k} items with the highest scores. Items scored {@link
+   * RelevanceScorer#NO_MATCH} are skipped.
+   */
+  public <T, R> TopKCollector<R> scan(
+      SegmentedList<T> items,
+      ToIntFunction<? super T> scorer,
+      Function<? super T, R> result,
+      int k,
+      Comparator<? super R> tieBreaker) {
+    ScanTask<T, R> task =
+        new ScanTask<>(items, scorer, result, k, tieBreaker, 0, items.segmentCount());
+    return isParallel(items) ? pool.invoke(task) : task.scanSequentially();
+  }
+
+  private boolean isParallel(SegmentedList<?> items) {
+    return items.size() >= parallelThreshold && pool.getParallelism() > 1;
+  }
+
+  private static class ScanTask<T, R> extends RecursiveTask<TopKCollector<R>> {
+
+    private final SegmentedList<T> items;
+    private final ToIntFunction<? super T> scorer;
+    private final Function<? super T, R> result;
+    private final int k;
+    private final Comparator<? super R> tieBreaker;
+    private final int fromSegment;
+    private final int toSegment;
+
+    ScanTask(
+        SegmentedList<T> items,
+        ToIntFunction<? super T> scorer,
+        Function<? super T, R> result,
+        int k,
+        Comparator<? super R> tieBreaker,
+        int fromSegment,
+        int toSegment) {
+      this.items = items;
+      this.scorer = scorer;
+      this.result = result;
+      this.k = k;
+      this.tieBreaker = tieBreaker;
+      this.fromSegment = fromSegment;
+      this.toSegment = toSegment;
+    }
+
+    @Override
+    protected TopKCollector<R> compute() {
+      if (toSegment - fromSegment < 2 || getSurplusQueuedTaskCount() > MAX_SURPLUS_QUEUED_TASKS) {
+        return scanSequentially();
+      }
+
+      int middle = (fromSegment + toSegment) >>> 1;
+      ScanTask<T, R> right = subTask(middle, toSegment);
+      right.fork();
+      TopKCollector<R> topK = subTask(fromSegment, middle).compute();
+      topK.offerAll(right.join());
+      return topK;
+    }
+
+    private ScanTask<T, R> subTask(int from, int to) {
+      return new ScanTask<>(items, scorer, result, k, tieBreaker, from, to);
+    }
+
+    @SuppressWarnings("unchecked")
+    TopKCollector<R> scanSequentially() {
+      TopKCollector<R> topK = new TopKCollector<>(k, tieBreaker);
+      for (int segmentIndex = fromSegment; segmentIndex < toSegment; segmentIndex++) {
+        Object[] segment = items.segment(segmentIndex);
+        int length = items.segmentLength(segmentIndex);
+        for (int i = 0; i < length; i++) {
+          T item = (T) segment[i];
+          int score = scorer.applyAsInt(item);
+          if (score != RelevanceScorer.NO_MATCH) {
+            topK.offer(result.apply(item), score);
+          }
+        }
+      }
+      return topK;
+    }
+  }
+}
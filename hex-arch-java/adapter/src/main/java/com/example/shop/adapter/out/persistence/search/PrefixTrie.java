@@ -0,0 +1,181 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A weighted prefix tree over tokens, answering "the {@code k} heaviest tokens starting with this
+ * prefix" without visiting all tokens with that prefix.
+ *
+ * <p>To stay compact, the nodes are not objects but indexes into parallel primitive arrays (a
+ * first-child/next-sibling representation, with siblings sorted by their character). Besides its
+ * own weight, each node stores the maximum weight in its subtree, so a best-first search can stop
+ * as soon as the best remaining subtree cannot beat the suggestions found so far.
+ *
+ * <p>Weights are updated incrementally. Nodes of tokens whose weight drops to zero are kept and
+ * reused if the token is added again.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @author Paul Anthony Begley
+ */
+public class PrefixTrie {
+
+  private static final int ROOT = 0;
+  private static final int NONE = -1;
+  private static final int INITIAL_CAPACITY = 256;
+
+  private static final Comparator<Candidate> BEST_FIRST =
+      Comparator.comparingInt(Candidate::weight)
+          .reversed()
+          .thenComparing(Candidate::text)
+          .thenComparing(candidate -> !candidate.complete());
+
+  private char[] labels = new char[INITIAL_CAPACITY];
+  private int[] firstChildren = new int[INITIAL_CAPACITY];
+  private int[] nextSiblings = new int[INITIAL_CAPACITY];
+  private int[] weights = new int[INITIAL_CAPACITY];
+  private int[] maxSubtreeWeights = new int[INITIAL_CAPACITY];
+  private int size;
+
+  public PrefixTrie() {
+    newNode('\0');
+  }
+
+  /** Adds {@code delta} (which may be negative) to the weight of the given token. */
+  public void addWeight(String token, int delta) {
+    int[] path = new int[token.length() + 1];
+    int node = ROOT;
+    path[0] = node;
+    for (int i = 0; i < token.length(); i++) {
+      node = childOrCreate(node, token.charAt(i));
+      path[i + 1] = node;
+    }
+
+    weights[node] = Math.max(0, weights[node] + delta);
+
+    for (int i = path.length - 1; i >= 0; i--) {
+      maxSubtreeWeights[path[i]] = computeMaxSubtreeWeight(path[i]);
+    }
+  }
+
+  /** Returns the weight of the given token, 0 if it has never been added. */
+  public int weight(String token) {
+    int node = find(token);
+    return node == NONE ? 0 : weights[node];
+  }
+
+  /**
+   * Returns up to {@code k} tokens starting with the given prefix, the heaviest first (and among
+   * equally heavy ones, in alphabetical order).
+   */
+  public List<String> topCompletions(String prefix, int k) {
+    List<String> completions = new ArrayList<>(Math.min(k, 16));
+    int prefixNode = find(prefix);
+    if (prefixNode == NONE || maxSubtreeWeights[prefixNode] == 0) {
+      return completions;
+    }
+
+    PriorityQueue<Candidate> queue = new PriorityQueue<>(BEST_FIRST);
+    queue.add(new Candidate(prefixNode, prefix, maxSubtreeWeights[prefixNode], false));
+
+    while (!queue.isEmpty() && completions.size() < k) {
+      Candidate candidate = queue.poll();
+      if (candidate.complete()) {
+        completions.add(candidate.text());
+        continue;
+      }
+
+      int node = candidate.node();
+      if (weights[node] > 0) {
+        queue.add(new Candidate(node, candidate.text(), weights[node], true));
+      }
+      for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+        if (maxSubtreeWeights[child] > 0) {
+          queue.add(
+              new Candidate(
+                  child, candidate.text() + labels[child], maxSubtreeWeights[child], false));
+        }
+      }
+    }
+
+    return completions;
+  }
+
+  /** Returns the number of nodes, a measure of this trie's memory footprint. */
+  public int nodeCount() {
+    return size;
+  }
+
+  private int find(String token) {
+    int node = ROOT;
+    for (int i = 0; i < token.length() && node != NONE; i++) {
+      node = child(node, token.charAt(i));
+    }
+    return node;
+  }
+
+  private int child(int node, char label) {
+    for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+      if (labels[child] == label) {
+        return child;
+      }
+      if (labels[child] > label) {
+        return NONE;
+      }
+    }
+    return NONE;
+  }
+
+  private int childOrCreate(int node, char label) {
+    int previous = NONE;
+    int child = firstChildren[node];
+    while (child != NONE && labels[child] < label) {
+      previous = child;
+      child = nextSiblings[child];
+    }
+    if (child != NONE && labels[child] == label) {
+      return child;
+    }
+
+    int newChild = newNode(label);
+    nextSiblings[newChild] = child;
+    if (previous == NONE) {
+      firstChildren[node] = newChild;
+    } else {
+      nextSiblings[previous] = newChild;
+    }
+    return newChild;
+  }
+
+  private int computeMaxSubtreeWeight(int node) {
+    int max = weights[node];
+    for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+      max = Math.max(max, maxSubtreeWeights[child]);
+    }
+    return max;
+  }
+
+  private int newNode(char label) {
+    if (size == labels.length) {
+      int newCapacity = labels.length * 2;
+      labels = Arrays.copyOf(labels, newCapacity);
+      firstChildren = Arrays.copyOf(firstChildren, newCapacity);
+      nextSiblings = Arrays.copyOf(nextSiblings, newCapacity);
+      weights = Arrays.copyOf(weights, newCapacity);
+      maxSubtreeWeights = Arrays.copyOf(maxSubtreeWeights, newCapacity);
+    }
+
+    int node = size++;
+    labels[node] = label;
+    firstChildren[node] = NONE;
+    nextSiblings[node] = NONE;
+    return node;
+  }
+
+  /** A node to expand, or (if {@code complete}) a token to return, in best-first order. */
+  private record Candidate(int node, String text, int weight, boolean complete) {}
+}
@@ -0,0 +1,35 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductSortOrder;
+import java.util.Comparator;
+
+/**
+ * The orders of search results sorted by price, shared by all adapters so that merged results are
+ * ordered the same way as those of a single repository.
+ *
+ * @author Paul Anthony Begley
+ */
+public final class ProductOrders {
+
+  public static final Comparator<Product> BY_ID = Comparator.comparing(p -> p.id().value());
+
+  private static final Comparator<Product> BY_CURRENCY_AND_AMOUNT =
+      Comparator.<Product, String>comparing(p -> p.price().currency().getCurrencyCode())
+          .thenComparing(p -> p.price().amount());
+
+  private ProductOrders() {}
+
+  /**
+   * Orders by currency and amount, ascending or descending, and equally priced products by ID.
+   *
+   * @throws IllegalArgumentException if the sort order isn't by price
+   */
+  public static Comparator<Product> byPrice(ProductSortOrder sortOrder) {
+    return switch (sortOrder) {
+      case PRICE_ASCENDING -> BY_CURRENCY_AND_AMOUNT.thenComparing(BY_ID);
+      case PRICE_DESCENDING -> BY_CURRENCY_AND_AMOUNT.reversed().thenComparing(BY_ID);
+      case RELEVANCE -> throw new IllegalArgumentException("Not a price order: " + sortOrder);
+    };
+  }
+}
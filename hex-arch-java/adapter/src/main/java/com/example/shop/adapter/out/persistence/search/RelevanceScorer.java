@@ -0,0 +1,72 @@
+package com.example.shop.adapter.out.persistence.search;
+
+/**
+ * Scores how well a product matches a search query. A match in the name always outranks a match in
+ * the description only; a match at the start of the name, and matches of whole words, score higher;
+ * and among otherwise equal matches, products in stock come first.
+ *
+ * <p>All texts must already be lower case.
+ *
+ * @author Paul Anthony Begley
+ */
+public final class RelevanceScorer {
+
+  /** The score of a product not matching the query. */
+  public static final int NO_MATCH = 0;
+
+  private static final int NAME_MATCH = 100;
+  private static final int NAME_PREFIX_BONUS = 50;
+  private static final int NAME_WHOLE_WORD_BONUS = 25;
+  private static final int DESCRIPTION_MATCH = 10;
+  private static final int DESCRIPTION_WHOLE_WORD_BONUS = 5;
+  private static final int IN_STOCK_BONUS = 3;
+
+  private RelevanceScorer() {}
+
+  public static int score(String name, String description, int itemsInStock, String query) {
+    int score = nameScore(name, query) + descriptionScore(description, query);
+    if (score == NO_MATCH) {
+      return NO_MATCH;
+    }
+    return itemsInStock > 0 ? score + IN_STOCK_BONUS : score;
+  }
+
+  private static int nameScore(String name, String query) {
+    int index = name.indexOf(query);
+    if (index < 0) {
+      return NO_MATCH;
+    }
+
+    int score = NAME_MATCH;
+    if (index == 0) {
+      score += NAME_PREFIX_BONUS;
+    }
+    if (containsWholeWord(name, query, index)) {
+      score += NAME_WHOLE_WORD_BONUS;
+    }
+    return score;
+  }
+
+  private static int descriptionScore(String description, String query) {
+    int index = description.indexOf(query);
+    if (index < 0) {
+      return NO_MATCH;
+    }
+    return containsWholeWord(description, query, index)
+        ? DESCRIPTION_MATCH + DESCRIPTION_WHOLE_WORD_BONUS
+        : DESCRIPTION_MATCH;
+  }
+
+  private static boolean containsWholeWord(String text, String query, int firstIndex) {
+    for (int index = firstIndex; index >= 0; index = text.indexOf(query, index + 1)) {
+      if (isWordBoundary(text, index - 1) && isWordBoundary(text, index + query.length())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isWordBoundary(String text, int index) {
+    return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+  }
+}
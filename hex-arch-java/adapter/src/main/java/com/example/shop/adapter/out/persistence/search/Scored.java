@@ -0,0 +1,8 @@
+package com.example.shop.adapter.out.persistence.search;
+
+/**
+ * An item together with its relevance score.
+ *
+ * @author Paul Anthony Begley
+ */
+public record Scored<T>(T item, int score) {}
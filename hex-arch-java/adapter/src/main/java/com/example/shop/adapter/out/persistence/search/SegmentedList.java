@@ -0,0 +1,80 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import java.util.Arrays;
+
+/**
+ * A list of items addressed by their ordinal, stored in fixed-size segments. Growing the list never
+ * copies the items (only the small array of segments), and each segment is a contiguous array that
+ * a single thread can scan without touching the memory of the others.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @author Paul Anthony Begley
+ */
+public class SegmentedList<T> {
+
+  public static final int DEFAULT_SEGMENT_SIZE = 4096;
+
+  private final int segmentSize;
+  private Object[][] segments = new Object[8][];
+  private int size;
+
+  public SegmentedList() {
+    this(DEFAULT_SEGMENT_SIZE);
+  }
+
+  public SegmentedList(int segmentSize) {
+    if (segmentSize < 1) {
+      throw new IllegalArgumentException("'segmentSize' must be greater than 0");
+    }
+    this.segmentSize = segmentSize;
+  }
+
+  /** Appends the given item and returns its ordinal. */
+  public int add(T item) {
+    int segmentIndex = size / segmentSize;
+    if (segmentIndex == segments.length) {
+      segments = Arrays.copyOf(segments, segments.length * 2);
+    }
+    if (segments[segmentIndex] == null) {
+      segments[segmentIndex] = new Object[segmentSize];
+    }
+    segments[segmentIndex][size % segmentSize] = item;
+    return size++;
+  }
+
+  public void set(int ordinal, T item) {
+    checkOrdinal(ordinal);
+    segments[ordinal / segmentSize][ordinal % segmentSize] = item;
+  }
+
+  @SuppressWarnings("unchecked")
+  public T get(int ordinal) {
+    checkOrdinal(ordinal);
+    return (T) segments[ordinal / segmentSize][ordinal % segmentSize];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  int segmentCount() {
+    return (size + segmentSize - 1) / segmentSize;
+  }
+
+  /** Returns the array backing the segment with the given index; don't modify it. */
+  Object[] segment(int segmentIndex) {
+    return segments[segmentIndex];
+  }
+
+  /** Returns the number of items in the segment with the given index. */
+  int segmentLength(int segmentIndex) {
+    return Math.min(segmentSize, size - segmentIndex * segmentSize);
+  }
+
+  private void checkOrdinal(int ordinal) {
+    if (ordinal < 0 || ordinal >= size) {
+      throw new IndexOutOfBoundsException(ordinal);
+    }
+  }
+}
@@ -0,0 +1,190 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A secondary index of product ordinals sorted by a {@code long} key (e.g. the price in minor
+ * units), supporting range queries in O(log n + k) for k results.
+ *
+ * <p>The entries, sorted by key and then by ordinal, are stored in primitive arrays split into
+ * chunks of at most {@link #CHUNK_CAPACITY} entries. An update shifts the entries of a single chunk
+ * only, splitting it when it's full, so it costs O(log n + chunk capacity) instead of the O(n) of a
+ * single sorted array.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @author Paul Anthony Begley
+ */
+public class SortedLongIndex {
+
+  static final int CHUNK_CAPACITY = 512;
+
+  /** Receives the entries of a range query; returns {@code false} to stop the query. */
+  @FunctionalInterface
+  public interface EntryVisitor {
+    boolean visit(long key, int ordinal);
+  }
+
+  private final List<Chunk> chunks = new ArrayList<>();
+  private int size;
+
+  public void add(long key, int ordinal) {
+    if (chunks.isEmpty()) {
+      chunks.add(new Chunk());
+    }
+
+    int chunkIndex = chunkIndexFor(key, ordinal);
+    Chunk chunk = chunks.get(chunkIndex);
+    if (chunk.size == CHUNK_CAPACITY) {
+      Chunk upperHalf = chunk.splitOffUpperHalf();
+      chunks.add(chunkIndex + 1, upperHalf);
+      if (compare(key, ordinal, upperHalf.keys[0], upperHalf.ordinals[0]) >= 0) {
+        chunk = upperHalf;
+      }
+    }
+
+    if (chunk.insert(key, ordinal)) {
+      size++;
+    }
+  }
+
+  public void remove(long key, int ordinal) {
+    if (chunks.isEmpty()) {
+      return;
+    }
+
+    int chunkIndex = chunkIndexFor(key, ordinal);
+    Chunk chunk = chunks.get(chunkIndex);
+    if (chunk.delete(key, ordinal)) {
+      size--;
+      if (chunk.size == 0) {
+        chunks.remove(chunkIndex);
+      }
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Passes the entries with keys from {@code fromKey} to {@code toKey} (both inclusive) to the
+   * visitor, in ascending or descending order of key and ordinal, until it returns {@code false}.
+   */
+  public void forEachInRange(long fromKey, long toKey, boolean descending, EntryVisitor visitor) {
+    if (chunks.isEmpty() || fromKey > toKey) {
+      return;
+    }
+
+    if (descending) {
+      int chunkIndex = chunkIndexFor(toKey, Integer.MAX_VALUE);
+      int position = chunks.get(chunkIndex).upperBound(toKey, Integer.MAX_VALUE) - 1;
+      while (true) {
+        Chunk chunk = chunks.get(chunkIndex);
+        for (; position >= 0; position--) {
+          if (chunk.keys[position] < fromKey
+              || !visitor.visit(chunk.keys[position], chunk.ordinals[position])) {
+            return;
+          }
+        }
+        if (--chunkIndex < 0) {
+          return;
+        }
+        position = chunks.get(chunkIndex).size - 1;
+      }
+    } else {
+      int chunkIndex = chunkIndexFor(fromKey, Integer.MIN_VALUE);
+      int position = chunks.get(chunkIndex).upperBound(fromKey, Integer.MIN_VALUE);
+      for (; chunkIndex < chunks.size(); chunkIndex++) {
+        Chunk chunk = chunks.get(chunkIndex);
+        for (; position < chunk.size; position++) {
+          if (chunk.keys[position] > toKey
+              || !visitor.visit(chunk.keys[position], chunk.ordinals[position])) {
+            return;
+          }
+        }
+        position = 0;
+      }
+    }
+  }
+
+  /** Returns the index of the last chunk whose first entry isn't greater than the given one. */
+  private int chunkIndexFor(long key, int ordinal) {
+    int low = 1;
+    int high = chunks.size() - 1;
+    int result = 0;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      Chunk chunk = chunks.get(middle);
+      if (compare(chunk.keys[0], chunk.ordinals[0], key, ordinal) <= 0) {
+        result = middle;
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return result;
+  }
+
+  private static int compare(long key1, int ordinal1, long key2, int ordinal2) {
+    int byKey = Long.compare(key1, key2);
+    return byKey != 0 ? byKey : Integer.compare(ordinal1, ordinal2);
+  }
+
+  private static class Chunk {
+
+    private final long[] keys = new long[CHUNK_CAPACITY];
+    private final int[] ordinals = new int[CHUNK_CAPACITY];
+    private int size;
+
+    /** Returns the position of the first entry greater than the given one. */
+    int upperBound(long key, int ordinal) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (compare(keys[middle], ordinals[middle], key, ordinal) <= 0) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+
+    boolean insert(long key, int ordinal) {
+      int position = upperBound(key, ordinal);
+      if (position > 0 && keys[position - 1] == key && ordinals[position - 1] == ordinal) {
+        return false;
+      }
+      System.arraycopy(keys, position, keys, position + 1, size - position);
+      System.arraycopy(ordinals, position, ordinals, position + 1, size - position);
+      keys[position] = key;
+      ordinals[position] = ordinal;
+      size++;
+      return true;
+    }
+
+    boolean delete(long key, int ordinal) {
+      int position = upperBound(key, ordinal) - 1;
+      if (position < 0 || keys[position] != key || ordinals[position] != ordinal) {
+        return false;
+      }
+      System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+      System.arraycopy(ordinals, position + 1, ordinals, position, size - position - 1);
+      size--;
+      return true;
+    }
+
+    Chunk splitOffUpperHalf() {
+      Chunk upperHalf = new Chunk();
+      int half = size / 2;
+      upperHalf.size = size - half;
+      System.arraycopy(keys, half, upperHalf.keys, 0, upperHalf.size);
+      System.arraycopy(ordinals, half, upperHalf.ordinals, 0, upperHalf.size);
+      size = half;
+      return upperHalf;
+    }
+  }
+}
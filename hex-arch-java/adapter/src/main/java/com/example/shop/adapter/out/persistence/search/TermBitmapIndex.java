@@ -0,0 +1,127 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import com.example.shop.model.product.ProductQuery;
+import com.example.shop.model.product.ProductQuery.Field;
+import com.example.shop.model.product.ProductQuery.Term;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An inverted index from the words of product names and descriptions to {@link CompressedBitmap}s
+ * of the ordinals of the products containing them, one index per field, for answering {@link
+ * ProductQuery ProductQueries}.
+ *
+ * <p>A clause of a query is answered by intersecting the bitmaps of its terms, the smallest first,
+ * stopping as soon as the intersection is empty; a term not scoped to a field takes the union of
+ * both fields' bitmaps. The clauses' results are then united.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @author Paul Anthony Begley
+ */
+public class TermBitmapIndex {
+
+  private static final CompressedBitmap NO_POSTINGS = new CompressedBitmap();
+
+  private final Map<String, CompressedBitmap> namePostings = new HashMap<>();
+  private final Map<String, CompressedBitmap> descriptionPostings = new HashMap<>();
+
+  public void add(int ordinal, Set<String> nameTerms, Set<String> descriptionTerms) {
+    add(namePostings, ordinal, nameTerms);
+    add(descriptionPostings, ordinal, descriptionTerms);
+  }
+
+  public void remove(int ordinal, Set<String> nameTerms, Set<String> descriptionTerms) {
+    remove(namePostings, ordinal, nameTerms);
+    remove(descriptionPostings, ordinal, descriptionTerms);
+  }
+
+  /**
+   * Returns the ordinals of the products matching the query; possibly one of the index's own
+   * bitmaps, so don't modify it.
+   */
+  public CompressedBitmap matches(ProductQuery query) {
+    CompressedBitmap matches = null;
+    for (List<Term> clause : query.clauses()) {
+      CompressedBitmap clauseMatches = matches(clause);
+      matches = matches == null ? clauseMatches : CompressedBitmap.or(matches, clauseMatches);
+    }
+    return matches;
+  }
+
+  /** Returns whether the product with the given ordinal contains the term in the term's field. */
+  public boolean contains(int ordinal, Term term) {
+    return switch (term.field()) {
+      case NAME -> postings(namePostings, term.word()).contains(ordinal);
+      case DESCRIPTION -> postings(descriptionPostings, term.word()).contains(ordinal);
+      case ANY ->
+          postings(namePostings, term.word()).contains(ordinal)
+              || postings(descriptionPostings, term.word()).contains(ordinal);
+    };
+  }
+
+  /** Returns an estimate of the heap retained by the posting lists, in bytes (without terms). */
+  public long postingsSizeInBytes() {
+    long bytes = 0;
+    for (CompressedBitmap bitmap : namePostings.values()) {
+      bytes += bitmap.sizeInBytes();
+    }
+    for (CompressedBitmap bitmap : descriptionPostings.values()) {
+      bytes += bitmap.sizeInBytes();
+    }
+    return bytes;
+  }
+
+  private CompressedBitmap matches(List<Term> clause) {
+    List<CompressedBitmap> postings = new ArrayList<>(clause.size());
+    for (Term term : clause) {
+      postings.add(postings(term));
+    }
+    postings.sort(Comparator.comparingInt(CompressedBitmap::cardinality));
+
+    CompressedBitmap matches = postings.get(0);
+    for (int i = 1; i < postings.size() && !matches.isEmpty(); i++) {
+      matches = CompressedBitmap.and(matches, postings.get(i));
+    }
+    return matches;
+  }
+
+  private CompressedBitmap postings(Term term) {
+    CompressedBitmap namePostings = postings(this.namePostings, term.word());
+    if (term.field() == Field.NAME) {
+      return namePostings;
+    }
+    CompressedBitmap descriptionPostings = postings(this.descriptionPostings, term.word());
+    if (term.field() == Field.DESCRIPTION) {
+      return descriptionPostings;
+    }
+    return CompressedBitmap.or(namePostings, descriptionPostings);
+  }
+
+  private static CompressedBitmap postings(Map<String, CompressedBitmap> postings, String term) {
+    return postings.getOrDefault(term, NO_POSTINGS);
+  }
+
+  private static void add(Map<String, CompressedBitmap> postings, int ordinal, Set<String> terms) {
+    for (String term : terms) {
+      postings.computeIfAbsent(term, t -> new CompressedBitmap()).add(ordinal);
+    }
+  }
+
+  private static void remove(
+      Map<String, CompressedBitmap> postings, int ordinal, Set<String> terms) {
+    for (String term : terms) {
+      CompressedBitmap ordinals = postings.get(term);
+      if (ordinals != null) {
+        ordinals.remove(ordinal);
+        if (ordinals.isEmpty()) {
+          postings.remove(term);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package com.example.shop.adapter.out.persistence.search;
+
+/**
+ * A term of the term dictionary matching a (possibly misspelled) query word, and the number of
+ * edits between them.
+ *
+ * @author Paul Anthony Begley
+ */
+public record TermMatch(String term, int distance) {}
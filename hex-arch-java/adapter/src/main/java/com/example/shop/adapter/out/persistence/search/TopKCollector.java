@@ -0,0 +1,77 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Collects the {@code k} best-scored items out of a stream of scored items, without sorting or
+ * keeping all of them: a min-heap of at most {@code k} entries keeps the worst retained item on
+ * top, so each further item costs O(log k) at most.
+ *
+ * <p>Items with equal scores are ordered by the given tie-breaker, so the result is deterministic
+ * regardless of the order in which the items are offered.
+ *
+ * @author Paul Anthony Begley
+ */
+public class TopKCollector<T> {
+
+  private static final int MAX_INITIAL_CAPACITY = 64;
+
+  private final int k;
+  private final Comparator<Scored<T>> worstFirst;
+  private final PriorityQueue<Scored<T>> heap;
+
+  public TopKCollector(int k, Comparator<? super T> tieBreaker) {
+    if (k < 1) {
+      throw new IllegalArgumentException("'k' must be greater than 0");
+    }
+
+    this.k = k;
+    this.worstFirst =
+        Comparator.<Scored<T>>comparingInt(Scored::score)
+            .thenComparing(Scored::item, tieBreaker.reversed());
+    this.heap = new PriorityQueue<>(Math.min(k, MAX_INITIAL_CAPACITY), worstFirst);
+  }
+
+  public void offer(T item, int score) {
+    if (heap.size() < k) {
+      heap.add(new Scored<>(item, score));
+      return;
+    }
+
+    Scored<T> worst = heap.peek();
+    if (score < worst.score()) {
+      return; // the common case for a full heap: rejected without allocating
+    }
+
+    Scored<T> candidate = new Scored<>(item, score);
+    if (worstFirst.compare(candidate, worst) > 0) {
+      heap.poll();
+      heap.add(candidate);
+    }
+  }
+
+  /**
+   * Offers all items collected by the given collector, e.g. one that collected another partition of
+   * the same stream.
+   */
+  public void offerAll(TopKCollector<T> other) {
+    for (Scored<T> scored : other.heap) {
+      offer(scored.item(), scored.score());
+    }
+  }
+
+  /** Returns the collected items, the best one first. */
+  public List<T> toList() {
+    return toScoredList().stream().map(Scored::item).toList();
+  }
+
+  /** Returns the collected items together with their scores, the best one first. */
+  public List<Scored<T>> toScoredList() {
+    List<Scored<T>> sorted = new ArrayList<>(heap);
+    sorted.sort(worstFirst.reversed());
+    return sorted;
+  }
+}
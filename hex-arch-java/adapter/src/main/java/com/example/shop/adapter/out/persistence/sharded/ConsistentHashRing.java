@@ -0,0 +1,65 @@
+package com.example.shop.adapter.out.persistence.sharded;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Maps keys to nodes by consistent hashing: every node is placed on a ring of 64-bit hashes at a
+ * number of pseudo-random positions (its virtual nodes), and a key belongs to the node at the first
+ * position at or after the key's hash. Adding or removing a node thus only moves the keys between
+ * that node's positions and their predecessors, and many virtual nodes per node even out the share
+ * of keys each node gets.
+ *
+ * <p>The positions of a node are derived from its name only, so the same nodes always partition the
+ * keys the same way, regardless of their order.
+ *
+ * @author Paul Anthony Begley
+ */
+public class ConsistentHashRing<T> {
+
+  private final NavigableMap<Long, T> ring = new TreeMap<>();
+
+  public ConsistentHashRing(
+      Collection<T> nodes, Function<? super T, String> nodeName, int virtualNodesPerNode) {
+    if (nodes.isEmpty()) {
+      throw new IllegalArgumentException("'nodes' must not be empty");
+    }
+    if (virtualNodesPerNode < 1) {
+      throw new IllegalArgumentException("'virtualNodesPerNode' must be greater than 0");
+    }
+
+    for (T node : nodes) {
+      String name = nodeName.apply(node);
+      for (int i = 0; i < virtualNodesPerNode; i++) {
+        T previous = ring.put(hash(name + "#" + i), node);
+        if (previous != null && previous != node) {
+          throw new IllegalArgumentException("Duplicate node name or hash collision: " + name);
+        }
+      }
+    }
+  }
+
+  public T nodeFor(String key) {
+    Map.Entry<Long, T> entry = ring.ceilingEntry(hash(key));
+    return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+  }
+
+  /** 64-bit FNV-1a, followed by the MurmurHash3 finalizer to spread similar keys. */
+  static long hash(String key) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,64 @@
+package com.example.shop.adapter.out.persistence.sharded;
+
+import com.example.shop.adapter.out.persistence.inmemory.InMemoryProductRepository;
+import com.example.shop.adapter.out.persistence.search.Scored;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductId;
+import com.example.shop.model.product.ProductQuery;
+import com.example.shop.model.product.ProductSortOrder;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A shard held in this JVM, storing its products in an {@link InMemoryProductRepository}.
+ *
+ * @author Paul Anthony Begley
+ */
+public class LocalProductShard implements ProductShard {
+
+  private final String name;
+  private final InMemoryProductRepository repository;
+
+  public LocalProductShard(String name) {
+    this(name, InMemoryProductRepository.empty());
+  }
+
+  public LocalProductShard(String name, InMemoryProductRepository repository) {
+    this.name = name;
+    this.repository = repository;
+  }
+
+  @Override
+  public String name() {
+    return name;
+  }
+
+  @Override
+  public void save(Product product) {
+    repository.save(product);
+  }
+
+  @Override
+  public Optional<Product> findById(ProductId productId) {
+    return repository.findById(productId);
+  }
+
+  @Override
+  public List<Scored<Product>> findByNameOrDescription(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return repository.findScoredByNameOrDescription(query, filter, sortOrder, limit);
+  }
+
+  @Override
+  public List<Scored<Product>> findByNameOrDescriptionFuzzy(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return repository.findScoredByNameOrDescriptionFuzzy(query, filter, sortOrder, limit);
+  }
+
+  @Override
+  public List<Scored<Product>> findByTerms(
+      ProductQuery query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return repository.findScoredByTerms(query, filter, sortOrder, limit);
+  }
+}
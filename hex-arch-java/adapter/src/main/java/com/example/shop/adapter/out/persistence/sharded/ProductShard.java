@@ -0,0 +1,37 @@
+package com.example.shop.adapter.out.persistence.sharded;
+
+import com.example.shop.adapter.out.persistence.search.Scored;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductId;
+import com.example.shop.model.product.ProductQuery;
+import com.example.shop.model.product.ProductSortOrder;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One partition of the products of a {@link ShardedProductRepository}.
+ *
+ * <p>Searches return the relevance scores along with the products, so the results of all shards can
+ * be merged into one ranking.
+ *
+ * @author Paul Anthony Begley
+ */
+public interface ProductShard {
+
+  /** A name identifying the shard; it determines which products the shard is responsible for. */
+  String name();
+
+  void save(Product product);
+
+  Optional<Product> findById(ProductId productId);
+
+  List<Scored<Product>> findByNameOrDescription(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit);
+
+  List<Scored<Product>> findByNameOrDescriptionFuzzy(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit);
+
+  List<Scored<Product>> findByTerms(
+      ProductQuery query, ProductFilter filter, ProductSortOrder sortOrder, int limit);
+}
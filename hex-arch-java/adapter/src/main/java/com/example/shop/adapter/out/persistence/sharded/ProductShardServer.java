@@ -0,0 +1,124 @@
+package com.example.shop.adapter.out.persistence.sharded;
+
+import com.example.shop.adapter.out.persistence.search.Scored;
+import com.example.shop.adapter.out.persistence.wire.LoopbackServer;
+import com.example.shop.adapter.out.persistence.wire.WireFormat;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductId;
+import com.example.shop.model.product.ProductQuery;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves a {@link ProductShard} to {@link RemoteProductShard}s over TCP (see {@link
+ * ShardProtocol}), handling each connection on its own virtual thread.
+ *
+ * <p>Run {@link #main(String[])} to start a shard in a JVM of its own.
+ *
+ * @author Paul Anthony Begley
+ */
+public class ProductShardServer implements AutoCloseable {
+
+  private final ProductShard shard;
+  private final LoopbackServer server;
+
+  /** Starts serving the given shard on the loopback interface; port 0 picks a free port. */
+  public ProductShardServer(ProductShard shard, int port) {
+    this.shard = shard;
+    this.server = new LoopbackServer("shard-server-" + shard.name(), port, this::serve);
+  }
+
+  public int port() {
+    return server.port();
+  }
+
+  /** Handles requests until the client closes the connection, or it breaks. */
+  private void serve(Socket socket) throws IOException {
+    DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    while (true) {
+      byte operation = in.readByte();
+      try {
+        handle(operation, in, out);
+      } catch (RuntimeException e) {
+        out.writeByte(ShardProtocol.ERROR);
+        out.writeUTF(String.valueOf(e.getMessage()));
+      }
+      out.flush();
+    }
+  }
+
+  private void handle(byte operation, DataInputStream in, DataOutputStream out) throws IOException {
+    switch (operation) {
+      case ShardProtocol.SAVE -> {
+        Product product = WireFormat.readProduct(in);
+        shard.save(product);
+        out.writeByte(ShardProtocol.OK);
+      }
+      case ShardProtocol.FIND_BY_ID -> {
+        Optional<Product> product = shard.findById(new ProductId(in.readUTF()));
+        out.writeByte(ShardProtocol.OK);
+        out.writeBoolean(product.isPresent());
+        if (product.isPresent()) {
+          WireFormat.writeProduct(out, product.get());
+        }
+      }
+      case ShardProtocol.FIND_BY_NAME_OR_DESCRIPTION -> {
+        ShardProtocol.Search search = ShardProtocol.readSearch(in);
+        List<Scored<Product>> result =
+            shard.findByNameOrDescription(
+                search.query(), search.filter(), search.sortOrder(), search.limit());
+        out.writeByte(ShardProtocol.OK);
+        ShardProtocol.writeScoredProducts(out, result);
+      }
+      case ShardProtocol.FIND_BY_NAME_OR_DESCRIPTION_FUZZY -> {
+        ShardProtocol.Search search = ShardProtocol.readSearch(in);
+        List<Scored<Product>> result =
+            shard.findByNameOrDescriptionFuzzy(
+                search.query(), search.filter(), search.sortOrder(), search.limit());
+        out.writeByte(ShardProtocol.OK);
+        ShardProtocol.writeScoredProducts(out, result);
+      }
+      case ShardProtocol.FIND_BY_TERMS -> {
+        ShardProtocol.Search search = ShardProtocol.readSearch(in);
+        List<Scored<Product>> result =
+            shard.findByTerms(
+                ProductQuery.parse(search.query()),
+                search.filter(),
+                search.sortOrder(),
+                search.limit());
+        out.writeByte(ShardProtocol.OK);
+        ShardProtocol.writeScoredProducts(out, result);
+      }
+      default -> throw new IOException("Unknown operation " + operation);
+    }
+  }
+
+  @Override
+  public void close() {
+    server.close();
+  }
+
+  /**
+   * Starts a shard server in this JVM and serves until the JVM is terminated.
+   *
+   * <p>Arguments: the port to listen on and the name of the shard.
+   */
+  public static void main(String[] args) throws InterruptedException {
+    if (args.length != 2) {
+      System.err.println("Usage: ProductShardServer <port> <shard name>");
+      System.exit(1);
+    }
+
+    ProductShardServer server =
+        new ProductShardServer(new LocalProductShard(args[1]), Integer.parseInt(args[0]));
+    System.out.printf("Shard %s listening on port %d%n", args[1], server.port());
+    Thread.currentThread().join();
+  }
+}
@@ -0,0 +1,154 @@
+package com.example.shop.adapter.out.persistence.sharded;
+
+import com.example.shop.adapter.out.persistence.search.Scored;
+import com.example.shop.adapter.out.persistence.wire.WireFormat;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductId;
+import com.example.shop.model.product.ProductQuery;
+import com.example.shop.model.product.ProductSortOrder;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A shard served by a {@link ProductShardServer}, usually in another JVM.
+ *
+ * <p>Connections are opened on demand and reused: each request borrows an idle connection (or opens
+ * a new one), so concurrent requests use separate connections. A connection that fails is
+ * discarded, and the failure is thrown as an {@link UncheckedIOException}.
+ *
+ * @author Paul Anthony Begley
+ */
+public class RemoteProductShard implements ProductShard, AutoCloseable {
+
+  private final String host;
+  private final int port;
+  private final Queue<Connection> idleConnections = new ConcurrentLinkedQueue<>();
+
+  public RemoteProductShard(String host, int port) {
+    this.host = host;
+    this.port = port;
+  }
+
+  @Override
+  public String name() {
+    return host + ":" + port;
+  }
+
+  @Override
+  public void save(Product product) {
+    call(ShardProtocol.SAVE, out -> WireFormat.writeProduct(out, product), in -> null);
+  }
+
+  @Override
+  public Optional<Product> findById(ProductId productId) {
+    return call(
+        ShardProtocol.FIND_BY_ID,
+        out -> out.writeUTF(productId.value()),
+        in -> in.readBoolean() ? Optional.of(WireFormat.readProduct(in)) : Optional.empty());
+  }
+
+  @Override
+  public List<Scored<Product>> findByNameOrDescription(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return call(
+        ShardProtocol.FIND_BY_NAME_OR_DESCRIPTION,
+        out -> ShardProtocol.writeSearch(out, query, filter, sortOrder, limit),
+        ShardProtocol::readScoredProducts);
+  }
+
+  @Override
+  public List<Scored<Product>> findByNameOrDescriptionFuzzy(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return call(
+        ShardProtocol.FIND_BY_NAME_OR_DESCRIPTION_FUZZY,
+        out -> ShardProtocol.writeSearch(out, query, filter, sortOrder, limit),
+        ShardProtocol::readScoredProducts);
+  }
+
+  @Override
+  public List<Scored<Product>> findByTerms(
+      ProductQuery query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return call(
+        ShardProtocol.FIND_BY_TERMS,
+        out -> ShardProtocol.writeSearch(out, query.text(), filter, sortOrder, limit),
+        ShardProtocol::readScoredProducts);
+  }
+
+  private <T> T call(byte operation, RequestWriter request, ResponseReader<T> response) {
+    Connection connection = idleConnections.poll();
+    try {
+      if (connection == null) {
+        connection = new Connection(new Socket(host, port));
+      }
+
+      connection.out.writeByte(operation);
+      request.write(connection.out);
+      connection.out.flush();
+
+      byte status = connection.in.readByte();
+      if (status == ShardProtocol.ERROR) {
+        String message = connection.in.readUTF();
+        idleConnections.add(connection);
+        throw new IllegalStateException("Shard %s failed: %s".formatted(name(), message));
+      }
+      T result = response.read(connection.in);
+      idleConnections.add(connection);
+      return result;
+    } catch (IOException e) {
+      if (connection != null) {
+        connection.close();
+      }
+      throw new UncheckedIOException("Shard %s is unreachable".formatted(name()), e);
+    }
+  }
+
+  @Override
+  public void close() {
+    Connection connection;
+    while ((connection = idleConnections.poll()) != null) {
+      connection.close();
+    }
+  }
+
+  @FunctionalInterface
+  private interface RequestWriter {
+    void write(DataOutputStream out) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface ResponseReader<T> {
+    T read(DataInputStream in) throws IOException;
+  }
+
+  private static class Connection {
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    Connection(Socket socket) throws IOException {
+      this.socket = socket;
+      socket.setTcpNoDelay(true);
+      this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    void close() {
+      try {
+        socket.close();
+      } catch (IOException e) {
+        // Nothing left to do with a broken connection
+      }
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.example.shop.adapter.out.persistence.sharded;
+
+import com.example.shop.adapter.out.persistence.search.Scored;
+import com.example.shop.adapter.out.persistence.wire.WireFormat;
+import com.example.shop.model.money.Money;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductSortOrder;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The protocol between a {@link RemoteProductShard} and a {@link ProductShardServer}: the client
+ * sends a request consisting of an operation code and its arguments, and the server answers with a
+ * status code followed by either the result or an error message. A connection carries any number of
+ * requests, one after the other.
+ *
+ * @author Paul Anthony Begley
+ */
+final class ShardProtocol {
+
+  static final byte SAVE = 1;
+  static final byte FIND_BY_ID = 2;
+  static final byte FIND_BY_NAME_OR_DESCRIPTION = 3;
+  static final byte FIND_BY_NAME_OR_DESCRIPTION_FUZZY = 4;
+  static final byte FIND_BY_TERMS = 5; // the query is sent as entered and parsed by the server
+
+  static final byte OK = 0;
+  static final byte ERROR = 1;
+
+  private ShardProtocol() {}
+
+  /** The arguments of a search request. */
+  record Search(String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {}
+
+  static void writeSearch(
+      DataOutput out, String query, ProductFilter filter, ProductSortOrder sortOrder, int limit)
+      throws IOException {
+    out.writeUTF(query);
+    writeOptionalMoney(out, filter.minPrice());
+    writeOptionalMoney(out, filter.maxPrice());
+    out.writeBoolean(filter.inStockOnly());
+    out.writeUTF(sortOrder.name());
+    out.writeInt(limit);
+  }
+
+  static Search readSearch(DataInput in) throws IOException {
+    String query = in.readUTF();
+    ProductFilter filter =
+        new ProductFilter(readOptionalMoney(in), readOptionalMoney(in), in.readBoolean());
+    return new Search(query, filter, ProductSortOrder.valueOf(in.readUTF()), in.readInt());
+  }
+
+  private static void writeOptionalMoney(DataOutput out, Money money) throws IOException {
+    out.writeBoolean(money != null);
+    if (money != null) {
+      WireFormat.writeMoney(out, money);
+    }
+  }
+
+  private static Money readOptionalMoney(DataInput in) throws IOException {
+    return in.readBoolean() ? WireFormat.readMoney(in) : null;
+  }
+
+  static void writeScoredProducts(DataOutput out, List<Scored<Product>> scoredProducts)
+      throws IOException {
+    out.writeInt(scoredProducts.size());
+    for (Scored<Product> scoredProduct : scoredProducts) {
+      WireFormat.writeProduct(out, scoredProduct.item());
+      out.writeInt(scoredProduct.score());
+    }
+  }
+
+  static List<Scored<Product>> readScoredProducts(DataInput in) throws IOException {
+    int size = in.readInt();
+    List<Scored<Product>> scoredProducts = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      scoredProducts.add(new Scored<>(WireFormat.readProduct(in), in.readInt()));
+    }
+    return scoredProducts;
+  }
+}
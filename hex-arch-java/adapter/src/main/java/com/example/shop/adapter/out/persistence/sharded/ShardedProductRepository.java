@@ -0,0 +1,117 @@
+package com.example.shop.adapter.out.persistence.sharded;
+
+import com.example.shop.adapter.out.persistence.search.ProductOrders;
+import com.example.shop.adapter.out.persistence.search.Scored;
+import com.example.shop.adapter.out.persistence.search.TopKCollector;
+import com.example.shop.application.persistence.AsyncResults;
+import com.example.shop.application.port.out.persistence.ProductRepository;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductId;
+import com.example.shop.model.product.ProductQuery;
+import com.example.shop.model.product.ProductSortOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Persistence adapter: Partitions the products across several {@link ProductShard}s, each in this
+ * JVM or in another one.
+ *
+ * <p>Products are assigned to shards by consistent hashing of their IDs (see {@link
+ * ConsistentHashRing}), so saving and finding a product by ID involves a single shard. Searches are
+ * sent to all shards in parallel (scatter), and their top results are merged by relevance score
+ * (gather); as each shard returns its own best {@code limit} products, the merged best {@code
+ * limit} are the same as if a single repository held all products. Results sorted by price are
+ * merged in price order instead. If any shard fails, the search fails.
+ *
+ * <p>The shards score fuzzy matches by their own term statistics, so fuzzy results may differ
+ * slightly from those of a single repository when several words are equally close to a misspelled
+ * one.
+ *
+ * @author Paul Anthony Begley
+ */
+public class ShardedProductRepository implements ProductRepository {
+
+  public static final int DEFAULT_VIRTUAL_NODES_PER_SHARD = 128;
+
+  private final List<ProductShard> shards;
+  private final ConsistentHashRing<ProductShard> ring;
+  private final Executor fanOutExecutor;
+
+  /**
+   * Creates a repository over the given shards, sending searches to them on the given executor; it
+   * should be able to run a task per shard at the same time.
+   */
+  public ShardedProductRepository(
+      List<? extends ProductShard> shards, int virtualNodesPerShard, Executor fanOutExecutor) {
+    this.shards = List.copyOf(shards);
+    this.ring = new ConsistentHashRing<>(this.shards, ProductShard::name, virtualNodesPerShard);
+    this.fanOutExecutor = fanOutExecutor;
+  }
+
+  @Override
+  public void save(Product product) {
+    shardFor(product.id()).save(product);
+  }
+
+  @Override
+  public Optional<Product> findById(ProductId productId) {
+    return shardFor(productId).findById(productId);
+  }
+
+  @Override
+  public List<Product> findByNameOrDescription(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return scatterGather(
+        shard -> shard.findByNameOrDescription(query, filter, sortOrder, limit), sortOrder, limit);
+  }
+
+  @Override
+  public List<Product> findByNameOrDescriptionFuzzy(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return scatterGather(
+        shard -> shard.findByNameOrDescriptionFuzzy(query, filter, sortOrder, limit),
+        sortOrder,
+        limit);
+  }
+
+  @Override
+  public List<Product> findByTerms(
+      ProductQuery query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return scatterGather(
+        shard -> shard.findByTerms(query, filter, sortOrder, limit), sortOrder, limit);
+  }
+
+  ProductShard shardFor(ProductId productId) {
+    return ring.nodeFor(productId.value());
+  }
+
+  private List<Product> scatterGather(
+      Function<ProductShard, List<Scored<Product>>> search, ProductSortOrder sortOrder, int limit) {
+    List<CompletableFuture<List<Scored<Product>>>> shardResults = new ArrayList<>(shards.size());
+    for (ProductShard shard : shards) {
+      shardResults.add(CompletableFuture.supplyAsync(() -> search.apply(shard), fanOutExecutor));
+    }
+
+    if (sortOrder != ProductSortOrder.RELEVANCE) {
+      return shardResults.stream()
+          .flatMap(shardResult -> AsyncResults.await(shardResult).stream())
+          .map(Scored::item)
+          .sorted(ProductOrders.byPrice(sortOrder))
+          .limit(limit)
+          .toList();
+    }
+
+    TopKCollector<Product> topK = new TopKCollector<>(limit, ProductOrders.BY_ID);
+    for (CompletableFuture<List<Scored<Product>>> shardResult : shardResults) {
+      for (Scored<Product> scoredProduct : AsyncResults.await(shardResult)) {
+        topK.offer(scoredProduct.item(), scoredProduct.score());
+      }
+    }
+    return topK.toList();
+  }
+}
@@ -0,0 +1,119 @@
+package com.example.shop.adapter.out.persistence.timing;
+
+import static com.example.shop.application.timing.RequestTiming.Layer.REPOSITORY;
+
+import com.example.shop.application.port.out.persistence.AutocompleteIndex;
+import com.example.shop.application.port.out.persistence.ProductRepository;
+import com.example.shop.application.timing.RequestTiming;
+import com.example.shop.application.timing.RequestTiming.Layer;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductId;
+import com.example.shop.model.product.ProductQuery;
+import com.example.shop.model.product.ProductSortOrder;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistence adapters: Decorators that attribute the time spent in a persistence port to the
+ * {@link Layer#REPOSITORY repository layer} of the current {@link RequestTiming}.
+ *
+ * <p>Calls made outside of a timed request (e.g. by a shard server or while seeding the catalog)
+ * pass straight through, after one thread-local lookup.
+ *
+ * @author Paul Anthony Begley
+ */
+public final class TimedRepositories {
+
+  private TimedRepositories() {}
+
+  public static ProductRepository productRepository(ProductRepository productRepository) {
+    return new TimedProductRepository(productRepository);
+  }
+
+  public static AutocompleteIndex autocompleteIndex(AutocompleteIndex autocompleteIndex) {
+    return new TimedAutocompleteIndex(autocompleteIndex);
+  }
+
+  private record TimedProductRepository(ProductRepository productRepository)
+      implements ProductRepository {
+
+    @Override
+    public void save(Product product) {
+      Layer previousLayer = RequestTiming.enter(REPOSITORY);
+      try {
+        productRepository.save(product);
+      } finally {
+        RequestTiming.exit(previousLayer);
+      }
+    }
+
+    @Override
+    public void saveAll(Collection<Product> products) {
+      Layer previousLayer = RequestTiming.enter(REPOSITORY);
+      try {
+        productRepository.saveAll(products);
+      } finally {
+        RequestTiming.exit(previousLayer);
+      }
+    }
+
+    @Override
+    public Optional<Product> findById(ProductId productId) {
+      Layer previousLayer = RequestTiming.enter(REPOSITORY);
+      try {
+        return productRepository.findById(productId);
+      } finally {
+        RequestTiming.exit(previousLayer);
+      }
+    }
+
+    @Override
+    public List<Product> findByNameOrDescription(
+        String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+      Layer previousLayer = RequestTiming.enter(REPOSITORY);
+      try {
+        return productRepository.findByNameOrDescription(query, filter, sortOrder, limit);
+      } finally {
+        RequestTiming.exit(previousLayer);
+      }
+    }
+
+    @Override
+    public List<Product> findByNameOrDescriptionFuzzy(
+        String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+      Layer previousLayer = RequestTiming.enter(REPOSITORY);
+      try {
+        return productRepository.findByNameOrDescriptionFuzzy(query, filter, sortOrder, limit);
+      } finally {
+        RequestTiming.exit(previousLayer);
+      }
+    }
+
+    @Override
+    public List<Product> findByTerms(
+        ProductQuery query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+      Layer previousLayer = RequestTiming.enter(REPOSITORY);
+      try {
+        return productRepository.findByTerms(query, filter, sortOrder, limit);
+      } finally {
+        RequestTiming.exit(previousLayer);
+      }
+    }
+  }
+
+  private record TimedAutocompleteIndex(AutocompleteIndex autocompleteIndex)
+      implements AutocompleteIndex {
+
+    @Override
+    public List<String> findCompletions(String prefix, int limit) {
+      Layer previousLayer = RequestTiming.enter(REPOSITORY);
+      try {
+        return autocompleteIndex.findCompletions(prefix, limit);
+      } finally {
+        RequestTiming.exit(previousLayer);
+      }
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package com.example.shop.adapter.out.persistence.wire;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A TCP server on the loopback interface for the JVMs of a distributed persistence adapter. It
+ * accepts connections on a platform thread of its own and serves each one on a virtual thread.
+ *
+ * <p>{@link #close()} closes the server socket and all open connections, including one accepted
+ * while closing, so a closed server answers no one.
+ *
+ * @author Paul Anthony Begley
+ */
+public final class LoopbackServer implements AutoCloseable {
+
+  /** Serves one connection, until it's closed by either side. */
+  @FunctionalInterface
+  public interface ConnectionHandler {
+    void serve(Socket socket) throws IOException;
+  }
+
+  private final ConnectionHandler handler;
+  private final ServerSocket serverSocket;
+  private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+  private volatile boolean closed;
+
+  /**
+   * Starts listening on the given port; port 0 picks a free port.
+   *
+   * @param name the name of the accepting thread
+   * @throws UncheckedIOException if the port can't be bound
+   */
+  public LoopbackServer(String name, int port, ConnectionHandler handler) {
+    this.handler = handler;
+    try {
+      this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    Thread.ofPlatform().name(name).daemon().start(this::acceptLoop);
+  }
+
+  public int port() {
+    return serverSocket.getLocalPort();
+  }
+
+  private void acceptLoop() {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        socket.setTcpNoDelay(true);
+        connections.add(socket);
+        if (closed) { // accepted while closing, possibly after close() closed the connections
+          socket.close();
+          return;
+        }
+        Thread.ofVirtual().start(() -> serve(socket));
+      } catch (IOException e) {
+        // The server socket was closed, or the connection failed before it was accepted
+      }
+    }
+  }
+
+  private void serve(Socket socket) {
+    try (socket) {
+      handler.serve(socket);
+    } catch (IOException e) {
+      // The client closed the connection, or it broke; clients open a new one
+    } finally {
+      connections.remove(socket);
+    }
+  }
+
+  /**
+   * Closes the server socket and all open connections. If closing any of them fails, the others are
+   * still closed, and the first failure is thrown afterwards.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    List<Closeable> sockets = new ArrayList<>();
+    sockets.add(serverSocket);
+    sockets.addAll(connections);
+    closeAll(sockets);
+  }
+
+  /**
+   * Closes all given sockets, even if closing some of them fails; then throws the first failure,
+   * with the others suppressed.
+   */
+  static void closeAll(List<? extends Closeable> sockets) {
+    IOException failure = null;
+    for (Closeable socket : sockets) {
+      try {
+        socket.close();
+      } catch (IOException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw new UncheckedIOException(failure);
+    }
+  }
+}
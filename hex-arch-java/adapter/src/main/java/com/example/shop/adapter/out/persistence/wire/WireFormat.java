@@ -0,0 +1,76 @@
+package com.example.shop.adapter.out.persistence.wire;
+
+import com.example.shop.model.cart.CartEvent;
+import com.example.shop.model.cart.CartEvent.CartEmptied;
+import com.example.shop.model.cart.CartEvent.ProductAdded;
+import com.example.shop.model.cart.CartEvent.ProductUpdated;
+import com.example.shop.model.money.Money;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductId;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Writes model objects to and reads them from the binary streams exchanged between the JVMs of a
+ * distributed persistence adapter.
+ *
+ * @author Paul Anthony Begley
+ */
+public final class WireFormat {
+
+  private static final byte PRODUCT_ADDED = 1;
+  private static final byte CART_EMPTIED = 2;
+  private static final byte PRODUCT_UPDATED = 3;
+
+  private WireFormat() {}
+
+  public static void writeProduct(DataOutput out, Product product) throws IOException {
+    out.writeUTF(product.id().value());
+    out.writeUTF(product.name());
+    out.writeUTF(product.description());
+    writeMoney(out, product.price());
+    out.writeInt(product.itemsInStock());
+  }
+
+  public static Product readProduct(DataInput in) throws IOException {
+    return new Product(
+        new ProductId(in.readUTF()), in.readUTF(), in.readUTF(), readMoney(in), in.readInt());
+  }
+
+  public static void writeCartEvent(DataOutput out, CartEvent event) throws IOException {
+    switch (event) {
+      case ProductAdded(Product product, int quantity) -> {
+        out.writeByte(PRODUCT_ADDED);
+        writeProduct(out, product);
+        out.writeInt(quantity);
+      }
+      case ProductUpdated(Product product) -> {
+        out.writeByte(PRODUCT_UPDATED);
+        writeProduct(out, product);
+      }
+      case CartEmptied() -> out.writeByte(CART_EMPTIED);
+    }
+  }
+
+  public static CartEvent readCartEvent(DataInput in) throws IOException {
+    byte type = in.readByte();
+    return switch (type) {
+      case PRODUCT_ADDED -> new ProductAdded(readProduct(in), in.readInt());
+      case CART_EMPTIED -> new CartEmptied();
+      case PRODUCT_UPDATED -> new ProductUpdated(readProduct(in));
+      default -> throw new IOException("Unknown cart event type " + type);
+    };
+  }
+
+  public static void writeMoney(DataOutput out, Money money) throws IOException {
+    out.writeUTF(money.currency().getCurrencyCode());
+    out.writeUTF(money.amount().toString());
+  }
+
+  public static Money readMoney(DataInput in) throws IOException {
+    return new Money(Currency.getInstance(in.readUTF()), new BigDecimal(in.readUTF()));
+  }
+}
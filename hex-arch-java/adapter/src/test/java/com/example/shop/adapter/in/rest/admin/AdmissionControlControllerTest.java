@@ -0,0 +1,66 @@
+package com.example.shop.adapter.in.rest.admin;
+
+import static com.example.shop.adapter.in.rest.HttpTestCommons.TEST_PORT;
+import static io.restassured.RestAssured.given;
+import static jakarta.ws.rs.core.Response.Status.OK;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.shop.adapter.in.rest.common.AdmissionControl;
+import com.example.shop.adapter.in.rest.common.CustomerRateLimiter;
+import com.example.shop.model.customer.CustomerId;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import jakarta.ws.rs.core.Application;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.jboss.resteasy.plugins.server.undertow.UndertowJaxrsServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class AdmissionControlControllerTest {
+
+  private static final AdmissionControl admissionControl =
+      new AdmissionControl(new CustomerRateLimiter(0.001, 2), 3);
+
+  private static UndertowJaxrsServer server;
+
+  @BeforeAll
+  static void init() {
+    server =
+        new UndertowJaxrsServer()
+            .setPort(TEST_PORT)
+            .start()
+            .deploy(
+                new Application() {
+                  @Override
+                  public Set<Object> getSingletons() {
+                    return Set.of(new AdmissionControlController(admissionControl));
+                  }
+                });
+  }
+
+  @AfterAll
+  static void stop() {
+    server.stop();
+  }
+
+  @Test
+  void givenAdmittedAndRejectedRequests_admissionControl_returnsTheirCounts() {
+    for (int customerId = 1; customerId <= 2; customerId++) {
+      for (int i = 0; i < 3; i++) { // the third request exceeds the customer's burst of 2
+        admissionControl.admit(new CustomerId(customerId), () -> new CompletableFuture<>());
+      }
+    }
+
+    Response response =
+        given().port(TEST_PORT).get("/admin/admission-control").then().extract().response();
+
+    assertThat(response.statusCode()).isEqualTo(OK.getStatusCode());
+    JsonPath json = response.jsonPath();
+    assertThat(json.getLong("admittedRequests")).isEqualTo(3);
+    assertThat(json.getLong("rateLimitedRequests")).isEqualTo(1);
+    assertThat(json.getLong("shedRequests")).isEqualTo(2);
+    assertThat(json.getInt("requestsInProgress")).isEqualTo(3);
+  }
+}
@@ -0,0 +1,62 @@
+package com.example.shop.adapter.in.rest.admin;
+
+import static com.example.shop.adapter.in.rest.HttpTestCommons.TEST_PORT;
+import static io.restassured.RestAssured.given;
+import static jakarta.ws.rs.core.Response.Status.OK;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.shop.application.port.in.product.GetSearchCoalescingUseCase;
+import com.example.shop.application.port.in.product.SearchCoalescing;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import jakarta.ws.rs.core.Application;
+import java.util.Set;
+import org.jboss.resteasy.plugins.server.undertow.UndertowJaxrsServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class SearchCoalescingControllerTest {
+
+  private static final GetSearchCoalescingUseCase getSearchCoalescingUseCase =
+      mock(GetSearchCoalescingUseCase.class);
+
+  private static UndertowJaxrsServer server;
+
+  @BeforeAll
+  static void init() {
+    server =
+        new UndertowJaxrsServer()
+            .setPort(TEST_PORT)
+            .start()
+            .deploy(
+                new Application() {
+                  @Override
+                  public Set<Object> getSingletons() {
+                    return Set.of(new SearchCoalescingController(getSearchCoalescingUseCase));
+                  }
+                });
+  }
+
+  @AfterAll
+  static void stop() {
+    server.stop();
+  }
+
+  @Test
+  void givenCoalescedSearches_searchCoalescing_returnsTheCountsOfTheUseCase() {
+    when(getSearchCoalescingUseCase.getSearchCoalescing())
+        .thenReturn(new SearchCoalescing(40, 10, 0.75));
+
+    Response response =
+        given().port(TEST_PORT).get("/admin/search-coalescing").then().extract().response();
+
+    assertThat(response.statusCode()).isEqualTo(OK.getStatusCode());
+    JsonPath json = response.jsonPath();
+    assertThat(json.getLong("searches")).isEqualTo(40);
+    assertThat(json.getLong("executions")).isEqualTo(10);
+    assertThat(json.getDouble("coalescingRatio")).isEqualTo(0.75);
+  }
+}
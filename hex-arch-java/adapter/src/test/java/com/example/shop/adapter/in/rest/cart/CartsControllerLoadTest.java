@@ -0,0 +1,116 @@
+package com.example.shop.adapter.in.rest.cart;
+
+import static com.example.shop.adapter.in.rest.HttpTestCommons.TEST_PORT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.shop.adapter.in.rest.common.UseCaseExecutor;
+import com.example.shop.application.port.in.cart.GetCartUseCase;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.customer.CustomerId;
+import io.undertow.Undertow;
+import jakarta.ws.rs.core.Application;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jboss.resteasy.plugins.server.undertow.UndertowJaxrsServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies that the asynchronous cart controllers don't hold on to the web server's threads: with
+ * only two Undertow worker threads, far more requests are in progress at the same time.
+ */
+class CartsControllerLoadTest {
+
+  private static final int UNDERTOW_WORKER_THREADS = 2;
+  private static final int CONCURRENT_REQUESTS = 100;
+
+  private static final BlockingGetCartUseCase getCartUseCase = new BlockingGetCartUseCase();
+
+  private static UseCaseExecutor useCaseExecutor;
+  private static UndertowJaxrsServer server;
+
+  @BeforeAll
+  static void init() {
+    useCaseExecutor = new UseCaseExecutor(CONCURRENT_REQUESTS, CONCURRENT_REQUESTS);
+    server =
+        new UndertowJaxrsServer()
+            .start(
+                Undertow.builder()
+                    .addHttpListener(TEST_PORT, "localhost")
+                    .setIoThreads(1)
+                    .setWorkerThreads(UNDERTOW_WORKER_THREADS))
+            .deploy(
+                new Application() {
+                  @Override
+                  public Set<Object> getSingletons() {
+                    return Set.of(new GetCartController(getCartUseCase, useCaseExecutor));
+                  }
+                });
+  }
+
+  @AfterAll
+  static void stop() {
+    server.stop();
+    useCaseExecutor.close();
+  }
+
+  @Test
+  void givenASlowUseCase_concurrentGetCartRequests_areInProgressFarBeyondTheWorkerThreadCount()
+      throws InterruptedException {
+    HttpClient httpClient =
+        HttpClient.newBuilder().executor(Executors.newFixedThreadPool(4)).build();
+
+    List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+    for (int i = 1; i <= CONCURRENT_REQUESTS; i++) {
+      HttpRequest request =
+          HttpRequest.newBuilder(URI.create("http://localhost:%d/carts/%d".formatted(TEST_PORT, i)))
+              .GET()
+              .build();
+      responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+    }
+
+    boolean allRequestsInProgress =
+        getCartUseCase.allRequestsInProgress.await(10, TimeUnit.SECONDS);
+    getCartUseCase.release.countDown();
+
+    assertThat(allRequestsInProgress).isTrue();
+    assertThat(getCartUseCase.maxInProgress.get())
+        .isEqualTo(CONCURRENT_REQUESTS)
+        .isGreaterThan(10 * UNDERTOW_WORKER_THREADS);
+    assertThat(responses)
+        .allSatisfy(response -> assertThat(response.join().statusCode()).isEqualTo(200));
+  }
+
+  private static final class BlockingGetCartUseCase implements GetCartUseCase {
+
+    private final CountDownLatch allRequestsInProgress = new CountDownLatch(CONCURRENT_REQUESTS);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger inProgress = new AtomicInteger();
+    private final AtomicInteger maxInProgress = new AtomicInteger();
+
+    @Override
+    public Cart getCart(CustomerId customerId) {
+      maxInProgress.accumulateAndGet(inProgress.incrementAndGet(), Math::max);
+      allRequestsInProgress.countDown();
+      try {
+        release.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        inProgress.decrementAndGet();
+      }
+      return new Cart(customerId);
+    }
+  }
+}
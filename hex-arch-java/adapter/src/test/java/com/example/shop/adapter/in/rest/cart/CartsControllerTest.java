@@ -0,0 +1,283 @@
+package com.example.shop.adapter.in.rest.cart;
+
+import static com.example.shop.adapter.in.rest.HttpTestCommons.TEST_PORT;
+import static com.example.shop.adapter.in.rest.HttpTestCommons.assertThatResponseIsError;
+import static com.example.shop.adapter.in.rest.cart.CartsControllerAssertions.assertThatResponseIsCart;
+import static com.example.shop.model.money.TestMoneyFactory.euros;
+import static com.example.shop.model.product.TestProductFactory.createTestProduct;
+import static io.restassured.RestAssured.given;
+import static jakarta.ws.rs.core.Response.Status.BAD_REQUEST;
+import static jakarta.ws.rs.core.Response.Status.NO_CONTENT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.shop.adapter.in.rest.common.UseCaseExecutor;
+import com.example.shop.application.port.in.cart.AddToCartResult;
+import com.example.shop.application.port.in.cart.AddToCartUseCase;
+import com.example.shop.application.port.in.cart.EmptyCartUseCase;
+import com.example.shop.application.port.in.cart.GetCartUseCase;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.cart.NotEnoughItemsInStockException;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.money.ExchangeRates;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductId;
+import io.restassured.response.Response;
+import jakarta.ws.rs.core.Application;
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Map;
+import java.util.Set;
+import org.jboss.resteasy.plugins.server.undertow.UndertowJaxrsServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class CartsControllerTest {
+
+  private static final CustomerId TEST_CUSTOMER_ID = new CustomerId(61157);
+  private static final Product TEST_PRODUCT_1 = createTestProduct(euros(19, 99));
+  private static final Product TEST_PRODUCT_2 = createTestProduct(euros(25, 99));
+
+  private static final ExchangeRates EXCHANGE_RATES =
+      ExchangeRates.of(
+          Currency.getInstance("EUR"), Map.of(Currency.getInstance("USD"), new BigDecimal("1.1")));
+
+  private static final AddToCartUseCase addToCartUseCase = mock(AddToCartUseCase.class);
+  private static final GetCartUseCase getCartUseCase = mock(GetCartUseCase.class);
+  private static final EmptyCartUseCase emptyCartUseCase = mock(EmptyCartUseCase.class);
+
+  private static UseCaseExecutor useCaseExecutor;
+  private static UndertowJaxrsServer server;
+
+  @BeforeAll
+  static void init() {
+    useCaseExecutor = new UseCaseExecutor(4, 100);
+    server =
+        new UndertowJaxrsServer()
+            .setPort(TEST_PORT)
+            .start()
+            .deploy(
+                new Application() {
+                  @Override
+                  public Set<Object> getSingletons() {
+                    return Set.of(
+                        new AddToCartController(addToCartUseCase, useCaseExecutor),
+                        new GetCartController(
+                            getCartUseCase, () -> EXCHANGE_RATES, useCaseExecutor),
+                        new EmptyCartController(emptyCartUseCase, useCaseExecutor));
+                  }
+                });
+  }
+
+  @AfterAll
+  static void stop() {
+    server.stop();
+    useCaseExecutor.close();
+  }
+
+  @BeforeEach
+  void resetMocks() {
+    Mockito.reset(addToCartUseCase, getCartUseCase, emptyCartUseCase);
+  }
+
+  @Test
+  void givenASyntacticallyInvalidCustomerId_getCart_returnsAnError() {
+    String customerId = "foo";
+
+    Response response =
+        given().port(TEST_PORT).get("/carts/" + customerId).then().extract().response();
+
+    assertThatResponseIsError(response, BAD_REQUEST, "Invalid 'customerId'");
+  }
+
+  @Test
+  void givenAValidCustomerIdAndACart_getCart_requestsCartFromUseCaseAndReturnsIt()
+      throws NotEnoughItemsInStockException {
+    CustomerId customerId = TEST_CUSTOMER_ID;
+
+    Cart cart = new Cart(customerId);
+    cart.addProduct(TEST_PRODUCT_1, 3);
+    cart.addProduct(TEST_PRODUCT_2, 5);
+
+    when(getCartUseCase.getCart(customerId)).thenReturn(cart);
+
+    Response response =
+        given().port(TEST_PORT).get("/carts/" + customerId.value()).then().extract().response();
+
+    assertThatResponseIsCart(response, cart);
+  }
+
+  @Test
+  void givenACurrency_getCart_returnsTheSubTotalConvertedIntoIt() {
+    Cart cart = new Cart(TEST_CUSTOMER_ID);
+    cart.tryAddProduct(TEST_PRODUCT_1, 3);
+    when(getCartUseCase.getCart(TEST_CUSTOMER_ID)).thenReturn(cart);
+
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("currency", "USD")
+            .get("/carts/" + TEST_CUSTOMER_ID.value())
+            .then()
+            .extract()
+            .response();
+
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(response.jsonPath().getString("subTotal.currency")).isEqualTo("USD");
+    assertThat(response.jsonPath().getDouble("subTotal.amount")).isEqualTo(65.97); // 59.97 * 1.1
+  }
+
+  @Test
+  void givenACurrencyWithoutExchangeRate_getCart_returnsAnError() {
+    Cart cart = new Cart(TEST_CUSTOMER_ID);
+    cart.tryAddProduct(TEST_PRODUCT_1, 1);
+    when(getCartUseCase.getCart(TEST_CUSTOMER_ID)).thenReturn(cart);
+
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("currency", "CHF")
+            .get("/carts/" + TEST_CUSTOMER_ID.value())
+            .then()
+            .extract()
+            .response();
+
+    assertThatResponseIsError(response, BAD_REQUEST, "No exchange rate for 'currency'");
+  }
+
+  @Test
+  void givenAnInvalidCurrency_getCart_returnsAnError() {
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("currency", "foo")
+            .get("/carts/" + TEST_CUSTOMER_ID.value())
+            .then()
+            .extract()
+            .response();
+
+    assertThatResponseIsError(response, BAD_REQUEST, "Invalid 'currency'");
+  }
+
+  @Test
+  void givenSomeTestData_addLineItem_invokesAddToCartUseCaseAndReturnsUpdatedCart()
+      throws NotEnoughItemsInStockException {
+    CustomerId customerId = TEST_CUSTOMER_ID;
+    ProductId productId = TEST_PRODUCT_1.id();
+    int quantity = 5;
+
+    Cart cart = new Cart(customerId);
+    cart.addProduct(TEST_PRODUCT_1, quantity);
+
+    when(addToCartUseCase.tryAddToCart(customerId, productId, quantity))
+        .thenReturn(new AddToCartResult.Added(cart));
+
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("productId", productId.value())
+            .queryParam("quantity", quantity)
+            .post("/carts/" + customerId.value() + "/line-items")
+            .then()
+            .extract()
+            .response();
+
+    assertThatResponseIsCart(response, cart);
+  }
+
+  @Test
+  void givenAnInvalidQuantity_addLineItem_returnsAnError() {
+    CustomerId customerId = TEST_CUSTOMER_ID;
+    ProductId productId = TEST_PRODUCT_1.id();
+    int quantity = -1;
+
+    when(addToCartUseCase.tryAddToCart(customerId, productId, quantity))
+        .thenThrow(IllegalArgumentException.class);
+
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("productId", productId.value())
+            .queryParam("quantity", quantity)
+            .post("/carts/" + customerId.value() + "/line-items")
+            .then()
+            .extract()
+            .response();
+
+    assertThatResponseIsError(response, BAD_REQUEST, "Invalid 'quantity'");
+  }
+
+  @Test
+  void givenMissingProductId_addLineItem_returnsAnError() {
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("quantity", 1)
+            .post("/carts/" + TEST_CUSTOMER_ID.value() + "/line-items")
+            .then()
+            .extract()
+            .response();
+
+    assertThatResponseIsError(response, BAD_REQUEST, "Missing 'productId'");
+  }
+
+  @Test
+  void givenProductNotFound_addLineItem_returnsAnError() {
+    CustomerId customerId = TEST_CUSTOMER_ID;
+    ProductId productId = ProductId.randomProductId();
+    int quantity = 5;
+
+    when(addToCartUseCase.tryAddToCart(customerId, productId, quantity))
+        .thenReturn(new AddToCartResult.ProductNotFound());
+
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("productId", productId.value())
+            .queryParam("quantity", quantity)
+            .post("/carts/" + customerId.value() + "/line-items")
+            .then()
+            .extract()
+            .response();
+
+    assertThatResponseIsError(response, BAD_REQUEST, "The requested product does not exist");
+  }
+
+  @Test
+  void givenNotEnoughItemsInStock_addLineItem_returnsAnError() {
+    CustomerId customerId = TEST_CUSTOMER_ID;
+    ProductId productId = ProductId.randomProductId();
+    int quantity = 5;
+
+    when(addToCartUseCase.tryAddToCart(customerId, productId, quantity))
+        .thenReturn(new AddToCartResult.NotEnoughItemsInStock(2));
+
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("productId", productId.value())
+            .queryParam("quantity", quantity)
+            .post("/carts/" + customerId.value() + "/line-items")
+            .then()
+            .extract()
+            .response();
+
+    assertThatResponseIsError(response, BAD_REQUEST, "Only 2 items in stock");
+  }
+
+  @Test
+  void givenACustomerId_deleteCart_invokesEmptyCartUseCaseAndReturnsNoContent() {
+    CustomerId customerId = TEST_CUSTOMER_ID;
+
+    Response response =
+        given().port(TEST_PORT).delete("/carts/" + customerId.value()).then().extract().response();
+
+    verify(emptyCartUseCase).emptyCart(customerId);
+    assertThat(response.statusCode()).isEqualTo(NO_CONTENT.getStatusCode());
+  }
+}
@@ -0,0 +1,119 @@
+package com.example.shop.adapter.in.rest.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.shop.model.customer.CustomerId;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+
+class AdmissionControlTest {
+
+  private static final CustomerId CUSTOMER = new CustomerId(61157);
+  private static final CustomerId OTHER_CUSTOMER = new CustomerId(42);
+
+  private final CustomerRateLimiter rateLimiter = new CustomerRateLimiter(1, 2, () -> 0L);
+
+  @Test
+  void givenACustomerExceedingTheRate_admit_rejectsWithTooManyRequests() {
+    AdmissionControl admissionControl = new AdmissionControl(rateLimiter, 10);
+
+    admissionControl.admit(CUSTOMER, () -> CompletableFuture.completedFuture("one"));
+    admissionControl.admit(CUSTOMER, () -> CompletableFuture.completedFuture("two"));
+    CompletionStage<String> third =
+        admissionControl.admit(CUSTOMER, () -> CompletableFuture.completedFuture("three"));
+
+    Response response = rejectionOf(third);
+    assertThat(response.getStatus()).isEqualTo(429);
+    assertThat(response.getHeaderString(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    assertThat(admissionControl.admittedRequests()).isEqualTo(2);
+    assertThat(admissionControl.rateLimitedRequests()).isEqualTo(1);
+    assertThat(admissionControl.shedRequests()).isZero();
+  }
+
+  @Test
+  void givenTooManyRequestsInProgress_admit_shedsFurtherRequests() {
+    AdmissionControl admissionControl = new AdmissionControl(rateLimiter, 1);
+    CompletableFuture<String> inProgress = new CompletableFuture<>();
+
+    admissionControl.admit(CUSTOMER, () -> inProgress);
+    CompletionStage<String> shed =
+        admissionControl.admit(OTHER_CUSTOMER, () -> CompletableFuture.completedFuture("shed"));
+
+    assertThat(rejectionOf(shed).getStatus()).isEqualTo(429);
+    assertThat(admissionControl.requestsInProgress()).isEqualTo(1);
+    assertThat(admissionControl.shedRequests()).isEqualTo(1);
+  }
+
+  @Test
+  void givenAShedRequest_admit_doesNotChargeTheCustomerForIt() {
+    AdmissionControl admissionControl = new AdmissionControl(rateLimiter, 1);
+    CompletableFuture<String> inProgress = new CompletableFuture<>();
+    admissionControl.admit(OTHER_CUSTOMER, () -> inProgress);
+    for (int i = 0; i < 5; i++) {
+      admissionControl.admit(CUSTOMER, () -> CompletableFuture.completedFuture("shed"));
+    }
+
+    inProgress.complete("done");
+    CompletionStage<String> afterOverload =
+        admissionControl.admit(CUSTOMER, () -> CompletableFuture.completedFuture("admitted"));
+
+    assertThat(afterOverload.toCompletableFuture()).isCompletedWithValue("admitted");
+    assertThat(admissionControl.shedRequests()).isEqualTo(5);
+    assertThat(admissionControl.rateLimitedRequests()).isZero();
+  }
+
+  @Test
+  void givenARateLimitedRequest_admit_doesNotKeepItInProgress() {
+    AdmissionControl admissionControl = new AdmissionControl(rateLimiter, 10);
+
+    for (int i = 0; i < 3; i++) {
+      admissionControl.admit(CUSTOMER, () -> new CompletableFuture<>());
+    }
+
+    assertThat(admissionControl.rateLimitedRequests()).isEqualTo(1);
+    assertThat(admissionControl.requestsInProgress()).isEqualTo(2);
+  }
+
+  @Test
+  void givenACompletedRequest_admit_admitsTheNextOne() throws Exception {
+    AdmissionControl admissionControl = new AdmissionControl(rateLimiter, 1);
+    CompletableFuture<String> inProgress = new CompletableFuture<>();
+    CompletionStage<String> first = admissionControl.admit(CUSTOMER, () -> inProgress);
+
+    inProgress.completeExceptionally(new IllegalStateException("Use case failed"));
+    CompletionStage<String> second =
+        admissionControl.admit(OTHER_CUSTOMER, () -> CompletableFuture.completedFuture("second"));
+
+    assertThat(first.toCompletableFuture()).isCompletedExceptionally();
+    assertThat(second.toCompletableFuture().get()).isEqualTo("second");
+    assertThat(admissionControl.requestsInProgress()).isZero();
+  }
+
+  @Test
+  void givenUnlimitedAdmissionControl_admit_admitsAllRequests() {
+    AdmissionControl admissionControl = AdmissionControl.unlimited();
+
+    for (int i = 0; i < 1_000; i++) {
+      admissionControl.admit(CUSTOMER, () -> new CompletableFuture<>());
+    }
+
+    assertThat(admissionControl.admittedRequests()).isEqualTo(1_000);
+    assertThat(admissionControl.requestsInProgress()).isEqualTo(1_000);
+  }
+
+  private static Response rejectionOf(CompletionStage<?> stage) {
+    try {
+      stage.toCompletableFuture().get();
+    } catch (ExecutionException e) {
+      return ((ClientErrorException) e.getCause()).getResponse();
+    } catch (InterruptedException e) {
+      throw new AssertionError(e);
+    }
+    throw new AssertionError("Request was admitted");
+  }
+}
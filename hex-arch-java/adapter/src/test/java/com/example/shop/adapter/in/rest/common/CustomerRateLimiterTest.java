@@ -0,0 +1,74 @@
+package com.example.shop.adapter.in.rest.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.shop.model.customer.CustomerId;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class CustomerRateLimiterTest {
+
+  private static final CustomerId CUSTOMER = new CustomerId(61157);
+  private static final CustomerId OTHER_CUSTOMER = new CustomerId(42);
+
+  private long now = 1_000_000_000L;
+  private final CustomerRateLimiter rateLimiter = new CustomerRateLimiter(10, 3, () -> now);
+
+  @Test
+  void givenAFullBucket_tryAcquire_admitsABurstAndThenRejects() {
+    assertThat(rateLimiter.tryAcquire(CUSTOMER)).isZero();
+    assertThat(rateLimiter.tryAcquire(CUSTOMER)).isZero();
+    assertThat(rateLimiter.tryAcquire(CUSTOMER)).isZero();
+
+    assertThat(rateLimiter.tryAcquire(CUSTOMER)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+  }
+
+  @Test
+  void givenAnEmptyBucket_tryAcquire_admitsAgainOnceATokenIsRefilled() {
+    for (int i = 0; i < 3; i++) {
+      rateLimiter.tryAcquire(CUSTOMER);
+    }
+
+    now += TimeUnit.MILLISECONDS.toNanos(60);
+    assertThat(rateLimiter.tryAcquire(CUSTOMER)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(40));
+
+    now += TimeUnit.MILLISECONDS.toNanos(40);
+    assertThat(rateLimiter.tryAcquire(CUSTOMER)).isZero();
+    assertThat(rateLimiter.tryAcquire(CUSTOMER)).isPositive();
+  }
+
+  @Test
+  void givenAnEmptyBucket_tryAcquire_admitsOtherCustomers() {
+    for (int i = 0; i < 3; i++) {
+      rateLimiter.tryAcquire(CUSTOMER);
+    }
+
+    assertThat(rateLimiter.tryAcquire(CUSTOMER)).isPositive();
+    assertThat(rateLimiter.tryAcquire(OTHER_CUSTOMER)).isZero();
+  }
+
+  @Test
+  void givenRejectedRequests_tryAcquire_doesNotTakeTokensForThem() {
+    for (int i = 0; i < 10; i++) {
+      rateLimiter.tryAcquire(CUSTOMER);
+    }
+
+    now += TimeUnit.MILLISECONDS.toNanos(100);
+    assertThat(rateLimiter.tryAcquire(CUSTOMER)).isZero();
+  }
+
+  @Test
+  void givenManyIdleCustomers_tryAcquire_removesTheirBuckets() {
+    for (int customer = 1; customer <= 10_000; customer++) {
+      rateLimiter.tryAcquire(new CustomerId(customer));
+    }
+    assertThat(rateLimiter.buckets()).isEqualTo(10_000);
+
+    now += TimeUnit.SECONDS.toNanos(1); // all buckets are full again
+    for (int customer = 10_001; customer <= 20_000; customer++) {
+      rateLimiter.tryAcquire(new CustomerId(customer));
+    }
+
+    assertThat(rateLimiter.buckets()).isLessThan(20_000);
+  }
+}
@@ -0,0 +1,118 @@
+package com.example.shop.adapter.in.rest.common;
+
+import static com.example.shop.adapter.in.rest.HttpTestCommons.TEST_PORT;
+import static com.example.shop.model.money.TestMoneyFactory.euros;
+import static com.example.shop.model.product.TestProductFactory.createTestProduct;
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.shop.adapter.in.rest.admin.SlowRequestsController;
+import com.example.shop.adapter.in.rest.product.FindProductsController;
+import com.example.shop.adapter.out.persistence.timing.TimedRepositories;
+import com.example.shop.application.port.out.persistence.ProductRepository;
+import com.example.shop.application.service.product.FindProductsService;
+import com.example.shop.application.timing.TimedUseCases;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import jakarta.ws.rs.core.Application;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.jboss.resteasy.plugins.server.undertow.UndertowJaxrsServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class RequestTimingFilterTest {
+
+  private static final ProductRepository productRepository = mock(ProductRepository.class);
+  private static final SlowRequestLog slowRequestLog = new SlowRequestLog(Duration.ZERO, 10);
+
+  private static UndertowJaxrsServer server;
+
+  @BeforeAll
+  static void init() {
+    when(productRepository.findByNameOrDescription(any(), any(), any(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(20);
+              return List.of(createTestProduct(euros(19, 99)));
+            });
+
+    FindProductsController findProductsController =
+        new FindProductsController(
+            TimedUseCases.findProducts(
+                new FindProductsService(TimedRepositories.productRepository(productRepository))));
+
+    server =
+        new UndertowJaxrsServer()
+            .setPort(TEST_PORT)
+            .start()
+            .deploy(
+                new Application() {
+                  @Override
+                  public Set<Object> getSingletons() {
+                    return Set.of(
+                        findProductsController,
+                        new SlowRequestsController(slowRequestLog),
+                        new RequestTimingFilter(slowRequestLog));
+                  }
+                });
+  }
+
+  @AfterAll
+  static void stop() {
+    server.stop();
+  }
+
+  @Test
+  void givenATimedSearch_findProducts_reportsTheTimePerLayerInTheServerTimingHeader() {
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("query", "monitor")
+            .get("/products")
+            .then()
+            .statusCode(200)
+            .extract()
+            .response();
+
+    String serverTiming = response.getHeader(RequestTimingFilter.SERVER_TIMING);
+    assertThat(serverTiming)
+        .matches(
+            "controller;dur=\\d+\\.\\d{3}, service;dur=\\d+\\.\\d{3}, repository;dur=\\d+\\.\\d{3},"
+                + " serialization;dur=\\d+\\.\\d{3}, total;dur=\\d+\\.\\d{3}");
+    assertThat(durationMillis(serverTiming, "repository")).isGreaterThanOrEqualTo(20.0);
+    assertThat(response.jsonPath().getList("name")).hasSize(1);
+  }
+
+  @Test
+  void givenASlowSearch_slowRequests_listsItWithItsTimePerLayer() {
+    given().port(TEST_PORT).queryParam("query", "desk").get("/products").then().statusCode(200);
+
+    JsonPath slowRequests =
+        given()
+            .port(TEST_PORT)
+            .get("/admin/slow-requests")
+            .then()
+            .statusCode(200)
+            .extract()
+            .jsonPath();
+
+    assertThat(slowRequests.getString("find { it.path == '/products' }.method")).isEqualTo("GET");
+    assertThat(slowRequests.getInt("find { it.path == '/products' }.status")).isEqualTo(200);
+    assertThat(slowRequests.getDouble("find { it.path == '/products' }.layerMillis.repository"))
+        .isGreaterThanOrEqualTo(20.0);
+  }
+
+  private static double durationMillis(String serverTiming, String metric) {
+    String prefix = metric + ";dur=";
+    int start = serverTiming.indexOf(prefix) + prefix.length();
+    int end = serverTiming.indexOf(',', start);
+    return Double.parseDouble(serverTiming.substring(start, end < 0 ? serverTiming.length() : end));
+  }
+}
@@ -0,0 +1,58 @@
+package com.example.shop.adapter.in.rest.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.shop.application.timing.RequestTiming;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class SlowRequestLogTest {
+
+  @Test
+  void givenRequestsBelowTheThreshold_log_keepsNone() {
+    SlowRequestLog slowRequestLog = new SlowRequestLog(Duration.ofHours(1), 10);
+
+    slowRequestLog.log("GET", "/products", 200, finishedTiming());
+
+    assertThat(slowRequestLog.recentRequests()).isEmpty();
+  }
+
+  @Test
+  void givenARequestAboveTheThreshold_log_keepsItWithItsTimes() {
+    SlowRequestLog slowRequestLog = new SlowRequestLog(Duration.ZERO, 10);
+    RequestTiming timing = finishedTiming();
+
+    slowRequestLog.log("GET", "/products", 200, timing);
+
+    assertThat(slowRequestLog.recentRequests())
+        .singleElement()
+        .satisfies(
+            request -> {
+              assertThat(request.method()).isEqualTo("GET");
+              assertThat(request.path()).isEqualTo("/products");
+              assertThat(request.status()).isEqualTo(200);
+              assertThat(request.total()).isEqualTo(Duration.ofNanos(timing.totalNanos()));
+              assertThat(request.layers()).hasSize(RequestTiming.Layer.values().length);
+            });
+  }
+
+  @Test
+  void givenMoreSlowRequestsThanTheCapacity_recentRequests_returnsTheMostRecentFirst() {
+    SlowRequestLog slowRequestLog = new SlowRequestLog(Duration.ZERO, 3);
+
+    for (int i = 1; i <= 5; i++) {
+      slowRequestLog.log("GET", "/products/" + i, 200, finishedTiming());
+    }
+
+    assertThat(slowRequestLog.recentRequests())
+        .extracting(SlowRequest::path)
+        .containsExactly("/products/5", "/products/4", "/products/3");
+  }
+
+  private static RequestTiming finishedTiming() {
+    RequestTiming timing = RequestTiming.start();
+    timing.unbind();
+    timing.finish();
+    return timing;
+  }
+}
@@ -0,0 +1,97 @@
+package com.example.shop.adapter.in.rest.product;
+
+import static com.example.shop.adapter.in.rest.HttpTestCommons.TEST_PORT;
+import static com.example.shop.adapter.in.rest.HttpTestCommons.assertThatResponseIsError;
+import static io.restassured.RestAssured.given;
+import static jakarta.ws.rs.core.Response.Status.BAD_REQUEST;
+import static jakarta.ws.rs.core.Response.Status.OK;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.shop.application.port.in.product.AutocompleteUseCase;
+import io.restassured.response.Response;
+import jakarta.ws.rs.core.Application;
+import java.util.List;
+import java.util.Set;
+import org.jboss.resteasy.plugins.server.undertow.UndertowJaxrsServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class AutocompleteControllerTest {
+
+  private static final AutocompleteUseCase autocompleteUseCase = mock(AutocompleteUseCase.class);
+
+  private static UndertowJaxrsServer server;
+
+  @BeforeAll
+  static void init() {
+    server =
+        new UndertowJaxrsServer()
+            .setPort(TEST_PORT)
+            .start()
+            .deploy(
+                new Application() {
+                  @Override
+                  public Set<Object> getSingletons() {
+                    return Set.of(new AutocompleteController(autocompleteUseCase));
+                  }
+                });
+  }
+
+  @AfterAll
+  static void stop() {
+    server.stop();
+  }
+
+  @BeforeEach
+  void resetMocks() {
+    Mockito.reset(autocompleteUseCase);
+  }
+
+  @Test
+  void givenAnInput_suggest_returnsTheSuggestionsOfTheUseCase() {
+    when(autocompleteUseCase.autocomplete("curved mo"))
+        .thenReturn(List.of("curved monitor", "curved mount"));
+
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("input", "curved mo")
+            .get("/products/suggestions")
+            .then()
+            .extract()
+            .response();
+
+    assertThat(response.statusCode()).isEqualTo(OK.getStatusCode());
+    assertThat(response.jsonPath().getList("", String.class))
+        .containsExactly("curved monitor", "curved mount");
+  }
+
+  @Test
+  void givenNoInput_suggest_returnsAnError() {
+    Response response =
+        given().port(TEST_PORT).get("/products/suggestions").then().extract().response();
+
+    assertThatResponseIsError(response, BAD_REQUEST, "Missing 'input'");
+  }
+
+  @Test
+  void givenAnInvalidInput_suggest_returnsAnError() {
+    when(autocompleteUseCase.autocomplete(" ")).thenThrow(IllegalArgumentException.class);
+
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("input", " ")
+            .get("/products/suggestions")
+            .then()
+            .extract()
+            .response();
+
+    assertThatResponseIsError(response, BAD_REQUEST, "Invalid 'input'");
+  }
+}
@@ -4,6 +4,9 @@ import static com.example.shop.adapter.in.rest.HttpTestCommons.TEST_PORT;
 import static com.example.shop.adapter.in.rest.HttpTestCommons.assertThatResponseIsError;
 import static com.example.shop.adapter.in.rest.product.ProductsControllerAssertions.assertThatResponseIsProductList;
 import static com.example.shop.model.money.TestMoneyFactory.euros;
+import static com.example.shop.model.product.ProductFilter.NONE;
+import static com.example.shop.model.product.ProductSortOrder.PRICE_ASCENDING;
+import static com.example.shop.model.product.ProductSortOrder.RELEVANCE;
 import static com.example.shop.model.product.TestProductFactory.createTestProduct;
 import static io.restassured.RestAssured.given;
 import static jakarta.ws.rs.core.Response.Status.BAD_REQUEST;
@@ -12,6 +15,7 @@ import static org.mockito.Mockito.when;
 
 import com.example.shop.application.port.in.product.FindProductsUseCase;
 import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
 import io.restassured.response.Response;
 import jakarta.ws.rs.core.Application;
 import java.util.List;
@@ -62,7 +66,8 @@ class ProductsControllerTest {
     String query = "foo";
     List<Product> productList = List.of(TEST_PRODUCT_1, TEST_PRODUCT_2);
 
-    when(findProductsUseCase.findByNameOrDescription(query)).thenReturn(productList);
+    when(findProductsUseCase.findByNameOrDescription(query, NONE, RELEVANCE))
+        .thenReturn(productList);
 
     Response response =
         given()
@@ -76,6 +81,152 @@ class ProductsControllerTest {
     assertThatResponseIsProductList(response, productList);
   }
 
+  @Test
+  void givenAQueryAndFuzzyTrue_findProducts_requestsProductsViaFuzzyQueryAndReturnsThem() {
+    String query = "moniter";
+    List<Product> productList = List.of(TEST_PRODUCT_1);
+
+    when(findProductsUseCase.findByNameOrDescriptionFuzzy(query, NONE, RELEVANCE))
+        .thenReturn(productList);
+
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("query", query)
+            .queryParam("fuzzy", true)
+            .get("/products")
+            .then()
+            .extract()
+            .response();
+
+    assertThatResponseIsProductList(response, productList);
+  }
+
+  @Test
+  void givenFilterAndSortParameters_findProducts_passesThemToTheUseCase() {
+    String query = "foo";
+    List<Product> productList = List.of(TEST_PRODUCT_1, TEST_PRODUCT_2);
+    ProductFilter filter = new ProductFilter(euros(10, 0), euros(30, 50), true);
+
+    when(findProductsUseCase.findByNameOrDescription(query, filter, PRICE_ASCENDING))
+        .thenReturn(productList);
+
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("query", query)
+            .queryParam("minPrice", "10")
+            .queryParam("maxPrice", "30.50")
+            .queryParam("currency", "EUR")
+            .queryParam("inStock", true)
+            .queryParam("sort", "price_asc")
+            .get("/products")
+            .then()
+            .extract()
+            .response();
+
+    assertThatResponseIsProductList(response, productList);
+  }
+
+  @Test
+  void givenAPriceWithoutCurrency_findProducts_returnsError() {
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("query", "foo")
+            .queryParam("minPrice", "10")
+            .get("/products")
+            .then()
+            .extract()
+            .response();
+
+    assertThatResponseIsError(response, BAD_REQUEST, "Missing 'currency'");
+  }
+
+  @Test
+  void givenAnInvalidPrice_findProducts_returnsError() {
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("query", "foo")
+            .queryParam("maxPrice", "ten")
+            .queryParam("currency", "EUR")
+            .get("/products")
+            .then()
+            .extract()
+            .response();
+
+    assertThatResponseIsError(response, BAD_REQUEST, "Invalid 'maxPrice'");
+  }
+
+  @Test
+  void givenAMinimumPriceAboveTheMaximum_findProducts_returnsError() {
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("query", "foo")
+            .queryParam("minPrice", "20")
+            .queryParam("maxPrice", "10")
+            .queryParam("currency", "EUR")
+            .get("/products")
+            .then()
+            .extract()
+            .response();
+
+    assertThatResponseIsError(response, BAD_REQUEST, "Invalid price range");
+  }
+
+  @Test
+  void givenAnInvalidSortOrder_findProducts_returnsError() {
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("query", "foo")
+            .queryParam("sort", "popularity")
+            .get("/products")
+            .then()
+            .extract()
+            .response();
+
+    assertThatResponseIsError(response, BAD_REQUEST, "Invalid 'sort'");
+  }
+
+  @Test
+  void givenAQueryAndTermsTrue_findProducts_requestsProductsViaTermQueryAndReturnsThem() {
+    String query = "monitor OR name:desk";
+    List<Product> productList = List.of(TEST_PRODUCT_1, TEST_PRODUCT_2);
+
+    when(findProductsUseCase.findByTerms(query, NONE, RELEVANCE)).thenReturn(productList);
+
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("query", query)
+            .queryParam("terms", true)
+            .get("/products")
+            .then()
+            .extract()
+            .response();
+
+    assertThatResponseIsProductList(response, productList);
+  }
+
+  @Test
+  void givenFuzzyAndTermsTrue_findProducts_returnsError() {
+    Response response =
+        given()
+            .port(TEST_PORT)
+            .queryParam("query", "monitor")
+            .queryParam("fuzzy", true)
+            .queryParam("terms", true)
+            .get("/products")
+            .then()
+            .extract()
+            .response();
+
+    assertThatResponseIsError(response, BAD_REQUEST, "'fuzzy' and 'terms' can't be combined");
+  }
+
   @Test
   void givenANullQuery_findProducts_returnsError() {
     Response response = given().port(TEST_PORT).get("/products").then().extract().response();
@@ -86,7 +237,7 @@ class ProductsControllerTest {
   @Test
   void givenATooShortQuery_findProducts_returnsError() {
     String query = "e";
-    when(findProductsUseCase.findByNameOrDescription(query))
+    when(findProductsUseCase.findByNameOrDescription(query, NONE, RELEVANCE))
         .thenThrow(IllegalArgumentException.class);
 
     Response response =
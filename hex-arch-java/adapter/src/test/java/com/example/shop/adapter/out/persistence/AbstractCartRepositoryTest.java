@@ -0,0 +1,149 @@
+package com.example.shop.adapter.out.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.example.shop.application.port.out.persistence.CartRepository;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.cart.CartLineItem;
+import com.example.shop.model.cart.NotEnoughItemsInStockException;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.product.Product;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public abstract class AbstractCartRepositoryTest<T extends CartRepository> {
+
+  private static final AtomicInteger CUSTOMER_ID_SEQUENCE_GENERATOR = new AtomicInteger(1);
+
+  private T cartRepository;
+
+  @BeforeEach
+  void initRepository() {
+    cartRepository = createCartRepository();
+  }
+
+  protected abstract T createCartRepository();
+
+  @Test
+  void givenACustomerIdForWhichNoCartIsPersisted_findByCustomerId_returnsAnEmptyOptional() {
+    CustomerId customerId = createUniqueCustomerId();
+
+    Optional<Cart> cart = cartRepository.findByCustomerId(customerId);
+
+    assertThat(cart).isEmpty();
+  }
+
+  @Test
+  void givenPersistedCartWithProduct_addProductAndSaveCart_updatesCart()
+      throws NotEnoughItemsInStockException {
+    CustomerId customerId = createUniqueCustomerId();
+
+    Cart persistedCart = new Cart(customerId);
+    persistedCart.addProduct(DemoProducts.COMPUTER_MONITOR, 1);
+    cartRepository.save(persistedCart);
+
+    Cart cart = cartRepository.findByCustomerId(customerId).orElseThrow();
+    cart.addProduct(DemoProducts.MONITOR_DESK_MOUNT, 2);
+    cartRepository.save(cart);
+
+    cart = cartRepository.findByCustomerId(customerId).orElseThrow();
+    assertThat(cart.lineItems())
+        .extracting(CartLineItem::product, CartLineItem::quantity)
+        .containsExactly(
+            tuple(DemoProducts.COMPUTER_MONITOR, 1), tuple(DemoProducts.MONITOR_DESK_MOUNT, 2));
+  }
+
+  @Test
+  void givenPersistedCartWithProduct_addSameProductAndSaveCart_increasesProductQuantity()
+      throws NotEnoughItemsInStockException {
+    CustomerId customerId = createUniqueCustomerId();
+
+    Cart persistedCart = new Cart(customerId);
+    persistedCart.addProduct(DemoProducts.COMPUTER_MONITOR, 1);
+    cartRepository.save(persistedCart);
+
+    Cart cart = cartRepository.findByCustomerId(customerId).orElseThrow();
+    cart.addProduct(DemoProducts.COMPUTER_MONITOR, 2);
+    cartRepository.save(cart);
+
+    cart = cartRepository.findByCustomerId(customerId).orElseThrow();
+    assertThat(cart.lineItems()).hasSize(1);
+    assertThat(cart.lineItems().get(0).quantity()).isEqualTo(3);
+  }
+
+  @Test
+  void givenPersistedCarts_updateProductAndSaveAll_updatesTheProductInEachCart()
+      throws NotEnoughItemsInStockException {
+    Product product = DemoProducts.COMPUTER_MONITOR;
+    Product repricedProduct =
+        new Product(
+            product.id(),
+            product.name(),
+            product.description(),
+            product.price().multiply(2),
+            product.itemsInStock() - 1);
+    List<Cart> carts = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Cart cart = new Cart(createUniqueCustomerId());
+      cart.addProduct(product, 1 + i);
+      cart.addProduct(DemoProducts.MONITOR_DESK_MOUNT, 1);
+      cartRepository.save(cart);
+      carts.add(cart);
+    }
+
+    List<Cart> repricedCarts = new ArrayList<>();
+    for (Cart cart : carts) {
+      Cart persistedCart = cartRepository.findByCustomerId(cart.id()).orElseThrow();
+      persistedCart.updateProduct(repricedProduct);
+      repricedCarts.add(persistedCart);
+    }
+    cartRepository.saveAll(repricedCarts);
+
+    for (int i = 0; i < carts.size(); i++) {
+      Cart cart = cartRepository.findByCustomerId(carts.get(i).id()).orElseThrow();
+      assertThat(cart.lineItems())
+          .extracting(
+              lineItem -> lineItem.product().id(),
+              lineItem -> lineItem.product().price(),
+              CartLineItem::quantity)
+          .containsExactly(
+              tuple(product.id(), repricedProduct.price(), 1 + i),
+              tuple(
+                  DemoProducts.MONITOR_DESK_MOUNT.id(),
+                  DemoProducts.MONITOR_DESK_MOUNT.price(),
+                  1));
+    }
+  }
+
+  @Test
+  void givenExistingCart_deleteByCustomerId_deletesTheCart() {
+    CustomerId customerId = createUniqueCustomerId();
+
+    Cart persistedCart = new Cart(customerId);
+    cartRepository.save(persistedCart);
+    assertThat(cartRepository.findByCustomerId(customerId)).isNotEmpty();
+
+    cartRepository.deleteByCustomerId(customerId);
+
+    assertThat(cartRepository.findByCustomerId(customerId)).isEmpty();
+  }
+
+  @Test
+  void givenNotExistingCart_deleteByCustomerId_doesNothing() {
+    CustomerId customerId = createUniqueCustomerId();
+    assertThat(cartRepository.findByCustomerId(customerId)).isEmpty();
+
+    cartRepository.deleteByCustomerId(customerId);
+
+    assertThat(cartRepository.findByCustomerId(customerId)).isEmpty();
+  }
+
+  private static CustomerId createUniqueCustomerId() {
+    return new CustomerId(CUSTOMER_ID_SEQUENCE_GENERATOR.incrementAndGet());
+  }
+}
@@ -1,11 +1,19 @@
 package com.example.shop.adapter.out.persistence;
 
+import static com.example.shop.model.money.TestMoneyFactory.euros;
+import static com.example.shop.model.money.TestMoneyFactory.usDollars;
+import static com.example.shop.model.product.ProductSortOrder.PRICE_ASCENDING;
+import static com.example.shop.model.product.ProductSortOrder.PRICE_DESCENDING;
+import static com.example.shop.model.product.ProductSortOrder.RELEVANCE;
 import static org.assertj.core.api.Assertions.assertThat;
 
-import com.example.shop.adapter.out.persistence.DemoProducts;
 import com.example.shop.application.port.out.persistence.ProductRepository;
+import com.example.shop.model.money.Money;
 import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
 import com.example.shop.model.product.ProductId;
+import com.example.shop.model.product.ProductQuery;
+import java.util.Currency;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +21,8 @@ import org.junit.jupiter.api.Test;
 
 public abstract class AbstractProductRepositoryTest<T extends ProductRepository> {
 
+  private static final Money ANY_PRICE = Money.of(Currency.getInstance("EUR"), 9, 99);
+
   private T productRepository;
 
   @BeforeEach
@@ -70,4 +80,266 @@ public abstract class AbstractProductRepositoryTest<T extends ProductRepository>
     assertThat(products)
         .containsExactlyInAnyOrder(DemoProducts.COMPUTER_MONITOR, DemoProducts.MONITOR_DESK_MOUNT);
   }
+
+  @Test
+  void givenMatchesInNameAndInDescription_findByNameOrDescription_returnsNameMatchesFirst() {
+    Product descriptionMatch = createProduct("Cable Tray", "Keeps every widget cable tidy", 10);
+    Product nameMatch = createProduct("Widget Stand", "A stand", 10);
+    productRepository.save(descriptionMatch);
+    productRepository.save(nameMatch);
+
+    List<Product> products = productRepository.findByNameOrDescription("widget");
+
+    assertThat(products).containsExactly(nameMatch, descriptionMatch);
+  }
+
+  @Test
+  void givenEqualMatches_findByNameOrDescription_returnsProductsInStockFirst() {
+    Product soldOut = createProduct("Gizmo Lamp", "A lamp", 0);
+    Product inStock = createProduct("Gizmo Clock", "A clock", 7);
+    productRepository.save(soldOut);
+    productRepository.save(inStock);
+
+    List<Product> products = productRepository.findByNameOrDescription("gizmo");
+
+    assertThat(products).containsExactly(inStock, soldOut);
+  }
+
+  @Test
+  void givenALimit_findByNameOrDescription_returnsOnlyTheBestMatches() {
+    Product innerMatch = createProduct("Big Gadget Box", "A box", 10);
+    Product prefixMatch = createProduct("Gadget Box", "A box", 10);
+    Product descriptionMatch = createProduct("Box", "Fits any gadget", 10);
+    productRepository.save(innerMatch);
+    productRepository.save(prefixMatch);
+    productRepository.save(descriptionMatch);
+
+    List<Product> products = productRepository.findByNameOrDescription("gadget", 2);
+
+    assertThat(products).containsExactly(prefixMatch, innerMatch);
+  }
+
+  @Test
+  void givenAMisspelledQuery_findByNameOrDescriptionFuzzy_returnsProductsMatchingTheCorrection() {
+    List<Product> products = productRepository.findByNameOrDescriptionFuzzy("moniter", 10);
+
+    assertThat(products)
+        .containsExactlyInAnyOrder(DemoProducts.COMPUTER_MONITOR, DemoProducts.MONITOR_DESK_MOUNT);
+  }
+
+  @Test
+  void givenAQueryWithSeveralMisspelledWords_findByNameOrDescriptionFuzzy_matchesAllWords() {
+    List<Product> products = productRepository.findByNameOrDescriptionFuzzy("curvd moniter", 10);
+
+    assertThat(products).containsExactly(DemoProducts.COMPUTER_MONITOR);
+  }
+
+  @Test
+  void givenAnExactAndAMisspelledMatch_findByNameOrDescriptionFuzzy_ranksTheExactMatchFirst() {
+    Product misspelled = createProduct("Gadgat Box", "A box", 10);
+    Product exact = createProduct("Gadget Box", "A box", 10);
+    productRepository.save(misspelled);
+    productRepository.save(exact);
+
+    List<Product> products = productRepository.findByNameOrDescriptionFuzzy("gadget", 10);
+
+    assertThat(products).containsExactly(exact, misspelled);
+  }
+
+  @Test
+  void givenAQueryTooFarFromAnyWord_findByNameOrDescriptionFuzzy_returnsAnEmptyList() {
+    List<Product> products = productRepository.findByNameOrDescriptionFuzzy("xylophone", 10);
+
+    assertThat(products).isEmpty();
+  }
+
+  @Test
+  void givenAPriceRange_findByNameOrDescription_returnsOnlyMatchesInTheRange() {
+    saveWidgets();
+    ProductFilter filter = new ProductFilter(euros(10, 0), euros(20, 0), false);
+
+    List<Product> products =
+        productRepository.findByNameOrDescription("widget", filter, RELEVANCE, 10);
+
+    assertThat(products).extracting(Product::name).containsExactly("Widget B");
+  }
+
+  @Test
+  void givenOnlyAMinimumPrice_findByNameOrDescription_returnsMatchesAtOrAboveIt() {
+    saveWidgets();
+    ProductFilter filter = new ProductFilter(euros(15, 0), null, false);
+
+    List<Product> products =
+        productRepository.findByNameOrDescription("widget", filter, RELEVANCE, 10);
+
+    assertThat(products)
+        .extracting(Product::name)
+        .containsExactlyInAnyOrder("Widget B", "Widget C");
+  }
+
+  @Test
+  void givenAPriceRangeInAnotherCurrency_findByNameOrDescription_returnsAnEmptyList() {
+    saveWidgets();
+    ProductFilter filter = new ProductFilter(usDollars(0, 0), usDollars(100, 0), false);
+
+    List<Product> products =
+        productRepository.findByNameOrDescription("widget", filter, RELEVANCE, 10);
+
+    assertThat(products).isEmpty();
+  }
+
+  @Test
+  void givenInStockOnly_findByNameOrDescription_returnsOnlyMatchesInStock() {
+    saveWidgets();
+    ProductFilter filter = new ProductFilter(null, null, true);
+
+    List<Product> products =
+        productRepository.findByNameOrDescription("widget", filter, RELEVANCE, 10);
+
+    assertThat(products)
+        .extracting(Product::name)
+        .containsExactlyInAnyOrder("Widget A", "Widget C");
+  }
+
+  @Test
+  void givenSortingByPrice_findByNameOrDescription_returnsMatchesInPriceOrder() {
+    saveWidgets();
+
+    List<Product> ascending =
+        productRepository.findByNameOrDescription("widget", ProductFilter.NONE, PRICE_ASCENDING, 2);
+    List<Product> descending =
+        productRepository.findByNameOrDescription(
+            "widget", ProductFilter.NONE, PRICE_DESCENDING, 10);
+
+    assertThat(ascending).extracting(Product::name).containsExactly("Widget A", "Widget B");
+    assertThat(descending)
+        .extracting(Product::name)
+        .containsExactly("Widget C", "Widget B", "Widget A");
+  }
+
+  @Test
+  void givenEquallyPricedMatches_findByNameOrDescription_sortedByPrice_ordersThemById() {
+    productRepository.save(
+        new Product(new ProductId("TIE-2"), "Sprocket", "A sprocket", euros(5, 0), 1));
+    productRepository.save(
+        new Product(new ProductId("TIE-1"), "Sprocket", "A sprocket", euros(5, 0), 1));
+    productRepository.save(
+        new Product(new ProductId("TIE-3"), "Sprocket", "A sprocket", euros(5, 0), 1));
+
+    List<Product> products =
+        productRepository.findByNameOrDescription(
+            "sprocket", ProductFilter.NONE, PRICE_DESCENDING, 2);
+
+    assertThat(products)
+        .extracting(product -> product.id().value())
+        .containsExactly("TIE-1", "TIE-2");
+  }
+
+  @Test
+  void givenAProductWithAChangedPrice_findByNameOrDescription_usesTheNewPrice() {
+    saveWidgets();
+    Product widgetB = productRepository.findByNameOrDescription("widget b").get(0);
+    widgetB = new Product(widgetB.id(), widgetB.name(), widgetB.description(), euros(30, 0), 0);
+    productRepository.save(widgetB);
+    ProductFilter filter = new ProductFilter(euros(10, 0), euros(20, 0), false);
+
+    List<Product> inRange =
+        productRepository.findByNameOrDescription("widget", filter, RELEVANCE, 10);
+    List<Product> ascending =
+        productRepository.findByNameOrDescription(
+            "widget", ProductFilter.NONE, PRICE_ASCENDING, 10);
+
+    assertThat(inRange).isEmpty();
+    assertThat(ascending)
+        .extracting(Product::name)
+        .containsExactly("Widget A", "Widget C", "Widget B");
+  }
+
+  @Test
+  void givenAFilterAndASortOrder_findByNameOrDescriptionFuzzy_appliesBoth() {
+    saveWidgets();
+    ProductFilter filter = new ProductFilter(null, euros(30, 0), true);
+
+    List<Product> products =
+        productRepository.findByNameOrDescriptionFuzzy("widgat", filter, PRICE_DESCENDING, 10);
+
+    assertThat(products).extracting(Product::name).containsExactly("Widget C", "Widget A");
+  }
+
+  @Test
+  void givenSeveralTerms_findByTerms_returnsOnlyProductsContainingAllOfThem() {
+    List<Product> products =
+        productRepository.findByTerms(
+            ProductQuery.parse("monitor desk"), ProductFilter.NONE, RELEVANCE, 10);
+
+    assertThat(products).containsExactly(DemoProducts.MONITOR_DESK_MOUNT);
+  }
+
+  @Test
+  void givenAlternativeClauses_findByTerms_returnsProductsMatchingAnyOfThem() {
+    List<Product> products =
+        productRepository.findByTerms(
+            ProductQuery.parse("curved monitor OR plastic"), ProductFilter.NONE, RELEVANCE, 10);
+
+    assertThat(products)
+        .containsExactlyInAnyOrder(DemoProducts.COMPUTER_MONITOR, DemoProducts.PLASTIC_SHEETING);
+  }
+
+  @Test
+  void givenATermScopedToAField_findByTerms_matchesWholeWordsInThatFieldOnly() {
+    List<Product> inDescription =
+        productRepository.findByTerms(
+            ProductQuery.parse("description:monitor"), ProductFilter.NONE, RELEVANCE, 10);
+    List<Product> inName =
+        productRepository.findByTerms(
+            ProductQuery.parse("name:monitor"), ProductFilter.NONE, RELEVANCE, 10);
+
+    assertThat(inDescription).isEmpty();
+    assertThat(inName)
+        .containsExactlyInAnyOrder(DemoProducts.COMPUTER_MONITOR, DemoProducts.MONITOR_DESK_MOUNT);
+  }
+
+  @Test
+  void givenAFilterAndASortOrder_findByTerms_appliesBoth() {
+    saveWidgets();
+    ProductFilter filter = new ProductFilter(null, euros(30, 0), true);
+
+    List<Product> products =
+        productRepository.findByTerms(ProductQuery.parse("widget"), filter, PRICE_DESCENDING, 10);
+
+    assertThat(products).extracting(Product::name).containsExactly("Widget C", "Widget A");
+  }
+
+  @Test
+  void givenAProductWithAChangedName_findByTerms_matchesOnlyTheNewName() {
+    Product product = createProduct("Gizmo Lamp", "A lamp", 10);
+    productRepository.save(product);
+    productRepository.save(new Product(product.id(), "Gadget Lamp", "A lamp", product.price(), 10));
+
+    List<Product> oldName =
+        productRepository.findByTerms(
+            ProductQuery.parse("gizmo"), ProductFilter.NONE, RELEVANCE, 10);
+    List<Product> newName =
+        productRepository.findByTerms(
+            ProductQuery.parse("gadget lamp"), ProductFilter.NONE, RELEVANCE, 10);
+
+    assertThat(oldName).isEmpty();
+    assertThat(newName).extracting(Product::id).containsExactly(product.id());
+  }
+
+  /** Saves "Widget A" for 5 euros, in stock, "Widget B" for 15, sold out, and "Widget C" for 25. */
+  private void saveWidgets() {
+    productRepository.save(createProduct("Widget A", "A widget", 3, euros(5, 0)));
+    productRepository.save(createProduct("Widget B", "A widget", 0, euros(15, 0)));
+    productRepository.save(createProduct("Widget C", "A widget", 8, euros(25, 0)));
+  }
+
+  private static Product createProduct(String name, String description, int itemsInStock) {
+    return createProduct(name, description, itemsInStock, ANY_PRICE);
+  }
+
+  private static Product createProduct(
+      String name, String description, int itemsInStock, Money price) {
+    return new Product(ProductId.randomProductId(), name, description, price, itemsInStock);
+  }
 }
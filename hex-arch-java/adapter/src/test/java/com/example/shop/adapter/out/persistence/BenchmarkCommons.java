@@ -0,0 +1,29 @@
+package com.example.shop.adapter.out.persistence;
+
+import java.util.Arrays;
+
+/** Helpers for the benchmarks, which run only with the "benchmark" Maven profile. */
+public final class BenchmarkCommons {
+
+  private BenchmarkCommons() {}
+
+  /** Reads an integer benchmark parameter from the system properties. */
+  public static int intParameter(String name, int defaultValue) {
+    return Integer.getInteger("benchmark." + name, defaultValue);
+  }
+
+  /** Formats the 50th, 99th and 100th percentile of the given latencies (in nanoseconds). */
+  public static String percentiles(long[] latenciesNanos) {
+    long[] sorted = latenciesNanos.clone();
+    Arrays.sort(sorted);
+    return "p50=%s p99=%s max=%s"
+        .formatted(
+            micros(sorted[(int) (sorted.length * 0.50)]),
+            micros(sorted[(int) (sorted.length * 0.99)]),
+            micros(sorted[sorted.length - 1]));
+  }
+
+  private static String micros(long nanos) {
+    return "%.1fus".formatted(nanos / 1_000.0);
+  }
+}
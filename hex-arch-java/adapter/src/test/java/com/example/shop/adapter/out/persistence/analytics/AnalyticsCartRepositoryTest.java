@@ -0,0 +1,210 @@
+package com.example.shop.adapter.out.persistence.analytics;
+
+import static com.example.shop.model.money.TestMoneyFactory.euros;
+import static com.example.shop.model.money.TestMoneyFactory.usDollars;
+import static com.example.shop.model.product.TestProductFactory.createTestProduct;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.shop.adapter.out.persistence.AbstractCartRepositoryTest;
+import com.example.shop.adapter.out.persistence.inmemory.EventSourcedCartRepository;
+import com.example.shop.adapter.out.persistence.inmemory.InMemoryCartRepository;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.cart.CartAnalytics;
+import com.example.shop.model.cart.CartAnalytics.ProductInCarts;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.money.ExchangeRates;
+import com.example.shop.model.product.Product;
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class AnalyticsCartRepositoryTest extends AbstractCartRepositoryTest<AnalyticsCartRepository> {
+
+  private static final Currency EUR = Currency.getInstance("EUR");
+  private static final ExchangeRates EXCHANGE_RATES =
+      ExchangeRates.of(EUR, Map.of(Currency.getInstance("USD"), new BigDecimal("1.25")));
+
+  private static final Product MONITOR = createTestProduct(euros(199, 99));
+  private static final Product KEYBOARD = createTestProduct(usDollars(50, 0));
+  private static final Product CABLE = createTestProduct(euros(4, 99));
+
+  @Override
+  protected AnalyticsCartRepository createCartRepository() {
+    return new AnalyticsCartRepository(new InMemoryCartRepository());
+  }
+
+  @Test
+  void givenCartsWithProductsInSeveralCurrencies_aggregate_returnsTheTotalsOfAllCarts() {
+    AnalyticsCartRepository cartRepository = createCartRepository();
+    cartRepository.save(cart(1, MONITOR, 2, CABLE, 3));
+    cartRepository.save(cart(2, KEYBOARD, 1, CABLE, 2));
+
+    CartAnalytics analytics = cartRepository.aggregate(EUR, EXCHANGE_RATES, 2);
+
+    assertThat(analytics.openCarts()).isEqualTo(2);
+    assertThat(analytics.numberOfItems()).isEqualTo(8);
+    assertThat(analytics.averageNumberOfItems()).isEqualTo(4.0);
+    assertThat(analytics.totalValue()).isEqualTo(euros(464, 93)); // 2 * 199.99 + 40 + 5 * 4.99
+    assertThat(analytics.topProducts())
+        .containsExactly(new ProductInCarts(CABLE, 5, 2), new ProductInCarts(MONITOR, 2, 1));
+  }
+
+  @Test
+  void givenEmptiedAndDeletedCarts_aggregate_countsOnlyTheOpenCarts() {
+    AnalyticsCartRepository cartRepository = createCartRepository();
+    cartRepository.save(cart(1, MONITOR, 1, CABLE, 1));
+    cartRepository.save(cart(2, MONITOR, 2, CABLE, 2));
+    cartRepository.save(cart(3, MONITOR, 3, CABLE, 3));
+    cartRepository.save(new Cart(new CustomerId(2)));
+    cartRepository.deleteByCustomerId(new CustomerId(3));
+
+    CartAnalytics analytics = cartRepository.aggregate(EUR, EXCHANGE_RATES, 10);
+
+    assertThat(analytics.openCarts()).isEqualTo(1);
+    assertThat(analytics.numberOfItems()).isEqualTo(2);
+    assertThat(analytics.totalValue()).isEqualTo(euros(204, 98));
+  }
+
+  @Test
+  void givenManyCarts_aggregateInParallel_returnsTheSameTotalsAsSequentially() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      AnalyticsCartRepository sequential =
+          new AnalyticsCartRepository(new InMemoryCartRepository(), pool, 16, Integer.MAX_VALUE);
+      AnalyticsCartRepository parallel =
+          new AnalyticsCartRepository(new InMemoryCartRepository(), pool, 16, 0);
+      for (int i = 1; i <= 1_000; i++) {
+        Cart cart = cart(i, MONITOR, 1 + i % 3, i % 2 == 0 ? KEYBOARD : CABLE, 1 + i % 5);
+        sequential.save(cart);
+        parallel.save(cart);
+      }
+
+      assertThat(parallel.aggregate(EUR, EXCHANGE_RATES, 3))
+          .isEqualTo(sequential.aggregate(EUR, EXCHANGE_RATES, 3));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void givenTwoCopiesOfACartChangedAndSavedInTurn_aggregate_countsTheStoredCart() {
+    AnalyticsCartRepository cartRepository =
+        new AnalyticsCartRepository(new EventSourcedCartRepository());
+    CustomerId customerId = new CustomerId(1);
+    Cart cart = new Cart(customerId);
+    cart.tryAddProduct(MONITOR, 1);
+    cartRepository.save(cart);
+    Cart copy1 = cartRepository.findByCustomerId(customerId).orElseThrow();
+    Cart copy2 = cartRepository.findByCustomerId(customerId).orElseThrow();
+
+    copy1.tryAddProduct(CABLE, 2);
+    cartRepository.save(copy1);
+    copy2.tryAddProduct(KEYBOARD, 3);
+    cartRepository.save(copy2);
+
+    CartAnalytics analytics = cartRepository.aggregate(EUR, EXCHANGE_RATES, 10);
+
+    assertThat(analytics.openCarts()).isEqualTo(1);
+    assertThat(analytics.numberOfItems()).isEqualTo(6);
+    assertThat(analytics.topProducts())
+        .containsExactly(
+            new ProductInCarts(KEYBOARD, 3, 1),
+            new ProductInCarts(CABLE, 2, 1),
+            new ProductInCarts(MONITOR, 1, 1));
+  }
+
+  @Test
+  void givenASlowReadOfASavedCart_saveOfANewerCart_neitherWaitsForItNorIsReplacedByIt()
+      throws InterruptedException {
+    CountDownLatch slowReadStarted = new CountDownLatch(1);
+    CountDownLatch slowReadReleased = new CountDownLatch(1);
+    AnalyticsCartRepository cartRepository =
+        new AnalyticsCartRepository(
+            new InMemoryCartRepository() {
+              @Override
+              public Optional<Cart> findByCustomerId(CustomerId customerId) {
+                Optional<Cart> cart = super.findByCustomerId(customerId);
+                if (Thread.currentThread().getName().equals("slow-reader")) {
+                  slowReadStarted.countDown();
+                  awaitQuietly(slowReadReleased);
+                }
+                return cart;
+              }
+            });
+    Thread slowReader =
+        Thread.ofPlatform()
+            .name("slow-reader")
+            .start(() -> cartRepository.save(cart(1, MONITOR, 1, CABLE, 1)));
+    slowReadStarted.await();
+
+    cartRepository.save(cart(1, KEYBOARD, 2, CABLE, 3));
+    boolean savedWhileReading = slowReader.isAlive();
+    slowReadReleased.countDown();
+    slowReader.join();
+
+    assertThat(savedWhileReading).isTrue();
+    CartAnalytics analytics = cartRepository.aggregate(EUR, EXCHANGE_RATES, 10);
+    assertThat(analytics.openCarts()).isEqualTo(1);
+    assertThat(analytics.topProducts())
+        .containsExactly(new ProductInCarts(CABLE, 3, 1), new ProductInCarts(KEYBOARD, 2, 1));
+  }
+
+  @Test
+  void givenCartsChangedConcurrently_aggregate_seesEveryCartAsItWasSaved()
+      throws InterruptedException {
+    ForkJoinPool pool = new ForkJoinPool(2);
+    AnalyticsCartRepository cartRepository =
+        new AnalyticsCartRepository(new InMemoryCartRepository(), pool, 8, 0);
+    for (int i = 1; i <= 100; i++) {
+      cartRepository.save(cart(i, MONITOR, 1, CABLE, 1));
+    }
+
+    // Every cart always holds two items, one of which is either a cable or a keyboard
+    AtomicBoolean stopped = new AtomicBoolean();
+    Thread writer =
+        Thread.ofPlatform()
+            .start(
+                () -> {
+                  for (int i = 0; !stopped.get(); i++) {
+                    Product product = i % 2 == 0 ? KEYBOARD : CABLE;
+                    cartRepository.save(cart(1 + i % 100, MONITOR, 1, product, 1));
+                  }
+                });
+    try {
+      for (int i = 0; i < 200; i++) {
+        CartAnalytics analytics = cartRepository.aggregate(EUR, EXCHANGE_RATES, 3);
+
+        assertThat(analytics.openCarts()).isEqualTo(100);
+        assertThat(analytics.numberOfItems()).isEqualTo(200);
+        assertThat(analytics.topProducts().getFirst())
+            .isEqualTo(new ProductInCarts(MONITOR, 100, 100));
+      }
+    } finally {
+      stopped.set(true);
+      writer.join();
+      pool.shutdown();
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static Cart cart(
+      int customerId, Product product1, int quantity1, Product product2, int quantity2) {
+    Cart cart = new Cart(new CustomerId(customerId));
+    cart.tryAddProduct(product1, quantity1);
+    cart.tryAddProduct(product2, quantity2);
+    return cart;
+  }
+}
@@ -0,0 +1,119 @@
+package com.example.shop.adapter.out.persistence.analytics;
+
+import static com.example.shop.adapter.out.persistence.BenchmarkCommons.intParameter;
+import static com.example.shop.adapter.out.persistence.BenchmarkCommons.percentiles;
+
+import com.example.shop.adapter.out.persistence.SyntheticProducts;
+import com.example.shop.adapter.out.persistence.inmemory.EventSourcedCartRepository;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.cart.CartAnalytics;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.money.ExchangeRates;
+import com.example.shop.model.product.Product;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures how long aggregating over all carts takes, compared to rebuilding every cart from the
+ * event-sourced repository, and the latency of adding to carts while aggregations run back to back,
+ * compared to without. Run with {@code mvn test -Pbenchmark -pl adapter
+ * -Dtest=CartAnalyticsBenchmark -Dbenchmark.carts=1000000}.
+ */
+@Tag("benchmark")
+class CartAnalyticsBenchmark {
+
+  private static final int CARTS = intParameter("carts", 1_000_000);
+  private static final int PRODUCTS = intParameter("products", 1_000);
+  private static final int ROUNDS = 3;
+
+  private static final Currency EUR = Currency.getInstance("EUR");
+
+  @Test
+  void cartAnalytics() throws InterruptedException {
+    SyntheticProducts syntheticProducts = new SyntheticProducts(42, 1_000);
+    Product[] products = new Product[PRODUCTS];
+    for (int i = 0; i < PRODUCTS; i++) {
+      products[i] = syntheticProducts.next();
+    }
+
+    EventSourcedCartRepository eventSourcedCartRepository = new EventSourcedCartRepository();
+    AnalyticsCartRepository cartRepository =
+        new AnalyticsCartRepository(eventSourcedCartRepository);
+    Random random = new Random(42);
+    for (int i = 1; i <= CARTS; i++) {
+      Cart cart = new Cart(new CustomerId(i));
+      for (int j = 1 + random.nextInt(5); j > 0; j--) {
+        cart.tryAddProduct(products[random.nextInt(PRODUCTS)], 1 + random.nextInt(3));
+      }
+      cartRepository.save(cart);
+    }
+    System.out.printf(
+        "%,d carts, fork-join parallelism %d%n", CARTS, ForkJoinPool.getCommonPoolParallelism());
+
+    for (int round = 1; round <= ROUNDS; round++) {
+      long start = System.nanoTime();
+      CartAnalytics analytics = cartRepository.aggregate(EUR, ExchangeRates.none(), 10);
+      long aggregateNanos = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      List<Cart> carts = eventSourcedCartRepository.findAll();
+      long items = carts.stream().mapToLong(Cart::numberOfItems).sum();
+      long rebuildNanos = System.nanoTime() - start;
+
+      System.out.printf(
+          "Round %d: aggregate: %,d ms (%,d items, %s); rebuilding all carts: %,d ms (%,d items)%n",
+          round,
+          aggregateNanos / 1_000_000,
+          analytics.numberOfItems(),
+          analytics.totalValue(),
+          rebuildNanos / 1_000_000,
+          items);
+
+      System.out.printf(
+          "Round %d: adds alone: %s%n", round, addLatencies(cartRepository, products));
+
+      AtomicBoolean aggregating = new AtomicBoolean(true);
+      int[] aggregations = new int[1];
+      Thread aggregator =
+          Thread.ofPlatform()
+              .start(
+                  () -> {
+                    while (aggregating.get()) {
+                      cartRepository.aggregate(EUR, ExchangeRates.none(), 10);
+                      aggregations[0]++;
+                    }
+                  });
+      String addsWhileAggregating = addLatencies(cartRepository, products);
+      aggregating.set(false);
+      aggregator.join();
+
+      System.out.printf(
+          "Round %d: adds during %d aggregations: %s%n",
+          round, aggregations[0], addsWhileAggregating);
+    }
+  }
+
+  /** Adds a product to random carts for a second, as the add-to-cart use case does. */
+  private static String addLatencies(AnalyticsCartRepository cartRepository, Product[] products) {
+    Random random = new Random();
+    long[] latencies = new long[1_000_000];
+    int adds = 0;
+    long end = System.nanoTime() + 1_000_000_000L;
+    while (adds < latencies.length && System.nanoTime() < end) {
+      CustomerId customerId = new CustomerId(1 + random.nextInt(CARTS));
+      Product product = products[random.nextInt(products.length)];
+      long start = System.nanoTime();
+      Cart cart = cartRepository.findByCustomerId(customerId).orElseThrow();
+      cart.tryAddProduct(product, 1);
+      cartRepository.save(cart);
+      latencies[adds++] = System.nanoTime() - start;
+    }
+    return "%,d adds, %s".formatted(adds, percentiles(Arrays.copyOf(latencies, adds)));
+  }
+}
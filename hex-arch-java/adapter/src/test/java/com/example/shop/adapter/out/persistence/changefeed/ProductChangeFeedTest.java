@@ -0,0 +1,108 @@
+package com.example.shop.adapter.out.persistence.changefeed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.shop.adapter.out.persistence.DemoProducts;
+import com.example.shop.adapter.out.persistence.changefeed.ProductChangeSource.Subscription;
+import com.example.shop.adapter.out.persistence.inmemory.InMemoryProductRepository;
+import com.example.shop.model.product.Product;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ProductChangeFeedTest {
+
+  @Test
+  void givenPublishedChanges_subscribe_passesThemInOrderWithSequenceNumbers() throws Exception {
+    ProductChangeFeed changeFeed = new ProductChangeFeed();
+    changeFeed.publish(DemoProducts.COMPUTER_MONITOR);
+    RecordingListener listener = new RecordingListener();
+
+    try (Subscription ignored = changeFeed.subscribe(0, listener)) {
+      changeFeed.publish(DemoProducts.LED_LIGHTS);
+
+      assertThat(listener.next(2))
+          .containsExactly(
+              new ProductChange(1, DemoProducts.COMPUTER_MONITOR),
+              new ProductChange(2, DemoProducts.LED_LIGHTS));
+    }
+  }
+
+  @Test
+  void givenASequenceNumber_subscribe_passesOnlyTheChangesAfterIt() throws Exception {
+    ProductChangeFeed changeFeed = new ProductChangeFeed();
+    DemoProducts.DEMO_PRODUCTS.forEach(changeFeed::publish);
+    RecordingListener listener = new RecordingListener();
+
+    try (Subscription ignored = changeFeed.subscribe(3, listener)) {
+      assertThat(listener.next(1))
+          .containsExactly(new ProductChange(4, DemoProducts.DEMO_PRODUCTS.get(3)));
+    }
+  }
+
+  @Test
+  void givenChangesNoLongerRetained_subscribe_reportsThemAsMissed() throws Exception {
+    ProductChangeFeed changeFeed = new ProductChangeFeed(2);
+    DemoProducts.DEMO_PRODUCTS.forEach(changeFeed::publish);
+    RecordingListener listener = new RecordingListener();
+
+    try (Subscription ignored = changeFeed.subscribe(0, listener)) {
+      assertThat(listener.next(2))
+          .extracting(ProductChange::sequenceNumber)
+          .containsExactly(3L, 4L);
+      assertThat(listener.changesMissed).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void givenAChangeFeedRepository_save_publishesACopyAfterSaving() throws Exception {
+    ProductChangeFeed changeFeed = new ProductChangeFeed();
+    ChangeFeedProductRepository productRepository =
+        new ChangeFeedProductRepository(InMemoryProductRepository.empty(), changeFeed);
+    RecordingListener listener = new RecordingListener();
+    Product product = DemoProducts.COMPUTER_MONITOR;
+
+    try (Subscription ignored = changeFeed.subscribe(0, listener)) {
+      productRepository.save(product);
+
+      ProductChange change = listener.next(1).get(0);
+      assertThat(change.sequenceNumber()).isEqualTo(1);
+      assertThat(change.product()).isEqualTo(product).isNotSameAs(product);
+      assertThat(productRepository.findById(product.id())).contains(product);
+    }
+  }
+
+  static class RecordingListener implements ProductChangeListener {
+
+    private final BlockingQueue<ProductChange> changes = new LinkedBlockingQueue<>();
+    volatile int changesMissed;
+
+    @Override
+    public void onChange(ProductChange change) {
+      changes.add(change);
+    }
+
+    @Override
+    public void onChangesMissed() {
+      changesMissed++;
+    }
+
+    /** Waits for the given number of changes. */
+    List<ProductChange> next(int count) throws InterruptedException {
+      List<ProductChange> next = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        ProductChange change = changes.poll(5, TimeUnit.SECONDS);
+        assertThat(change).as("change %d of %d", i + 1, count).isNotNull();
+        next.add(change);
+      }
+      return next;
+    }
+
+    boolean hasNoMoreChanges() throws InterruptedException {
+      return changes.poll(200, TimeUnit.MILLISECONDS) == null;
+    }
+  }
+}
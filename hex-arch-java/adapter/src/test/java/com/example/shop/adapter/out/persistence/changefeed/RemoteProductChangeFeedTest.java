@@ -0,0 +1,136 @@
+package com.example.shop.adapter.out.persistence.changefeed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.shop.adapter.out.persistence.DemoProducts;
+import com.example.shop.adapter.out.persistence.changefeed.ProductChangeFeedTest.RecordingListener;
+import com.example.shop.adapter.out.persistence.changefeed.ProductChangeSource.Subscription;
+import com.example.shop.adapter.out.persistence.inmemory.InMemoryProductRepository;
+import com.example.shop.model.product.Product;
+import java.io.UncheckedIOException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs two nodes in this JVM, connected over TCP like nodes in separate JVMs: node A saves
+ * products, node B keeps a local replica of A's catalog up to date from A's change feed.
+ */
+class RemoteProductChangeFeedTest {
+
+  private final ProductChangeFeed changeFeedOfA = new ProductChangeFeed();
+  private final ChangeFeedProductRepository productRepositoryOfA =
+      new ChangeFeedProductRepository(InMemoryProductRepository.empty(), changeFeedOfA);
+  private ProductChangeFeedServer serverOfA = new ProductChangeFeedServer(changeFeedOfA, 0);
+
+  private final InMemoryProductRepository replicaOnB = InMemoryProductRepository.empty();
+
+  @AfterEach
+  void stopServer() {
+    serverOfA.close();
+  }
+
+  @Test
+  void givenASubscribedNode_saveOnAnotherNode_updatesItsIndexIncrementally() throws Exception {
+    RecordingListener listener = new RecordingListener();
+    RemoteProductChangeFeed changeFeed = new RemoteProductChangeFeed("localhost", serverOfA.port());
+
+    try (Subscription ignored = changeFeed.subscribe(0, replicatingTo(listener))) {
+      productRepositoryOfA.save(DemoProducts.COMPUTER_MONITOR);
+      listener.next(1);
+
+      assertThat(replicaOnB.findByNameOrDescription("monitor"))
+          .containsExactly(DemoProducts.COMPUTER_MONITOR);
+
+      Product renamedMonitor =
+          new Product(
+              DemoProducts.COMPUTER_MONITOR.id(),
+              "Curved Display",
+              DemoProducts.COMPUTER_MONITOR.description(),
+              DemoProducts.COMPUTER_MONITOR.price(),
+              1);
+      productRepositoryOfA.save(renamedMonitor);
+
+      assertThat(listener.next(1)).extracting(ProductChange::sequenceNumber).containsExactly(2L);
+      assertThat(replicaOnB.findByNameOrDescription("curved")).containsExactly(renamedMonitor);
+      assertThat(replicaOnB.findCompletions("mo", 10)).isEmpty();
+    }
+  }
+
+  @Test
+  void givenARestartedServer_subscription_resumesAfterTheLastChangeSeen() throws Exception {
+    RecordingListener listener = new RecordingListener();
+    int port = serverOfA.port();
+    RemoteProductChangeFeed changeFeed = new RemoteProductChangeFeed("localhost", port);
+
+    try (Subscription ignored = changeFeed.subscribe(0, replicatingTo(listener))) {
+      productRepositoryOfA.save(DemoProducts.COMPUTER_MONITOR);
+      listener.next(1);
+
+      serverOfA.close();
+      productRepositoryOfA.save(DemoProducts.LED_LIGHTS);
+      productRepositoryOfA.save(DemoProducts.PLASTIC_SHEETING);
+      serverOfA = restartServer(changeFeedOfA, port);
+
+      assertThat(listener.next(2))
+          .extracting(ProductChange::sequenceNumber)
+          .containsExactly(2L, 3L);
+      assertThat(listener.hasNoMoreChanges()).isTrue();
+      assertThat(replicaOnB.findById(DemoProducts.PLASTIC_SHEETING.id()))
+          .contains(DemoProducts.PLASTIC_SHEETING);
+    }
+  }
+
+  @Test
+  void givenARestartedNodeWithANewFeed_subscription_isToldItMissedChangesAndStartsOver()
+      throws Exception {
+    RecordingListener listener = new RecordingListener();
+    int port = serverOfA.port();
+    RemoteProductChangeFeed changeFeed = new RemoteProductChangeFeed("localhost", port);
+
+    try (Subscription ignored = changeFeed.subscribe(0, listener)) {
+      productRepositoryOfA.save(DemoProducts.COMPUTER_MONITOR);
+      productRepositoryOfA.save(DemoProducts.LED_LIGHTS);
+      listener.next(2);
+
+      // A's JVM restarts: its new feed numbers its changes from 1 again
+      serverOfA.close();
+      ProductChangeFeed restartedFeedOfA = new ProductChangeFeed();
+      restartedFeedOfA.publish(DemoProducts.PLASTIC_SHEETING);
+      restartedFeedOfA.publish(DemoProducts.MONITOR_DESK_MOUNT);
+      restartedFeedOfA.publish(DemoProducts.COMPUTER_MONITOR);
+      serverOfA = restartServer(restartedFeedOfA, port);
+
+      assertThat(listener.next(3))
+          .extracting(ProductChange::sequenceNumber)
+          .containsExactly(1L, 2L, 3L);
+      assertThat(listener.changesMissed).isEqualTo(1);
+      assertThat(listener.hasNoMoreChanges()).isTrue();
+    }
+  }
+
+  /**
+   * Starts a server on the port of the stopped one. Retries for a while, as the port may briefly be
+   * in use as the local port of a client that tried to reconnect in the meantime.
+   */
+  private static ProductChangeFeedServer restartServer(ProductChangeFeed changeFeed, int port)
+      throws InterruptedException {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return new ProductChangeFeedServer(changeFeed, port);
+      } catch (UncheckedIOException e) {
+        if (attempt == 50) {
+          throw e;
+        }
+        Thread.sleep(100);
+      }
+    }
+  }
+
+  /** Saves each change in B's replica before recording it. */
+  private ProductChangeListener replicatingTo(RecordingListener listener) {
+    return change -> {
+      replicaOnB.save(change.product());
+      listener.onChange(change);
+    };
+  }
+}
@@ -0,0 +1,87 @@
+package com.example.shop.adapter.out.persistence.inmemory;
+
+import static com.example.shop.adapter.out.persistence.BenchmarkCommons.intParameter;
+import static com.example.shop.adapter.out.persistence.BenchmarkCommons.percentiles;
+
+import com.example.shop.adapter.out.persistence.SyntheticProducts;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.product.Product;
+import java.lang.ref.Reference;
+import java.util.Random;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the heap retained per cart, and the latency of adding to and reading small carts (1 to 5
+ * line items, like most carts), as the in-memory cart repositories keep them. Run with {@code mvn
+ * test -Pbenchmark -pl adapter -Dtest=CartFootprintBenchmark -Dbenchmark.carts=200000}.
+ */
+@Tag("benchmark")
+class CartFootprintBenchmark {
+
+  private static final int CARTS = intParameter("carts", 200_000);
+  private static final int PRODUCTS = intParameter("products", 1_000);
+  private static final int MAX_LINE_ITEMS = intParameter("maxLineItems", 5);
+  private static final int ROUNDS = 5;
+
+  @Test
+  void cartFootprint() {
+    SyntheticProducts syntheticProducts = new SyntheticProducts(42, 1_000);
+    Product[] products = new Product[PRODUCTS];
+    for (int i = 0; i < PRODUCTS; i++) {
+      products[i] = syntheticProducts.next();
+    }
+
+    for (int round = 1; round <= ROUNDS; round++) {
+      Random random = new Random(42);
+      long heapBefore = usedHeap();
+
+      Cart[] carts = new Cart[CARTS];
+      long[] addLatencies = new long[CARTS];
+      long lineItems = 0;
+      for (int i = 0; i < CARTS; i++) {
+        int size = 1 + random.nextInt(MAX_LINE_ITEMS);
+        long start = System.nanoTime();
+        Cart cart = new Cart(new CustomerId(i + 1));
+        for (int j = 0; j < size; j++) {
+          cart.tryAddProduct(products[random.nextInt(PRODUCTS)], 1);
+        }
+        addLatencies[i] = System.nanoTime() - start;
+        cart.markEventsCommitted(); // as the repositories do after saving
+        carts[i] = cart;
+        lineItems += cart.lineItems().size();
+      }
+
+      long heapAfter = usedHeap();
+
+      long[] readLatencies = new long[CARTS];
+      long items = 0;
+      for (int i = 0; i < CARTS; i++) {
+        long start = System.nanoTime();
+        items += carts[i].lineItems().size() + carts[i].numberOfItems();
+        readLatencies[i] = System.nanoTime() - start;
+      }
+      Reference.reachabilityFence(carts);
+
+      System.out.printf(
+          "Round %d: %,d carts, %.2f line items/cart, %,d bytes/cart; create+add: %s;"
+              + " read: %s (%d)%n",
+          round,
+          CARTS,
+          (double) lineItems / CARTS,
+          (heapAfter - heapBefore - 16L - 4L * CARTS) / CARTS,
+          percentiles(addLatencies),
+          percentiles(readLatencies),
+          items);
+    }
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,131 @@
+package com.example.shop.adapter.out.persistence.inmemory;
+
+import static com.example.shop.adapter.out.persistence.BenchmarkCommons.intParameter;
+import static com.example.shop.adapter.out.persistence.BenchmarkCommons.percentiles;
+
+import com.example.shop.adapter.out.persistence.SyntheticProducts;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.money.ExchangeRates;
+import com.example.shop.model.money.Money;
+import com.example.shop.model.product.Product;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the latency of converting cart subtotals into another currency with {@link
+ * ExchangeRates} (fixed-point factors, rounded once per cart) against the straightforward way of
+ * converting every line item with {@link BigDecimal} arithmetic. The carts have 1 to {@code
+ * maxLineItems} line items, priced in five currencies. Run with {@code mvn test -Pbenchmark -pl
+ * adapter -Dtest=CurrencyConversionBenchmark -Dbenchmark.carts=100000}.
+ */
+@Tag("benchmark")
+class CurrencyConversionBenchmark {
+
+  private static final int CARTS = intParameter("carts", 100_000);
+  private static final int MAX_LINE_ITEMS = intParameter("maxLineItems", 10);
+  private static final int ROUNDS = 5;
+
+  private static final Currency EUR = Currency.getInstance("EUR");
+  private static final Currency USD = Currency.getInstance("USD");
+  private static final Map<Currency, BigDecimal> RATES =
+      Map.of(
+          USD,
+          new BigDecimal("1.0842"),
+          Currency.getInstance("GBP"),
+          new BigDecimal("0.8571"),
+          Currency.getInstance("CHF"),
+          new BigDecimal("0.9468"),
+          Currency.getInstance("JPY"),
+          new BigDecimal("161.37"));
+  private static final Currency[] CURRENCIES = {
+    EUR, USD, Currency.getInstance("GBP"), Currency.getInstance("CHF"), Currency.getInstance("JPY")
+  };
+
+  @Test
+  void currencyConversion() {
+    ExchangeRates exchangeRates = ExchangeRates.of(EUR, RATES);
+    Cart[] carts = createCarts();
+
+    for (int round = 1; round <= ROUNDS; round++) {
+      long[] fixedPointLatencies = new long[CARTS];
+      long[] bigDecimalLatencies = new long[CARTS];
+      int mismatches = 0;
+      for (int i = 0; i < CARTS; i++) {
+        long start = System.nanoTime();
+        Money fixedPoint = carts[i].subTotal(USD, exchangeRates);
+        fixedPointLatencies[i] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        Money bigDecimal = bigDecimalSubTotal(carts[i], USD);
+        bigDecimalLatencies[i] = System.nanoTime() - start;
+
+        if (!fixedPoint.equals(bigDecimal)) {
+          mismatches++;
+        }
+      }
+
+      System.out.printf(
+          "Round %d: %,d carts; ExchangeRates: %s; BigDecimal per line item: %s;"
+              + " %d totals differ%n",
+          round,
+          CARTS,
+          percentiles(fixedPointLatencies),
+          percentiles(bigDecimalLatencies),
+          mismatches);
+    }
+  }
+
+  private static Cart[] createCarts() {
+    SyntheticProducts syntheticProducts = new SyntheticProducts(42, 1_000);
+    Random random = new Random(42);
+    Cart[] carts = new Cart[CARTS];
+    for (int i = 0; i < CARTS; i++) {
+      Cart cart = new Cart(new CustomerId(i + 1));
+      int size = 1 + random.nextInt(MAX_LINE_ITEMS);
+      for (int j = 0; j < size; j++) {
+        cart.tryAddProduct(
+            withRandomCurrency(syntheticProducts.next(), random), 1 + random.nextInt(3));
+      }
+      carts[i] = cart;
+    }
+    return carts;
+  }
+
+  private static Product withRandomCurrency(Product product, Random random) {
+    Currency currency = CURRENCIES[random.nextInt(CURRENCIES.length)];
+    BigDecimal amount =
+        product.price().amount().setScale(currency.getDefaultFractionDigits(), RoundingMode.DOWN);
+    return new Product(
+        product.id(),
+        product.name(),
+        product.description(),
+        new Money(currency, amount),
+        product.itemsInStock());
+  }
+
+  /** Converts each line item via the base currency, rounding only the total. */
+  private static Money bigDecimalSubTotal(Cart cart, Currency currency) {
+    BigDecimal toRate = rate(currency);
+    BigDecimal total = BigDecimal.ZERO;
+    for (var lineItem : cart.lineItems()) {
+      Money price = lineItem.product().price();
+      BigDecimal lineTotal = price.amount().multiply(BigDecimal.valueOf(lineItem.quantity()));
+      total =
+          total.add(
+              lineTotal.multiply(toRate).divide(rate(price.currency()), MathContext.DECIMAL128));
+    }
+    return new Money(
+        currency, total.setScale(currency.getDefaultFractionDigits(), RoundingMode.HALF_EVEN));
+  }
+
+  private static BigDecimal rate(Currency currency) {
+    return currency.equals(EUR) ? BigDecimal.ONE : RATES.get(currency);
+  }
+}
@@ -0,0 +1,127 @@
+package com.example.shop.adapter.out.persistence.inmemory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.example.shop.adapter.out.persistence.AbstractCartRepositoryTest;
+import com.example.shop.adapter.out.persistence.DemoProducts;
+import com.example.shop.adapter.out.persistence.inmemory.EventSourcedCartRepository.PositionedCart;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.cart.CartEvent.CartEmptied;
+import com.example.shop.model.cart.CartEvent.ProductAdded;
+import com.example.shop.model.cart.NotEnoughItemsInStockException;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.money.Money;
+import java.util.Currency;
+import org.junit.jupiter.api.Test;
+
+class EventSourcedCartRepositoryTest
+    extends AbstractCartRepositoryTest<EventSourcedCartRepository> {
+
+  private static final int SNAPSHOT_INTERVAL = 4;
+
+  @Override
+  protected EventSourcedCartRepository createCartRepository() {
+    return new EventSourcedCartRepository(SNAPSHOT_INTERVAL);
+  }
+
+  @Test
+  void givenSeveralSaves_history_containsEachEventOnce() throws NotEnoughItemsInStockException {
+    EventSourcedCartRepository cartRepository = createCartRepository();
+    CustomerId customerId = new CustomerId(1);
+
+    Cart cart = new Cart(customerId);
+    cart.addProduct(DemoProducts.COMPUTER_MONITOR, 1);
+    cartRepository.save(cart);
+    cart.addProduct(DemoProducts.MONITOR_DESK_MOUNT, 2);
+    cartRepository.save(cart);
+    cartRepository.deleteByCustomerId(customerId);
+
+    assertThat(cartRepository.history(customerId))
+        .containsExactly(
+            new ProductAdded(DemoProducts.COMPUTER_MONITOR, 1),
+            new ProductAdded(DemoProducts.MONITOR_DESK_MOUNT, 2),
+            new CartEmptied());
+  }
+
+  @Test
+  void givenManyChanges_findByCustomerId_replaysAtMostTheSnapshotInterval()
+      throws NotEnoughItemsInStockException {
+    EventSourcedCartRepository cartRepository = createCartRepository();
+    CustomerId customerId = new CustomerId(1);
+    cartRepository.save(new Cart(customerId));
+
+    for (int i = 0; i < 10; i++) {
+      Cart cart = cartRepository.findByCustomerId(customerId).orElseThrow();
+      cart.addProduct(DemoProducts.LED_LIGHTS, 1);
+      cartRepository.save(cart);
+
+      assertThat(cartRepository.eventsSinceSnapshot(customerId)).isLessThan(SNAPSHOT_INTERVAL);
+    }
+
+    Cart cart = cartRepository.findByCustomerId(customerId).orElseThrow();
+    assertThat(cart.numberOfItems()).isEqualTo(10);
+    assertThat(cartRepository.history(customerId)).hasSize(10);
+  }
+
+  @Test
+  void givenAnEmptiedCart_save_startsFromAnEmptyCart() throws NotEnoughItemsInStockException {
+    EventSourcedCartRepository cartRepository = createCartRepository();
+    CustomerId customerId = new CustomerId(1);
+    Cart cart = new Cart(customerId);
+    cart.addProduct(DemoProducts.COMPUTER_MONITOR, 1);
+    cartRepository.save(cart);
+    cartRepository.deleteByCustomerId(customerId);
+
+    Cart newCart = new Cart(customerId);
+    newCart.addProduct(DemoProducts.LED_LIGHTS, 3);
+    cartRepository.save(newCart);
+
+    assertThat(cartRepository.findByCustomerId(customerId).orElseThrow().lineItems())
+        .singleElement()
+        .satisfies(lineItem -> assertThat(lineItem.product()).isEqualTo(DemoProducts.LED_LIGHTS));
+    assertThat(cartRepository.history(customerId)).hasSize(3);
+  }
+
+  @Test
+  void givenASnapshot_changingTheProductOfALoadedCart_doesNotChangeTheStoredCart()
+      throws NotEnoughItemsInStockException {
+    EventSourcedCartRepository cartRepository = new EventSourcedCartRepository(1);
+    CustomerId customerId = new CustomerId(1);
+    Cart cart = new Cart(customerId);
+    cart.addProduct(DemoProducts.COMPUTER_MONITOR, 1);
+    cartRepository.save(cart);
+    assertThat(cartRepository.eventsSinceSnapshot(customerId)).isZero();
+
+    Cart loadedCart = cartRepository.findByCustomerId(customerId).orElseThrow();
+    loadedCart.lineItems().getFirst().product().price(Money.of(Currency.getInstance("EUR"), 1, 0));
+
+    assertThat(cartRepository.findByCustomerId(customerId).orElseThrow().lineItems())
+        .singleElement()
+        .satisfies(
+            lineItem -> assertThat(lineItem.product()).isEqualTo(DemoProducts.COMPUTER_MONITOR));
+  }
+
+  @Test
+  void givenAnEmptiedCart_findAllPositioned_returnsItsAbsenceAtItsPosition()
+      throws NotEnoughItemsInStockException {
+    EventSourcedCartRepository cartRepository = createCartRepository();
+    Cart cart = new Cart(new CustomerId(1));
+    cart.addProduct(DemoProducts.COMPUTER_MONITOR, 1);
+    cartRepository.save(cart);
+    Cart emptiedCart = new Cart(new CustomerId(2));
+    emptiedCart.addProduct(DemoProducts.LED_LIGHTS, 3);
+    cartRepository.save(emptiedCart);
+    cartRepository.deleteByCustomerId(new CustomerId(2));
+
+    assertThat(cartRepository.findAllPositioned())
+        .extracting(
+            PositionedCart::customerId,
+            positionedCart -> positionedCart.cart().isPresent(),
+            PositionedCart::position)
+        .containsExactlyInAnyOrder(
+            tuple(new CustomerId(1), true, 1), tuple(new CustomerId(2), false, 2));
+    assertThat(cartRepository.position(new CustomerId(2))).isEqualTo(2);
+    assertThat(cartRepository.position(new CustomerId(3))).isZero();
+  }
+}
@@ -0,0 +1,66 @@
+package com.example.shop.adapter.out.persistence.inmemory;
+
+import static com.example.shop.adapter.out.persistence.BenchmarkCommons.intParameter;
+import static com.example.shop.adapter.out.persistence.BenchmarkCommons.percentiles;
+
+import com.example.shop.adapter.out.persistence.SyntheticProducts;
+import com.example.shop.model.product.Product;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures typo-tolerant search on a large synthetic catalog, compared to a (non-fuzzy) full scan.
+ * Run with {@code mvn test -Pbenchmark -pl adapter -Dtest=FuzzySearchBenchmark
+ * -Dbenchmark.products=1000000}.
+ */
+@Tag("benchmark")
+class FuzzySearchBenchmark {
+
+  private static final int PRODUCTS = intParameter("products", 1_000_000);
+  private static final int VOCABULARY_SIZE = intParameter("vocabulary", 100_000);
+  private static final int QUERIES = intParameter("queries", 10_000);
+  private static final int LIMIT = 20;
+
+  @Test
+  void fuzzySearch() {
+    SyntheticProducts syntheticProducts = new SyntheticProducts(42, VOCABULARY_SIZE);
+    InMemoryProductRepository repository = new InMemoryProductRepository();
+
+    List<Product> products = new ArrayList<>(PRODUCTS);
+    for (int i = 0; i < PRODUCTS; i++) {
+      products.add(syntheticProducts.next());
+    }
+    long start = System.nanoTime();
+    repository.saveAll(products);
+    System.out.printf(
+        "Saved %,d products in %,d ms%n", PRODUCTS, (System.nanoTime() - start) / 1_000_000);
+
+    String[] misspelledQueries = new String[QUERIES];
+    for (int i = 0; i < QUERIES; i++) {
+      misspelledQueries[i] = syntheticProducts.withTypo(syntheticProducts.randomVocabularyWord());
+    }
+
+    // Warm-up
+    for (String query : misspelledQueries) {
+      repository.findByNameOrDescriptionFuzzy(query, LIMIT);
+    }
+
+    long[] fuzzyLatencies = new long[QUERIES];
+    for (int i = 0; i < QUERIES; i++) {
+      long queryStart = System.nanoTime();
+      repository.findByNameOrDescriptionFuzzy(misspelledQueries[i], LIMIT);
+      fuzzyLatencies[i] = System.nanoTime() - queryStart;
+    }
+    System.out.println("Fuzzy search (1-2 typos):   " + percentiles(fuzzyLatencies));
+
+    long[] scanLatencies = new long[Math.min(QUERIES, 50)];
+    for (int i = 0; i < scanLatencies.length; i++) {
+      long queryStart = System.nanoTime();
+      repository.findByNameOrDescription(misspelledQueries[i], LIMIT);
+      scanLatencies[i] = System.nanoTime() - queryStart;
+    }
+    System.out.println("Exact search (full scan):   " + percentiles(scanLatencies));
+  }
+}
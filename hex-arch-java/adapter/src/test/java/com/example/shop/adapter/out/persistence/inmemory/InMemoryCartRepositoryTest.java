@@ -0,0 +1,11 @@
+package com.example.shop.adapter.out.persistence.inmemory;
+
+import com.example.shop.adapter.out.persistence.AbstractCartRepositoryTest;
+
+class InMemoryCartRepositoryTest extends AbstractCartRepositoryTest<InMemoryCartRepository> {
+
+  @Override
+  protected InMemoryCartRepository createCartRepository() {
+    return new InMemoryCartRepository();
+  }
+}
@@ -1,6 +1,23 @@
 package com.example.shop.adapter.out.persistence.inmemory;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import com.example.shop.adapter.out.persistence.AbstractProductRepositoryTest;
+import com.example.shop.adapter.out.persistence.DemoProducts;
+import com.example.shop.adapter.out.persistence.SyntheticProducts;
+import com.example.shop.model.money.Money;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductId;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
 
 class InMemoryProductRepositoryTest
     extends AbstractProductRepositoryTest<InMemoryProductRepository> {
@@ -9,4 +26,114 @@ class InMemoryProductRepositoryTest
   protected InMemoryProductRepository createProductRepository() {
     return new InMemoryProductRepository();
   }
+
+  @Test
+  void givenALargeCatalog_findByNameOrDescription_returnsTheSameResultsInParallel() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      InMemoryProductRepository parallelRepository = new InMemoryProductRepository(pool, 1);
+      InMemoryProductRepository sequentialRepository =
+          new InMemoryProductRepository(pool, Integer.MAX_VALUE);
+      SyntheticProducts syntheticProducts = new SyntheticProducts(1, 50);
+      for (int i = 0; i < 20_000; i++) {
+        Product product = syntheticProducts.next();
+        parallelRepository.save(product);
+        sequentialRepository.save(product);
+      }
+      String query = syntheticProducts.randomVocabularyWord();
+
+      List<Product> parallelResult = parallelRepository.findByNameOrDescription(query, 100);
+      List<Product> sequentialResult = sequentialRepository.findByNameOrDescription(query, 100);
+
+      assertThat(parallelResult).hasSize(100).isEqualTo(sequentialResult);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void givenTestProducts_findCompletions_returnsWordsOfProductNames() {
+    InMemoryProductRepository productRepository = createProductRepository();
+
+    assertThat(productRepository.findCompletions("mo", 10)).containsExactly("monitor", "mount");
+  }
+
+  @Test
+  void givenARenamedProduct_findCompletions_reflectsTheNewName() {
+    InMemoryProductRepository productRepository = createProductRepository();
+    Product monitor = DemoProducts.COMPUTER_MONITOR;
+    Product renamedMonitor =
+        new Product(monitor.id(), "Curved Display", monitor.description(), monitor.price(), 1);
+
+    productRepository.save(renamedMonitor);
+
+    assertThat(productRepository.findCompletions("mo", 10)).containsExactly("monitor", "mount");
+    assertThat(productRepository.findCompletions("cu", 10)).containsExactly("curved");
+    assertThat(productRepository.findCompletions("co", 10)).isEmpty();
+    assertThat(productRepository.findCompletions("d", 10))
+        .containsExactly("desk", "display", "dual");
+  }
+
+  @Test
+  void givenAReturnedProduct_modifyingIt_doesNotChangeTheStoredProduct() {
+    InMemoryProductRepository productRepository = createProductRepository();
+    Product monitor = productRepository.findById(DemoProducts.COMPUTER_MONITOR.id()).orElseThrow();
+
+    monitor.name("Modified without saving");
+
+    assertThat(productRepository.findById(monitor.id()).orElseThrow().name())
+        .isEqualTo(DemoProducts.COMPUTER_MONITOR.name());
+  }
+
+  @Test
+  void givenProductsSavedAtOnce_saveAll_publishesThemInOneVersion() {
+    InMemoryProductRepository productRepository = InMemoryProductRepository.empty();
+    SyntheticProducts syntheticProducts = new SyntheticProducts(1, 50);
+    List<Product> products = List.of(syntheticProducts.next(), syntheticProducts.next());
+
+    productRepository.saveAll(products);
+
+    assertThat(productRepository.version()).isEqualTo(1);
+    assertThat(productRepository.findById(products.get(0).id())).contains(products.get(0));
+    assertThat(productRepository.findById(products.get(1).id())).contains(products.get(1));
+  }
+
+  @Test
+  void givenConcurrentSearches_saveAll_isSeenEntirelyOrNotAtAll() throws Exception {
+    InMemoryProductRepository productRepository = InMemoryProductRepository.empty();
+    int batchSize = 50;
+    AtomicBoolean saving = new AtomicBoolean(true);
+    Set<Integer> resultSizes = ConcurrentHashMap.newKeySet();
+
+    try (ExecutorService searchers = Executors.newFixedThreadPool(2)) {
+      for (int i = 0; i < 2; i++) {
+        searchers.submit(
+            () -> {
+              while (saving.get()) {
+                resultSizes.add(productRepository.findByNameOrDescription("gadget").size());
+              }
+            });
+      }
+      for (int batch = 0; batch < 20; batch++) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < batchSize; i++) {
+          products.add(gadget(batch * batchSize + i));
+        }
+        productRepository.saveAll(products);
+      }
+      saving.set(false);
+    }
+
+    assertThat(resultSizes).allMatch(size -> size % batchSize == 0);
+    assertThat(productRepository.findByNameOrDescription("gadget")).hasSize(20 * batchSize);
+  }
+
+  private static Product gadget(int number) {
+    return new Product(
+        new ProductId("G%05d".formatted(number)),
+        "Gadget " + number,
+        "A gadget",
+        Money.of(Currency.getInstance("EUR"), 10, 0),
+        1);
+  }
 }
@@ -0,0 +1,85 @@
+package com.example.shop.adapter.out.persistence.inmemory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class LeftRightTest {
+
+  private static final long WRITE_DURATION_NANOS = 1_000_000_000L;
+
+  @Test
+  void givenAModification_read_seesTheModificationAndTheNewVersion() {
+    LeftRight<int[]> leftRight = new LeftRight<>(() -> new int[1]);
+
+    long version = leftRight.modify(values -> values[0] += 5);
+
+    assertThat(version).isEqualTo(1);
+    assertThat(leftRight.version()).isEqualTo(1);
+    assertThat(leftRight.<Integer>read(values -> values[0])).isEqualTo(5);
+  }
+
+  @Test
+  void givenSeveralModifications_bothInstances_applyEveryBatch() {
+    LeftRight<int[]> leftRight = new LeftRight<>(() -> new int[1]);
+
+    for (int i = 1; i <= 3; i++) {
+      leftRight.modify(values -> values[0]++);
+      assertThat(leftRight.<Integer>read(values -> values[0])).isEqualTo(i);
+    }
+  }
+
+  @Test
+  void givenConcurrentReaders_modify_neverExposesAPartiallyAppliedBatch() throws Exception {
+    LeftRight<int[]> leftRight = new LeftRight<>(() -> new int[2]);
+    AtomicBoolean writing = new AtomicBoolean(true);
+    AtomicBoolean tornReadSeen = new AtomicBoolean();
+    int modifications = 0;
+
+    try (ExecutorService readers = Executors.newFixedThreadPool(3);
+        ExecutorService writers = Executors.newSingleThreadExecutor()) {
+      for (int i = 0; i < 3; i++) {
+        readers.submit(
+            () -> {
+              while (writing.get()) {
+                if (leftRight.read(values -> values[0] != values[1])) {
+                  tornReadSeen.set(true);
+                }
+              }
+            });
+      }
+
+      // Modifies for about a second; each modification waits for the readers to leave an instance
+      Future<Integer> writer =
+          writers.submit(
+              () -> {
+                try {
+                  long end = System.nanoTime() + WRITE_DURATION_NANOS;
+                  int count = 0;
+                  while (System.nanoTime() < end) {
+                    leftRight.modify(
+                        values -> {
+                          values[0]++;
+                          Thread.yield();
+                          values[1]++;
+                        });
+                    count++;
+                  }
+                  return count;
+                } finally {
+                  writing.set(false);
+                }
+              });
+      modifications = writer.get();
+    }
+
+    assertThat(modifications).isPositive();
+    assertThat(tornReadSeen).isFalse();
+    assertThat(leftRight.<Integer>read(values -> values[0])).isEqualTo(modifications);
+    assertThat(leftRight.version()).isEqualTo(modifications);
+  }
+}
@@ -0,0 +1,71 @@
+package com.example.shop.adapter.out.persistence.inmemory;
+
+import static com.example.shop.adapter.out.persistence.BenchmarkCommons.intParameter;
+import static com.example.shop.adapter.out.persistence.BenchmarkCommons.percentiles;
+
+import com.example.shop.adapter.out.persistence.SyntheticProducts;
+import com.example.shop.model.product.Product;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures how the (non-fuzzy) search scan scales with the number of fork-join workers, from one up
+ * to the number of available processors. Run with {@code mvn test -Pbenchmark -pl adapter
+ * -Dtest=ParallelScanBenchmark -Dbenchmark.products=1000000}.
+ */
+@Tag("benchmark")
+class ParallelScanBenchmark {
+
+  private static final int PRODUCTS = intParameter("products", 1_000_000);
+  private static final int VOCABULARY_SIZE = intParameter("vocabulary", 100_000);
+  private static final int QUERIES = intParameter("queries", 50);
+  private static final int LIMIT = 20;
+
+  @Test
+  void parallelScan() {
+    SyntheticProducts syntheticProducts = new SyntheticProducts(42, VOCABULARY_SIZE);
+    List<Product> products = new ArrayList<>(PRODUCTS);
+    for (int i = 0; i < PRODUCTS; i++) {
+      products.add(syntheticProducts.next());
+    }
+    String[] queries = new String[QUERIES];
+    for (int i = 0; i < QUERIES; i++) {
+      queries[i] = syntheticProducts.randomVocabularyWord();
+    }
+
+    int processors = Runtime.getRuntime().availableProcessors();
+    System.out.printf("%,d products, %d available processors%n", PRODUCTS, processors);
+    for (int workers = 1; workers <= processors; workers *= 2) {
+      measure(workers, products, queries);
+    }
+    if (Integer.bitCount(processors) != 1) {
+      measure(processors, products, queries);
+    }
+  }
+
+  private static void measure(int workers, List<Product> products, String[] queries) {
+    ForkJoinPool pool = new ForkJoinPool(workers);
+    try {
+      InMemoryProductRepository repository = new InMemoryProductRepository(pool, 1);
+      repository.saveAll(products);
+
+      // Warm-up
+      for (String query : queries) {
+        repository.findByNameOrDescription(query, LIMIT);
+      }
+
+      long[] latencies = new long[queries.length];
+      for (int i = 0; i < queries.length; i++) {
+        long start = System.nanoTime();
+        repository.findByNameOrDescription(queries[i], LIMIT);
+        latencies[i] = System.nanoTime() - start;
+      }
+      System.out.printf("%2d worker(s): %s%n", workers, percentiles(latencies));
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.example.shop.adapter.out.persistence.inmemory;
+
+import static com.example.shop.adapter.out.persistence.BenchmarkCommons.intParameter;
+import static com.example.shop.adapter.out.persistence.BenchmarkCommons.percentiles;
+import static com.example.shop.model.product.ProductSortOrder.RELEVANCE;
+
+import com.example.shop.adapter.out.persistence.SyntheticProducts;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductQuery;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the size of the term posting lists on a large synthetic catalog, compared to the text
+ * they index, and boolean term queries, compared to a substring search (a full scan). Run with
+ * {@code mvn test -Pbenchmark -pl adapter -Dtest=TermSearchBenchmark -Dbenchmark.products=1000000}.
+ */
+@Tag("benchmark")
+class TermSearchBenchmark {
+
+  private static final int PRODUCTS = intParameter("products", 1_000_000);
+  private static final int VOCABULARY_SIZE = intParameter("vocabulary", 10_000);
+  private static final int QUERIES = intParameter("queries", 10_000);
+  private static final int LIMIT = 20;
+
+  @Test
+  void termSearch() {
+    SyntheticProducts syntheticProducts = new SyntheticProducts(42, VOCABULARY_SIZE);
+    InMemoryProductRepository repository = new InMemoryProductRepository();
+
+    List<Product> products = new ArrayList<>(PRODUCTS);
+    long textBytes = 0;
+    for (int i = 0; i < PRODUCTS; i++) {
+      Product product = syntheticProducts.next();
+      products.add(product);
+      textBytes += product.name().length() + product.description().length();
+    }
+    long start = System.nanoTime();
+    repository.saveAll(products);
+    System.out.printf(
+        "Saved %,d products in %,d ms%n", PRODUCTS, (System.nanoTime() - start) / 1_000_000);
+    System.out.printf(
+        "Posting lists: %,d KB for %,d KB of names and descriptions%n",
+        repository.termPostingsSizeInBytes() / 1024, textBytes / 1024);
+
+    String[] words = new String[QUERIES];
+    ProductQuery[] singleTermQueries = new ProductQuery[QUERIES];
+    ProductQuery[] andQueries = new ProductQuery[QUERIES];
+    ProductQuery[] orQueries = new ProductQuery[QUERIES];
+    for (int i = 0; i < QUERIES; i++) {
+      words[i] = syntheticProducts.randomVocabularyWord();
+      String other = syntheticProducts.randomVocabularyWord();
+      singleTermQueries[i] = ProductQuery.parse(words[i]);
+      andQueries[i] = ProductQuery.parse(words[i] + " " + other);
+      orQueries[i] = ProductQuery.parse("name:" + words[i] + " OR name:" + other);
+    }
+
+    // Warm-up
+    for (int i = 0; i < QUERIES; i++) {
+      repository.findByTerms(singleTermQueries[i], ProductFilter.NONE, RELEVANCE, LIMIT);
+      repository.findByTerms(andQueries[i], ProductFilter.NONE, RELEVANCE, LIMIT);
+      repository.findByTerms(orQueries[i], ProductFilter.NONE, RELEVANCE, LIMIT);
+    }
+
+    System.out.println("Terms (one word):           " + latencies(repository, singleTermQueries));
+    System.out.println("Terms (two words, AND):     " + latencies(repository, andQueries));
+    System.out.println("Terms (two names, OR):      " + latencies(repository, orQueries));
+
+    long[] scanLatencies = new long[Math.min(QUERIES, 50)];
+    for (int i = 0; i < scanLatencies.length; i++) {
+      long queryStart = System.nanoTime();
+      repository.findByNameOrDescription(words[i], LIMIT);
+      scanLatencies[i] = System.nanoTime() - queryStart;
+    }
+    System.out.println("Substring (full scan):      " + percentiles(scanLatencies));
+  }
+
+  private static String latencies(InMemoryProductRepository repository, ProductQuery[] queries) {
+    long[] latencies = new long[queries.length];
+    for (int i = 0; i < queries.length; i++) {
+      long queryStart = System.nanoTime();
+      repository.findByTerms(queries[i], ProductFilter.NONE, RELEVANCE, LIMIT);
+      latencies[i] = System.nanoTime() - queryStart;
+    }
+    return percentiles(latencies);
+  }
+}
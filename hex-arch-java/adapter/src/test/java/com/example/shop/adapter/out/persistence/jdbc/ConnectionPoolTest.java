@@ -0,0 +1,96 @@
+package com.example.shop.adapter.out.persistence.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ConnectionPoolTest {
+
+  private final ConnectionPool connectionPool =
+      new ConnectionPool("jdbc:h2:mem:pool-" + UUID.randomUUID(), "sa", "", 2);
+
+  @AfterEach
+  void closeConnectionPool() {
+    connectionPool.close();
+  }
+
+  @Test
+  void givenSequentialWork_execute_reusesOneConnectionAndItsPreparedStatement() {
+    PreparedStatement first = connectionPool.execute(connection -> connection.prepare("VALUES 1"));
+    PreparedStatement second = connectionPool.execute(connection -> connection.prepare("VALUES 1"));
+
+    assertThat(second).isSameAs(first);
+    assertThat(connectionPool.openConnections()).isEqualTo(1);
+    assertThat(connectionPool.idleConnections()).isEqualTo(1);
+  }
+
+  @Test
+  void givenConcurrentWork_execute_opensNoMoreThanTheMaximumNumberOfConnections()
+      throws InterruptedException {
+    CountDownLatch allStarted = new CountDownLatch(2);
+    CountDownLatch release = new CountDownLatch(1);
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+      for (int i = 0; i < 3; i++) {
+        executor.submit(
+            () ->
+                connectionPool.execute(
+                    connection -> {
+                      allStarted.countDown();
+                      awaitUninterruptibly(release);
+                      return null;
+                    }));
+      }
+      allStarted.await();
+      assertThat(connectionPool.openConnections()).isEqualTo(2);
+      release.countDown();
+    }
+
+    assertThat(connectionPool.openConnections()).isEqualTo(2);
+    assertThat(connectionPool.idleConnections()).isEqualTo(2);
+  }
+
+  @Test
+  void givenFailingWork_executeInTransaction_rollsBackAndThrowsException() {
+    connectionPool.execute(
+        connection -> connection.prepare("CREATE TABLE t (id INTEGER PRIMARY KEY)").execute());
+
+    ThrowingCallable invocation =
+        () ->
+            connectionPool.executeInTransaction(
+                connection -> {
+                  connection.prepare("INSERT INTO t VALUES (1)").executeUpdate();
+                  return connection.prepare("INSERT INTO t VALUES (1)").executeUpdate();
+                });
+
+    assertThatExceptionOfType(UncheckedSqlException.class).isThrownBy(invocation);
+    int rows =
+        connectionPool.execute(
+            connection -> {
+              try (ResultSet resultSet =
+                  connection.prepare("SELECT COUNT(*) FROM t").executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+              }
+            });
+    assertThat(rows).isZero();
+    assertThat(connectionPool.openConnections()).isEqualTo(1);
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.example.shop.adapter.out.persistence.jdbc;
+
+import com.example.shop.adapter.out.persistence.AbstractCartRepositoryTest;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+
+class JdbcCartRepositoryTest extends AbstractCartRepositoryTest<JdbcCartRepository> {
+
+  private ConnectionPool connectionPool;
+
+  @Override
+  protected JdbcCartRepository createCartRepository() {
+    connectionPool = new ConnectionPool("jdbc:h2:mem:carts-" + UUID.randomUUID(), "sa", "");
+    return new JdbcCartRepository(connectionPool);
+  }
+
+  @AfterEach
+  void closeConnectionPool() {
+    connectionPool.close();
+  }
+}
@@ -0,0 +1,87 @@
+package com.example.shop.adapter.out.persistence.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+
+import com.example.shop.adapter.out.persistence.AbstractProductRepositoryTest;
+import com.example.shop.adapter.out.persistence.DemoProducts;
+import com.example.shop.adapter.out.persistence.SyntheticProducts;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class JdbcProductRepositoryTest extends AbstractProductRepositoryTest<JdbcProductRepository> {
+
+  private final List<ConnectionPool> connectionPools = new ArrayList<>();
+
+  @Override
+  protected JdbcProductRepository createProductRepository() {
+    JdbcProductRepository productRepository = new JdbcProductRepository(newDatabase());
+    productRepository.saveAll(DemoProducts.DEMO_PRODUCTS);
+    return productRepository;
+  }
+
+  @AfterEach
+  void closeConnectionPools() {
+    connectionPools.forEach(ConnectionPool::close);
+  }
+
+  @Test
+  void givenSavedProducts_aNewRepositoryOnTheSameDatabase_findsAndSearchesThem() {
+    ConnectionPool connectionPool = newDatabase();
+    new JdbcProductRepository(connectionPool).saveAll(DemoProducts.DEMO_PRODUCTS);
+
+    JdbcProductRepository productRepository = new JdbcProductRepository(connectionPool);
+
+    assertThat(productRepository.findById(DemoProducts.COMPUTER_MONITOR.id()))
+        .contains(DemoProducts.COMPUTER_MONITOR);
+    assertThat(productRepository.findByNameOrDescription("monitor"))
+        .containsExactlyInAnyOrder(DemoProducts.COMPUTER_MONITOR, DemoProducts.MONITOR_DESK_MOUNT);
+  }
+
+  @Test
+  void givenMoreProductsThanFitInABatch_saveAll_savesAllOfThem() {
+    JdbcProductRepository productRepository = new JdbcProductRepository(newDatabase());
+    SyntheticProducts syntheticProducts = new SyntheticProducts(1, 50);
+    List<Product> products = new ArrayList<>();
+    for (int i = 0; i < JdbcProductRepository.BATCH_SIZE * 2 + 1; i++) {
+      products.add(syntheticProducts.next());
+    }
+
+    productRepository.saveAll(products);
+
+    assertThat(products)
+        .allSatisfy(product -> assertThat(productRepository.findById(product.id())).isPresent());
+  }
+
+  @Test
+  void givenASaveAllThatFailedMidBatch_nextSaveAll_savesOnlyItsOwnProducts() {
+    JdbcProductRepository productRepository =
+        new JdbcProductRepository(newDatabase(/* maxConnections= */ 1));
+    Product productWithoutPrice = new Product(new ProductId("NOPRICE1"), "Name", "Text", null, 1);
+
+    ThrowingCallable invocation =
+        () -> productRepository.saveAll(List.of(DemoProducts.LED_LIGHTS, productWithoutPrice));
+
+    assertThatNullPointerException().isThrownBy(invocation);
+    productRepository.saveAll(List.of(DemoProducts.COMPUTER_MONITOR));
+    assertThat(productRepository.findById(DemoProducts.COMPUTER_MONITOR.id())).isPresent();
+    assertThat(productRepository.findById(DemoProducts.LED_LIGHTS.id())).isEmpty();
+  }
+
+  private ConnectionPool newDatabase() {
+    return newDatabase(ConnectionPool.DEFAULT_MAX_CONNECTIONS);
+  }
+
+  private ConnectionPool newDatabase(int maxConnections) {
+    ConnectionPool connectionPool =
+        new ConnectionPool("jdbc:h2:mem:products-" + UUID.randomUUID(), "sa", "", maxConnections);
+    connectionPools.add(connectionPool);
+    return connectionPool;
+  }
+}
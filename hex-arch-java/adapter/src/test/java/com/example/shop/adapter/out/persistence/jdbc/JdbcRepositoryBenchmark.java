@@ -0,0 +1,118 @@
+package com.example.shop.adapter.out.persistence.jdbc;
+
+import static com.example.shop.adapter.out.persistence.BenchmarkCommons.intParameter;
+
+import com.example.shop.adapter.out.persistence.SyntheticProducts;
+import com.example.shop.adapter.out.persistence.inmemory.InMemoryCartRepository;
+import com.example.shop.adapter.out.persistence.inmemory.InMemoryProductRepository;
+import com.example.shop.application.port.out.persistence.CartRepository;
+import com.example.shop.application.port.out.persistence.ProductRepository;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.product.Product;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the throughput of the JDBC adapters, on an embedded H2 database, with that of the
+ * in-memory adapters: saving products one by one and in batches, looking them up by ID, and saving
+ * and loading carts. Run with {@code mvn test -Pbenchmark -pl adapter
+ * -Dtest=JdbcRepositoryBenchmark -Dbenchmark.products=20000}.
+ */
+@Tag("benchmark")
+class JdbcRepositoryBenchmark {
+
+  private static final int PRODUCTS = intParameter("products", 20_000);
+  private static final int CARTS = intParameter("carts", 20_000);
+  private static final int LINE_ITEMS_PER_CART = intParameter("lineItems", 5);
+
+  @Test
+  void productRepositories() {
+    List<Product> products = syntheticProducts();
+    System.out.printf("%,d products%n", PRODUCTS);
+
+    try (ConnectionPool connectionPool = newDatabase()) {
+      measureProducts("jdbc", () -> new JdbcProductRepository(connectionPool), products);
+    }
+    measureProducts("in-memory", InMemoryProductRepository::empty, products);
+  }
+
+  @Test
+  void cartRepositories() {
+    List<Product> products = syntheticProducts().subList(0, 1_000);
+    System.out.printf("%,d carts with %d line items each%n", CARTS, LINE_ITEMS_PER_CART);
+
+    try (ConnectionPool connectionPool = newDatabase()) {
+      measureCarts("jdbc", new JdbcCartRepository(connectionPool), products);
+    }
+    measureCarts("in-memory", new InMemoryCartRepository(), products);
+  }
+
+  private static void measureProducts(
+      String name, Supplier<ProductRepository> repositoryFactory, List<Product> products) {
+    // Warm-up
+    ProductRepository warmUpRepository = repositoryFactory.get();
+    products.forEach(warmUpRepository::save);
+
+    ProductRepository repository = repositoryFactory.get();
+    long start = System.nanoTime();
+    products.forEach(repository::save);
+    report(name, "save", products.size(), start);
+
+    start = System.nanoTime();
+    repository.saveAll(products);
+    report(name, "saveAll", products.size(), start);
+
+    start = System.nanoTime();
+    for (Product product : products) {
+      repository.findById(product.id()).orElseThrow();
+    }
+    report(name, "findById", products.size(), start);
+  }
+
+  private static void measureCarts(String name, CartRepository repository, List<Product> products) {
+    for (int round = 0; round < 2; round++) { // the first round is the warm-up
+      long start = System.nanoTime();
+      for (int i = 0; i < CARTS; i++) {
+        Cart cart = new Cart(new CustomerId(i + 1));
+        for (int j = 0; j < LINE_ITEMS_PER_CART; j++) {
+          cart.tryAddProduct(products.get((i + j) % products.size()), 1);
+        }
+        repository.save(cart);
+      }
+      if (round == 1) {
+        report(name, "save cart", CARTS, start);
+      }
+
+      start = System.nanoTime();
+      for (int i = 0; i < CARTS; i++) {
+        repository.findByCustomerId(new CustomerId(i + 1)).orElseThrow();
+      }
+      if (round == 1) {
+        report(name, "find cart", CARTS, start);
+      }
+    }
+  }
+
+  private static List<Product> syntheticProducts() {
+    SyntheticProducts syntheticProducts = new SyntheticProducts(42, 10_000);
+    List<Product> products = new ArrayList<>(PRODUCTS);
+    for (int i = 0; i < PRODUCTS; i++) {
+      products.add(syntheticProducts.next());
+    }
+    return products;
+  }
+
+  private static ConnectionPool newDatabase() {
+    return new ConnectionPool("jdbc:h2:mem:benchmark-" + UUID.randomUUID(), "sa", "");
+  }
+
+  private static void report(String name, String operation, int count, long startNanos) {
+    double seconds = (System.nanoTime() - startNanos) / 1e9;
+    System.out.printf("%-10s %-10s %,12.0f ops/s%n", name, operation, count / seconds);
+  }
+}
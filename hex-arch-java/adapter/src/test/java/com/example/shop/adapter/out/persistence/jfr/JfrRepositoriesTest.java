@@ -0,0 +1,102 @@
+package com.example.shop.adapter.out.persistence.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.example.shop.adapter.out.persistence.DemoProducts;
+import com.example.shop.adapter.out.persistence.inmemory.InMemoryCartRepository;
+import com.example.shop.adapter.out.persistence.inmemory.InMemoryProductRepository;
+import com.example.shop.application.port.out.persistence.CartRepository;
+import com.example.shop.application.port.out.persistence.ProductRepository;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.customer.CustomerId;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JfrRepositoriesTest {
+
+  private final Recording recording = new Recording();
+
+  @BeforeEach
+  void startRecording() {
+    recording.enable(RepositoryEvent.NAME).withThreshold(Duration.ZERO);
+    recording.start();
+  }
+
+  @AfterEach
+  void closeRecording() {
+    recording.close();
+  }
+
+  @Test
+  void givenARecording_productRepositoryCalls_emitEventsWithIdsQueriesAndResultSizes()
+      throws IOException {
+    ProductRepository productRepository =
+        JfrRepositories.productRepository(new InMemoryProductRepository());
+
+    productRepository.findById(DemoProducts.COMPUTER_MONITOR.id());
+    productRepository.findByNameOrDescription("monitor");
+
+    assertThat(recordedEvents())
+        .extracting(
+            event -> event.getString("repository"),
+            event -> event.getString("operation"),
+            event -> event.getString("productId"),
+            event -> event.getString("query"),
+            event -> event.getInt("resultSize"))
+        .containsExactly(
+            tuple(
+                "InMemoryProductRepository",
+                "findById",
+                DemoProducts.COMPUTER_MONITOR.id().value(),
+                null,
+                1),
+            tuple("InMemoryProductRepository", "findByNameOrDescription", null, "monitor", 2));
+  }
+
+  @Test
+  void givenARecording_cartRepositoryCalls_emitEventsWithTheCustomerId() throws IOException {
+    CartRepository cartRepository = JfrRepositories.cartRepository(new InMemoryCartRepository());
+    CustomerId customerId = new CustomerId(4711);
+    Cart cart = new Cart(customerId);
+    cart.tryAddProduct(DemoProducts.COMPUTER_MONITOR, 1);
+
+    cartRepository.save(cart);
+    cartRepository.findByCustomerId(customerId);
+    cartRepository.deleteByCustomerId(customerId);
+
+    assertThat(recordedEvents())
+        .extracting(
+            event -> event.getString("operation"),
+            event -> event.getInt("customerId"),
+            event -> event.getInt("resultSize"))
+        .containsExactly(
+            tuple("save", 4711, 1),
+            tuple("findByCustomerId", 4711, 1),
+            tuple("deleteByCustomerId", 4711, 0));
+  }
+
+  private List<RecordedEvent> recordedEvents() throws IOException {
+    recording.stop();
+    Path file = Files.createTempFile("repositories", ".jfr");
+    try {
+      recording.dump(file);
+      return RecordingFile.readAllEvents(file).stream()
+          .filter(event -> event.getEventType().getName().equals(RepositoryEvent.NAME))
+          .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+          .toList();
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -0,0 +1,215 @@
+package com.example.shop.adapter.out.persistence.replicated;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.example.shop.adapter.out.persistence.AbstractCartRepositoryTest;
+import com.example.shop.adapter.out.persistence.DemoProducts;
+import com.example.shop.adapter.out.persistence.inmemory.EventSourcedCartRepository;
+import com.example.shop.application.service.cart.GetCartService;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.cart.CartLineItem;
+import com.example.shop.model.cart.NotEnoughItemsInStockException;
+import com.example.shop.model.customer.CustomerId;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/** Runs a primary and its replicas in this JVM, connected over TCP like nodes in separate JVMs. */
+class ReplicatedCartRepositoryTest extends AbstractCartRepositoryTest<ReplicatedCartRepository> {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+  private final List<CartReplica> replicas = new ArrayList<>();
+  private final List<ReplicatedCartRepository> primaries = new ArrayList<>();
+
+  @Override
+  protected ReplicatedCartRepository createCartRepository() {
+    return createPrimary(startReplica(0), startReplica(0));
+  }
+
+  @AfterEach
+  void stopNodes() {
+    primaries.forEach(ReplicatedCartRepository::close);
+    replicas.forEach(CartReplica::close);
+  }
+
+  @Test
+  void givenTwoReplicas_saveAndDelete_areReplicatedToBoth() throws Exception {
+    CartReplica replica1 = startReplica(0);
+    CartReplica replica2 = startReplica(0);
+    ReplicatedCartRepository primary = createPrimary(replica1, replica2);
+
+    primary.save(cartWith(new CustomerId(1), 2));
+    primary.save(cartWith(new CustomerId(2), 3));
+    primary.deleteByCustomerId(new CustomerId(1));
+
+    assertThat(primary.awaitReplicated(TIMEOUT)).isTrue();
+    for (CartReplica replica : List.of(replica1, replica2)) {
+      assertThat(replica.cartRepository().findByCustomerId(new CustomerId(1))).isEmpty();
+      assertThat(replica.cartRepository().findByCustomerId(new CustomerId(2)))
+          .hasValueSatisfying(cart -> assertThat(cart.numberOfItems()).isEqualTo(3));
+    }
+  }
+
+  @Test
+  void givenAFailedPrimary_promotedReplica_servesTheCartsRightAway() throws Exception {
+    CartReplica replica = startReplica(0);
+    ReplicatedCartRepository primary = createPrimary(replica);
+    CustomerId customerId = new CustomerId(1);
+    Cart cart = cartWith(customerId, 1);
+    primary.save(cart);
+    cart.addProduct(DemoProducts.MONITOR_DESK_MOUNT, 2);
+    primary.save(cart);
+    assertThat(primary.awaitReplicated(TIMEOUT)).isTrue();
+
+    primary.close();
+    EventSourcedCartRepository promotedRepository = replica.promote();
+    Cart cartOnReplica = new GetCartService(promotedRepository).getCart(customerId);
+
+    assertThat(cartOnReplica.lineItems())
+        .extracting(CartLineItem::product, CartLineItem::quantity)
+        .containsExactly(
+            tuple(DemoProducts.COMPUTER_MONITOR, 1), tuple(DemoProducts.MONITOR_DESK_MOUNT, 2));
+  }
+
+  @Test
+  void givenAReplicaStartedLater_itReceivesACopyOfTheExistingCarts() throws Exception {
+    CartReplica replica = startReplica(0);
+    int port = replica.port();
+    replica.close();
+    ReplicatedCartRepository primary =
+        track(
+            new ReplicatedCartRepository(
+                new EventSourcedCartRepository(),
+                List.of(new InetSocketAddress("localhost", port))));
+    primary.save(cartWith(new CustomerId(1), 4));
+
+    CartReplica restartedReplica = restartReplica(port);
+    primary.save(cartWith(new CustomerId(2), 5));
+
+    assertThat(primary.awaitReplicated(TIMEOUT)).isTrue();
+    assertThat(restartedReplica.cartRepository().findAll())
+        .extracting(Cart::numberOfItems)
+        .containsExactlyInAnyOrder(4, 5);
+  }
+
+  @Test
+  void givenSavesWhileAReplicaIsCopied_replica_receivesEachChangeOnce() throws Exception {
+    CartReplica replica = startReplica(0);
+    int port = replica.port();
+    replica.close();
+    EventSourcedCartRepository cartRepository = new EventSourcedCartRepository();
+    ReplicatedCartRepository primary =
+        track(
+            new ReplicatedCartRepository(
+                cartRepository, List.of(new InetSocketAddress("localhost", port))));
+    for (int i = 1; i <= 200; i++) {
+      primary.save(cartWith(new CustomerId(i), 1));
+    }
+
+    AtomicBoolean stop = new AtomicBoolean();
+    Thread writer =
+        Thread.ofPlatform()
+            .start(
+                () -> {
+                  for (int round = 0; !stop.get(); round++) {
+                    CustomerId customerId = new CustomerId(round % 200 + 1);
+                    Cart cart = primary.findByCustomerId(customerId).orElseThrow();
+                    addMonitor(cart);
+                    primary.save(cart);
+                  }
+                });
+    CartReplica restartedReplica = restartReplica(port);
+    Thread.sleep(200);
+    stop.set(true);
+    writer.join();
+
+    assertThat(primary.awaitReplicated(TIMEOUT)).isTrue();
+    assertThat(restartedReplica.cartRepository().findAll())
+        .extracting(Cart::id, Cart::numberOfItems)
+        .containsExactlyInAnyOrderElementsOf(
+            cartRepository.findAll().stream()
+                .map(cart -> tuple(cart.id(), cart.numberOfItems()))
+                .toList());
+  }
+
+  @Test
+  void givenManySaves_replicationLag_staysBounded() throws Exception {
+    CartReplica replica = startReplica(0);
+    int maxLag = 8;
+    ReplicatedCartRepository primary =
+        track(
+            new ReplicatedCartRepository(
+                new EventSourcedCartRepository(), List.of(addressOf(replica)), 4, maxLag));
+    assertThat(primary.awaitReplicated(TIMEOUT)).isTrue();
+
+    for (int i = 1; i <= 500; i++) {
+      primary.save(cartWith(new CustomerId(i), 1));
+      assertThat(primary.replicationLag()).isLessThanOrEqualTo(maxLag);
+    }
+
+    assertThat(primary.awaitReplicated(TIMEOUT)).isTrue();
+    assertThat(replica.cartRepository().findAll()).hasSize(500);
+  }
+
+  private CartReplica startReplica(int port) {
+    CartReplica replica = new CartReplica(port);
+    replicas.add(replica);
+    return replica;
+  }
+
+  /**
+   * Starts a replica on the port of a stopped one. Retries for a while, as the port may briefly be
+   * in use as the local port of a primary that tried to connect in the meantime.
+   */
+  private CartReplica restartReplica(int port) throws InterruptedException {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return startReplica(port);
+      } catch (UncheckedIOException e) {
+        if (attempt == 50) {
+          throw e;
+        }
+        Thread.sleep(100);
+      }
+    }
+  }
+
+  private ReplicatedCartRepository createPrimary(CartReplica... replicas) {
+    List<InetSocketAddress> addresses = new ArrayList<>();
+    for (CartReplica replica : replicas) {
+      addresses.add(addressOf(replica));
+    }
+    return track(new ReplicatedCartRepository(new EventSourcedCartRepository(), addresses));
+  }
+
+  private ReplicatedCartRepository track(ReplicatedCartRepository primary) {
+    primaries.add(primary);
+    return primary;
+  }
+
+  private static InetSocketAddress addressOf(CartReplica replica) {
+    return new InetSocketAddress("localhost", replica.port());
+  }
+
+  private static void addMonitor(Cart cart) {
+    try {
+      cart.addProduct(DemoProducts.COMPUTER_MONITOR, 1);
+    } catch (NotEnoughItemsInStockException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private static Cart cartWith(CustomerId customerId, int monitors)
+      throws NotEnoughItemsInStockException {
+    Cart cart = new Cart(customerId);
+    cart.addProduct(DemoProducts.COMPUTER_MONITOR, monitors);
+    return cart;
+  }
+}
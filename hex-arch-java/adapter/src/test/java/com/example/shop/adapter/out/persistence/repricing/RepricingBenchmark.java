@@ -0,0 +1,102 @@
+package com.example.shop.adapter.out.persistence.repricing;
+
+import static com.example.shop.adapter.out.persistence.BenchmarkCommons.intParameter;
+import static com.example.shop.adapter.out.persistence.BenchmarkCommons.percentiles;
+
+import com.example.shop.adapter.out.persistence.SyntheticProducts;
+import com.example.shop.adapter.out.persistence.inmemory.EventSourcedCartRepository;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.product.Product;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures how long repricing a product contained in every cart takes, and the latency of cart
+ * reads while it runs, compared to without. Run with {@code mvn test -Pbenchmark -pl adapter
+ * -Dtest=RepricingBenchmark -Dbenchmark.carts=1000000}.
+ */
+@Tag("benchmark")
+class RepricingBenchmark {
+
+  private static final int CARTS = intParameter("carts", 1_000_000);
+  private static final int PRODUCTS = intParameter("products", 1_000);
+  private static final int ROUNDS = 3;
+
+  @Test
+  void repricing() throws InterruptedException {
+    SyntheticProducts syntheticProducts = new SyntheticProducts(42, 1_000);
+    Product[] products = new Product[PRODUCTS];
+    for (int i = 0; i < PRODUCTS; i++) {
+      products[i] = syntheticProducts.next();
+    }
+    Product popularProduct = products[0];
+
+    RepricingCartRepository cartRepository =
+        new RepricingCartRepository(
+            new EventSourcedCartRepository(), productId -> Optional.empty());
+    Random random = new Random(42);
+    for (int i = 1; i <= CARTS; i++) {
+      Cart cart = new Cart(new CustomerId(i));
+      cart.tryAddProduct(popularProduct, 1);
+      for (int j = random.nextInt(4); j > 0; j--) {
+        cart.tryAddProduct(products[1 + random.nextInt(PRODUCTS - 1)], 1);
+      }
+      cartRepository.save(cart);
+    }
+    System.out.printf(
+        "%,d carts, %,d with the popular product%n",
+        CARTS, cartRepository.cartsWith(popularProduct.id()));
+
+    for (int round = 1; round <= ROUNDS; round++) {
+      System.out.printf("Round %d: reads alone: %s%n", round, readLatencies(cartRepository, null));
+
+      Product repricedProduct =
+          new Product(
+              popularProduct.id(),
+              popularProduct.name(),
+              popularProduct.description(),
+              popularProduct.price().multiply(round + 1),
+              popularProduct.itemsInStock());
+      AtomicBoolean repricing = new AtomicBoolean(true);
+      long[] repricingNanos = new long[1];
+      int[] repricedCarts = new int[1];
+      Thread repricer =
+          Thread.ofPlatform()
+              .start(
+                  () -> {
+                    long start = System.nanoTime();
+                    repricedCarts[0] = cartRepository.reprice(repricedProduct);
+                    repricingNanos[0] = System.nanoTime() - start;
+                    repricing.set(false);
+                  });
+      String readsWhileRepricing = readLatencies(cartRepository, repricing);
+      repricer.join();
+
+      System.out.printf(
+          "Round %d: repriced %,d carts in %,d ms; reads meanwhile: %s%n",
+          round, repricedCarts[0], repricingNanos[0] / 1_000_000, readsWhileRepricing);
+    }
+  }
+
+  /** Reads random carts for a second, or as long as the given flag is set, if not null. */
+  private static String readLatencies(
+      RepricingCartRepository cartRepository, AtomicBoolean whileSet) {
+    Random random = new Random();
+    long[] latencies = new long[1_000_000];
+    int reads = 0;
+    long end = System.nanoTime() + 1_000_000_000L;
+    while (reads < latencies.length
+        && (whileSet != null ? whileSet.get() : System.nanoTime() < end)) {
+      CustomerId customerId = new CustomerId(1 + random.nextInt(CARTS));
+      long start = System.nanoTime();
+      cartRepository.findByCustomerId(customerId).orElseThrow().subTotal();
+      latencies[reads++] = System.nanoTime() - start;
+    }
+    return "%,d reads, %s".formatted(reads, percentiles(Arrays.copyOf(latencies, reads)));
+  }
+}
@@ -0,0 +1,204 @@
+package com.example.shop.adapter.out.persistence.repricing;
+
+import static com.example.shop.adapter.out.persistence.DemoProducts.COMPUTER_MONITOR;
+import static com.example.shop.adapter.out.persistence.DemoProducts.LED_LIGHTS;
+import static com.example.shop.adapter.out.persistence.DemoProducts.MONITOR_DESK_MOUNT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.example.shop.adapter.out.persistence.AbstractCartRepositoryTest;
+import com.example.shop.adapter.out.persistence.changefeed.ChangeFeedProductRepository;
+import com.example.shop.adapter.out.persistence.changefeed.ProductChangeFeed;
+import com.example.shop.adapter.out.persistence.changefeed.ProductChangeSource.Subscription;
+import com.example.shop.adapter.out.persistence.inmemory.EventSourcedCartRepository;
+import com.example.shop.adapter.out.persistence.inmemory.InMemoryCartRepository;
+import com.example.shop.adapter.out.persistence.inmemory.InMemoryProductRepository;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.cart.CartEvent.ProductUpdated;
+import com.example.shop.model.cart.CartLineItem;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.money.Money;
+import com.example.shop.model.product.Product;
+import java.util.Optional;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.Test;
+
+class RepricingCartRepositoryTest extends AbstractCartRepositoryTest<RepricingCartRepository> {
+
+  private static final Product REPRICED_MONITOR = withPrice(COMPUTER_MONITOR, 2);
+
+  @Override
+  protected RepricingCartRepository createCartRepository() {
+    return new RepricingCartRepository(
+        new EventSourcedCartRepository(), productId -> Optional.empty());
+  }
+
+  @Test
+  void givenCartsWithAndWithoutAProduct_reprice_updatesOnlyTheCartsWithItInBatches() {
+    EventSourcedCartRepository eventSourcedCartRepository = new EventSourcedCartRepository();
+    RepricingCartRepository cartRepository =
+        new RepricingCartRepository(eventSourcedCartRepository, productId -> Optional.empty(), 2);
+    for (int i = 1; i <= 7; i++) {
+      Cart cart = new Cart(new CustomerId(i));
+      cart.tryAddProduct(i <= 5 ? COMPUTER_MONITOR : LED_LIGHTS, i);
+      cartRepository.save(cart);
+    }
+
+    int repricedCarts = cartRepository.reprice(REPRICED_MONITOR);
+
+    assertThat(repricedCarts).isEqualTo(5);
+    for (int i = 1; i <= 5; i++) {
+      assertThat(subTotal(cartRepository, i)).isEqualTo(REPRICED_MONITOR.price().multiply(i));
+      assertThat(eventSourcedCartRepository.history(new CustomerId(i)))
+          .endsWith(new ProductUpdated(REPRICED_MONITOR));
+    }
+    assertThat(subTotal(cartRepository, 6)).isEqualTo(LED_LIGHTS.price().multiply(6));
+  }
+
+  @Test
+  void givenAProductAddedWhileTheCartIsRepriced_reprice_keepsTheAddedProduct() {
+    EventSourcedCartRepository eventSourcedCartRepository =
+        new EventSourcedCartRepository() {
+          private boolean addWhileRepricing = true;
+
+          @Override
+          public Optional<Cart> findByCustomerId(CustomerId customerId) {
+            Optional<Cart> cart = super.findByCustomerId(customerId);
+            if (addWhileRepricing) { // the customer adds a product after the repricer loaded it
+              addWhileRepricing = false;
+              Cart customersCart = super.findByCustomerId(customerId).orElseThrow();
+              customersCart.tryAddProduct(LED_LIGHTS, 2);
+              save(customersCart);
+            }
+            return cart;
+          }
+        };
+    RepricingCartRepository cartRepository =
+        new RepricingCartRepository(eventSourcedCartRepository, productId -> Optional.empty());
+    Cart cart = new Cart(new CustomerId(1));
+    cart.tryAddProduct(COMPUTER_MONITOR, 1);
+    cartRepository.save(cart);
+
+    cartRepository.reprice(REPRICED_MONITOR);
+
+    assertThat(cartRepository.findByCustomerId(new CustomerId(1)).orElseThrow().lineItems())
+        .extracting(CartLineItem::product, CartLineItem::quantity)
+        .containsExactly(tuple(REPRICED_MONITOR, 1), tuple(LED_LIGHTS, 2));
+  }
+
+  @Test
+  void givenTwoStaleCopiesOfACartSavedInTurn_reprice_findsTheProductsAddedToEither() {
+    RepricingCartRepository cartRepository = createCartRepository();
+    CustomerId customerId = new CustomerId(1);
+    Cart cart = new Cart(customerId);
+    cart.tryAddProduct(COMPUTER_MONITOR, 1);
+    cartRepository.save(cart);
+    Cart copy1 = cartRepository.findByCustomerId(customerId).orElseThrow();
+    Cart copy2 = cartRepository.findByCustomerId(customerId).orElseThrow();
+
+    copy1.tryAddProduct(LED_LIGHTS, 1);
+    cartRepository.save(copy1);
+    copy2.tryAddProduct(MONITOR_DESK_MOUNT, 1);
+    cartRepository.save(copy2);
+
+    assertThat(cartRepository.reprice(withPrice(LED_LIGHTS, 2))).isEqualTo(1);
+    assertThat(cartRepository.reprice(withPrice(MONITOR_DESK_MOUNT, 2))).isEqualTo(1);
+  }
+
+  @Test
+  void givenARepositoryReplacingWholeCarts_constructor_throwsException() {
+    ThrowingCallable invocation =
+        () ->
+            new RepricingCartRepository(
+                new InMemoryCartRepository(), productId -> Optional.empty());
+
+    assertThatIllegalArgumentException().isThrownBy(invocation);
+  }
+
+  @Test
+  void givenARepricedProduct_repriceAgain_changesNoCart() {
+    RepricingCartRepository cartRepository = createCartRepository();
+    Cart cart = new Cart(new CustomerId(1));
+    cart.tryAddProduct(COMPUTER_MONITOR, 1);
+    cartRepository.save(cart);
+    cartRepository.reprice(REPRICED_MONITOR);
+
+    int repricedCarts = cartRepository.reprice(REPRICED_MONITOR);
+
+    assertThat(repricedCarts).isZero();
+  }
+
+  @Test
+  void givenADeletedOrEmptiedCart_reprice_doesNotLookItUp() {
+    RepricingCartRepository cartRepository = createCartRepository();
+    for (int i = 1; i <= 3; i++) {
+      Cart cart = new Cart(new CustomerId(i));
+      cart.tryAddProduct(COMPUTER_MONITOR, 1);
+      cartRepository.save(cart);
+    }
+
+    cartRepository.deleteByCustomerId(new CustomerId(1));
+    cartRepository.deleteByCustomerId(new CustomerId(2));
+    cartRepository.save(new Cart(new CustomerId(2)));
+
+    assertThat(cartRepository.cartsWith(COMPUTER_MONITOR.id())).isEqualTo(1);
+    assertThat(cartRepository.reprice(REPRICED_MONITOR)).isEqualTo(1);
+  }
+
+  @Test
+  void givenASubscriptionToTheChangeFeed_saveProduct_repricesTheCarts() throws Exception {
+    ProductChangeFeed changeFeed = new ProductChangeFeed();
+    ChangeFeedProductRepository productRepository =
+        new ChangeFeedProductRepository(InMemoryProductRepository.empty(), changeFeed);
+    RepricingCartRepository cartRepository =
+        new RepricingCartRepository(new EventSourcedCartRepository(), productRepository::findById);
+    Cart cart = new Cart(new CustomerId(1));
+    cart.tryAddProduct(COMPUTER_MONITOR, 3);
+    cartRepository.save(cart);
+
+    try (Subscription ignored = changeFeed.subscribe(0, cartRepository)) {
+      productRepository.save(REPRICED_MONITOR);
+
+      long deadline = System.nanoTime() + 5_000_000_000L;
+      while (!subTotal(cartRepository, 1).equals(REPRICED_MONITOR.price().multiply(3))
+          && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+    }
+
+    assertThat(subTotal(cartRepository, 1)).isEqualTo(REPRICED_MONITOR.price().multiply(3));
+  }
+
+  @Test
+  void givenMissedChanges_onChangesMissed_repricesAllProductsInCartsFromTheLookup() {
+    RepricingCartRepository cartRepository =
+        new RepricingCartRepository(
+            new EventSourcedCartRepository(),
+            productId ->
+                Optional.of(
+                    productId.equals(COMPUTER_MONITOR.id()) ? REPRICED_MONITOR : LED_LIGHTS));
+    Cart cart = new Cart(new CustomerId(1));
+    cart.tryAddProduct(COMPUTER_MONITOR, 1);
+    cart.tryAddProduct(LED_LIGHTS, 1);
+    cartRepository.save(cart);
+
+    cartRepository.onChangesMissed();
+
+    assertThat(subTotal(cartRepository, 1))
+        .isEqualTo(REPRICED_MONITOR.price().add(LED_LIGHTS.price()));
+  }
+
+  private static Money subTotal(RepricingCartRepository cartRepository, int customerId) {
+    return cartRepository.findByCustomerId(new CustomerId(customerId)).orElseThrow().subTotal();
+  }
+
+  private static Product withPrice(Product product, int priceFactor) {
+    return new Product(
+        product.id(),
+        product.name(),
+        product.description(),
+        product.price().multiply(priceFactor),
+        product.itemsInStock());
+  }
+}
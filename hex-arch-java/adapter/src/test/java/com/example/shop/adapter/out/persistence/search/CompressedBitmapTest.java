@@ -0,0 +1,85 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+class CompressedBitmapTest {
+
+  @Test
+  void givenOrdinalsInSeveralChunks_toArray_returnsThemInAscendingOrder() {
+    CompressedBitmap bitmap = CompressedBitmap.of(70_000, 3, 65_536, 1, 3);
+
+    assertThat(bitmap.toArray()).containsExactly(1, 3, 65_536, 70_000);
+    assertThat(bitmap.cardinality()).isEqualTo(4);
+    assertThat(bitmap.contains(65_536)).isTrue();
+    assertThat(bitmap.contains(2)).isFalse();
+  }
+
+  @Test
+  void givenAChunkGrowingBeyondTheArrayLimitAndShrinkingAgain_contains_staysCorrect() {
+    int end = 4 * CompressedBitmap.MAX_ARRAY_CARDINALITY; // even ordinals: twice the limit
+    CompressedBitmap bitmap = new CompressedBitmap();
+    for (int i = 0; i < end; i += 2) {
+      bitmap.add(i);
+    }
+    long bitmapSize = bitmap.sizeInBytes();
+    for (int i = 0; i < end - 20; i += 2) {
+      bitmap.remove(i);
+    }
+
+    assertThat(bitmap.toArray()).containsExactly(ints(evenOrdinals(end - 20, end)));
+    assertThat(bitmap.contains(end - 2)).isTrue();
+    assertThat(bitmap.contains(0)).isFalse();
+    assertThat(bitmap.sizeInBytes()).isLessThan(bitmapSize);
+  }
+
+  @Test
+  void givenRandomBitmaps_andAndOr_matchSetIntersectionAndUnion() {
+    Random random = new Random(42);
+    for (int round = 0; round < 20; round++) {
+      TreeSet<Integer> expectedA = new TreeSet<>();
+      TreeSet<Integer> expectedB = new TreeSet<>();
+      CompressedBitmap a = randomBitmap(random, expectedA);
+      CompressedBitmap b = randomBitmap(random, expectedB);
+
+      TreeSet<Integer> intersection = new TreeSet<>(expectedA);
+      intersection.retainAll(expectedB);
+      TreeSet<Integer> union = new TreeSet<>(expectedA);
+      union.addAll(expectedB);
+
+      assertThat(CompressedBitmap.and(a, b).toArray()).containsExactly(ints(intersection));
+      assertThat(CompressedBitmap.or(a, b).toArray()).containsExactly(ints(union));
+      assertThat(a.toArray()).containsExactly(ints(expectedA));
+      assertThat(b.toArray()).containsExactly(ints(expectedB));
+    }
+  }
+
+  private static TreeSet<Integer> evenOrdinals(int from, int to) {
+    TreeSet<Integer> ordinals = new TreeSet<>();
+    for (int i = from; i < to; i += 2) {
+      ordinals.add(i);
+    }
+    return ordinals;
+  }
+
+  private static int[] ints(TreeSet<Integer> ordinals) {
+    return ordinals.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  /** Creates a bitmap over three chunks, each sparse or dense at random. */
+  private static CompressedBitmap randomBitmap(Random random, TreeSet<Integer> expected) {
+    CompressedBitmap bitmap = new CompressedBitmap();
+    for (int chunk = 0; chunk < 3; chunk++) {
+      int ordinals = random.nextBoolean() ? random.nextInt(100) : random.nextInt(20_000);
+      for (int i = 0; i < ordinals; i++) {
+        int ordinal = chunk * 65_536 + random.nextInt(65_536);
+        bitmap.add(ordinal);
+        expected.add(ordinal);
+      }
+    }
+    return bitmap;
+  }
+}
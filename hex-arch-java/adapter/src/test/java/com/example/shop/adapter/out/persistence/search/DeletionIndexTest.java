@@ -0,0 +1,61 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class DeletionIndexTest {
+
+  @Test
+  void givenMisspelledWords_matches_returnsTheTermsWithinTheMaximumEdits() {
+    DeletionIndex index = new DeletionIndex();
+    index.add("monitor");
+    index.add("mount");
+    index.add("monitors");
+    index.add("lights");
+
+    assertThat(index.matches("moniter", 1, term -> true))
+        .containsExactly(new TermMatch("monitor", 1));
+    assertThat(index.matches("moniter", 2, term -> true))
+        .containsExactlyInAnyOrder(new TermMatch("monitor", 1), new TermMatch("monitors", 2));
+    assertThat(index.matches("ligths", 1, term -> true))
+        .containsExactly(new TermMatch("lights", 1));
+    assertThat(index.matches("xylophone", 2, term -> true)).isEmpty();
+  }
+
+  @Test
+  void givenWordsLongerThanThePrefixLength_matches_findsEditsOnBothSidesOfThePrefix() {
+    DeletionIndex index = new DeletionIndex();
+    index.add("adjustable");
+
+    assertThat(index.matches("ajdustable", 1, term -> true))
+        .containsExactly(new TermMatch("adjustable", 1));
+    assertThat(index.matches("adjustbale", 1, term -> true))
+        .containsExactly(new TermMatch("adjustable", 1));
+    assertThat(index.matches("djustable", 1, term -> true))
+        .containsExactly(new TermMatch("adjustable", 1));
+  }
+
+  @Test
+  void givenAFilter_matches_returnsOnlyAcceptedTerms() {
+    DeletionIndex index = new DeletionIndex();
+    index.add("monitor");
+    index.add("monitors");
+
+    assertThat(index.matches("monitor", 1, term -> !term.equals("monitor")))
+        .containsExactly(new TermMatch("monitors", 1));
+  }
+
+  @Test
+  void givenManyTerms_matches_stillFindsAllOfThem() {
+    DeletionIndex index = new DeletionIndex();
+    for (int i = 0; i < 10_000; i++) {
+      index.add("term" + i);
+    }
+
+    assertThat(index.matches("term1234", 0, term -> true))
+        .containsExactly(new TermMatch("term1234", 0));
+    assertThat(index.matches("tetm9999", 1, term -> true))
+        .containsExactly(new TermMatch("term9999", 1));
+  }
+}
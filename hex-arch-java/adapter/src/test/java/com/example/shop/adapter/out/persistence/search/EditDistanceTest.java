@@ -0,0 +1,24 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class EditDistanceTest {
+
+  @Test
+  void givenWords_between_countsInsertionsDeletionsSubstitutionsAndTranspositions() {
+    assertThat(EditDistance.between("monitor", "monitor", 2)).isEqualTo(0);
+    assertThat(EditDistance.between("monitor", "monitors", 2)).isEqualTo(1);
+    assertThat(EditDistance.between("monitor", "moniter", 2)).isEqualTo(1);
+    assertThat(EditDistance.between("monitor", "mointor", 2)).isEqualTo(1);
+    assertThat(EditDistance.between("monitor", "mnitr", 2)).isEqualTo(2);
+  }
+
+  @Test
+  void givenWordsFurtherApartThanTheMaximum_between_returnsTheMaximumPlusOne() {
+    assertThat(EditDistance.between("monitor", "mouse", 2)).isEqualTo(3);
+    assertThat(EditDistance.between("monitor", "xylophone", 1)).isEqualTo(2);
+    assertThat(EditDistance.between("a", "abcd", 1)).isEqualTo(2);
+  }
+}
@@ -0,0 +1,71 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelTopKScanTest {
+
+  private static final ToIntFunction<Integer> SCORE_BY_LAST_DIGIT = item -> item % 10;
+
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+
+  @AfterEach
+  void shutDownPool() {
+    pool.shutdown();
+  }
+
+  @Test
+  void givenALargeList_scan_returnsTheSameResultAsASequentialScan() {
+    SegmentedList<Integer> items = itemsInDescendingOrder(100_000, 64);
+
+    List<Integer> parallel = scanByLastDigit(new ParallelTopKScan(pool, 1), items);
+    List<Integer> sequential =
+        scanByLastDigit(new ParallelTopKScan(pool, Integer.MAX_VALUE), items);
+
+    assertThat(parallel).hasSize(50).isEqualTo(sequential);
+    assertThat(parallel).startsWith(9, 19, 29);
+  }
+
+  @Test
+  void givenUnmatchedItems_scan_skipsThem() {
+    SegmentedList<Integer> items = itemsInDescendingOrder(1_000, 8);
+
+    List<Integer> result =
+        new ParallelTopKScan(pool, 1)
+            .scan(
+                items,
+                item -> item == 500 ? 1 : RelevanceScorer.NO_MATCH,
+                Function.identity(),
+                10,
+                Comparator.naturalOrder())
+            .toList();
+
+    assertThat(result).containsExactly(500);
+  }
+
+  @Test
+  void givenAnEmptyList_scan_returnsAnEmptyList() {
+    assertThat(scanByLastDigit(new ParallelTopKScan(pool, 0), new SegmentedList<>())).isEmpty();
+  }
+
+  private static List<Integer> scanByLastDigit(
+      ParallelTopKScan scan, SegmentedList<Integer> items) {
+    return scan.scan(items, SCORE_BY_LAST_DIGIT, Function.identity(), 50, Comparator.naturalOrder())
+        .toList();
+  }
+
+  private static SegmentedList<Integer> itemsInDescendingOrder(int size, int segmentSize) {
+    SegmentedList<Integer> items = new SegmentedList<>(segmentSize);
+    for (int i = size - 1; i >= 0; i--) {
+      items.add(i);
+    }
+    return items;
+  }
+}
@@ -0,0 +1,71 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PrefixTrieTest {
+
+  @Test
+  void givenWeightedTokens_topCompletions_returnsTheHeaviestTokensWithThePrefixFirst() {
+    PrefixTrie trie = new PrefixTrie();
+    trie.addWeight("monitor", 5);
+    trie.addWeight("mount", 2);
+    trie.addWeight("mouse", 9);
+    trie.addWeight("lights", 20);
+
+    assertThat(trie.topCompletions("mo", 10)).containsExactly("mouse", "monitor", "mount");
+    assertThat(trie.topCompletions("mo", 2)).containsExactly("mouse", "monitor");
+    assertThat(trie.topCompletions("mon", 10)).containsExactly("monitor");
+  }
+
+  @Test
+  void givenTokensThatArePrefixesOfEachOther_topCompletions_returnsBoth() {
+    PrefixTrie trie = new PrefixTrie();
+    trie.addWeight("monitor", 1);
+    trie.addWeight("monitors", 1);
+
+    assertThat(trie.topCompletions("monitor", 10)).containsExactly("monitor", "monitors");
+  }
+
+  @Test
+  void givenEquallyHeavyTokens_topCompletions_returnsThemInAlphabeticalOrder() {
+    PrefixTrie trie = new PrefixTrie();
+    trie.addWeight("desk", 1);
+    trie.addWeight("decorate", 1);
+    trie.addWeight("dual", 1);
+
+    assertThat(trie.topCompletions("d", 10)).containsExactly("decorate", "desk", "dual");
+  }
+
+  @Test
+  void givenATokenWhoseWeightDroppedToZero_topCompletions_doesNotReturnIt() {
+    PrefixTrie trie = new PrefixTrie();
+    trie.addWeight("monitor", 1);
+    trie.addWeight("mount", 1);
+
+    trie.addWeight("monitor", -1);
+
+    assertThat(trie.topCompletions("mo", 10)).containsExactly("mount");
+    assertThat(trie.weight("monitor")).isZero();
+  }
+
+  @Test
+  void givenAnUnknownPrefix_topCompletions_returnsAnEmptyList() {
+    PrefixTrie trie = new PrefixTrie();
+    trie.addWeight("monitor", 1);
+
+    assertThat(trie.topCompletions("x", 10)).isEmpty();
+  }
+
+  @Test
+  void givenTokensWithCommonPrefixes_nodeCount_sharesTheCommonPrefixes() {
+    PrefixTrie trie = new PrefixTrie();
+    trie.addWeight("monitor", 1);
+    trie.addWeight("monitors", 1);
+    trie.addWeight("mount", 1);
+
+    // root + "monitor" (7) + "s" (1) + "unt" (3)
+    assertThat(trie.nodeCount()).isEqualTo(12);
+  }
+}
@@ -0,0 +1,56 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import static com.example.shop.adapter.out.persistence.search.RelevanceScorer.NO_MATCH;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class RelevanceScorerTest {
+
+  @Test
+  void givenNoMatch_score_returnsNoMatch() {
+    int score = RelevanceScorer.score("dual monitor desk mount", "ultra wide", 5, "lights");
+
+    assertThat(score).isEqualTo(NO_MATCH);
+  }
+
+  @Test
+  void givenAMatchInTheName_score_isHigherThanForAMatchInTheDescriptionOnly() {
+    int nameMatch = RelevanceScorer.score("monitors", "any description", 5, "monitor");
+    int descriptionMatch = RelevanceScorer.score("any name", "a monitor desk mount", 5, "monitor");
+
+    assertThat(nameMatch).isGreaterThan(descriptionMatch);
+  }
+
+  @Test
+  void givenAMatchAtTheStartOfTheName_score_isHigherThanForAMatchInsideTheName() {
+    int prefixMatch = RelevanceScorer.score("monitor arm", "", 5, "monitor");
+    int innerMatch = RelevanceScorer.score("curved monitor", "", 5, "monitor");
+
+    assertThat(prefixMatch).isGreaterThan(innerMatch);
+  }
+
+  @Test
+  void givenAWholeWordMatch_score_isHigherThanForAMatchInsideAWord() {
+    int wholeWordMatch = RelevanceScorer.score("curved monitor", "", 5, "monitor");
+    int partialMatch = RelevanceScorer.score("curved monitors", "", 5, "monitor");
+
+    assertThat(wholeWordMatch).isGreaterThan(partialMatch);
+  }
+
+  @Test
+  void givenAWholeWordMatchAfterAPartialMatch_score_findsTheWholeWordMatch() {
+    int score = RelevanceScorer.score("monitors and monitor arms", "", 5, "monitor");
+    int firstOccurrenceOnly = RelevanceScorer.score("monitors and arms", "", 5, "monitor");
+
+    assertThat(score).isGreaterThan(firstOccurrenceOnly);
+  }
+
+  @Test
+  void givenEqualMatches_score_isHigherForAProductInStock() {
+    int inStock = RelevanceScorer.score("curved monitor", "", 1, "monitor");
+    int soldOut = RelevanceScorer.score("curved monitor", "", 0, "monitor");
+
+    assertThat(inStock).isGreaterThan(soldOut);
+  }
+}
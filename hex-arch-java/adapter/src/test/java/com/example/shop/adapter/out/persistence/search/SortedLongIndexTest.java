@@ -0,0 +1,100 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+class SortedLongIndexTest {
+
+  @Test
+  void givenEntries_forEachInRange_returnsTheEntriesInTheRangeInAscendingOrder() {
+    SortedLongIndex index = new SortedLongIndex();
+    index.add(300, 1);
+    index.add(100, 2);
+    index.add(200, 3);
+    index.add(200, 0);
+    index.add(400, 4);
+
+    assertThat(ordinalsInRange(index, 200, 300, false)).containsExactly(0, 3, 1);
+    assertThat(ordinalsInRange(index, 200, 300, true)).containsExactly(1, 3, 0);
+    assertThat(ordinalsInRange(index, 0, 99, false)).isEmpty();
+    assertThat(ordinalsInRange(index, 401, 500, true)).isEmpty();
+  }
+
+  @Test
+  void givenAVisitorReturningFalse_forEachInRange_stops() {
+    SortedLongIndex index = new SortedLongIndex();
+    for (int i = 0; i < 10; i++) {
+      index.add(i, i);
+    }
+
+    List<Integer> visited = new ArrayList<>();
+    index.forEachInRange(
+        Long.MIN_VALUE,
+        Long.MAX_VALUE,
+        false,
+        (key, ordinal) -> {
+          visited.add(ordinal);
+          return visited.size() < 3;
+        });
+
+    assertThat(visited).containsExactly(0, 1, 2);
+  }
+
+  @Test
+  void givenRandomAddsAndRemovesSpanningManyChunks_forEachInRange_matchesASortedSet() {
+    Random random = new Random(7);
+    SortedLongIndex index = new SortedLongIndex();
+    TreeSet<Long> expected = new TreeSet<>();
+    List<Integer> ordinals = new ArrayList<>();
+    for (int ordinal = 0; ordinal < 20 * SortedLongIndex.CHUNK_CAPACITY; ordinal++) {
+      ordinals.add(ordinal);
+    }
+    Collections.shuffle(ordinals, random);
+
+    for (int ordinal : ordinals) {
+      long key = random.nextInt(1_000);
+      index.add(key, ordinal);
+      expected.add(key * 1_000_000 + ordinal);
+    }
+    for (long entry : new ArrayList<>(expected).subList(0, expected.size() / 2)) {
+      if (random.nextBoolean()) {
+        index.remove(entry / 1_000_000, (int) (entry % 1_000_000));
+        expected.remove(entry);
+      }
+    }
+
+    List<Long> actual = new ArrayList<>();
+    index.forEachInRange(
+        250,
+        750,
+        false,
+        (key, ordinal) -> {
+          actual.add(key * 1_000_000 + ordinal);
+          return true;
+        });
+
+    assertThat(index.size()).isEqualTo(expected.size());
+    assertThat(actual)
+        .containsExactlyElementsOf(expected.subSet(250L * 1_000_000, 751L * 1_000_000));
+  }
+
+  private static List<Integer> ordinalsInRange(
+      SortedLongIndex index, long fromKey, long toKey, boolean descending) {
+    List<Integer> ordinals = new ArrayList<>();
+    index.forEachInRange(
+        fromKey,
+        toKey,
+        descending,
+        (key, ordinal) -> {
+          ordinals.add(ordinal);
+          return true;
+        });
+    return ordinals;
+  }
+}
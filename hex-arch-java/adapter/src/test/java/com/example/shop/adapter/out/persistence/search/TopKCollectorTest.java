@@ -0,0 +1,68 @@
+package com.example.shop.adapter.out.persistence.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class TopKCollectorTest {
+
+  @Test
+  void givenMoreItemsThanK_toList_returnsTheKBestItemsBestFirst() {
+    TopKCollector<String> topK = new TopKCollector<>(3, Comparator.naturalOrder());
+
+    topK.offer("c", 30);
+    topK.offer("a", 10);
+    topK.offer("e", 50);
+    topK.offer("b", 20);
+    topK.offer("d", 40);
+
+    assertThat(topK.toList()).containsExactly("e", "d", "c");
+  }
+
+  @Test
+  void givenFewerItemsThanK_toList_returnsAllItemsBestFirst() {
+    TopKCollector<String> topK = new TopKCollector<>(Integer.MAX_VALUE, Comparator.naturalOrder());
+
+    topK.offer("a", 10);
+    topK.offer("b", 20);
+
+    assertThat(topK.toList()).containsExactly("b", "a");
+  }
+
+  @Test
+  void givenEqualScoresInAnyOrder_toList_breaksTiesDeterministically() {
+    List<Integer> items = new ArrayList<>(IntStream.range(0, 100).boxed().toList());
+    Collections.shuffle(items);
+
+    TopKCollector<Integer> topK = new TopKCollector<>(5, Comparator.naturalOrder());
+    items.forEach(item -> topK.offer(item, item < 50 ? 1 : 0));
+
+    assertThat(topK.toList()).containsExactly(0, 1, 2, 3, 4);
+  }
+
+  @Test
+  void givenTwoPartitions_offerAll_mergesTheirKBestItems() {
+    TopKCollector<String> left = new TopKCollector<>(2, Comparator.naturalOrder());
+    left.offer("a", 10);
+    left.offer("b", 40);
+    TopKCollector<String> right = new TopKCollector<>(2, Comparator.naturalOrder());
+    right.offer("c", 30);
+    right.offer("d", 20);
+
+    left.offerAll(right);
+
+    assertThat(left.toList()).containsExactly("b", "c");
+  }
+
+  @Test
+  void givenKLessThan1_newTopKCollector_throwsException() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new TopKCollector<String>(0, Comparator.naturalOrder()));
+  }
+}
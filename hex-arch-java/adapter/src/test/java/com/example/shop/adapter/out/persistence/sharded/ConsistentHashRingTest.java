@@ -0,0 +1,68 @@
+package com.example.shop.adapter.out.persistence.sharded;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+  private static final int KEYS = 100_000;
+
+  @Test
+  void givenManyKeys_nodeFor_spreadsThemEvenlyAcrossTheNodes() {
+    ConsistentHashRing<String> ring = ring(List.of("a", "b", "c", "d"));
+
+    Map<String, Integer> keysPerNode = new HashMap<>();
+    for (int i = 0; i < KEYS; i++) {
+      keysPerNode.merge(ring.nodeFor("key-" + i), 1, Integer::sum);
+    }
+
+    assertThat(keysPerNode).hasSize(4);
+    assertThat(keysPerNode.values()).allSatisfy(keys -> assertThat(keys).isBetween(20_000, 30_000));
+  }
+
+  @Test
+  void givenTheSameNodesInAnotherOrder_nodeFor_returnsTheSameNodes() {
+    ConsistentHashRing<String> ring = ring(List.of("a", "b", "c"));
+    ConsistentHashRing<String> reordered = ring(List.of("c", "a", "b"));
+
+    for (int i = 0; i < 1_000; i++) {
+      assertThat(reordered.nodeFor("key-" + i)).isEqualTo(ring.nodeFor("key-" + i));
+    }
+  }
+
+  @Test
+  void givenAnAddedNode_nodeFor_movesOnlyKeysToTheNewNode() {
+    ConsistentHashRing<String> ring = ring(List.of("a", "b", "c"));
+    ConsistentHashRing<String> grown = ring(List.of("a", "b", "c", "d"));
+
+    int moved = 0;
+    for (int i = 0; i < KEYS; i++) {
+      String before = ring.nodeFor("key-" + i);
+      String after = grown.nodeFor("key-" + i);
+      if (!before.equals(after)) {
+        assertThat(after).isEqualTo("d");
+        moved++;
+      }
+    }
+
+    assertThat(moved).isBetween(KEYS / 5, KEYS * 3 / 10);
+  }
+
+  @Test
+  void givenNoNodes_newConsistentHashRing_throwsException() {
+    ThrowingCallable invocation = () -> ring(List.of());
+
+    assertThatIllegalArgumentException().isThrownBy(invocation);
+  }
+
+  private static ConsistentHashRing<String> ring(List<String> nodes) {
+    return new ConsistentHashRing<>(nodes, Function.identity(), 128);
+  }
+}
@@ -0,0 +1,79 @@
+package com.example.shop.adapter.out.persistence.sharded;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.shop.adapter.out.persistence.AbstractProductRepositoryTest;
+import com.example.shop.adapter.out.persistence.DemoProducts;
+import com.example.shop.model.money.Money;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductId;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RemoteShardedProductRepositoryTest
+    extends AbstractProductRepositoryTest<ShardedProductRepository> {
+
+  private static final int SHARDS = 3;
+
+  private final List<ProductShardServer> servers = new ArrayList<>();
+  private final List<RemoteProductShard> shards = new ArrayList<>();
+  private final ExecutorService fanOutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+  @Override
+  protected ShardedProductRepository createProductRepository() {
+    for (int i = 1; i <= SHARDS; i++) {
+      ProductShardServer server = new ProductShardServer(new LocalProductShard("shard-" + i), 0);
+      servers.add(server);
+      shards.add(new RemoteProductShard("localhost", server.port()));
+    }
+
+    ShardedProductRepository productRepository =
+        new ShardedProductRepository(
+            shards, ShardedProductRepository.DEFAULT_VIRTUAL_NODES_PER_SHARD, fanOutExecutor);
+    DemoProducts.DEMO_PRODUCTS.forEach(productRepository::save);
+    return productRepository;
+  }
+
+  @AfterEach
+  void stopShards() {
+    shards.forEach(RemoteProductShard::close);
+    servers.forEach(ProductShardServer::close);
+    fanOutExecutor.shutdown();
+  }
+
+  @Test
+  void givenAStoppedShard_findByNameOrDescription_throwsException() {
+    ShardedProductRepository productRepository = createProductRepository();
+    int lastShard = shards.size() - 1;
+    servers.get(lastShard).close();
+    shards.get(lastShard).close();
+
+    ThrowingCallable invocation = () -> productRepository.findByNameOrDescription("monitor");
+
+    assertThatThrownBy(invocation).isInstanceOf(UncheckedIOException.class);
+  }
+
+  @Test
+  void givenAProductPricedInAnotherCurrency_findById_returnsAnEqualProduct() {
+    ShardedProductRepository productRepository = createProductRepository();
+    Product product =
+        new Product(
+            new ProductId("JPY-1"),
+            "Tea Set",
+            "A tea set",
+            Money.of(Currency.getInstance("JPY"), 4_500, 0),
+            3);
+
+    productRepository.save(product);
+
+    assertThat(productRepository.findById(product.id())).contains(product);
+  }
+}
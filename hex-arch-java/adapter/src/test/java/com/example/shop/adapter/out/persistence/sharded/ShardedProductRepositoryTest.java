@@ -0,0 +1,68 @@
+package com.example.shop.adapter.out.persistence.sharded;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.shop.adapter.out.persistence.AbstractProductRepositoryTest;
+import com.example.shop.adapter.out.persistence.DemoProducts;
+import com.example.shop.adapter.out.persistence.SyntheticProducts;
+import com.example.shop.adapter.out.persistence.inmemory.InMemoryProductRepository;
+import com.example.shop.model.product.Product;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+class ShardedProductRepositoryTest extends AbstractProductRepositoryTest<ShardedProductRepository> {
+
+  @Override
+  protected ShardedProductRepository createProductRepository() {
+    ShardedProductRepository productRepository = createEmptyProductRepository();
+    DemoProducts.DEMO_PRODUCTS.forEach(productRepository::save);
+    return productRepository;
+  }
+
+  private static ShardedProductRepository createEmptyProductRepository() {
+    List<LocalProductShard> shards =
+        List.of(
+            new LocalProductShard("shard-1"),
+            new LocalProductShard("shard-2"),
+            new LocalProductShard("shard-3"));
+    return new ShardedProductRepository(
+        shards,
+        ShardedProductRepository.DEFAULT_VIRTUAL_NODES_PER_SHARD,
+        Executors.newVirtualThreadPerTaskExecutor());
+  }
+
+  @Test
+  void givenManyProducts_save_storesEachProductInOneShardAndUsesAllShards() {
+    ShardedProductRepository productRepository = createEmptyProductRepository();
+    SyntheticProducts syntheticProducts = new SyntheticProducts(1, 100);
+
+    Set<String> usedShards = new HashSet<>();
+    for (int i = 0; i < 1_000; i++) {
+      Product product = syntheticProducts.next();
+      productRepository.save(product);
+      usedShards.add(productRepository.shardFor(product.id()).name());
+    }
+
+    assertThat(usedShards).containsExactlyInAnyOrder("shard-1", "shard-2", "shard-3");
+  }
+
+  @Test
+  void givenManyProducts_findByNameOrDescription_returnsTheSameAsASingleRepository() {
+    ShardedProductRepository productRepository = createEmptyProductRepository();
+    InMemoryProductRepository singleRepository = InMemoryProductRepository.empty();
+    SyntheticProducts syntheticProducts = new SyntheticProducts(1, 100);
+    for (int i = 0; i < 5_000; i++) {
+      Product product = syntheticProducts.next();
+      productRepository.save(product);
+      singleRepository.save(product);
+    }
+    String query = syntheticProducts.randomVocabularyWord();
+
+    List<Product> products = productRepository.findByNameOrDescription(query, 50);
+
+    assertThat(products).hasSize(50).isEqualTo(singleRepository.findByNameOrDescription(query, 50));
+  }
+}
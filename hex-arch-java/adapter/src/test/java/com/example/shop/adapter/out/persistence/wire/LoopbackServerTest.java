@@ -0,0 +1,70 @@
+package com.example.shop.adapter.out.persistence.wire;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.Test;
+
+class LoopbackServerTest {
+
+  @Test
+  void givenAnOpenConnection_close_closesIt() throws IOException, InterruptedException {
+    CountDownLatch served = new CountDownLatch(1);
+    LoopbackServer server =
+        new LoopbackServer(
+            "test-server",
+            0,
+            socket -> {
+              socket.getOutputStream().write(1);
+              served.countDown();
+              while (socket.getInputStream().read() != -1) {
+                // Wait for the client or close() to close the connection
+              }
+            });
+
+    try (Socket client = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+      assertThat(client.getInputStream().read()).isEqualTo(1);
+      assertThat(served.await(5, TimeUnit.SECONDS)).isTrue();
+
+      server.close();
+
+      assertThat(client.getInputStream().read()).isEqualTo(-1);
+    }
+  }
+
+  @Test
+  void givenASocketFailingToClose_closeAll_stillClosesTheOthersAndThrowsTheFirstFailure() {
+    List<String> closed = new ArrayList<>();
+    IOException firstFailure = new IOException("first");
+    IOException secondFailure = new IOException("second");
+    List<Closeable> sockets =
+        List.of(
+            () -> closed.add("a"),
+            () -> {
+              throw firstFailure;
+            },
+            () -> closed.add("b"),
+            () -> {
+              throw secondFailure;
+            },
+            () -> closed.add("c"));
+
+    ThrowingCallable invocation = () -> LoopbackServer.closeAll(sockets);
+
+    assertThatThrownBy(invocation)
+        .isInstanceOf(UncheckedIOException.class)
+        .hasCause(firstFailure)
+        .satisfies(e -> assertThat(e.getCause().getSuppressed()).containsExactly(secondFailure));
+    assertThat(closed).containsExactly("a", "b", "c");
+  }
+}
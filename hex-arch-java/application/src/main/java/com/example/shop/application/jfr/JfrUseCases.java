@@ -0,0 +1,200 @@
+package com.example.shop.application.jfr;
+
+import static com.example.shop.application.jfr.UseCaseEvent.SUCCEEDED;
+
+import com.example.shop.application.port.in.cart.AddToCartResult;
+import com.example.shop.application.port.in.cart.AddToCartUseCase;
+import com.example.shop.application.port.in.cart.EmptyCartUseCase;
+import com.example.shop.application.port.in.cart.GetCartUseCase;
+import com.example.shop.application.port.in.cart.ProductNotFoundException;
+import com.example.shop.application.port.in.product.AutocompleteUseCase;
+import com.example.shop.application.port.in.product.FindProductsUseCase;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.cart.NotEnoughItemsInStockException;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductId;
+import com.example.shop.model.product.ProductSortOrder;
+import java.util.List;
+
+/**
+ * Decorators that emit a {@link UseCaseEvent} for every call of a use case.
+ *
+ * <p>While no recording has the event enabled, a decorator costs little more than the delegation:
+ * the event object doesn't escape, so the JIT compiler removes it, and results are only measured
+ * (e.g. a cart's line items counted) for events that are actually committed.
+ *
+ * @author Paul Anthony Begley
+ */
+public final class JfrUseCases {
+
+  private JfrUseCases() {}
+
+  public static AddToCartUseCase addToCart(AddToCartUseCase useCase) {
+    return new JfrAddToCartUseCase(useCase);
+  }
+
+  public static GetCartUseCase getCart(GetCartUseCase useCase) {
+    return new JfrGetCartUseCase(useCase);
+  }
+
+  public static EmptyCartUseCase emptyCart(EmptyCartUseCase useCase) {
+    return new JfrEmptyCartUseCase(useCase);
+  }
+
+  public static FindProductsUseCase findProducts(FindProductsUseCase useCase) {
+    return new JfrFindProductsUseCase(useCase);
+  }
+
+  public static AutocompleteUseCase autocomplete(AutocompleteUseCase useCase) {
+    return new JfrAutocompleteUseCase(useCase);
+  }
+
+  private record JfrAddToCartUseCase(AddToCartUseCase useCase) implements AddToCartUseCase {
+
+    @Override
+    public Cart addToCart(CustomerId customerId, ProductId productId, int quantity)
+        throws ProductNotFoundException, NotEnoughItemsInStockException {
+      UseCaseEvent event = start("AddToCart", customerId, productId);
+      try {
+        Cart cart = useCase.addToCart(customerId, productId, quantity);
+        if (event.shouldCommit()) {
+          event.commit(SUCCEEDED, cart.lineItems().size());
+        }
+        return cart;
+      } catch (ProductNotFoundException | NotEnoughItemsInStockException | RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+
+    @Override
+    public AddToCartResult tryAddToCart(CustomerId customerId, ProductId productId, int quantity) {
+      UseCaseEvent event = start("AddToCart", customerId, productId);
+      try {
+        AddToCartResult result = useCase.tryAddToCart(customerId, productId, quantity);
+        if (event.shouldCommit()) {
+          int resultSize =
+              result instanceof AddToCartResult.Added(Cart cart) ? cart.lineItems().size() : 0;
+          event.commit(result.getClass().getSimpleName(), resultSize);
+        }
+        return result;
+      } catch (RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+
+    private static UseCaseEvent start(String useCase, CustomerId customerId, ProductId productId) {
+      UseCaseEvent event = UseCaseEvent.start(useCase);
+      event.customerId = customerId != null ? customerId.value() : 0;
+      event.productId = productId != null ? productId.value() : null;
+      return event;
+    }
+  }
+
+  private record JfrGetCartUseCase(GetCartUseCase useCase) implements GetCartUseCase {
+
+    @Override
+    public Cart getCart(CustomerId customerId) {
+      UseCaseEvent event = UseCaseEvent.start("GetCart");
+      event.customerId = customerId != null ? customerId.value() : 0;
+      try {
+        Cart cart = useCase.getCart(customerId);
+        if (event.shouldCommit()) {
+          event.commit(SUCCEEDED, cart.lineItems().size());
+        }
+        return cart;
+      } catch (RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+  }
+
+  private record JfrEmptyCartUseCase(EmptyCartUseCase useCase) implements EmptyCartUseCase {
+
+    @Override
+    public void emptyCart(CustomerId customerId) {
+      UseCaseEvent event = UseCaseEvent.start("EmptyCart");
+      event.customerId = customerId != null ? customerId.value() : 0;
+      try {
+        useCase.emptyCart(customerId);
+        if (event.shouldCommit()) {
+          event.commit(SUCCEEDED, 0);
+        }
+      } catch (RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+  }
+
+  private record JfrFindProductsUseCase(FindProductsUseCase useCase)
+      implements FindProductsUseCase {
+
+    @Override
+    public List<Product> findByNameOrDescription(
+        String query, ProductFilter filter, ProductSortOrder sortOrder) {
+      UseCaseEvent event = UseCaseEvent.start("FindProducts");
+      event.query = query;
+      try {
+        return committed(event, useCase.findByNameOrDescription(query, filter, sortOrder));
+      } catch (RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+
+    @Override
+    public List<Product> findByNameOrDescriptionFuzzy(
+        String query, ProductFilter filter, ProductSortOrder sortOrder) {
+      UseCaseEvent event = UseCaseEvent.start("FindProductsFuzzy");
+      event.query = query;
+      try {
+        return committed(event, useCase.findByNameOrDescriptionFuzzy(query, filter, sortOrder));
+      } catch (RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+
+    @Override
+    public List<Product> findByTerms(
+        String query, ProductFilter filter, ProductSortOrder sortOrder) {
+      UseCaseEvent event = UseCaseEvent.start("FindProductsByTerms");
+      event.query = query;
+      try {
+        return committed(event, useCase.findByTerms(query, filter, sortOrder));
+      } catch (RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+  }
+
+  private record JfrAutocompleteUseCase(AutocompleteUseCase useCase)
+      implements AutocompleteUseCase {
+
+    @Override
+    public List<String> autocomplete(String input) {
+      UseCaseEvent event = UseCaseEvent.start("Autocomplete");
+      event.query = input;
+      try {
+        return committed(event, useCase.autocomplete(input));
+      } catch (RuntimeException e) {
+        event.commitFailure(e);
+        throw e;
+      }
+    }
+  }
+
+  /** Commits the event, if it should be committed, for a call that returned the given list. */
+  private static <T> List<T> committed(UseCaseEvent event, List<T> result) {
+    if (event.shouldCommit()) {
+      event.commit(SUCCEEDED, result.size());
+    }
+    return result;
+  }
+}
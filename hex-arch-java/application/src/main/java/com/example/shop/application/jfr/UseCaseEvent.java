@@ -0,0 +1,75 @@
+package com.example.shop.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A Java Flight Recorder event for a call of a use case (an incoming port), emitted by the
+ * decorators of {@link JfrUseCases}.
+ *
+ * <p>Only calls taking at least 5 ms are recorded by default, without a stack trace; change the
+ * threshold in the recording settings, e.g. {@code jfr configure
+ * com.example.shop.UseCase#threshold=0ms}.
+ *
+ * @author Paul Anthony Begley
+ */
+@Name(UseCaseEvent.NAME)
+@Label("Use Case")
+@Category({"Shop", "Use Cases"})
+@Description("A call of a use case")
+@Threshold("5 ms")
+@StackTrace(false)
+public class UseCaseEvent extends Event {
+
+  public static final String NAME = "com.example.shop.UseCase";
+
+  static final String SUCCEEDED = "Succeeded";
+
+  @Label("Use Case")
+  String useCase;
+
+  @Label("Customer ID")
+  int customerId;
+
+  @Label("Product ID")
+  String productId;
+
+  @Label("Query")
+  String query;
+
+  @Label("Result Size")
+  @Description("The number of line items in the cart, or of products or completions found")
+  int resultSize;
+
+  @Label("Outcome")
+  @Description("\"Succeeded\", the kind of result, or the simple name of the exception thrown")
+  String outcome;
+
+  /** Creates an event for the given use case and starts timing it. */
+  static UseCaseEvent start(String useCase) {
+    UseCaseEvent event = new UseCaseEvent();
+    event.useCase = useCase;
+    event.begin();
+    return event;
+  }
+
+  /** Commits the event; to be called only if {@link #shouldCommit()}. */
+  void commit(String outcome, int resultSize) {
+    this.outcome = outcome;
+    this.resultSize = resultSize;
+    commit();
+  }
+
+  /** Commits the event for a call that threw the given exception, if it should be committed. */
+  void commitFailure(Exception exception) {
+    if (shouldCommit()) {
+      outcome = exception.getClass().getSimpleName();
+      commit();
+    }
+  }
+}
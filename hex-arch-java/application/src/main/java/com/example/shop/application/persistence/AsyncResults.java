@@ -0,0 +1,28 @@
+package com.example.shop.application.persistence;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Waits for the results of asynchronous persistence ports, rethrowing their failures unwrapped.
+ *
+ * @author Paul Anthony Begley
+ */
+public final class AsyncResults {
+
+  private AsyncResults() {}
+
+  public static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.example.shop.application.persistence;
+
+import static com.example.shop.application.persistence.AsyncResults.await;
+
+import com.example.shop.application.port.out.persistence.AsyncCartRepository;
+import com.example.shop.application.port.out.persistence.CartRepository;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.customer.CustomerId;
+import java.util.Optional;
+
+/**
+ * Bridges an {@link AsyncCartRepository} to the blocking {@link CartRepository} port by waiting for
+ * each call to complete.
+ *
+ * @author Paul Anthony Begley
+ */
+public class BlockingCartRepositoryAdapter implements CartRepository {
+
+  private final AsyncCartRepository asyncCartRepository;
+
+  public BlockingCartRepositoryAdapter(AsyncCartRepository asyncCartRepository) {
+    this.asyncCartRepository = asyncCartRepository;
+  }
+
+  @Override
+  public void save(Cart cart) {
+    await(asyncCartRepository.save(cart));
+  }
+
+  @Override
+  public Optional<Cart> findByCustomerId(CustomerId customerId) {
+    return await(asyncCartRepository.findByCustomerId(customerId));
+  }
+
+  @Override
+  public void deleteByCustomerId(CustomerId customerId) {
+    await(asyncCartRepository.deleteByCustomerId(customerId));
+  }
+}
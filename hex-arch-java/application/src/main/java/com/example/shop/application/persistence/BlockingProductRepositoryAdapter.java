@@ -0,0 +1,57 @@
+package com.example.shop.application.persistence;
+
+import static com.example.shop.application.persistence.AsyncResults.await;
+
+import com.example.shop.application.port.out.persistence.AsyncProductRepository;
+import com.example.shop.application.port.out.persistence.ProductRepository;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductId;
+import com.example.shop.model.product.ProductQuery;
+import com.example.shop.model.product.ProductSortOrder;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bridges an {@link AsyncProductRepository} to the blocking {@link ProductRepository} port by
+ * waiting for each call to complete.
+ *
+ * @author Paul Anthony Begley
+ */
+public class BlockingProductRepositoryAdapter implements ProductRepository {
+
+  private final AsyncProductRepository asyncProductRepository;
+
+  public BlockingProductRepositoryAdapter(AsyncProductRepository asyncProductRepository) {
+    this.asyncProductRepository = asyncProductRepository;
+  }
+
+  @Override
+  public void save(Product product) {
+    await(asyncProductRepository.save(product));
+  }
+
+  @Override
+  public Optional<Product> findById(ProductId productId) {
+    return await(asyncProductRepository.findById(productId));
+  }
+
+  @Override
+  public List<Product> findByNameOrDescription(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return await(asyncProductRepository.findByNameOrDescription(query, filter, sortOrder, limit));
+  }
+
+  @Override
+  public List<Product> findByNameOrDescriptionFuzzy(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return await(
+        asyncProductRepository.findByNameOrDescriptionFuzzy(query, filter, sortOrder, limit));
+  }
+
+  @Override
+  public List<Product> findByTerms(
+      ProductQuery query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return await(asyncProductRepository.findByTerms(query, filter, sortOrder, limit));
+  }
+}
@@ -0,0 +1,43 @@
+package com.example.shop.application.persistence;
+
+import com.example.shop.application.port.out.persistence.AsyncCartRepository;
+import com.example.shop.application.port.out.persistence.CartRepository;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.customer.CustomerId;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Bridges a blocking {@link CartRepository} to the {@link AsyncCartRepository} port by running each
+ * call on the given executor.
+ *
+ * @author Paul Anthony Begley
+ */
+public class CartRepositoryAsyncAdapter implements AsyncCartRepository {
+
+  private final CartRepository cartRepository;
+  private final Executor executor;
+
+  public CartRepositoryAsyncAdapter(CartRepository cartRepository, Executor executor) {
+    this.cartRepository = cartRepository;
+    this.executor = executor;
+  }
+
+  @Override
+  public CompletableFuture<Void> save(Cart cart) {
+    return CompletableFuture.runAsync(() -> cartRepository.save(cart), executor);
+  }
+
+  @Override
+  public CompletableFuture<Optional<Cart>> findByCustomerId(CustomerId customerId) {
+    return CompletableFuture.supplyAsync(
+        () -> cartRepository.findByCustomerId(customerId), executor);
+  }
+
+  @Override
+  public CompletableFuture<Void> deleteByCustomerId(CustomerId customerId) {
+    return CompletableFuture.runAsync(
+        () -> cartRepository.deleteByCustomerId(customerId), executor);
+  }
+}
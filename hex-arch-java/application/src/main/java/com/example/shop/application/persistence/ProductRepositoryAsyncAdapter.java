@@ -0,0 +1,62 @@
+package com.example.shop.application.persistence;
+
+import com.example.shop.application.port.out.persistence.AsyncProductRepository;
+import com.example.shop.application.port.out.persistence.ProductRepository;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductId;
+import com.example.shop.model.product.ProductQuery;
+import com.example.shop.model.product.ProductSortOrder;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Bridges a blocking {@link ProductRepository} to the {@link AsyncProductRepository} port by
+ * running each call on the given executor.
+ *
+ * @author Paul Anthony Begley
+ */
+public class ProductRepositoryAsyncAdapter implements AsyncProductRepository {
+
+  private final ProductRepository productRepository;
+  private final Executor executor;
+
+  public ProductRepositoryAsyncAdapter(ProductRepository productRepository, Executor executor) {
+    this.productRepository = productRepository;
+    this.executor = executor;
+  }
+
+  @Override
+  public CompletableFuture<Void> save(Product product) {
+    return CompletableFuture.runAsync(() -> productRepository.save(product), executor);
+  }
+
+  @Override
+  public CompletableFuture<Optional<Product>> findById(ProductId productId) {
+    return CompletableFuture.supplyAsync(() -> productRepository.findById(productId), executor);
+  }
+
+  @Override
+  public CompletableFuture<List<Product>> findByNameOrDescription(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return CompletableFuture.supplyAsync(
+        () -> productRepository.findByNameOrDescription(query, filter, sortOrder, limit), executor);
+  }
+
+  @Override
+  public CompletableFuture<List<Product>> findByNameOrDescriptionFuzzy(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return CompletableFuture.supplyAsync(
+        () -> productRepository.findByNameOrDescriptionFuzzy(query, filter, sortOrder, limit),
+        executor);
+  }
+
+  @Override
+  public CompletableFuture<List<Product>> findByTerms(
+      ProductQuery query, ProductFilter filter, ProductSortOrder sortOrder, int limit) {
+    return CompletableFuture.supplyAsync(
+        () -> productRepository.findByTerms(query, filter, sortOrder, limit), executor);
+  }
+}
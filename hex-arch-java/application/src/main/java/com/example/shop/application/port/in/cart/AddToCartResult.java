@@ -0,0 +1,23 @@
+package com.example.shop.application.port.in.cart;
+
+import com.example.shop.model.cart.Cart;
+
+/**
+ * The outcome of adding a product to a shopping cart (see {@link
+ * AddToCartUseCase#tryAddToCart(com.example.shop.model.customer.CustomerId,
+ * com.example.shop.model.product.ProductId, int)}): the updated cart, or why the product couldn't
+ * be added.
+ *
+ * @author Paul Anthony Begley
+ */
+public sealed interface AddToCartResult {
+
+  /** The product was added; the cart has been saved. */
+  record Added(Cart cart) implements AddToCartResult {}
+
+  /** No product exists with the requested ID. */
+  record ProductNotFound() implements AddToCartResult {}
+
+  /** Fewer items are in stock than the cart would contain; the cart is unchanged. */
+  record NotEnoughItemsInStock(int itemsInStock) implements AddToCartResult {}
+}
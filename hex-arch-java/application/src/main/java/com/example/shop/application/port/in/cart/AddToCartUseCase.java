@@ -14,4 +14,22 @@ public interface AddToCartUseCase {
 
   Cart addToCart(CustomerId customerId, ProductId productId, int quantity)
       throws ProductNotFoundException, NotEnoughItemsInStockException;
+
+  /**
+   * Like {@link #addToCart(CustomerId, ProductId, int)}, but returns a missing product or too few
+   * items in stock as a result instead of throwing an exception, which is much cheaper when most
+   * calls fail, e.g. while a popular product is sold out.
+   *
+   * <p>The default implementation translates the exceptions, so it's only as cheap as {@link
+   * #addToCart(CustomerId, ProductId, int)}; implementations should override it.
+   */
+  default AddToCartResult tryAddToCart(CustomerId customerId, ProductId productId, int quantity) {
+    try {
+      return new AddToCartResult.Added(addToCart(customerId, productId, quantity));
+    } catch (ProductNotFoundException e) {
+      return new AddToCartResult.ProductNotFound();
+    } catch (NotEnoughItemsInStockException e) {
+      return new AddToCartResult.NotEnoughItemsInStock(e.itemsInStock());
+    }
+  }
 }
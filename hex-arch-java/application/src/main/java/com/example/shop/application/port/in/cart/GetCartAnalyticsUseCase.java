@@ -0,0 +1,20 @@
+package com.example.shop.application.port.in.cart;
+
+import com.example.shop.model.cart.CartAnalytics;
+import java.util.Currency;
+
+/**
+ * Use case: Getting live totals over all open shopping carts, e.g. for merchandising.
+ *
+ * @author Paul Anthony Begley
+ */
+public interface GetCartAnalyticsUseCase {
+
+  /**
+   * Returns the totals, with the value of the carts converted into the given currency at the
+   * current exchange rates, and the {@code topProducts} products with the most items in carts.
+   *
+   * @throws IllegalArgumentException if there's no exchange rate for a currency that's needed
+   */
+  CartAnalytics getCartAnalytics(Currency currency, int topProducts);
+}
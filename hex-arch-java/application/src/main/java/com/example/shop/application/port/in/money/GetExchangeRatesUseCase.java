@@ -0,0 +1,14 @@
+package com.example.shop.application.port.in.money;
+
+import com.example.shop.model.money.ExchangeRates;
+
+/**
+ * Use case: Retrieving the current exchange rates, e.g. to show a cart's total in the customer's
+ * currency.
+ *
+ * @author Paul Anthony Begley
+ */
+public interface GetExchangeRatesUseCase {
+
+  ExchangeRates getExchangeRates();
+}
@@ -0,0 +1,13 @@
+package com.example.shop.application.port.in.product;
+
+import java.util.List;
+
+/**
+ * Use case: Suggesting search queries while the customer types them.
+ *
+ * @author Paul Anthony Begley
+ */
+public interface AutocompleteUseCase {
+
+  List<String> autocomplete(String input);
+}
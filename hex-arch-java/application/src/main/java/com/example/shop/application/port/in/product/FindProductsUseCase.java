@@ -1,7 +1,9 @@
 package com.example.shop.application.port.in.product;
 
-
 import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductQuery;
+import com.example.shop.model.product.ProductSortOrder;
 import java.util.List;
 
 /**
@@ -11,5 +13,31 @@ import java.util.List;
  */
 public interface FindProductsUseCase {
 
-  List<Product> findByNameOrDescription(String query);
+  default List<Product> findByNameOrDescription(String query) {
+    return findByNameOrDescription(query, ProductFilter.NONE, ProductSortOrder.RELEVANCE);
+  }
+
+  /** Finds the products matching the query and the filter, in the given order. */
+  List<Product> findByNameOrDescription(
+      String query, ProductFilter filter, ProductSortOrder sortOrder);
+
+  /** Like {@link #findByNameOrDescription(String)}, but tolerates typos in the query. */
+  default List<Product> findByNameOrDescriptionFuzzy(String query) {
+    return findByNameOrDescriptionFuzzy(query, ProductFilter.NONE, ProductSortOrder.RELEVANCE);
+  }
+
+  /**
+   * Like {@link #findByNameOrDescription(String, ProductFilter, ProductSortOrder)}, but tolerates
+   * typos in the query.
+   */
+  List<Product> findByNameOrDescriptionFuzzy(
+      String query, ProductFilter filter, ProductSortOrder sortOrder);
+
+  /**
+   * Finds the products matching a boolean query of whole words, in the given order; see {@link
+   * ProductQuery#parse(String)} for the syntax.
+   *
+   * @throws IllegalArgumentException if the query isn't valid
+   */
+  List<Product> findByTerms(String query, ProductFilter filter, ProductSortOrder sortOrder);
 }
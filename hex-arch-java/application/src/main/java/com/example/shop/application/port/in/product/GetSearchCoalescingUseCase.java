@@ -0,0 +1,12 @@
+package com.example.shop.application.port.in.product;
+
+/**
+ * Use case: Getting how many concurrent identical searches were coalesced into one, since the
+ * start.
+ *
+ * @author Paul Anthony Begley
+ */
+public interface GetSearchCoalescingUseCase {
+
+  SearchCoalescing getSearchCoalescing();
+}
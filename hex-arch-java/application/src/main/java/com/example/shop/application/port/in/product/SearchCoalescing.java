@@ -0,0 +1,9 @@
+package com.example.shop.application.port.in.product;
+
+/**
+ * How many searches were requested, and how many of them were actually run, the others having got
+ * the result of an identical search (see {@link GetSearchCoalescingUseCase}).
+ *
+ * @author Paul Anthony Begley
+ */
+public record SearchCoalescing(long searches, long executions, double coalescingRatio) {}
@@ -0,0 +1,21 @@
+package com.example.shop.application.port.out.persistence;
+
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.customer.CustomerId;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking outgoing persistence port for carts. The asynchronous counterpart of {@link
+ * CartRepository}, for stores that are reached over the network.
+ *
+ * @author Paul Anthony Begley
+ */
+public interface AsyncCartRepository {
+
+  CompletableFuture<Void> save(Cart cart);
+
+  CompletableFuture<Optional<Cart>> findByCustomerId(CustomerId customerId);
+
+  CompletableFuture<Void> deleteByCustomerId(CustomerId customerId);
+}
@@ -0,0 +1,45 @@
+package com.example.shop.application.port.out.persistence;
+
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductId;
+import com.example.shop.model.product.ProductQuery;
+import com.example.shop.model.product.ProductSortOrder;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking outgoing persistence port for products. The asynchronous counterpart of {@link
+ * ProductRepository}, for stores that are reached over the network.
+ *
+ * @author Paul Anthony Begley
+ */
+public interface AsyncProductRepository {
+
+  CompletableFuture<Void> save(Product product);
+
+  CompletableFuture<Optional<Product>> findById(ProductId productId);
+
+  default CompletableFuture<List<Product>> findByNameOrDescription(String query) {
+    return findByNameOrDescription(query, Integer.MAX_VALUE);
+  }
+
+  default CompletableFuture<List<Product>> findByNameOrDescription(String query, int limit) {
+    return findByNameOrDescription(query, ProductFilter.NONE, ProductSortOrder.RELEVANCE, limit);
+  }
+
+  CompletableFuture<List<Product>> findByNameOrDescription(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit);
+
+  default CompletableFuture<List<Product>> findByNameOrDescriptionFuzzy(String query, int limit) {
+    return findByNameOrDescriptionFuzzy(
+        query, ProductFilter.NONE, ProductSortOrder.RELEVANCE, limit);
+  }
+
+  CompletableFuture<List<Product>> findByNameOrDescriptionFuzzy(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit);
+
+  CompletableFuture<List<Product>> findByTerms(
+      ProductQuery query, ProductFilter filter, ProductSortOrder sortOrder, int limit);
+}
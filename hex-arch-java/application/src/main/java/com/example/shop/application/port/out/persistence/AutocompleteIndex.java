@@ -0,0 +1,17 @@
+package com.example.shop.application.port.out.persistence;
+
+import java.util.List;
+
+/**
+ * Outgoing persistence port for completing words of product names.
+ *
+ * @author Paul Anthony Begley
+ */
+public interface AutocompleteIndex {
+
+  /**
+   * Returns up to {@code limit} lower-case words occurring in product names that start with the
+   * given lower-case prefix, the most common ones first.
+   */
+  List<String> findCompletions(String prefix, int limit);
+}
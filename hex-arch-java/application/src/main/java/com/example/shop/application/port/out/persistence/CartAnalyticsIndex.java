@@ -0,0 +1,22 @@
+package com.example.shop.application.port.out.persistence;
+
+import com.example.shop.model.cart.CartAnalytics;
+import com.example.shop.model.money.ExchangeRates;
+import java.util.Currency;
+
+/**
+ * Outgoing persistence port for aggregating over all carts.
+ *
+ * @author Paul Anthony Begley
+ */
+public interface CartAnalyticsIndex {
+
+  /**
+   * Aggregates over all open carts, converting their values into the given currency with the given
+   * exchange rates, and returns the {@code topProducts} products with the most items in carts.
+   *
+   * @throws IllegalArgumentException if a cart contains a product priced in a currency that can't
+   *     be converted into the given one
+   */
+  CartAnalytics aggregate(Currency currency, ExchangeRates exchangeRates, int topProducts);
+}
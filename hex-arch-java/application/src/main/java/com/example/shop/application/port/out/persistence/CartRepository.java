@@ -2,6 +2,7 @@ package com.example.shop.application.port.out.persistence;
 
 import com.example.shop.model.cart.Cart;
 import com.example.shop.model.customer.CustomerId;
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -13,7 +14,21 @@ public interface CartRepository {
 
   void save(Cart cart);
 
+  /** Saves all given carts; adapters may do so more efficiently than one by one. */
+  default void saveAll(Collection<Cart> carts) {
+    carts.forEach(this::save);
+  }
+
   Optional<Cart> findByCustomerId(CustomerId customerId);
 
   void deleteByCustomerId(CustomerId customerId);
+
+  /**
+   * Returns whether {@link #save(Cart)} appends the cart's uncommitted events to the stored cart,
+   * instead of replacing the stored cart. If it does, saving a cart that was loaded before another
+   * change to it keeps that change.
+   */
+  default boolean appendsEvents() {
+    return false;
+  }
 }
@@ -1,12 +1,14 @@
 package com.example.shop.application.port.out.persistence;
 
 import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
 import com.example.shop.model.product.ProductId;
-
+import com.example.shop.model.product.ProductQuery;
+import com.example.shop.model.product.ProductSortOrder;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-
 /**
  * Outgoing persistence port for products.
  *
@@ -15,7 +17,49 @@ import java.util.Optional;
 public interface ProductRepository {
   void save(Product product);
 
+  /** Saves all given products; adapters may do so more efficiently than one by one. */
+  default void saveAll(Collection<Product> products) {
+    products.forEach(this::save);
+  }
+
   Optional<Product> findById(ProductId productId);
 
-  List<Product> findByNameOrDescription(String query);
-}
\ No newline at end of file
+  /** Returns all products matching the query, the most relevant ones first. */
+  default List<Product> findByNameOrDescription(String query) {
+    return findByNameOrDescription(query, Integer.MAX_VALUE);
+  }
+
+  /** Returns the {@code limit} products matching the query best, the most relevant ones first. */
+  default List<Product> findByNameOrDescription(String query, int limit) {
+    return findByNameOrDescription(query, ProductFilter.NONE, ProductSortOrder.RELEVANCE, limit);
+  }
+
+  /**
+   * Returns the first {@code limit} products matching the query and the filter, in the given order.
+   */
+  List<Product> findByNameOrDescription(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit);
+
+  /**
+   * Like {@link #findByNameOrDescription(String, int)}, but also matches words that differ from the
+   * query's words by a few typos.
+   */
+  default List<Product> findByNameOrDescriptionFuzzy(String query, int limit) {
+    return findByNameOrDescriptionFuzzy(
+        query, ProductFilter.NONE, ProductSortOrder.RELEVANCE, limit);
+  }
+
+  /**
+   * Like {@link #findByNameOrDescription(String, ProductFilter, ProductSortOrder, int)}, but also
+   * matches words that differ from the query's words by a few typos.
+   */
+  List<Product> findByNameOrDescriptionFuzzy(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, int limit);
+
+  /**
+   * Returns the first {@code limit} products containing the words of the boolean query (see {@link
+   * ProductQuery}) and matching the filter, in the given order.
+   */
+  List<Product> findByTerms(
+      ProductQuery query, ProductFilter filter, ProductSortOrder sortOrder, int limit);
+}
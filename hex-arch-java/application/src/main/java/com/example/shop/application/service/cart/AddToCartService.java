@@ -1,7 +1,17 @@
 package com.example.shop.application.service.cart;
 
+import static com.example.shop.application.persistence.AsyncResults.await;
+
+import com.example.shop.application.persistence.CartRepositoryAsyncAdapter;
+import com.example.shop.application.persistence.ProductRepositoryAsyncAdapter;
+import com.example.shop.application.port.in.cart.AddToCartResult;
+import com.example.shop.application.port.in.cart.AddToCartResult.Added;
+import com.example.shop.application.port.in.cart.AddToCartResult.NotEnoughItemsInStock;
+import com.example.shop.application.port.in.cart.AddToCartResult.ProductNotFound;
 import com.example.shop.application.port.in.cart.AddToCartUseCase;
 import com.example.shop.application.port.in.cart.ProductNotFoundException;
+import com.example.shop.application.port.out.persistence.AsyncCartRepository;
+import com.example.shop.application.port.out.persistence.AsyncProductRepository;
 import com.example.shop.application.port.out.persistence.CartRepository;
 import com.example.shop.application.port.out.persistence.ProductRepository;
 import com.example.shop.model.cart.Cart;
@@ -10,44 +20,86 @@ import com.example.shop.model.customer.CustomerId;
 import com.example.shop.model.product.Product;
 import com.example.shop.model.product.ProductId;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Use case implementation: Adding a product to a shopping cart.
  *
+ * <p>The product and the cart are loaded concurrently, so with asynchronous repositories the
+ * latency is that of the slower lookup rather than the sum of both. {@link
+ * #tryAddToCart(CustomerId, ProductId, int)} reports a missing product or too few items in stock
+ * without creating an exception.
+ *
  * @author Paul Anthony Begley
  */
 public class AddToCartService implements AddToCartUseCase {
 
-  private final CartRepository cartRepository;
-  private final ProductRepository productRepository;
+  private final AsyncCartRepository cartRepository;
+  private final AsyncProductRepository productRepository;
 
+  /** Uses blocking repositories, invoking them on the calling thread. */
   public AddToCartService(
       CartRepository cartRepository, ProductRepository productRepositoryVeryVeryLong) {
+    this(
+        new CartRepositoryAsyncAdapter(cartRepository, Runnable::run),
+        new ProductRepositoryAsyncAdapter(productRepositoryVeryVeryLong, Runnable::run));
+  }
+
+  public AddToCartService(
+      AsyncCartRepository cartRepository, AsyncProductRepository productRepository) {
     this.cartRepository = cartRepository;
-    this.productRepository = productRepositoryVeryVeryLong;
+    this.productRepository = productRepository;
   }
 
   @Override
   public Cart addToCart(CustomerId customerIdVeryVeryLong, ProductId productId, int quantity)
       throws ProductNotFoundException, NotEnoughItemsInStockException {
-    Objects.requireNonNull(customerIdVeryVeryLong, "'customerId' must not be null");
-    Objects.requireNonNull(productId, "'productId' must not be null");
-    if (quantity < 1) {
-      throw new IllegalArgumentException("'quantity' must be greater than 0");
-    }
+    validate(customerIdVeryVeryLong, productId, quantity);
 
-    Product product =
-        productRepository.findById(productId).orElseThrow(ProductNotFoundException::new);
+    CompletableFuture<Optional<Product>> productFuture = productRepository.findById(productId);
+    CompletableFuture<Optional<Cart>> cartFuture =
+        cartRepository.findByCustomerId(customerIdVeryVeryLong);
 
-    Cart cart =
-        cartRepository
-            .findByCustomerId(customerIdVeryVeryLong)
-            .orElseGet(() -> new Cart(customerIdVeryVeryLong));
+    Product product = await(productFuture).orElseThrow(ProductNotFoundException::new);
+
+    Cart cart = await(cartFuture).orElseGet(() -> new Cart(customerIdVeryVeryLong));
 
     cart.addProduct(product, quantity);
 
-    cartRepository.save(cart);
+    await(cartRepository.save(cart));
 
     return cart;
   }
+
+  @Override
+  public AddToCartResult tryAddToCart(CustomerId customerId, ProductId productId, int quantity) {
+    validate(customerId, productId, quantity);
+
+    CompletableFuture<Optional<Product>> productFuture = productRepository.findById(productId);
+    CompletableFuture<Optional<Cart>> cartFuture = cartRepository.findByCustomerId(customerId);
+
+    Optional<Product> product = await(productFuture);
+    if (product.isEmpty()) {
+      return new ProductNotFound();
+    }
+
+    Cart cart = await(cartFuture).orElseGet(() -> new Cart(customerId));
+
+    if (!cart.tryAddProduct(product.get(), quantity)) {
+      return new NotEnoughItemsInStock(product.get().itemsInStock());
+    }
+
+    await(cartRepository.save(cart));
+
+    return new Added(cart);
+  }
+
+  private static void validate(CustomerId customerId, ProductId productId, int quantity) {
+    Objects.requireNonNull(customerId, "'customerId' must not be null");
+    Objects.requireNonNull(productId, "'productId' must not be null");
+    if (quantity < 1) {
+      throw new IllegalArgumentException("'quantity' must be greater than 0");
+    }
+  }
 }
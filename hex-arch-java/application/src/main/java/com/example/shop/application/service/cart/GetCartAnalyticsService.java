@@ -0,0 +1,36 @@
+package com.example.shop.application.service.cart;
+
+import com.example.shop.application.port.in.cart.GetCartAnalyticsUseCase;
+import com.example.shop.application.port.in.money.GetExchangeRatesUseCase;
+import com.example.shop.application.port.out.persistence.CartAnalyticsIndex;
+import com.example.shop.model.cart.CartAnalytics;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * Use case implementation: Getting live totals over all open shopping carts.
+ *
+ * @author Paul Anthony Begley
+ */
+public class GetCartAnalyticsService implements GetCartAnalyticsUseCase {
+
+  private final CartAnalyticsIndex cartAnalyticsIndex;
+  private final GetExchangeRatesUseCase getExchangeRatesUseCase;
+
+  public GetCartAnalyticsService(
+      CartAnalyticsIndex cartAnalyticsIndex, GetExchangeRatesUseCase getExchangeRatesUseCase) {
+    this.cartAnalyticsIndex = cartAnalyticsIndex;
+    this.getExchangeRatesUseCase = getExchangeRatesUseCase;
+  }
+
+  @Override
+  public CartAnalytics getCartAnalytics(Currency currency, int topProducts) {
+    Objects.requireNonNull(currency, "'currency' must not be null");
+    if (topProducts < 0) {
+      throw new IllegalArgumentException("'topProducts' must not be negative");
+    }
+
+    return cartAnalyticsIndex.aggregate(
+        currency, getExchangeRatesUseCase.getExchangeRates(), topProducts);
+  }
+}
@@ -0,0 +1,36 @@
+package com.example.shop.application.service.money;
+
+import com.example.shop.application.port.in.money.GetExchangeRatesUseCase;
+import com.example.shop.model.money.ExchangeRates;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Use case implementation: Retrieving the current exchange rates.
+ *
+ * <p>The rates are an immutable table, which {@link #updateExchangeRates(ExchangeRates)} replaces
+ * as a whole. So a reader never sees a mix of old and new rates, and never waits for an update.
+ *
+ * @author Paul Anthony Begley
+ */
+public class ExchangeRatesService implements GetExchangeRatesUseCase {
+
+  private final AtomicReference<ExchangeRates> exchangeRates;
+
+  public ExchangeRatesService(ExchangeRates exchangeRates) {
+    this.exchangeRates =
+        new AtomicReference<>(
+            Objects.requireNonNull(exchangeRates, "'exchangeRates' must not be null"));
+  }
+
+  @Override
+  public ExchangeRates getExchangeRates() {
+    return exchangeRates.get();
+  }
+
+  /** Replaces the exchange rates, e.g. when new rates have been published. */
+  public void updateExchangeRates(ExchangeRates exchangeRates) {
+    this.exchangeRates.set(
+        Objects.requireNonNull(exchangeRates, "'exchangeRates' must not be null"));
+  }
+}
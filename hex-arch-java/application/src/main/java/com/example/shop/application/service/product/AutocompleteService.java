@@ -0,0 +1,44 @@
+package com.example.shop.application.service.product;
+
+import com.example.shop.application.port.in.product.AutocompleteUseCase;
+import com.example.shop.application.port.out.persistence.AutocompleteIndex;
+import com.example.shop.model.product.Tokenizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Use case implementation: Suggesting search queries while the customer types them. The last
+ * (incomplete) word of the input is completed with words from product names; the preceding words
+ * are kept as they are. Words are split as the index splits product names (see {@link Tokenizer}),
+ * e.g. "usb-c" ends with the word "c".
+ *
+ * @author Paul Anthony Begley
+ */
+public class AutocompleteService implements AutocompleteUseCase {
+
+  public static final int MAX_SUGGESTIONS = 10;
+
+  private final AutocompleteIndex autocompleteIndex;
+
+  public AutocompleteService(AutocompleteIndex autocompleteIndex) {
+    this.autocompleteIndex = autocompleteIndex;
+  }
+
+  @Override
+  public List<String> autocomplete(String input) {
+    Objects.requireNonNull(input, "'input' must not be null");
+
+    String inputLowerCase = input.stripLeading().toLowerCase(Locale.ROOT);
+    int lastWordStart = Tokenizer.lastTokenStart(inputLowerCase);
+    String lastWord = inputLowerCase.substring(lastWordStart);
+    if (lastWord.isEmpty()) {
+      throw new IllegalArgumentException("'input' must end with at least one character of a word");
+    }
+
+    String precedingWords = inputLowerCase.substring(0, lastWordStart);
+    return autocompleteIndex.findCompletions(lastWord, MAX_SUGGESTIONS).stream()
+        .map(completion -> precedingWords + completion)
+        .toList();
+  }
+}
@@ -0,0 +1,231 @@
+package com.example.shop.application.service.product;
+
+import com.example.shop.application.port.in.product.FindProductsUseCase;
+import com.example.shop.application.port.in.product.GetSearchCoalescingUseCase;
+import com.example.shop.application.port.in.product.SearchCoalescing;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductSortOrder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Use case implementation: Finding products via a search query, with concurrent identical searches
+ * coalesced into one ("single flight").
+ *
+ * <p>The first search for a query runs the wrapped use case; identical searches arriving while it
+ * runs wait for it and get the same result, instead of each scanning the catalog again. Queries are
+ * identical if they match case-insensitively (as the search does) and have the same filter, sort
+ * order and kind of search; term queries must match exactly, as their operators are case-sensitive.
+ *
+ * <p>Optionally, a result is shared for a short {@code linger} time after the search completed, to
+ * also catch searches arriving just after it. This isn't a cache: results are at most that old, and
+ * nothing is kept beyond that. A failed search isn't shared beyond the searches waiting for it.
+ *
+ * <p>Each search gets its own copies of the products found, so a caller changing a product doesn't
+ * change the result of the searches it was shared with.
+ *
+ * @author Paul Anthony Begley
+ */
+public class CoalescingFindProductsService
+    implements FindProductsUseCase, GetSearchCoalescingUseCase {
+
+  private final FindProductsUseCase findProductsUseCase;
+  private final long lingerNanos;
+
+  private final Map<SearchKey, Flight> flights = new ConcurrentHashMap<>();
+  private final Queue<Flight> lingeringFlights = new ConcurrentLinkedQueue<>();
+
+  private final LongAdder searches = new LongAdder();
+  private final LongAdder executions = new LongAdder();
+
+  public CoalescingFindProductsService(FindProductsUseCase findProductsUseCase) {
+    this(findProductsUseCase, Duration.ZERO);
+  }
+
+  public CoalescingFindProductsService(FindProductsUseCase findProductsUseCase, Duration linger) {
+    if (linger.isNegative()) {
+      throw new IllegalArgumentException("'linger' must not be negative");
+    }
+    this.findProductsUseCase = findProductsUseCase;
+    this.lingerNanos = linger.toNanos();
+  }
+
+  @Override
+  public List<Product> findByNameOrDescription(
+      String query, ProductFilter filter, ProductSortOrder sortOrder) {
+    return find(
+        SearchKey.of(query, filter, sortOrder, SearchKind.SUBSTRING),
+        () -> findProductsUseCase.findByNameOrDescription(query, filter, sortOrder));
+  }
+
+  @Override
+  public List<Product> findByNameOrDescriptionFuzzy(
+      String query, ProductFilter filter, ProductSortOrder sortOrder) {
+    return find(
+        SearchKey.of(query, filter, sortOrder, SearchKind.FUZZY),
+        () -> findProductsUseCase.findByNameOrDescriptionFuzzy(query, filter, sortOrder));
+  }
+
+  @Override
+  public List<Product> findByTerms(String query, ProductFilter filter, ProductSortOrder sortOrder) {
+    return find(
+        SearchKey.of(query, filter, sortOrder, SearchKind.TERMS),
+        () -> findProductsUseCase.findByTerms(query, filter, sortOrder));
+  }
+
+  /** Returns the number of searches requested. */
+  public long searches() {
+    return searches.sum();
+  }
+
+  /** Returns the number of searches actually run by the wrapped use case. */
+  public long executions() {
+    return executions.sum();
+  }
+
+  /** Returns the share of searches that got the result of another search, from 0 to 1. */
+  public double coalescingRatio() {
+    long searches = searches();
+    return searches == 0 ? 0 : 1 - (double) executions() / searches;
+  }
+
+  @Override
+  public SearchCoalescing getSearchCoalescing() {
+    long executions = executions();
+    long searches = searches(); // read last, as each execution is counted after its search
+    return new SearchCoalescing(
+        searches, executions, searches == 0 ? 0 : 1 - (double) executions / searches);
+  }
+
+  private List<Product> find(SearchKey key, Supplier<List<Product>> search) {
+    searches.increment();
+    removeExpiredFlights();
+
+    while (true) {
+      Flight flight = flights.get(key);
+      if (flight != null && !flight.isExpired()) {
+        return copyOf(flight.join());
+      }
+      if (flight != null) {
+        flights.remove(key, flight);
+      }
+
+      Flight newFlight = new Flight(key);
+      if (flights.putIfAbsent(key, newFlight) == null) {
+        return copyOf(run(newFlight, search));
+      }
+      // Another thread started the same search in the meantime; wait for that one
+    }
+  }
+
+  private List<Product> run(Flight flight, Supplier<List<Product>> search) {
+    executions.increment();
+    try {
+      List<Product> result = List.copyOf(search.get());
+      flight.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      flights.remove(flight.key, flight);
+      flight.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  private static List<Product> copyOf(List<Product> products) {
+    List<Product> copies = new ArrayList<>(products.size());
+    for (Product product : products) {
+      copies.add(
+          new Product(
+              product.id(),
+              product.name(),
+              product.description(),
+              product.price(),
+              product.itemsInStock()));
+    }
+    return List.copyOf(copies);
+  }
+
+  private void removeExpiredFlights() {
+    Flight flight;
+    while ((flight = lingeringFlights.peek()) != null && flight.isExpired()) {
+      if (lingeringFlights.remove(flight)) {
+        flights.remove(flight.key, flight);
+      }
+    }
+  }
+
+  /** A search that's running or lingering, and its result. */
+  private class Flight {
+
+    private final SearchKey key;
+    private final CompletableFuture<List<Product>> result = new CompletableFuture<>();
+    private volatile long completedAt;
+    private volatile boolean completed;
+
+    Flight(SearchKey key) {
+      this.key = key;
+    }
+
+    void complete(List<Product> products) {
+      completedAt = System.nanoTime();
+      completed = true;
+      if (lingerNanos > 0) {
+        lingeringFlights.add(this);
+      } else {
+        flights.remove(key, this);
+      }
+      result.complete(products);
+    }
+
+    void completeExceptionally(Throwable failure) {
+      result.completeExceptionally(failure);
+    }
+
+    boolean isExpired() {
+      return completed && System.nanoTime() - completedAt >= lingerNanos;
+    }
+
+    List<Product> join() {
+      try {
+        return result.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        if (e.getCause() instanceof Error error) {
+          throw error;
+        }
+        throw e;
+      }
+    }
+  }
+
+  private enum SearchKind {
+    SUBSTRING,
+    FUZZY,
+    TERMS
+  }
+
+  private record SearchKey(
+      String query, ProductFilter filter, ProductSortOrder sortOrder, SearchKind kind) {
+
+    static SearchKey of(
+        String query, ProductFilter filter, ProductSortOrder sortOrder, SearchKind kind) {
+      Objects.requireNonNull(query, "'query' must not be null");
+      String normalizedQuery = kind == SearchKind.TERMS ? query : query.toLowerCase(Locale.ROOT);
+      return new SearchKey(normalizedQuery, filter, sortOrder, kind);
+    }
+  }
+}
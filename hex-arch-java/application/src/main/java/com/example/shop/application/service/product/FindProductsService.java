@@ -3,6 +3,9 @@ package com.example.shop.application.service.product;
 import com.example.shop.application.port.in.product.FindProductsUseCase;
 import com.example.shop.application.port.out.persistence.ProductRepository;
 import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductQuery;
+import com.example.shop.model.product.ProductSortOrder;
 import java.util.List;
 import java.util.Objects;
 
@@ -13,6 +16,9 @@ import java.util.Objects;
  */
 public class FindProductsService implements FindProductsUseCase {
 
+  // Clients show only the first results, so there's no point in loading (and ranking) more
+  public static final int MAX_RESULTS = 20;
+
   private final ProductRepository productRepository;
 
   public FindProductsService(ProductRepository productRepository) {
@@ -20,12 +26,35 @@ public class FindProductsService implements FindProductsUseCase {
   }
 
   @Override
-  public List<Product> findByNameOrDescription(String query) {
+  public List<Product> findByNameOrDescription(
+      String query, ProductFilter filter, ProductSortOrder sortOrder) {
+    validate(query, filter, sortOrder);
+
+    return productRepository.findByNameOrDescription(query, filter, sortOrder, MAX_RESULTS);
+  }
+
+  @Override
+  public List<Product> findByNameOrDescriptionFuzzy(
+      String query, ProductFilter filter, ProductSortOrder sortOrder) {
+    validate(query, filter, sortOrder);
+
+    return productRepository.findByNameOrDescriptionFuzzy(query, filter, sortOrder, MAX_RESULTS);
+  }
+
+  @Override
+  public List<Product> findByTerms(String query, ProductFilter filter, ProductSortOrder sortOrder) {
+    validate(query, filter, sortOrder);
+    ProductQuery productQuery = ProductQuery.parse(query);
+
+    return productRepository.findByTerms(productQuery, filter, sortOrder, MAX_RESULTS);
+  }
+
+  private static void validate(String query, ProductFilter filter, ProductSortOrder sortOrder) {
     Objects.requireNonNull(query, "'query' must not be null");
+    Objects.requireNonNull(filter, "'filter' must not be null");
+    Objects.requireNonNull(sortOrder, "'sortOrder' must not be null");
     if (query.length() < 2) {
       throw new IllegalArgumentException("'query' must be at least two characters long");
     }
-
-    return productRepository.findByNameOrDescription(query);
   }
 }
@@ -0,0 +1,117 @@
+package com.example.shop.application.timing;
+
+/**
+ * Measures how the time spent on one request splits between the layers of the application: the
+ * controller, the service (use case), the repository, and the serialization of the response.
+ *
+ * <p>The timing of the current request is bound to the handling thread, so that decorators of the
+ * ports can attribute time to their layer (see {@link #enter(Layer)}) without the ports having to
+ * pass it along. Time is attributed to the innermost layer only: while the service calls the
+ * repository, the time counts as repository time, so the layers add up to the total.
+ *
+ * <p>Use cases that run on another thread than the one handling the request aren't attributed;
+ * their time counts as the time of the layer that waited for them. An instance isn't thread-safe,
+ * but may be handed from one thread to another, e.g. when an asynchronous request is resumed.
+ *
+ * @author Paul Anthony Begley
+ */
+public final class RequestTiming {
+
+  /** The layers of the application, from the outermost to the innermost. */
+  public enum Layer {
+    CONTROLLER,
+    SERVICE,
+    REPOSITORY,
+    SERIALIZATION
+  }
+
+  private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+  private final long startNanos;
+  private final long[] layerNanos = new long[Layer.values().length];
+
+  private Layer currentLayer;
+  private long layerStartNanos;
+  private long totalNanos = -1;
+
+  private RequestTiming(long startNanos) {
+    this.startNanos = startNanos;
+    this.currentLayer = Layer.CONTROLLER;
+    this.layerStartNanos = startNanos;
+  }
+
+  /**
+   * Starts timing a request in the controller layer and binds the timing to the current thread,
+   * replacing any timing left behind by a previous request.
+   */
+  public static RequestTiming start() {
+    RequestTiming timing = new RequestTiming(System.nanoTime());
+    CURRENT.set(timing);
+    return timing;
+  }
+
+  /**
+   * Attributes the following time of the current thread's request to the given layer. To be called
+   * by a decorator before delegating, with a call of {@link #exit(Layer)} in a {@code finally}
+   * block.
+   *
+   * @return the layer that was active before, to be passed to {@link #exit(Layer)}; {@code null} if
+   *     the current thread isn't handling a timed request
+   */
+  public static Layer enter(Layer layer) {
+    RequestTiming timing = CURRENT.get();
+    return timing != null ? timing.switchTo(layer) : null;
+  }
+
+  /** Attributes the following time of the current thread's request to the given layer again. */
+  public static void exit(Layer previousLayer) {
+    RequestTiming timing = CURRENT.get();
+    if (timing != null) {
+      timing.switchTo(previousLayer);
+    }
+  }
+
+  /** Unbinds this timing from the current thread, if it's bound to it. */
+  public void unbind() {
+    if (CURRENT.get() == this) {
+      CURRENT.remove();
+    }
+  }
+
+  /**
+   * Attributes the following time to the given layer, or to none if {@code null}.
+   *
+   * @return the layer that was active before
+   */
+  public Layer switchTo(Layer layer) {
+    long now = System.nanoTime();
+    Layer previousLayer = currentLayer;
+    if (previousLayer != null) {
+      layerNanos[previousLayer.ordinal()] += now - layerStartNanos;
+    }
+    currentLayer = layer;
+    layerStartNanos = now;
+    return previousLayer;
+  }
+
+  /** Stops timing the request; the times don't change any more afterwards. */
+  public void finish() {
+    if (totalNanos < 0) {
+      switchTo(null);
+      totalNanos = layerStartNanos - startNanos;
+    }
+  }
+
+  /** Returns the time attributed to the given layer so far, in nanoseconds. */
+  public long nanos(Layer layer) {
+    return layerNanos[layer.ordinal()];
+  }
+
+  /** Returns the time from the start to the finish of the request, in nanoseconds. */
+  public long totalNanos() {
+    if (totalNanos < 0) {
+      throw new IllegalStateException("The request timing isn't finished");
+    }
+    return totalNanos;
+  }
+}
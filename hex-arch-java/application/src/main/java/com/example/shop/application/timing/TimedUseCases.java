@@ -0,0 +1,84 @@
+package com.example.shop.application.timing;
+
+import static com.example.shop.application.timing.RequestTiming.Layer.SERVICE;
+
+import com.example.shop.application.port.in.product.AutocompleteUseCase;
+import com.example.shop.application.port.in.product.FindProductsUseCase;
+import com.example.shop.application.timing.RequestTiming.Layer;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductSortOrder;
+import java.util.List;
+
+/**
+ * Decorators that attribute the time spent in a use case to the {@link Layer#SERVICE service layer}
+ * of the current {@link RequestTiming}.
+ *
+ * <p>Only the use cases that run on the thread handling the request are decorated; the cart use
+ * cases run on a separate executor, where there's no request timing to attribute to.
+ *
+ * @author Paul Anthony Begley
+ */
+public final class TimedUseCases {
+
+  private TimedUseCases() {}
+
+  public static FindProductsUseCase findProducts(FindProductsUseCase useCase) {
+    return new TimedFindProductsUseCase(useCase);
+  }
+
+  public static AutocompleteUseCase autocomplete(AutocompleteUseCase useCase) {
+    return new TimedAutocompleteUseCase(useCase);
+  }
+
+  private record TimedFindProductsUseCase(FindProductsUseCase useCase)
+      implements FindProductsUseCase {
+
+    @Override
+    public List<Product> findByNameOrDescription(
+        String query, ProductFilter filter, ProductSortOrder sortOrder) {
+      Layer previousLayer = RequestTiming.enter(SERVICE);
+      try {
+        return useCase.findByNameOrDescription(query, filter, sortOrder);
+      } finally {
+        RequestTiming.exit(previousLayer);
+      }
+    }
+
+    @Override
+    public List<Product> findByNameOrDescriptionFuzzy(
+        String query, ProductFilter filter, ProductSortOrder sortOrder) {
+      Layer previousLayer = RequestTiming.enter(SERVICE);
+      try {
+        return useCase.findByNameOrDescriptionFuzzy(query, filter, sortOrder);
+      } finally {
+        RequestTiming.exit(previousLayer);
+      }
+    }
+
+    @Override
+    public List<Product> findByTerms(
+        String query, ProductFilter filter, ProductSortOrder sortOrder) {
+      Layer previousLayer = RequestTiming.enter(SERVICE);
+      try {
+        return useCase.findByTerms(query, filter, sortOrder);
+      } finally {
+        RequestTiming.exit(previousLayer);
+      }
+    }
+  }
+
+  private record TimedAutocompleteUseCase(AutocompleteUseCase useCase)
+      implements AutocompleteUseCase {
+
+    @Override
+    public List<String> autocomplete(String input) {
+      Layer previousLayer = RequestTiming.enter(SERVICE);
+      try {
+        return useCase.autocomplete(input);
+      } finally {
+        RequestTiming.exit(previousLayer);
+      }
+    }
+  }
+}
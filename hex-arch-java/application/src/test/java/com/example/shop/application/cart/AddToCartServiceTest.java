@@ -8,10 +8,14 @@ import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.example.shop.application.port.in.cart.AddToCartResult;
 import com.example.shop.application.port.in.cart.ProductNotFoundException;
+import com.example.shop.application.port.out.persistence.AsyncCartRepository;
+import com.example.shop.application.port.out.persistence.AsyncProductRepository;
 import com.example.shop.application.port.out.persistence.CartRepository;
 import com.example.shop.application.port.out.persistence.ProductRepository;
 import com.example.shop.application.service.cart.AddToCartService;
@@ -21,6 +25,7 @@ import com.example.shop.model.customer.CustomerId;
 import com.example.shop.model.product.Product;
 import com.example.shop.model.product.ProductId;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -94,4 +99,74 @@ class AddToCartServiceTest {
     assertThatIllegalArgumentException().isThrownBy(invocation);
     verify(cartRepository, never()).save(any());
   }
+
+  @Test
+  void givenExistingCart_tryAddToCart_cartWithAddedProductIsSavedAndReturned() {
+    Cart persistedCart = new Cart(TEST_CUSTOMER_ID);
+    when(cartRepository.findByCustomerId(TEST_CUSTOMER_ID)).thenReturn(Optional.of(persistedCart));
+
+    AddToCartResult result =
+        addToCartService.tryAddToCart(TEST_CUSTOMER_ID, TEST_PRODUCT_1.id(), 3);
+
+    assertThat(result).isEqualTo(new AddToCartResult.Added(persistedCart));
+    verify(cartRepository).save(persistedCart);
+    assertThat(persistedCart.lineItems().get(0).quantity()).isEqualTo(3);
+  }
+
+  @Test
+  void givenAnUnknownProductId_tryAddToCart_returnsProductNotFound() {
+    ProductId productId = ProductId.randomProductId();
+
+    AddToCartResult result = addToCartService.tryAddToCart(TEST_CUSTOMER_ID, productId, 1);
+
+    assertThat(result).isEqualTo(new AddToCartResult.ProductNotFound());
+    verify(cartRepository, never()).save(any());
+  }
+
+  @Test
+  void givenMoreItemsThanInStock_tryAddToCart_returnsNotEnoughItemsInStock() {
+    Product product = createTestProduct(euros(4, 99), 3);
+    when(productRepository.findById(product.id())).thenReturn(Optional.of(product));
+
+    AddToCartResult result = addToCartService.tryAddToCart(TEST_CUSTOMER_ID, product.id(), 4);
+
+    assertThat(result).isEqualTo(new AddToCartResult.NotEnoughItemsInStock(3));
+    verify(cartRepository, never()).save(any());
+  }
+
+  @Test
+  void givenAsyncRepositories_addToCart_loadsProductAndCartConcurrently() {
+    AsyncCartRepository asyncCartRepository = mock(AsyncCartRepository.class);
+    AsyncProductRepository asyncProductRepository = mock(AsyncProductRepository.class);
+    AddToCartService asyncAddToCartService =
+        new AddToCartService(asyncCartRepository, asyncProductRepository);
+
+    CompletableFuture<Optional<Product>> productFuture = new CompletableFuture<>();
+    CompletableFuture<Optional<Cart>> cartFuture = new CompletableFuture<>();
+    when(asyncProductRepository.findById(TEST_PRODUCT_1.id())).thenReturn(productFuture);
+    when(asyncCartRepository.findByCustomerId(TEST_CUSTOMER_ID)).thenReturn(cartFuture);
+    when(asyncCartRepository.save(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+    CompletableFuture<Cart> result =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return asyncAddToCartService.addToCart(TEST_CUSTOMER_ID, TEST_PRODUCT_1.id(), 2);
+              } catch (ProductNotFoundException | NotEnoughItemsInStockException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+
+    // Both lookups are issued while neither of them has completed yet
+    verify(asyncProductRepository, timeout(1_000)).findById(TEST_PRODUCT_1.id());
+    verify(asyncCartRepository, timeout(1_000)).findByCustomerId(TEST_CUSTOMER_ID);
+
+    cartFuture.complete(Optional.empty());
+    productFuture.complete(Optional.of(TEST_PRODUCT_1));
+
+    Cart cart = result.join();
+    verify(asyncCartRepository).save(cart);
+    assertThat(cart.lineItems()).hasSize(1);
+    assertThat(cart.lineItems().get(0).quantity()).isEqualTo(2);
+  }
 }
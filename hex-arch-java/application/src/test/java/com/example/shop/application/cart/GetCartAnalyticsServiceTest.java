@@ -0,0 +1,47 @@
+package com.example.shop.application.cart;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.shop.application.port.out.persistence.CartAnalyticsIndex;
+import com.example.shop.application.service.cart.GetCartAnalyticsService;
+import com.example.shop.model.cart.CartAnalytics;
+import com.example.shop.model.money.ExchangeRates;
+import com.example.shop.model.money.Money;
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.Test;
+
+class GetCartAnalyticsServiceTest {
+
+  private static final Currency EUR = Currency.getInstance("EUR");
+  private static final ExchangeRates EXCHANGE_RATES =
+      ExchangeRates.of(EUR, Map.of(Currency.getInstance("USD"), new BigDecimal("1.08")));
+
+  private final CartAnalyticsIndex cartAnalyticsIndex = mock(CartAnalyticsIndex.class);
+  private final GetCartAnalyticsService getCartAnalyticsService =
+      new GetCartAnalyticsService(cartAnalyticsIndex, () -> EXCHANGE_RATES);
+
+  @Test
+  void givenACurrency_getCartAnalytics_aggregatesAtTheCurrentExchangeRates() {
+    CartAnalytics analytics =
+        new CartAnalytics(1, 2, new Money(EUR, new BigDecimal("9.98")), List.of());
+    when(cartAnalyticsIndex.aggregate(EUR, EXCHANGE_RATES, 10)).thenReturn(analytics);
+
+    assertThat(getCartAnalyticsService.getCartAnalytics(EUR, 10)).isSameAs(analytics);
+  }
+
+  @Test
+  void givenANegativeNumberOfTopProducts_getCartAnalytics_throwsAnIllegalArgumentException() {
+    ThrowingCallable invocation = () -> getCartAnalyticsService.getCartAnalytics(EUR, -1);
+
+    assertThatIllegalArgumentException().isThrownBy(invocation);
+    verifyNoInteractions(cartAnalyticsIndex);
+  }
+}
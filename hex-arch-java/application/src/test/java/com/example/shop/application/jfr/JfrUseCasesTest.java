@@ -0,0 +1,129 @@
+package com.example.shop.application.jfr;
+
+import static com.example.shop.model.money.TestMoneyFactory.euros;
+import static com.example.shop.model.product.TestProductFactory.createTestProduct;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.shop.application.port.in.cart.AddToCartResult;
+import com.example.shop.application.port.in.cart.AddToCartUseCase;
+import com.example.shop.application.port.in.cart.GetCartUseCase;
+import com.example.shop.application.port.in.product.FindProductsUseCase;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductSortOrder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JfrUseCasesTest {
+
+  private static final CustomerId TEST_CUSTOMER_ID = new CustomerId(61157);
+  private static final Product TEST_PRODUCT = createTestProduct(euros(19, 99));
+
+  private final Recording recording = new Recording();
+
+  @BeforeEach
+  void startRecording() {
+    recording.enable(UseCaseEvent.NAME).withThreshold(Duration.ZERO);
+    recording.start();
+  }
+
+  @AfterEach
+  void closeRecording() {
+    recording.close();
+  }
+
+  @Test
+  void givenARecording_getCart_emitsAnEventWithTheCustomerAndTheNumberOfLineItems()
+      throws IOException {
+    GetCartUseCase getCartUseCase = mock(GetCartUseCase.class);
+    Cart cart = new Cart(TEST_CUSTOMER_ID);
+    cart.tryAddProduct(TEST_PRODUCT, 2);
+    when(getCartUseCase.getCart(TEST_CUSTOMER_ID)).thenReturn(cart);
+
+    JfrUseCases.getCart(getCartUseCase).getCart(TEST_CUSTOMER_ID);
+
+    RecordedEvent event = recordedEvents().get(0);
+    assertThat(event.getString("useCase")).isEqualTo("GetCart");
+    assertThat(event.getInt("customerId")).isEqualTo(TEST_CUSTOMER_ID.value());
+    assertThat(event.getInt("resultSize")).isEqualTo(1);
+    assertThat(event.getString("outcome")).isEqualTo("Succeeded");
+  }
+
+  @Test
+  void givenARecording_tryAddToCart_emitsAnEventWithTheKindOfResult() throws IOException {
+    AddToCartUseCase addToCartUseCase = mock(AddToCartUseCase.class);
+    when(addToCartUseCase.tryAddToCart(TEST_CUSTOMER_ID, TEST_PRODUCT.id(), 5))
+        .thenReturn(new AddToCartResult.NotEnoughItemsInStock(3));
+
+    JfrUseCases.addToCart(addToCartUseCase).tryAddToCart(TEST_CUSTOMER_ID, TEST_PRODUCT.id(), 5);
+
+    RecordedEvent event = recordedEvents().get(0);
+    assertThat(event.getString("useCase")).isEqualTo("AddToCart");
+    assertThat(event.getString("productId")).isEqualTo(TEST_PRODUCT.id().value());
+    assertThat(event.getString("outcome")).isEqualTo("NotEnoughItemsInStock");
+  }
+
+  @Test
+  void givenAFailingUseCase_findByNameOrDescription_emitsAnEventWithTheExceptionAndRethrows()
+      throws IOException {
+    FindProductsUseCase findProductsUseCase = mock(FindProductsUseCase.class);
+    when(findProductsUseCase.findByNameOrDescription(
+            "monitor", ProductFilter.NONE, ProductSortOrder.RELEVANCE))
+        .thenThrow(new IllegalStateException("Index unavailable"));
+
+    ThrowingCallable invocation =
+        () -> JfrUseCases.findProducts(findProductsUseCase).findByNameOrDescription("monitor");
+
+    assertThatIllegalStateException().isThrownBy(invocation);
+    RecordedEvent event = recordedEvents().get(0);
+    assertThat(event.getString("useCase")).isEqualTo("FindProducts");
+    assertThat(event.getString("query")).isEqualTo("monitor");
+    assertThat(event.getString("outcome")).isEqualTo("IllegalStateException");
+  }
+
+  @Test
+  void givenNoRecording_findByNameOrDescription_emitsNoEvent() throws IOException {
+    recording.stop();
+    FindProductsUseCase findProductsUseCase = mock(FindProductsUseCase.class);
+    when(findProductsUseCase.findByNameOrDescription(
+            "monitor", ProductFilter.NONE, ProductSortOrder.RELEVANCE))
+        .thenReturn(List.of(TEST_PRODUCT));
+
+    List<Product> products =
+        JfrUseCases.findProducts(findProductsUseCase).findByNameOrDescription("monitor");
+
+    assertThat(products).containsExactly(TEST_PRODUCT);
+    assertThat(recordedEvents()).isEmpty();
+  }
+
+  private List<RecordedEvent> recordedEvents() throws IOException {
+    if (recording.getState() == RecordingState.RUNNING) {
+      recording.stop();
+    }
+    Path file = Files.createTempFile("use-cases", ".jfr");
+    try {
+      recording.dump(file);
+      return RecordingFile.readAllEvents(file).stream()
+          .filter(event -> event.getEventType().getName().equals(UseCaseEvent.NAME))
+          .toList();
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
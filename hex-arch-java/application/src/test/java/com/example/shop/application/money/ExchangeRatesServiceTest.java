@@ -0,0 +1,29 @@
+package com.example.shop.application.money;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.shop.application.service.money.ExchangeRatesService;
+import com.example.shop.model.money.ExchangeRates;
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ExchangeRatesServiceTest {
+
+  private static final Currency EUR = Currency.getInstance("EUR");
+  private static final Currency USD = Currency.getInstance("USD");
+
+  @Test
+  void givenUpdatedExchangeRates_getExchangeRates_returnsTheNewTable() {
+    ExchangeRates oldRates = ExchangeRates.of(EUR, Map.of(USD, new BigDecimal("1.08")));
+    ExchangeRates newRates = ExchangeRates.of(EUR, Map.of(USD, new BigDecimal("1.09")));
+    ExchangeRatesService exchangeRatesService = new ExchangeRatesService(oldRates);
+    ExchangeRates ratesInUse = exchangeRatesService.getExchangeRates();
+
+    exchangeRatesService.updateExchangeRates(newRates);
+
+    assertThat(exchangeRatesService.getExchangeRates()).isSameAs(newRates);
+    assertThat(ratesInUse).isSameAs(oldRates);
+  }
+}
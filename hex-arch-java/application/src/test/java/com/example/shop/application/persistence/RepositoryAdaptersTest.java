@@ -0,0 +1,90 @@
+package com.example.shop.application.persistence;
+
+import static com.example.shop.model.money.TestMoneyFactory.euros;
+import static com.example.shop.model.product.TestProductFactory.createTestProduct;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.shop.application.port.out.persistence.AsyncCartRepository;
+import com.example.shop.application.port.out.persistence.CartRepository;
+import com.example.shop.application.port.out.persistence.ProductRepository;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.product.Product;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RepositoryAdaptersTest {
+
+  private static final CustomerId TEST_CUSTOMER_ID = new CustomerId(61157);
+  private static final Product TEST_PRODUCT = createTestProduct(euros(19, 99));
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  @AfterEach
+  void shutdownExecutor() {
+    executor.shutdown();
+  }
+
+  @Test
+  void givenABlockingProductRepository_findByIdViaAsyncAdapter_runsOnTheExecutor() {
+    ProductRepository productRepository = mock(ProductRepository.class);
+    AtomicReference<Thread> callingThread = new AtomicReference<>();
+    when(productRepository.findById(TEST_PRODUCT.id()))
+        .then(
+            invocation -> {
+              callingThread.set(Thread.currentThread());
+              return Optional.of(TEST_PRODUCT);
+            });
+
+    ProductRepositoryAsyncAdapter adapter =
+        new ProductRepositoryAsyncAdapter(productRepository, executor);
+
+    assertThat(adapter.findById(TEST_PRODUCT.id()).join()).contains(TEST_PRODUCT);
+    assertThat(callingThread.get()).isNotSameAs(Thread.currentThread());
+  }
+
+  @Test
+  void givenABlockingCartRepository_saveViaAsyncAdapter_savesTheCart() {
+    CartRepository cartRepository = mock(CartRepository.class);
+    Cart cart = new Cart(TEST_CUSTOMER_ID);
+
+    new CartRepositoryAsyncAdapter(cartRepository, executor).save(cart).join();
+
+    verify(cartRepository).save(cart);
+  }
+
+  @Test
+  void givenAnAsyncProductRepository_findByIdViaBlockingAdapter_returnsTheResult() {
+    ProductRepository productRepository = mock(ProductRepository.class);
+    when(productRepository.findById(TEST_PRODUCT.id())).thenReturn(Optional.of(TEST_PRODUCT));
+
+    BlockingProductRepositoryAdapter adapter =
+        new BlockingProductRepositoryAdapter(
+            new ProductRepositoryAsyncAdapter(productRepository, executor));
+
+    assertThat(adapter.findById(TEST_PRODUCT.id())).contains(TEST_PRODUCT);
+  }
+
+  @Test
+  void givenAFailingAsyncCartRepository_findByCustomerIdViaBlockingAdapter_rethrowsTheCause() {
+    AsyncCartRepository asyncCartRepository = mock(AsyncCartRepository.class);
+    when(asyncCartRepository.findByCustomerId(TEST_CUSTOMER_ID))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("store is down")));
+
+    BlockingCartRepositoryAdapter adapter = new BlockingCartRepositoryAdapter(asyncCartRepository);
+
+    ThrowingCallable invocation = () -> adapter.findByCustomerId(TEST_CUSTOMER_ID);
+
+    assertThatIllegalStateException().isThrownBy(invocation).withMessage("store is down");
+  }
+}
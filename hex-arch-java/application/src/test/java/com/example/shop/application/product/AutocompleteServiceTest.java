@@ -0,0 +1,56 @@
+package com.example.shop.application.product;
+
+import static com.example.shop.application.service.product.AutocompleteService.MAX_SUGGESTIONS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.shop.application.port.out.persistence.AutocompleteIndex;
+import com.example.shop.application.service.product.AutocompleteService;
+import java.util.List;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class AutocompleteServiceTest {
+
+  private final AutocompleteIndex autocompleteIndex = mock(AutocompleteIndex.class);
+  private final AutocompleteService autocompleteService =
+      new AutocompleteService(autocompleteIndex);
+
+  @Test
+  void givenASingleWord_autocomplete_returnsTheCompletionsOfTheLowerCasedWord() {
+    when(autocompleteIndex.findCompletions("mo", MAX_SUGGESTIONS))
+        .thenReturn(List.of("monitor", "mount"));
+
+    assertThat(autocompleteService.autocomplete("Mo")).containsExactly("monitor", "mount");
+  }
+
+  @Test
+  void givenSeveralWords_autocomplete_completesTheLastWordAndKeepsThePrecedingOnes() {
+    when(autocompleteIndex.findCompletions("mo", MAX_SUGGESTIONS))
+        .thenReturn(List.of("monitor", "mount"));
+
+    assertThat(autocompleteService.autocomplete("curved mo"))
+        .containsExactly("curved monitor", "curved mount");
+  }
+
+  @Test
+  void givenWordsSeparatedByOtherCharacters_autocomplete_completesTheLastWordAsTheIndexSplitsIt() {
+    when(autocompleteIndex.findCompletions("f", MAX_SUGGESTIONS)).thenReturn(List.of("fi"));
+    when(autocompleteIndex.findCompletions("mo", MAX_SUGGESTIONS)).thenReturn(List.of("monitor"));
+
+    assertThat(autocompleteService.autocomplete("Wi-F")).containsExactly("wi-fi");
+    assertThat(autocompleteService.autocomplete("curved\tmo")).containsExactly("curved\tmonitor");
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", " ", "curved ", "usb-"})
+  void givenAnInputNotEndingWithAWord_autocomplete_throwsAnException(String input) {
+    ThrowingCallable invocation = () -> autocompleteService.autocomplete(input);
+
+    assertThatIllegalArgumentException().isThrownBy(invocation);
+  }
+}
@@ -0,0 +1,149 @@
+package com.example.shop.application.product;
+
+import static com.example.shop.model.money.TestMoneyFactory.euros;
+import static com.example.shop.model.product.ProductFilter.NONE;
+import static com.example.shop.model.product.ProductSortOrder.RELEVANCE;
+import static com.example.shop.model.product.TestProductFactory.createTestProduct;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.shop.application.port.in.product.FindProductsUseCase;
+import com.example.shop.application.port.in.product.SearchCoalescing;
+import com.example.shop.application.service.product.CoalescingFindProductsService;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductSortOrder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.Test;
+
+class CoalescingFindProductsServiceTest {
+
+  private static final Product TEST_PRODUCT = createTestProduct(euros(19, 99));
+
+  private final FindProductsUseCase findProductsUseCase = mock(FindProductsUseCase.class);
+
+  @Test
+  void givenConcurrentIdenticalSearches_findByNameOrDescription_runsTheSearchOnce()
+      throws Exception {
+    CoalescingFindProductsService service = new CoalescingFindProductsService(findProductsUseCase);
+    CountDownLatch release = new CountDownLatch(1);
+    when(findProductsUseCase.findByNameOrDescription("monitor", NONE, RELEVANCE))
+        .thenAnswer(
+            invocation -> {
+              release.await();
+              return List.of(TEST_PRODUCT);
+            });
+
+    List<Future<List<Product>>> results = new ArrayList<>();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < 10; i++) {
+        String query = i % 2 == 0 ? "monitor" : "Monitor";
+        results.add(executor.submit(() -> service.findByNameOrDescription(query, NONE, RELEVANCE)));
+      }
+      awaitSearches(service, 10);
+      release.countDown();
+    }
+
+    for (Future<List<Product>> result : results) {
+      assertThat(result.get()).containsExactly(TEST_PRODUCT);
+    }
+    verify(findProductsUseCase, times(1)).findByNameOrDescription(anyString(), any(), any());
+    assertThat(service.executions()).isEqualTo(1);
+    assertThat(service.coalescingRatio()).isEqualTo(0.9);
+    assertThat(service.getSearchCoalescing()).isEqualTo(new SearchCoalescing(10, 1, 0.9));
+  }
+
+  @Test
+  void givenDifferentFiltersOrFuzziness_findByNameOrDescription_runsEachSearch() {
+    CoalescingFindProductsService service =
+        new CoalescingFindProductsService(findProductsUseCase, Duration.ofHours(1));
+    ProductFilter inStock = new ProductFilter(null, null, true);
+
+    service.findByNameOrDescription("monitor", NONE, RELEVANCE);
+    service.findByNameOrDescription("monitor", inStock, RELEVANCE);
+    service.findByNameOrDescription("monitor", NONE, ProductSortOrder.PRICE_ASCENDING);
+    service.findByNameOrDescriptionFuzzy("monitor", NONE, RELEVANCE);
+
+    assertThat(service.searches()).isEqualTo(4);
+    assertThat(service.executions()).isEqualTo(4);
+  }
+
+  @Test
+  void givenNoLinger_findByNameOrDescription_runsConsecutiveIdenticalSearchesAgain() {
+    CoalescingFindProductsService service = new CoalescingFindProductsService(findProductsUseCase);
+
+    service.findByNameOrDescription("monitor");
+    service.findByNameOrDescription("monitor");
+
+    verify(findProductsUseCase, times(2)).findByNameOrDescription("monitor", NONE, RELEVANCE);
+  }
+
+  @Test
+  void givenALinger_findByNameOrDescription_sharesTheResultUntilItExpires()
+      throws InterruptedException {
+    CoalescingFindProductsService service =
+        new CoalescingFindProductsService(findProductsUseCase, Duration.ofMillis(200));
+    when(findProductsUseCase.findByNameOrDescription("monitor", NONE, RELEVANCE))
+        .thenReturn(List.of(TEST_PRODUCT));
+
+    service.findByNameOrDescription("monitor");
+    assertThat(service.findByNameOrDescription("monitor")).containsExactly(TEST_PRODUCT);
+    verify(findProductsUseCase, times(1)).findByNameOrDescription("monitor", NONE, RELEVANCE);
+
+    TimeUnit.MILLISECONDS.sleep(250);
+    service.findByNameOrDescription("monitor");
+    verify(findProductsUseCase, times(2)).findByNameOrDescription("monitor", NONE, RELEVANCE);
+  }
+
+  @Test
+  void givenASharedResult_changingAProductFound_doesNotChangeTheResultOfTheOtherSearches() {
+    CoalescingFindProductsService service =
+        new CoalescingFindProductsService(findProductsUseCase, Duration.ofHours(1));
+    when(findProductsUseCase.findByNameOrDescription("monitor", NONE, RELEVANCE))
+        .thenReturn(List.of(createTestProduct(euros(19, 99))));
+
+    List<Product> firstResult = service.findByNameOrDescription("monitor");
+    List<Product> secondResult = service.findByNameOrDescription("monitor");
+    firstResult.get(0).price(euros(9, 99));
+
+    assertThat(secondResult.get(0).price()).isEqualTo(euros(19, 99));
+    assertThat(service.findByNameOrDescription("monitor").get(0).price()).isEqualTo(euros(19, 99));
+    verify(findProductsUseCase, times(1)).findByNameOrDescription("monitor", NONE, RELEVANCE);
+  }
+
+  @Test
+  void givenAFailingSearch_findByNameOrDescription_throwsTheExceptionAndDoesNotShareIt() {
+    CoalescingFindProductsService service =
+        new CoalescingFindProductsService(findProductsUseCase, Duration.ofHours(1));
+    when(findProductsUseCase.findByNameOrDescription("monitor", NONE, RELEVANCE))
+        .thenThrow(new IllegalStateException("Repository unavailable"))
+        .thenReturn(List.of(TEST_PRODUCT));
+
+    ThrowingCallable invocation = () -> service.findByNameOrDescription("monitor");
+
+    assertThatIllegalStateException().isThrownBy(invocation);
+    assertThat(service.findByNameOrDescription("monitor")).containsExactly(TEST_PRODUCT);
+  }
+
+  private static void awaitSearches(CoalescingFindProductsService service, int searches)
+      throws InterruptedException {
+    while (service.searches() < searches) {
+      TimeUnit.MILLISECONDS.sleep(1);
+    }
+    TimeUnit.MILLISECONDS.sleep(50); // lets the last searches find the running one
+  }
+}
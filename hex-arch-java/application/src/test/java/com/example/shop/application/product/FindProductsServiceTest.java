@@ -1,6 +1,10 @@
 package com.example.shop.application.product;
 
+import static com.example.shop.application.service.product.FindProductsService.MAX_RESULTS;
 import static com.example.shop.model.money.TestMoneyFactory.euros;
+import static com.example.shop.model.product.ProductFilter.NONE;
+import static com.example.shop.model.product.ProductSortOrder.PRICE_ASCENDING;
+import static com.example.shop.model.product.ProductSortOrder.RELEVANCE;
 import static com.example.shop.model.product.TestProductFactory.createTestProduct;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
@@ -10,6 +14,8 @@ import static org.mockito.Mockito.when;
 import com.example.shop.application.port.out.persistence.ProductRepository;
 import com.example.shop.application.service.product.FindProductsService;
 import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductQuery;
 import java.util.List;
 import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
 import org.junit.jupiter.api.Test;
@@ -25,11 +31,14 @@ class FindProductsServiceTest {
 
   @Test
   void givenASearchQuery_findByNameOrDescription_returnsTheProductsReturnedByThePersistencePort() {
-    when(productRepository.findByNameOrDescription("one")).thenReturn(List.of(TEST_PRODUCT_1));
-    when(productRepository.findByNameOrDescription("two")).thenReturn(List.of(TEST_PRODUCT_2));
-    when(productRepository.findByNameOrDescription("one-two"))
+    when(productRepository.findByNameOrDescription("one", NONE, RELEVANCE, MAX_RESULTS))
+        .thenReturn(List.of(TEST_PRODUCT_1));
+    when(productRepository.findByNameOrDescription("two", NONE, RELEVANCE, MAX_RESULTS))
+        .thenReturn(List.of(TEST_PRODUCT_2));
+    when(productRepository.findByNameOrDescription("one-two", NONE, RELEVANCE, MAX_RESULTS))
         .thenReturn(List.of(TEST_PRODUCT_1, TEST_PRODUCT_2));
-    when(productRepository.findByNameOrDescription("empty")).thenReturn(List.of());
+    when(productRepository.findByNameOrDescription("empty", NONE, RELEVANCE, MAX_RESULTS))
+        .thenReturn(List.of());
 
     assertThat(findProductsService.findByNameOrDescription("one")).containsExactly(TEST_PRODUCT_1);
     assertThat(findProductsService.findByNameOrDescription("two")).containsExactly(TEST_PRODUCT_2);
@@ -38,6 +47,53 @@ class FindProductsServiceTest {
     assertThat(findProductsService.findByNameOrDescription("empty")).isEmpty();
   }
 
+  @Test
+  void givenAFilterAndASortOrder_findByNameOrDescription_passesThemToThePersistencePort() {
+    ProductFilter filter = new ProductFilter(euros(10, 0), euros(30, 0), true);
+    when(productRepository.findByNameOrDescription("one", filter, PRICE_ASCENDING, MAX_RESULTS))
+        .thenReturn(List.of(TEST_PRODUCT_1, TEST_PRODUCT_2));
+
+    assertThat(findProductsService.findByNameOrDescription("one", filter, PRICE_ASCENDING))
+        .containsExactly(TEST_PRODUCT_1, TEST_PRODUCT_2);
+  }
+
+  @Test
+  void givenASearchQuery_findByNameOrDescriptionFuzzy_returnsTheProductsReturnedByThePort() {
+    when(productRepository.findByNameOrDescriptionFuzzy("moniter", NONE, RELEVANCE, MAX_RESULTS))
+        .thenReturn(List.of(TEST_PRODUCT_1));
+
+    assertThat(findProductsService.findByNameOrDescriptionFuzzy("moniter"))
+        .containsExactly(TEST_PRODUCT_1);
+  }
+
+  @Test
+  void givenATooShortSearchQuery_findByNameOrDescriptionFuzzy_throwsAnException() {
+    String searchQuery = "x";
+
+    ThrowingCallable invocation =
+        () -> findProductsService.findByNameOrDescriptionFuzzy(searchQuery);
+
+    assertThatIllegalArgumentException().isThrownBy(invocation);
+  }
+
+  @Test
+  void givenABooleanQuery_findByTerms_passesTheParsedQueryToThePersistencePort() {
+    ProductQuery query = ProductQuery.parse("monitor OR name:desk");
+    when(productRepository.findByTerms(query, NONE, RELEVANCE, MAX_RESULTS))
+        .thenReturn(List.of(TEST_PRODUCT_1));
+
+    assertThat(findProductsService.findByTerms("monitor OR name:desk", NONE, RELEVANCE))
+        .containsExactly(TEST_PRODUCT_1);
+  }
+
+  @Test
+  void givenAQueryWithADanglingOr_findByTerms_throwsAnException() {
+    ThrowingCallable invocation =
+        () -> findProductsService.findByTerms("monitor OR", NONE, RELEVANCE);
+
+    assertThatIllegalArgumentException().isThrownBy(invocation);
+  }
+
   @Test
   void givenATooShortSearchQuery_findByNameOrDescription_throwsAnException() {
     String searchQuery = "x";
@@ -0,0 +1,87 @@
+package com.example.shop.application.timing;
+
+import static com.example.shop.application.timing.RequestTiming.Layer.CONTROLLER;
+import static com.example.shop.application.timing.RequestTiming.Layer.REPOSITORY;
+import static com.example.shop.application.timing.RequestTiming.Layer.SERIALIZATION;
+import static com.example.shop.application.timing.RequestTiming.Layer.SERVICE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.shop.application.port.in.product.FindProductsUseCase;
+import com.example.shop.application.timing.RequestTiming.Layer;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductSortOrder;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.Test;
+
+class RequestTimingTest {
+
+  private static final long MILLIS = Duration.ofMillis(1).toNanos();
+
+  @Test
+  void givenATimedRequest_nestedLayers_attributeTheTimeToTheInnermostLayerOnly()
+      throws InterruptedException {
+    RequestTiming timing = RequestTiming.start();
+
+    Layer controller = RequestTiming.enter(SERVICE);
+    Thread.sleep(10);
+    Layer service = RequestTiming.enter(REPOSITORY);
+    Thread.sleep(20);
+    RequestTiming.exit(service);
+    RequestTiming.exit(controller);
+    timing.unbind();
+    timing.finish();
+
+    assertThat(controller).isEqualTo(CONTROLLER);
+    assertThat(service).isEqualTo(SERVICE);
+    assertThat(timing.nanos(SERVICE)).isGreaterThanOrEqualTo(10 * MILLIS);
+    assertThat(timing.nanos(REPOSITORY)).isGreaterThanOrEqualTo(20 * MILLIS);
+    assertThat(timing.nanos(SERIALIZATION)).isZero();
+    assertThat(Arrays.stream(Layer.values()).mapToLong(timing::nanos).sum())
+        .isEqualTo(timing.totalNanos());
+  }
+
+  @Test
+  void givenNoTimedRequest_enter_returnsNullAndExitDoesNothing() {
+    Layer previousLayer = RequestTiming.enter(SERVICE);
+    RequestTiming.exit(previousLayer);
+
+    assertThat(previousLayer).isNull();
+  }
+
+  @Test
+  void givenAnUnfinishedTiming_totalNanos_throwsAnIllegalStateException() {
+    RequestTiming timing = RequestTiming.start();
+    timing.unbind();
+
+    ThrowingCallable invocation = timing::totalNanos;
+
+    assertThatIllegalStateException().isThrownBy(invocation);
+  }
+
+  @Test
+  void givenATimedRequest_aTimedUseCase_attributesItsTimeToTheServiceLayer() {
+    FindProductsUseCase findProductsUseCase = mock(FindProductsUseCase.class);
+    when(findProductsUseCase.findByNameOrDescription(any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(10);
+              return List.of();
+            });
+    RequestTiming timing = RequestTiming.start();
+
+    TimedUseCases.findProducts(findProductsUseCase)
+        .findByNameOrDescription("monitor", ProductFilter.NONE, ProductSortOrder.RELEVANCE);
+    timing.unbind();
+    timing.finish();
+
+    assertThat(timing.nanos(SERVICE)).isGreaterThanOrEqualTo(10 * MILLIS);
+    assertThat(timing.nanos(CONTROLLER)).isLessThan(timing.nanos(SERVICE));
+  }
+}
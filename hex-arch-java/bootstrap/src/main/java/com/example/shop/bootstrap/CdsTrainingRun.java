@@ -0,0 +1,63 @@
+package com.example.shop.bootstrap;
+
+import com.example.shop.adapter.out.persistence.DemoProducts;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+/**
+ * A training run for the class data sharing (AppCDS) archive built by the {@code cds} Maven
+ * profile: starts the shop, sends a request to each endpoint, so that the classes needed to serve
+ * requests are loaded, and stops the shop again. Run with {@code -XX:ArchiveClassesAtExit}, the JVM
+ * then writes these classes to an archive, from which later JVMs map them instead of loading them
+ * from the JARs again.
+ *
+ * @author Paul Anthony Begley
+ */
+public class CdsTrainingRun {
+
+  private static final int PORT = 8099;
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    int port = Integer.getInteger("shop.port", PORT);
+    Launcher launcher = new Launcher();
+    launcher.startOnPort(port);
+    String productId = DemoProducts.COMPUTER_MONITOR.id().value();
+    List<String> requests =
+        List.of(
+            "GET /products?query=monitor",
+            "GET /products?query=moniter&fuzzy=true&sort=price_asc",
+            "GET /products/suggestions?input=mon",
+            "POST /carts/1/line-items?productId=" + productId + "&quantity=1",
+            "GET /carts/1",
+            "DELETE /carts/1",
+            "GET /carts/not-a-customer"); // the error path
+    try (HttpClient client = HttpClient.newHttpClient()) {
+      int serverErrors = 0;
+      for (String request : requests) {
+        String[] methodAndPath = request.split(" ", 2);
+        int status = send(client, methodAndPath[0], "http://localhost:" + port + methodAndPath[1]);
+        if (status >= 500) {
+          serverErrors++;
+        }
+      }
+      System.out.printf(
+          "CDS training run: sent %d requests, %d server errors%n", requests.size(), serverErrors);
+    } finally {
+      launcher.stop();
+    }
+  }
+
+  /** Sends a request and returns the response's status code. */
+  private static int send(HttpClient client, String method, String uri)
+      throws IOException, InterruptedException {
+    HttpRequest request =
+        HttpRequest.newBuilder(URI.create(uri))
+            .method(method, HttpRequest.BodyPublishers.noBody())
+            .build();
+    return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+}
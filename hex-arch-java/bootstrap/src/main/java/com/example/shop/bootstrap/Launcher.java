@@ -1,20 +1,26 @@
 package com.example.shop.bootstrap;
 
+import com.example.shop.application.port.out.persistence.CartRepository;
+import com.example.shop.application.port.out.persistence.ProductRepository;
 import org.jboss.resteasy.plugins.server.undertow.UndertowJaxrsServer;
 
 /**
  * Launcher for the application: starts the Undertow server and deploys the shop application.
  *
+ * <p>{@link #main(String[])} listens on port 8080, or the one set with {@code -Dshop.port}.
+ *
  * @author Paul Anthony Begley
  */
 public class Launcher {
 
   private static final int PORT = 8080;
 
+  private final RestEasyUndertowShopApplication application = new RestEasyUndertowShopApplication();
+
   private UndertowJaxrsServer server;
 
   public static void main(String[] args) {
-    new Launcher().startOnPort(PORT);
+    new Launcher().startOnPort(Integer.getInteger("shop.port", PORT));
   }
 
   public void startOnPort(int port) {
@@ -24,10 +30,24 @@ public class Launcher {
 
   private void startServer() {
     server.start();
-    server.deploy(RestEasyUndertowShopApplication.class);
+    server.deploy(application);
+  }
+
+  /**
+   * Returns the product repository of the started application, e.g. to seed a catalog for a load
+   * test.
+   */
+  public ProductRepository productRepository() {
+    return application.productRepository();
+  }
+
+  /** Returns the cart repository of the started application, e.g. to seed carts for a load test. */
+  public CartRepository cartRepository() {
+    return application.cartRepository();
   }
 
   public void stop() {
     server.stop();
+    application.close();
   }
 }
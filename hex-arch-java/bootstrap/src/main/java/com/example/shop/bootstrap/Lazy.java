@@ -0,0 +1,39 @@
+package com.example.shop.bootstrap;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A value created on first use, e.g. an adapter not needed until a request needs it. Thread-safe:
+ * the value is created only once, however many threads ask for it at the same time.
+ *
+ * @author Paul Anthony Begley
+ */
+final class Lazy<T> implements Supplier<T> {
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private Supplier<T> factory; // guarded by lock; dropped once the value is created
+  private volatile T value;
+
+  Lazy(Supplier<T> factory) {
+    this.factory = factory;
+  }
+
+  @Override
+  public T get() {
+    T value = this.value;
+    if (value != null) {
+      return value;
+    }
+    lock.lock();
+    try {
+      if (this.value == null) {
+        this.value = factory.get();
+        factory = null;
+      }
+      return this.value;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
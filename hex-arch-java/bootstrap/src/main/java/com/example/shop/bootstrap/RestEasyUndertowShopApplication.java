@@ -1,47 +1,306 @@
 package com.example.shop.bootstrap;
 
+import com.example.shop.adapter.in.rest.admin.AdmissionControlController;
+import com.example.shop.adapter.in.rest.admin.CartAnalyticsController;
+import com.example.shop.adapter.in.rest.admin.SearchCoalescingController;
+import com.example.shop.adapter.in.rest.admin.SlowRequestsController;
+import com.example.shop.adapter.in.rest.cart.AddToCartController;
+import com.example.shop.adapter.in.rest.cart.EmptyCartController;
+import com.example.shop.adapter.in.rest.cart.GetCartController;
+import com.example.shop.adapter.in.rest.common.AdmissionControl;
+import com.example.shop.adapter.in.rest.common.CustomerRateLimiter;
+import com.example.shop.adapter.in.rest.common.RequestTimingFilter;
+import com.example.shop.adapter.in.rest.common.RestRequestEventFilter;
+import com.example.shop.adapter.in.rest.common.SlowRequestLog;
+import com.example.shop.adapter.in.rest.common.UseCaseExecutor;
+import com.example.shop.adapter.in.rest.product.AutocompleteController;
 import com.example.shop.adapter.in.rest.product.FindProductsController;
+import com.example.shop.adapter.out.persistence.analytics.AnalyticsCartRepository;
+import com.example.shop.adapter.out.persistence.changefeed.ChangeFeedProductRepository;
+import com.example.shop.adapter.out.persistence.changefeed.ProductChangeFeed;
+import com.example.shop.adapter.out.persistence.inmemory.EventSourcedCartRepository;
 import com.example.shop.adapter.out.persistence.inmemory.InMemoryProductRepository;
+import com.example.shop.adapter.out.persistence.jfr.JfrRepositories;
+import com.example.shop.adapter.out.persistence.repricing.RepricingCartRepository;
+import com.example.shop.adapter.out.persistence.timing.TimedRepositories;
+import com.example.shop.application.jfr.JfrUseCases;
+import com.example.shop.application.port.in.cart.AddToCartResult;
+import com.example.shop.application.port.in.cart.AddToCartUseCase;
+import com.example.shop.application.port.in.cart.EmptyCartUseCase;
+import com.example.shop.application.port.in.cart.GetCartAnalyticsUseCase;
+import com.example.shop.application.port.in.cart.GetCartUseCase;
+import com.example.shop.application.port.in.cart.ProductNotFoundException;
+import com.example.shop.application.port.in.product.AutocompleteUseCase;
 import com.example.shop.application.port.in.product.FindProductsUseCase;
+import com.example.shop.application.port.out.persistence.CartRepository;
 import com.example.shop.application.port.out.persistence.ProductRepository;
+import com.example.shop.application.service.cart.AddToCartService;
+import com.example.shop.application.service.cart.EmptyCartService;
+import com.example.shop.application.service.cart.GetCartAnalyticsService;
+import com.example.shop.application.service.cart.GetCartService;
+import com.example.shop.application.service.money.ExchangeRatesService;
+import com.example.shop.application.service.product.AutocompleteService;
+import com.example.shop.application.service.product.CoalescingFindProductsService;
 import com.example.shop.application.service.product.FindProductsService;
+import com.example.shop.application.timing.TimedUseCases;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.cart.NotEnoughItemsInStockException;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.money.ExchangeRates;
+import com.example.shop.model.product.Product;
+import com.example.shop.model.product.ProductFilter;
+import com.example.shop.model.product.ProductId;
+import com.example.shop.model.product.ProductSortOrder;
 import jakarta.ws.rs.core.Application;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * The application configuration for the Undertow server. Instantiates the adapters and use cases,
  * and wires them.
  *
+ * <p>Only the controllers are created at startup, as the server needs them to route requests. The
+ * use cases and persistence adapters are created on the first request that needs them, so the
+ * server starts serving sooner, and a search doesn't wait for the cart adapters to load (and vice
+ * versa).
+ *
+ * <p>Every REST request, use case call and repository call emits a Java Flight Recorder event while
+ * a recording has it enabled (see {@link RestRequestEventFilter}, {@link JfrUseCases} and {@link
+ * JfrRepositories}).
+ *
+ * <p>Every response reports the time spent per layer in a {@code Server-Timing} header, and the
+ * most recent slow requests are listed at {@code /admin/slow-requests} (see {@link
+ * RequestTimingFilter}).
+ *
+ * <p>Cart changes are admitted per customer rate and up to a limit of concurrent changes; how many
+ * were admitted and rejected is reported at {@code /admin/admission-control} (see {@link
+ * AdmissionControl}).
+ *
+ * <p>Products saved through {@link #productRepository()} are published on a product change feed, to
+ * which the cart repository is subscribed, so the carts containing them show their new prices (see
+ * {@link RepricingCartRepository}).
+ *
+ * <p>Live totals over all open carts are served at {@code /admin/cart-analytics}, aggregated in
+ * parallel from summaries kept on every save (see {@link AnalyticsCartRepository}).
+ *
+ * <p>Concurrent identical searches are run once and share the result; how many were coalesced is
+ * reported at {@code /admin/search-coalescing} (see {@link CoalescingFindProductsService}).
+ *
  * @author Paul Anthony Begley
  */
 public class RestEasyUndertowShopApplication extends Application {
 
- 
-  private ProductRepository productRepository;
+  private static final int USE_CASE_THREADS = 64;
+  private static final int USE_CASE_QUEUE_CAPACITY = 10_000;
+
+  // Each customer may change their cart in bursts of 20, and 10 times per second on average
+  private static final double CART_CHANGES_PER_CUSTOMER_AND_SECOND = 10;
+  private static final int CART_CHANGE_BURST = 20;
+
+  // Well below the use case queue capacity, so cart changes are shed before they queue up
+  private static final int MAX_CONCURRENT_CART_CHANGES = 1_000;
+
+  // Identical searches share a result for this long after it was found
+  private static final Duration SEARCH_LINGER = Duration.ofMillis(5);
+
+  // Requests taking longer are kept for /admin/slow-requests, up to the capacity
+  private static final Duration SLOW_REQUEST_THRESHOLD = Duration.ofMillis(100);
+  private static final int SLOW_REQUEST_LOG_CAPACITY = 100;
+
+  // Until rates are published, carts can be shown in these currencies, at these rates
+  private static final ExchangeRates INITIAL_EXCHANGE_RATES =
+      ExchangeRates.of(
+          Currency.getInstance("EUR"),
+          Map.of(
+              Currency.getInstance("USD"), new BigDecimal("1.0842"),
+              Currency.getInstance("GBP"), new BigDecimal("0.8571"),
+              Currency.getInstance("CHF"), new BigDecimal("0.9468")));
+
+  private final ExchangeRatesService exchangeRatesService =
+      new ExchangeRatesService(INITIAL_EXCHANGE_RATES);
+  private final ProductChangeFeed productChangeFeed = new ProductChangeFeed();
+  private final Lazy<AnalyticsCartRepository> analyticsCartRepository =
+      new Lazy<>(() -> new AnalyticsCartRepository(new EventSourcedCartRepository()));
+  private final Lazy<CartRepository> cartRepository = new Lazy<>(this::createCartRepository);
+  private final Lazy<InMemoryProductRepository> productRepository =
+      new Lazy<>(InMemoryProductRepository::new);
+  private final Lazy<ProductRepository> publishingProductRepository =
+      new Lazy<>(() -> new ChangeFeedProductRepository(productRepository.get(), productChangeFeed));
+  private final Lazy<CoalescingFindProductsService> coalescingFindProductsService =
+      new Lazy<>(
+          () ->
+              new CoalescingFindProductsService(
+                  new FindProductsService(recordedProductRepository()), SEARCH_LINGER));
+  private UseCaseExecutor useCaseExecutor;
+  private AdmissionControl cartChangeAdmissionControl;
 
   // We're encouraged to use "automatic discovery of resources", but I want to define them manually.
   @SuppressWarnings("deprecation")
   @Override
   public Set<Object> getSingletons() {
-    initPersistenceAdapters();
+    useCaseExecutor = new UseCaseExecutor(USE_CASE_THREADS, USE_CASE_QUEUE_CAPACITY);
+    cartChangeAdmissionControl =
+        new AdmissionControl(
+            new CustomerRateLimiter(CART_CHANGES_PER_CUSTOMER_AND_SECOND, CART_CHANGE_BURST),
+            MAX_CONCURRENT_CART_CHANGES);
+    SlowRequestLog slowRequestLog =
+        new SlowRequestLog(SLOW_REQUEST_THRESHOLD, SLOW_REQUEST_LOG_CAPACITY);
     return Set.of(
+        addToCartController(),
+        getCartController(),
+        emptyCartController(),
+        findProductsController(),
+        autocompleteController(),
+        cartAnalyticsController(),
+        searchCoalescingController(),
+        new SlowRequestsController(slowRequestLog),
+        new AdmissionControlController(cartChangeAdmissionControl),
+        new RestRequestEventFilter(),
+        new RequestTimingFilter(slowRequestLog));
+  }
 
-        findProductsController());
+  /** Returns the product repository, publishing every saved product on the change feed. */
+  ProductRepository productRepository() {
+    return publishingProductRepository.get();
   }
 
-  private void initPersistenceAdapters() {
-    
-    productRepository = new InMemoryProductRepository();
+  CartRepository cartRepository() {
+    return cartRepository.get();
   }
 
+  /** Shuts down the use case executor, once the server doesn't accept requests anymore. */
+  void close() {
+    if (useCaseExecutor != null) {
+      useCaseExecutor.close();
+    }
+  }
 
+  /**
+   * Creates the cart repository and subscribes it to the product changes published from now on;
+   * there are no carts to reprice for earlier ones. The repricer saves through the analytics
+   * repository, so the totals show the new prices too.
+   */
+  private CartRepository createCartRepository() {
+    RepricingCartRepository repricingCartRepository =
+        new RepricingCartRepository(
+            analyticsCartRepository.get(),
+            productId -> productRepository.get().findById(productId));
+    productChangeFeed.subscribe(productChangeFeed.lastSequenceNumber(), repricingCartRepository);
+    return JfrRepositories.cartRepository(repricingCartRepository);
+  }
 
+  /**
+   * Returns the product repository, emitting a flight recorder event for every call and attributing
+   * its time to the repository layer of the request.
+   */
+  private ProductRepository recordedProductRepository() {
+    return TimedRepositories.productRepository(
+        JfrRepositories.productRepository(productRepository.get()));
+  }
 
+  private GetCartController getCartController() {
+    Lazy<GetCartUseCase> getCartUseCase =
+        new Lazy<>(() -> JfrUseCases.getCart(new GetCartService(cartRepository.get())));
+    return new GetCartController(
+        customerId -> getCartUseCase.get().getCart(customerId),
+        exchangeRatesService,
+        useCaseExecutor);
+  }
 
+  private AddToCartController addToCartController() {
+    Lazy<AddToCartUseCase> addToCartUseCase =
+        new Lazy<>(
+            () ->
+                JfrUseCases.addToCart(
+                    new AddToCartService(cartRepository.get(), recordedProductRepository())));
+    return new AddToCartController(
+        new LazyAddToCartUseCase(addToCartUseCase), useCaseExecutor, cartChangeAdmissionControl);
+  }
 
+  private EmptyCartController emptyCartController() {
+    Lazy<EmptyCartUseCase> emptyCartUseCase =
+        new Lazy<>(() -> JfrUseCases.emptyCart(new EmptyCartService(cartRepository.get())));
+    return new EmptyCartController(
+        customerId -> emptyCartUseCase.get().emptyCart(customerId),
+        useCaseExecutor,
+        cartChangeAdmissionControl);
+  }
+
+  private CartAnalyticsController cartAnalyticsController() {
+    Lazy<GetCartAnalyticsUseCase> getCartAnalyticsUseCase =
+        new Lazy<>(
+            () -> new GetCartAnalyticsService(analyticsCartRepository.get(), exchangeRatesService));
+    return new CartAnalyticsController(
+        (currency, topProducts) ->
+            getCartAnalyticsUseCase.get().getCartAnalytics(currency, topProducts));
+  }
 
   private FindProductsController findProductsController() {
-    FindProductsUseCase findProductsUseCase = new FindProductsService(productRepository);
-    return new FindProductsController(findProductsUseCase);
+    Lazy<FindProductsUseCase> findProductsUseCase =
+        new Lazy<>(
+            () ->
+                JfrUseCases.findProducts(
+                    TimedUseCases.findProducts(coalescingFindProductsService.get())));
+    return new FindProductsController(new LazyFindProductsUseCase(findProductsUseCase));
+  }
+
+  private SearchCoalescingController searchCoalescingController() {
+    return new SearchCoalescingController(
+        () -> coalescingFindProductsService.get().getSearchCoalescing());
+  }
+
+  private AutocompleteController autocompleteController() {
+    Lazy<AutocompleteUseCase> autocompleteUseCase =
+        new Lazy<>(
+            () ->
+                JfrUseCases.autocomplete(
+                    TimedUseCases.autocomplete(
+                        new AutocompleteService(
+                            TimedRepositories.autocompleteIndex(
+                                JfrRepositories.autocompleteIndex(productRepository.get()))))));
+    return new AutocompleteController(input -> autocompleteUseCase.get().autocomplete(input));
+  }
+
+  /** Creates the wrapped use case (and the adapters it needs) on the first addition to a cart. */
+  private record LazyAddToCartUseCase(Lazy<AddToCartUseCase> addToCartUseCase)
+      implements AddToCartUseCase {
+
+    @Override
+    public Cart addToCart(CustomerId customerId, ProductId productId, int quantity)
+        throws ProductNotFoundException, NotEnoughItemsInStockException {
+      return addToCartUseCase.get().addToCart(customerId, productId, quantity);
+    }
+
+    @Override
+    public AddToCartResult tryAddToCart(CustomerId customerId, ProductId productId, int quantity) {
+      return addToCartUseCase.get().tryAddToCart(customerId, productId, quantity);
+    }
+  }
+
+  /** Creates the wrapped use case (and the adapters it needs) on the first search. */
+  private record LazyFindProductsUseCase(Lazy<FindProductsUseCase> findProductsUseCase)
+      implements FindProductsUseCase {
+
+    @Override
+    public List<Product> findByNameOrDescription(
+        String query, ProductFilter filter, ProductSortOrder sortOrder) {
+      return findProductsUseCase.get().findByNameOrDescription(query, filter, sortOrder);
+    }
+
+    @Override
+    public List<Product> findByNameOrDescriptionFuzzy(
+        String query, ProductFilter filter, ProductSortOrder sortOrder) {
+      return findProductsUseCase.get().findByNameOrDescriptionFuzzy(query, filter, sortOrder);
+    }
+
+    @Override
+    public List<Product> findByTerms(
+        String query, ProductFilter filter, ProductSortOrder sortOrder) {
+      return findProductsUseCase.get().findByTerms(query, filter, sortOrder);
+    }
   }
 }
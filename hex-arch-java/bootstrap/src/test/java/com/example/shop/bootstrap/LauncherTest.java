@@ -0,0 +1,31 @@
+package com.example.shop.bootstrap;
+
+import static com.example.shop.adapter.in.rest.HttpTestCommons.TEST_PORT;
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LauncherTest {
+
+  @Test
+  void givenAStartedLauncherThatRanACartUseCase_stop_terminatesTheUseCaseThreads()
+      throws InterruptedException {
+    Launcher launcher = new Launcher();
+    launcher.startOnPort(TEST_PORT);
+    given().port(TEST_PORT).get("/carts/61157").then().statusCode(200);
+
+    launcher.stop();
+
+    long deadline = System.nanoTime() + 5_000_000_000L;
+    while (useCaseThreadsAlive() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(useCaseThreadsAlive()).isFalse();
+  }
+
+  private static boolean useCaseThreadsAlive() {
+    return Thread.getAllStackTraces().keySet().stream()
+        .anyMatch(thread -> thread.getName().startsWith("use-case-") && thread.isAlive());
+  }
+}
@@ -0,0 +1,99 @@
+package com.example.shop.bootstrap.e2e;
+
+import static com.example.shop.adapter.in.rest.HttpTestCommons.TEST_PORT;
+import static com.example.shop.adapter.in.rest.HttpTestCommons.assertThatResponseIsError;
+import static com.example.shop.adapter.in.rest.cart.CartsControllerAssertions.assertThatResponseIsCart;
+import static com.example.shop.adapter.out.persistence.DemoProducts.COMPUTER_MONITOR;
+import static com.example.shop.adapter.out.persistence.DemoProducts.MONITOR_DESK_MOUNT;
+import static io.restassured.RestAssured.given;
+import static jakarta.ws.rs.core.Response.Status.BAD_REQUEST;
+
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.cart.NotEnoughItemsInStockException;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.product.Product;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CartTest extends EndToEndTest {
+
+  private static final CustomerId TEST_CUSTOMER_ID = new CustomerId(61157);
+  private static final String CARTS_PATH = "/carts/" + TEST_CUSTOMER_ID.value();
+
+  @Test
+  @Order(1)
+  void givenAnEmptyCart_addLineItem_addsTheLineItemAndReturnsTheCartWithTheNewLineItem()
+      throws NotEnoughItemsInStockException {
+    Response response = addLineItem(COMPUTER_MONITOR, 3);
+
+    Cart expectedCart = new Cart(TEST_CUSTOMER_ID);
+    expectedCart.addProduct(COMPUTER_MONITOR, 3);
+
+    assertThatResponseIsCart(response, expectedCart);
+  }
+
+  @Test
+  @Order(2)
+  void givenACartWithOneLineItem_addLineItem_addsTheLineItemAndReturnsTheCartWithTwoLineItems()
+      throws NotEnoughItemsInStockException {
+    Response response = addLineItem(MONITOR_DESK_MOUNT, 2);
+
+    Cart expectedCart = new Cart(TEST_CUSTOMER_ID);
+    expectedCart.addProduct(COMPUTER_MONITOR, 3);
+    expectedCart.addProduct(MONITOR_DESK_MOUNT, 2);
+
+    assertThatResponseIsCart(response, expectedCart);
+  }
+
+  @Test
+  @Order(3)
+  void givenACartWithTwoLineItems_getCart_returnsTheCart() throws NotEnoughItemsInStockException {
+    Response response = given().port(TEST_PORT).get(CARTS_PATH).then().extract().response();
+
+    Cart expectedCart = new Cart(TEST_CUSTOMER_ID);
+    expectedCart.addProduct(COMPUTER_MONITOR, 3);
+    expectedCart.addProduct(MONITOR_DESK_MOUNT, 2);
+
+    assertThatResponseIsCart(response, expectedCart);
+  }
+
+  @Test
+  @Order(4)
+  void givenACartWithTwoLineItems_addMoreItemsThanInStock_returnsAnError() {
+    Response response = addLineItem(MONITOR_DESK_MOUNT, MONITOR_DESK_MOUNT.itemsInStock());
+
+    assertThatResponseIsError(
+        response,
+        BAD_REQUEST,
+        "Only %d items in stock".formatted(MONITOR_DESK_MOUNT.itemsInStock()));
+  }
+
+  @Test
+  @Order(5)
+  void givenACartWithTwoLineItems_delete_returnsStatusNoContent() {
+    given().port(TEST_PORT).delete(CARTS_PATH).then().statusCode(204);
+  }
+
+  @Test
+  @Order(6)
+  void givenAnEmptiedCart_getCart_returnsAnEmptyCart() {
+    Response response = given().port(TEST_PORT).get(CARTS_PATH).then().extract().response();
+
+    assertThatResponseIsCart(response, new Cart(TEST_CUSTOMER_ID));
+  }
+
+  private Response addLineItem(Product product, int quantity) {
+    return given()
+        .port(TEST_PORT)
+        .queryParam("productId", product.id().value())
+        .queryParam("quantity", quantity)
+        .post(CARTS_PATH + "/line-items")
+        .then()
+        .extract()
+        .response();
+  }
+}
@@ -25,6 +25,7 @@ class FindProductsTest extends EndToEndTest {
             .extract()
             .response();
 
-    assertThatResponseIsProductList(response, List.of(COMPUTER_MONITOR, MONITOR_DESK_MOUNT));
+    // Both names match "monitor" as a whole word, but the desk mount matches in its description too
+    assertThatResponseIsProductList(response, List.of(MONITOR_DESK_MOUNT, COMPUTER_MONITOR));
   }
 }
@@ -0,0 +1,117 @@
+package com.example.shop.bootstrap.e2e;
+
+import static com.example.shop.adapter.in.rest.HttpTestCommons.TEST_PORT;
+import static com.example.shop.adapter.out.persistence.DemoProducts.COMPUTER_MONITOR;
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.shop.adapter.in.rest.common.RestRequestEvent;
+import com.example.shop.adapter.out.persistence.jfr.RepositoryEvent;
+import com.example.shop.application.jfr.UseCaseEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+class FlightRecorderTest extends EndToEndTest {
+
+  private static final Set<String> SHOP_EVENTS =
+      Set.of(RestRequestEvent.NAME, UseCaseEvent.NAME, RepositoryEvent.NAME);
+
+  @Test
+  void givenARecording_aSearchRequest_emitsNestedRequestUseCaseAndRepositoryEvents()
+      throws IOException {
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      SHOP_EVENTS.forEach(name -> recording.enable(name).withThreshold(Duration.ZERO));
+      recording.start();
+
+      given()
+          .port(TEST_PORT)
+          .queryParam("query", "monitor")
+          .get("/products")
+          .then()
+          .statusCode(200);
+
+      recording.stop();
+      events = recordedEvents(recording);
+    }
+
+    RecordedEvent request = single(events, RestRequestEvent.NAME);
+    RecordedEvent useCase = single(events, UseCaseEvent.NAME);
+    RecordedEvent repositoryCall = single(events, RepositoryEvent.NAME);
+
+    assertThat(request.getString("method")).isEqualTo("GET");
+    assertThat(request.getString("path")).isEqualTo("/products");
+    assertThat(request.getInt("status")).isEqualTo(200);
+    assertThat(request.getDuration("serialization")).isPositive();
+    assertThat(useCase.getString("useCase")).isEqualTo("FindProducts");
+    assertThat(useCase.getInt("resultSize")).isEqualTo(2);
+    assertThat(repositoryCall.getString("operation")).isEqualTo("findByNameOrDescription");
+    assertThat(repositoryCall.getString("query")).isEqualTo("monitor");
+
+    assertThatEnclosed(useCase, request);
+    assertThatEnclosed(repositoryCall, useCase);
+  }
+
+  @Test
+  void givenARecording_anAddToCartRequest_emitsEventsWithTheCustomerAndProductIds()
+      throws IOException {
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      SHOP_EVENTS.forEach(name -> recording.enable(name).withThreshold(Duration.ZERO));
+      recording.start();
+
+      given()
+          .port(TEST_PORT)
+          .queryParam("productId", COMPUTER_MONITOR.id().value())
+          .queryParam("quantity", 1)
+          .post("/carts/4711/line-items")
+          .then()
+          .statusCode(200);
+
+      recording.stop();
+      events = recordedEvents(recording);
+    }
+
+    RecordedEvent useCase = single(events, UseCaseEvent.NAME);
+    assertThat(useCase.getString("useCase")).isEqualTo("AddToCart");
+    assertThat(useCase.getInt("customerId")).isEqualTo(4711);
+    assertThat(useCase.getString("productId")).isEqualTo(COMPUTER_MONITOR.id().value());
+    assertThat(useCase.getString("outcome")).isEqualTo("Added");
+    assertThat(events)
+        .filteredOn(event -> event.getEventType().getName().equals(RepositoryEvent.NAME))
+        .extracting(event -> event.getString("operation"))
+        .containsExactlyInAnyOrder("findById", "findByCustomerId", "save");
+  }
+
+  private static List<RecordedEvent> recordedEvents(Recording recording) throws IOException {
+    Path file = Files.createTempFile("shop", ".jfr");
+    try {
+      recording.dump(file);
+      return RecordingFile.readAllEvents(file).stream()
+          .filter(event -> SHOP_EVENTS.contains(event.getEventType().getName()))
+          .toList();
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static RecordedEvent single(List<RecordedEvent> events, String name) {
+    List<RecordedEvent> matching =
+        events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+    assertThat(matching).hasSize(1);
+    return matching.get(0);
+  }
+
+  private static void assertThatEnclosed(RecordedEvent inner, RecordedEvent outer) {
+    assertThat(inner.getStartTime()).isAfterOrEqualTo(outer.getStartTime());
+    assertThat(inner.getEndTime()).isBeforeOrEqualTo(outer.getEndTime());
+  }
+}
@@ -0,0 +1,138 @@
+package com.example.shop.bootstrap.startup;
+
+import static com.example.shop.adapter.out.persistence.BenchmarkCommons.intParameter;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures how long the shop takes from starting the JVM to its first response to a search, and how
+ * much memory (resident set size) it uses by then, without and with the AppCDS archive.
+ *
+ * <p>Starts the executable JAR built by the {@code cds} profile, so build it first: {@code mvn
+ * package -Pcds -pl bootstrap -am -DskipTests}, then run {@code mvn test -Pbenchmark -pl bootstrap
+ * -Dtest=StartupBenchmark}. The resident set size is read from {@code /proc}, so it's reported on
+ * Linux only.
+ */
+@Tag("benchmark")
+class StartupBenchmark {
+
+  private static final Path TARGET = Path.of("target");
+  private static final String JAR = "bootstrap-1.0-SNAPSHOT.jar";
+  private static final String ARCHIVE = "shop.jsa";
+
+  private static final int RUNS = intParameter("runs", 5);
+  private static final int PORT = intParameter("port", 8097);
+  private static final long POLL_INTERVAL_MILLIS = 2;
+  private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+  @Test
+  void startup() throws Exception {
+    assumeTrue(
+        Files.exists(TARGET.resolve(JAR)) && Files.exists(TARGET.resolve(ARCHIVE)),
+        "Build the JAR and the archive first: mvn package -Pcds -pl bootstrap -am -DskipTests");
+
+    measure("Default CDS (JDK classes only)", List.of());
+    measure("AppCDS archive", List.of("-XX:SharedArchiveFile=" + ARCHIVE));
+  }
+
+  private static void measure(String name, List<String> jvmOptions) throws Exception {
+    long[] timesToFirstResponse = new long[RUNS];
+    long[] residentSetSizes = new long[RUNS];
+    for (int run = 0; run < RUNS; run++) {
+      Sample sample = startAndAwaitFirstResponse(jvmOptions);
+      timesToFirstResponse[run] = sample.timeToFirstResponseNanos();
+      residentSetSizes[run] = sample.residentSetSizeKilobytes();
+    }
+    System.out.printf(
+        "%-32s time to first response: median=%dms min=%dms, RSS: median=%s%n",
+        name,
+        TimeUnit.NANOSECONDS.toMillis(median(timesToFirstResponse)),
+        TimeUnit.NANOSECONDS.toMillis(Arrays.stream(timesToFirstResponse).min().orElseThrow()),
+        median(residentSetSizes) < 0 ? "n/a" : "%,dkB".formatted(median(residentSetSizes)));
+  }
+
+  private static Sample startAndAwaitFirstResponse(List<String> jvmOptions) throws Exception {
+    List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(jvmOptions);
+    command.add("-Dshop.port=" + PORT);
+    command.add("-jar");
+    command.add(JAR);
+
+    HttpRequest search =
+        HttpRequest.newBuilder(
+                URI.create("http://localhost:%d/products?query=monitor".formatted(PORT)))
+            .build();
+    try (HttpClient client = HttpClient.newHttpClient()) {
+      long start = System.nanoTime();
+      Process process =
+          new ProcessBuilder(command)
+              .directory(TARGET.toFile())
+              .redirectErrorStream(true)
+              .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+              .start();
+      try {
+        awaitResponse(client, search, start);
+        long timeToFirstResponse = System.nanoTime() - start;
+        return new Sample(timeToFirstResponse, residentSetSizeKilobytes(process.pid()));
+      } finally {
+        process.destroy();
+        process.waitFor();
+      }
+    }
+  }
+
+  private static void awaitResponse(HttpClient client, HttpRequest request, long start)
+      throws IOException, InterruptedException {
+    while (true) {
+      try {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 200) {
+          return;
+        }
+      } catch (ConnectException e) {
+        // Not listening yet
+      }
+      if (System.nanoTime() - start > TIMEOUT_NANOS) {
+        throw new IllegalStateException("The shop didn't respond in time");
+      }
+      TimeUnit.MILLISECONDS.sleep(POLL_INTERVAL_MILLIS);
+    }
+  }
+
+  /** Returns the resident set size of the process, or -1 if it's unknown. */
+  private static long residentSetSizeKilobytes(long pid) throws IOException {
+    Path status = Path.of("/proc", Long.toString(pid), "status");
+    if (!Files.exists(status)) {
+      return -1;
+    }
+    for (String line : Files.readAllLines(status)) {
+      if (line.startsWith("VmRSS:")) {
+        return Long.parseLong(line.replaceAll("\\D", ""));
+      }
+    }
+    return -1;
+  }
+
+  private static long median(long[] values) {
+    long[] sorted = values.clone();
+    Arrays.sort(sorted);
+    return sorted[sorted.length / 2];
+  }
+
+  private record Sample(long timeToFirstResponseNanos, long residentSetSizeKilobytes) {}
+}
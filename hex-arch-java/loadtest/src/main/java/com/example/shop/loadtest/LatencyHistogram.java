@@ -0,0 +1,81 @@
+package com.example.shop.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies in nanoseconds that any number of threads can record into concurrently.
+ *
+ * <p>Latencies below 128 ns get a bucket each; above that, every power of two is split into 64
+ * buckets. So a percentile is off by less than 2%, however long the latencies get, and the
+ * histogram has a fixed size of a few thousand counters, no matter how many latencies it records.
+ *
+ * @author Paul Anthony Begley
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 6;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int LINEAR_BUCKETS = 2 * SUB_BUCKETS;
+  private static final int BUCKETS =
+      LINEAR_BUCKETS + (Long.SIZE - 2 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong max = new AtomicLong();
+
+  public void record(long latencyNanos) {
+    if (latencyNanos < 0) {
+      throw new IllegalArgumentException("'latencyNanos' must not be negative");
+    }
+    counts.incrementAndGet(bucket(latencyNanos));
+    max.accumulateAndGet(latencyNanos, Math::max);
+  }
+
+  public long count() {
+    long count = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      count += counts.get(bucket);
+    }
+    return count;
+  }
+
+  public long max() {
+    return max.get();
+  }
+
+  /**
+   * Returns the latency that the given percentage of the recorded latencies don't exceed, or 0 if
+   * none were recorded.
+   */
+  public long percentile(double percentage) {
+    if (percentage <= 0 || percentage > 100) {
+      throw new IllegalArgumentException("'percentage' must be greater than 0 and at most 100");
+    }
+    long rank = (long) Math.ceil(percentage / 100 * count());
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKETS && rank > 0; bucket++) {
+      seen += counts.get(bucket);
+      if (seen >= rank) {
+        return Math.min(highestValueIn(bucket), max());
+      }
+    }
+    return max();
+  }
+
+  private static int bucket(long value) {
+    if (value < LINEAR_BUCKETS) {
+      return (int) value;
+    }
+    int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+  }
+
+  private static long highestValueIn(int bucket) {
+    if (bucket < LINEAR_BUCKETS) {
+      return bucket;
+    }
+    int shift = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+    long lowestMantissa = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+    return ((lowestMantissa + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,11 @@
+package com.example.shop.loadtest;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A request issued by the {@link OpenModelLoadGenerator}: the operation it belongs to, and the call
+ * that sends it and returns whether it succeeded.
+ *
+ * @author Paul Anthony Begley
+ */
+public record LoadRequest(Operation operation, Callable<Boolean> call) {}
@@ -0,0 +1,113 @@
+package com.example.shop.loadtest;
+
+import com.example.shop.adapter.out.persistence.SyntheticProducts;
+import com.example.shop.application.port.out.persistence.CartRepository;
+import com.example.shop.application.port.out.persistence.ProductRepository;
+import com.example.shop.bootstrap.Launcher;
+import com.example.shop.model.cart.Cart;
+import com.example.shop.model.cart.NotEnoughItemsInStockException;
+import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.product.Product;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * An end-to-end load test: starts the shop with the {@link Launcher}, seeds a synthetic catalog and
+ * a cart per customer, and drives the traffic mix against the REST API with an {@link
+ * OpenModelLoadGenerator}, first to warm up, then to measure.
+ *
+ * <p>Run {@link #main(String[])} with the parameters as system properties (see {@link
+ * LoadTestConfig}) to print the latency percentiles and throughput, e.g. to compare configurations.
+ * The load generator runs in the shop's JVM, so both compete for the CPU; to load a production-like
+ * machine, prefer a separate machine for the load test.
+ *
+ * @author Paul Anthony Begley
+ */
+public class LoadTest {
+
+  private static final int SEED_BATCH_SIZE = 10_000;
+
+  private final LoadTestConfig config;
+
+  public LoadTest(LoadTestConfig config) {
+    this.config = config;
+  }
+
+  public static void main(String[] args) {
+    LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+    System.out.println(config);
+    LoadTestResult result = new LoadTest(config).run();
+    System.out.print(result.report());
+  }
+
+  /** Runs the load test and returns the measured latencies, without those of the warmup. */
+  public LoadTestResult run() {
+    Launcher launcher = new Launcher();
+    launcher.startOnPort(config.port());
+    try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+      SyntheticProducts catalog = new SyntheticProducts(config.seed(), config.vocabularySize());
+      List<Product> productsInStock = seedCatalog(launcher.productRepository(), catalog);
+      seedCarts(launcher.cartRepository(), productsInStock);
+
+      ShopTraffic traffic =
+          new ShopTraffic(
+              client,
+              URI.create("http://localhost:%d/".formatted(config.port())),
+              config,
+              catalog,
+              productsInStock);
+      OpenModelLoadGenerator generator = new OpenModelLoadGenerator(config.requestsPerSecond());
+      if (!config.warmup().isZero()) {
+        generator.run(config.warmup(), traffic::next);
+      }
+      return generator.run(config.duration(), traffic::next);
+    } finally {
+      launcher.stop();
+    }
+  }
+
+  /** Saves the synthetic products in batches, and returns those in stock. */
+  private List<Product> seedCatalog(
+      ProductRepository productRepository, SyntheticProducts catalog) {
+    List<Product> productsInStock = new ArrayList<>();
+    List<Product> batch = new ArrayList<>(SEED_BATCH_SIZE);
+    for (int i = 0; i < config.products(); i++) {
+      Product product = catalog.next();
+      batch.add(product);
+      if (product.itemsInStock() > 0) {
+        productsInStock.add(product);
+      }
+      if (batch.size() == SEED_BATCH_SIZE) {
+        productRepository.saveAll(batch);
+        batch.clear();
+      }
+    }
+    productRepository.saveAll(batch);
+    if (productsInStock.isEmpty()) {
+      throw new IllegalStateException("No synthetic product is in stock");
+    }
+    return productsInStock;
+  }
+
+  private void seedCarts(CartRepository cartRepository, List<Product> productsInStock) {
+    Random random = new Random(config.seed());
+    for (int customer = 1; customer <= config.customers(); customer++) {
+      Cart cart = new Cart(new CustomerId(customer));
+      for (int i = 0; i < config.itemsPerCart(); i++) {
+        addProduct(cart, productsInStock.get(random.nextInt(productsInStock.size())));
+      }
+      cartRepository.save(cart);
+    }
+  }
+
+  private static void addProduct(Cart cart, Product product) {
+    try {
+      cart.addProduct(product, 1);
+    } catch (NotEnoughItemsInStockException e) {
+      // The same product was drawn for the cart more often than it's in stock; skip it
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package com.example.shop.loadtest;
+
+import java.time.Duration;
+
+/**
+ * The parameters of a load test. {@link #fromSystemProperties()} reads them from system properties
+ * prefixed with {@code loadtest.}, e.g. {@code -Dloadtest.requestsPerSecond=1000}.
+ *
+ * @param port the port to start the shop on
+ * @param products the number of synthetic products to seed the catalog with
+ * @param vocabularySize the number of distinct words in product names and descriptions, and thus in
+ *     search queries
+ * @param customers the number of customers, each of which gets a seeded cart
+ * @param itemsPerCart the number of products in each seeded cart
+ * @param requestsPerSecond the arrival rate of requests
+ * @param warmup how long to issue requests before measuring
+ * @param duration how long to issue the measured requests
+ * @param mix the share of each operation in the traffic
+ * @param seed the seed for the synthetic data and the random traffic
+ * @author Paul Anthony Begley
+ */
+public record LoadTestConfig(
+    int port,
+    int products,
+    int vocabularySize,
+    int customers,
+    int itemsPerCart,
+    double requestsPerSecond,
+    Duration warmup,
+    Duration duration,
+    TrafficMix mix,
+    long seed) {
+
+  private static final String PREFIX = "loadtest.";
+
+  public LoadTestConfig {
+    if (products < 1 || vocabularySize < 1 || customers < 1 || itemsPerCart < 0) {
+      throw new IllegalArgumentException(
+          "'products', 'vocabularySize' and 'customers' must be greater than 0,"
+              + " 'itemsPerCart' must not be negative");
+    }
+  }
+
+  public static LoadTestConfig fromSystemProperties() {
+    return new LoadTestConfig(
+        Integer.getInteger(PREFIX + "port", 8081),
+        Integer.getInteger(PREFIX + "products", 100_000),
+        Integer.getInteger(PREFIX + "vocabularySize", 5_000),
+        Integer.getInteger(PREFIX + "customers", 10_000),
+        Integer.getInteger(PREFIX + "itemsPerCart", 3),
+        Double.parseDouble(System.getProperty(PREFIX + "requestsPerSecond", "200")),
+        Duration.ofSeconds(Integer.getInteger(PREFIX + "warmupSeconds", 10)),
+        Duration.ofSeconds(Integer.getInteger(PREFIX + "durationSeconds", 30)),
+        TrafficMix.parse(
+            System.getProperty(
+                PREFIX + "mix", "search=50,autocomplete=20,addToCart=20,getCart=10")),
+        Long.getLong(PREFIX + "seed", 42));
+  }
+}
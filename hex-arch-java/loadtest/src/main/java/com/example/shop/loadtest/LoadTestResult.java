@@ -0,0 +1,125 @@
+package com.example.shop.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The latencies and failures recorded by a load test, per {@link Operation}.
+ *
+ * <p>The <em>response time</em> of a request is measured from the moment it should have been sent
+ * according to the arrival rate, the <em>service time</em> from the moment it was actually sent.
+ * The response time is the one that counts: it includes the time a request would have waited had
+ * the load generator not fallen behind (the correction for "coordinated omission"). A large gap
+ * between the two means the load generator couldn't keep up, so the rate wasn't actually reached.
+ *
+ * @author Paul Anthony Begley
+ */
+public class LoadTestResult {
+
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+  private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+  private volatile Duration elapsed = Duration.ZERO;
+
+  LoadTestResult() {
+    for (Operation operation : Operation.values()) {
+      stats.put(operation, new OperationStats());
+    }
+  }
+
+  void record(Operation operation, long responseTimeNanos, long serviceTimeNanos, boolean success) {
+    OperationStats operationStats = stats.get(operation);
+    operationStats.responseTimes.record(responseTimeNanos);
+    operationStats.serviceTimes.record(serviceTimeNanos);
+    if (!success) {
+      operationStats.failures.increment();
+    }
+  }
+
+  void finish(Duration elapsed) {
+    this.elapsed = elapsed;
+  }
+
+  /** Returns the response times of the given operation's requests (see the class comment). */
+  public LatencyHistogram responseTimes(Operation operation) {
+    return stats.get(operation).responseTimes;
+  }
+
+  /** Returns the service times of the given operation's requests (see the class comment). */
+  public LatencyHistogram serviceTimes(Operation operation) {
+    return stats.get(operation).serviceTimes;
+  }
+
+  public long failures(Operation operation) {
+    return stats.get(operation).failures.sum();
+  }
+
+  public long completedRequests() {
+    return stats.values().stream().mapToLong(s -> s.responseTimes.count()).sum();
+  }
+
+  /** Returns the time from the first request's scheduled start to the last request's completion. */
+  public Duration elapsed() {
+    return elapsed;
+  }
+
+  /** Returns the number of requests completed per second. */
+  public double throughput() {
+    return elapsed.isZero() ? 0 : completedRequests() * 1e9 / elapsed.toNanos();
+  }
+
+  /** Formats the results as a table with a row per operation, the latencies in milliseconds. */
+  public String report() {
+    StringBuilder report = new StringBuilder();
+    report.append("%-13s %8s %7s %9s".formatted("operation", "requests", "failed", "req/s"));
+    for (double percentile : PERCENTILES) {
+      report.append(" %9s".formatted("p" + formatPercentile(percentile)));
+    }
+    report.append(" %9s %9s%n".formatted("max", "svc p99"));
+
+    for (Operation operation : Operation.values()) {
+      LatencyHistogram responseTimes = responseTimes(operation);
+      long requests = responseTimes.count();
+      if (requests == 0) {
+        continue;
+      }
+      report.append(
+          "%-13s %8d %7d %9.1f"
+              .formatted(
+                  operation.key(),
+                  requests,
+                  failures(operation),
+                  elapsed.isZero() ? 0 : requests * 1e9 / elapsed.toNanos()));
+      for (double percentile : PERCENTILES) {
+        report.append(" %9.2f".formatted(millis(responseTimes.percentile(percentile))));
+      }
+      report.append(
+          " %9.2f %9.2f%n"
+              .formatted(
+                  millis(responseTimes.max()), millis(serviceTimes(operation).percentile(99))));
+    }
+
+    report.append(
+        "%d requests in %.1f s: %.1f req/s%n"
+            .formatted(completedRequests(), elapsed.toNanos() / 1e9, throughput()));
+    return report.toString();
+  }
+
+  private static String formatPercentile(double percentile) {
+    return percentile == Math.rint(percentile)
+        ? Integer.toString((int) percentile)
+        : Double.toString(percentile);
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1e6;
+  }
+
+  private static class OperationStats {
+    private final LatencyHistogram responseTimes = new LatencyHistogram();
+    private final LatencyHistogram serviceTimes = new LatencyHistogram();
+    private final LongAdder failures = new LongAdder();
+  }
+}
@@ -0,0 +1,76 @@
+package com.example.shop.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Generates load following an open model: requests arrive at a constant rate, each on a virtual
+ * thread of its own, regardless of how many earlier requests are still outstanding. That's how
+ * independent users behave; a closed model, where a fixed number of clients wait for a response
+ * before sending the next request, would slow down as the server slows down and hide its queueing.
+ *
+ * <p>Each request has a scheduled start time, from which its response time is measured (see {@link
+ * LoadTestResult}), so a pause of the generator itself (e.g. a GC pause) doesn't make the latencies
+ * look better than they are.
+ *
+ * @author Paul Anthony Begley
+ */
+public class OpenModelLoadGenerator {
+
+  private final double requestsPerSecond;
+
+  public OpenModelLoadGenerator(double requestsPerSecond) {
+    if (!(requestsPerSecond > 0)) {
+      throw new IllegalArgumentException("'requestsPerSecond' must be greater than 0");
+    }
+    this.requestsPerSecond = requestsPerSecond;
+  }
+
+  /**
+   * Issues the supplied requests at the configured rate for the given duration, waits for all of
+   * them to complete, and returns their latencies. The supplier is called on a single thread.
+   */
+  public LoadTestResult run(Duration duration, Supplier<LoadRequest> requests) {
+    LoadTestResult result = new LoadTestResult();
+    double intervalNanos = 1e9 / requestsPerSecond;
+    long start = System.nanoTime();
+    long end = start + duration.toNanos();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (long i = 0; ; i++) {
+        long scheduledStart = start + (long) (i * intervalNanos);
+        if (scheduledStart - end >= 0) {
+          break;
+        }
+        waitUntil(scheduledStart);
+        LoadRequest request = requests.get();
+        executor.execute(() -> issue(request, scheduledStart, result));
+      }
+    } // waits for the outstanding requests
+
+    result.finish(Duration.ofNanos(System.nanoTime() - start));
+    return result;
+  }
+
+  private static void issue(LoadRequest request, long scheduledStart, LoadTestResult result) {
+    long sent = System.nanoTime();
+    boolean success;
+    try {
+      success = request.call().call();
+    } catch (Exception e) {
+      success = false;
+    }
+    long completed = System.nanoTime();
+    result.record(request.operation(), completed - scheduledStart, completed - sent, success);
+  }
+
+  private static void waitUntil(long nanoTime) {
+    long remaining;
+    while ((remaining = nanoTime - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+    }
+  }
+}
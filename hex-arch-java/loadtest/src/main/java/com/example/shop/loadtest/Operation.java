@@ -0,0 +1,33 @@
+package com.example.shop.loadtest;
+
+/**
+ * The kinds of requests in a load test's traffic mix.
+ *
+ * @author Paul Anthony Begley
+ */
+public enum Operation {
+  SEARCH("search"),
+  AUTOCOMPLETE("autocomplete"),
+  ADD_TO_CART("addToCart"),
+  GET_CART("getCart");
+
+  private final String key;
+
+  Operation(String key) {
+    this.key = key;
+  }
+
+  /** Returns the name of the operation in a traffic mix specification. */
+  public String key() {
+    return key;
+  }
+
+  static Operation ofKey(String key) {
+    for (Operation operation : values()) {
+      if (operation.key.equals(key)) {
+        return operation;
+      }
+    }
+    throw new IllegalArgumentException("Unknown operation '%s'".formatted(key));
+  }
+}
@@ -0,0 +1,95 @@
+package com.example.shop.loadtest;
+
+import com.example.shop.adapter.out.persistence.SyntheticProducts;
+import com.example.shop.model.product.Product;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates the requests of a load test against the shop's REST API, following a {@link
+ * TrafficMix}. Queries are made up of words of the synthetic catalog, and carts are those of the
+ * seeded customers. Not thread-safe; the {@link OpenModelLoadGenerator} calls {@link #next()} on a
+ * single thread.
+ *
+ * @author Paul Anthony Begley
+ */
+class ShopTraffic {
+
+  private static final int AUTOCOMPLETE_INPUT_LENGTH = 3;
+
+  private final HttpClient client;
+  private final URI baseUri;
+  private final TrafficMix mix;
+  private final SyntheticProducts catalog;
+  private final List<Product> productsInStock;
+  private final int customers;
+  private final Random random;
+
+  ShopTraffic(
+      HttpClient client,
+      URI baseUri,
+      LoadTestConfig config,
+      SyntheticProducts catalog,
+      List<Product> productsInStock) {
+    this.client = client;
+    this.baseUri = baseUri;
+    this.mix = config.mix();
+    this.catalog = catalog;
+    this.productsInStock = productsInStock;
+    this.customers = config.customers();
+    this.random = new Random(config.seed());
+  }
+
+  LoadRequest next() {
+    Operation operation = mix.next(random);
+    HttpRequest request =
+        switch (operation) {
+          case SEARCH -> get("/products?query=" + encode(catalog.randomVocabularyWord()));
+          case AUTOCOMPLETE -> get("/products/suggestions?input=" + encode(autocompleteInput()));
+          case ADD_TO_CART ->
+              post(
+                  "/carts/%d/line-items?productId=%s&quantity=1"
+                      .formatted(randomCustomer(), encode(randomProduct().id().value())));
+          case GET_CART -> get("/carts/" + randomCustomer());
+        };
+    return new LoadRequest(operation, () -> send(request));
+  }
+
+  private boolean send(HttpRequest request) throws Exception {
+    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    return status >= 200 && status < 300;
+  }
+
+  private String autocompleteInput() {
+    String word = catalog.randomVocabularyWord();
+    return word.substring(0, Math.min(AUTOCOMPLETE_INPUT_LENGTH, word.length()));
+  }
+
+  private int randomCustomer() {
+    return 1 + random.nextInt(customers);
+  }
+
+  private Product randomProduct() {
+    return productsInStock.get(random.nextInt(productsInStock.size()));
+  }
+
+  private HttpRequest get(String pathAndQuery) {
+    return HttpRequest.newBuilder(baseUri.resolve(pathAndQuery)).GET().build();
+  }
+
+  private HttpRequest post(String pathAndQuery) {
+    return HttpRequest.newBuilder(baseUri.resolve(pathAndQuery))
+        .POST(HttpRequest.BodyPublishers.noBody())
+        .build();
+  }
+
+  private static String encode(String value) {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  }
+}
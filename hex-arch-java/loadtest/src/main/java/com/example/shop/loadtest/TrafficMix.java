@@ -0,0 +1,67 @@
+package com.example.shop.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * The share of each {@link Operation} in a load test's traffic, given as relative weights, e.g.
+ * {@code search=50,autocomplete=20,addToCart=20,getCart=10}.
+ *
+ * @author Paul Anthony Begley
+ */
+public class TrafficMix {
+
+  private final Map<Operation, Integer> weights;
+  private final int totalWeight;
+
+  public TrafficMix(Map<Operation, Integer> weights) {
+    if (weights.values().stream().anyMatch(weight -> weight < 0)) {
+      throw new IllegalArgumentException("Weights must not be negative");
+    }
+    this.weights = new EnumMap<>(weights);
+    this.totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+    if (totalWeight < 1) {
+      throw new IllegalArgumentException("At least one weight must be greater than 0");
+    }
+  }
+
+  /** Parses a comma-separated list of {@code operation=weight} pairs. */
+  public static TrafficMix parse(String specification) {
+    Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    for (String pair : specification.split(",")) {
+      String[] keyAndWeight = pair.trim().split("=");
+      if (keyAndWeight.length != 2) {
+        throw new IllegalArgumentException("Invalid traffic mix '%s'".formatted(specification));
+      }
+      weights.put(
+          Operation.ofKey(keyAndWeight[0].trim()), Integer.parseInt(keyAndWeight[1].trim()));
+    }
+    return new TrafficMix(weights);
+  }
+
+  /** Picks an operation at random, each with a probability in proportion to its weight. */
+  public Operation next(RandomGenerator random) {
+    int ticket = random.nextInt(totalWeight);
+    for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+      ticket -= entry.getValue();
+      if (ticket < 0) {
+        return entry.getKey();
+      }
+    }
+    throw new IllegalStateException("Unreachable");
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder specification = new StringBuilder();
+    weights.forEach(
+        (operation, weight) -> {
+          if (!specification.isEmpty()) {
+            specification.append(',');
+          }
+          specification.append(operation.key()).append('=').append(weight);
+        });
+    return specification.toString();
+  }
+}
@@ -0,0 +1,57 @@
+package com.example.shop.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.within;
+
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  private final LatencyHistogram histogram = new LatencyHistogram();
+
+  @Test
+  void givenNoLatencies_percentile_returnsZero() {
+    assertThat(histogram.count()).isZero();
+    assertThat(histogram.percentile(99)).isZero();
+  }
+
+  @Test
+  void givenSmallLatencies_percentile_returnsExactValues() {
+    for (long latency = 1; latency <= 100; latency++) {
+      histogram.record(latency);
+    }
+
+    assertThat(histogram.count()).isEqualTo(100);
+    assertThat(histogram.percentile(50)).isEqualTo(50);
+    assertThat(histogram.percentile(99)).isEqualTo(99);
+    assertThat(histogram.percentile(100)).isEqualTo(100);
+  }
+
+  @Test
+  void givenLargeLatencies_percentile_returnsValuesWithinTwoPercent() {
+    for (long millis = 1; millis <= 1_000; millis++) {
+      histogram.record(millis * 1_000_000);
+    }
+
+    assertThat((double) histogram.percentile(50)).isCloseTo(500_000_000, within(10_000_000.0));
+    assertThat((double) histogram.percentile(99.9)).isCloseTo(999_000_000, within(19_980_000.0));
+    assertThat(histogram.percentile(100)).isEqualTo(1_000_000_000);
+    assertThat(histogram.max()).isEqualTo(1_000_000_000);
+  }
+
+  @Test
+  void givenTheLargestLatency_percentile_returnsIt() {
+    histogram.record(Long.MAX_VALUE);
+
+    assertThat(histogram.percentile(50)).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  void givenANegativeLatency_record_throwsException() {
+    ThrowingCallable invocation = () -> histogram.record(-1);
+
+    assertThatIllegalArgumentException().isThrownBy(invocation);
+  }
+}
@@ -0,0 +1,39 @@
+package com.example.shop.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs a short load test at a small scale, e.g. to check the harness after changing it. Run {@link
+ * LoadTest#main(String[])} for a full-scale load test.
+ */
+@Tag("benchmark")
+class LoadTestBenchmark {
+
+  @Test
+  void givenASmallCatalog_runLoadTest() {
+    LoadTestConfig config =
+        new LoadTestConfig(
+            8093,
+            10_000,
+            1_000,
+            1_000,
+            3,
+            100,
+            Duration.ofSeconds(2),
+            Duration.ofSeconds(5),
+            TrafficMix.parse("search=50,autocomplete=20,addToCart=20,getCart=10"),
+            42);
+
+    LoadTestResult result = new LoadTest(config).run();
+
+    System.out.print(result.report());
+    assertThat(result.completedRequests()).isEqualTo(500);
+    for (Operation operation : Operation.values()) {
+      assertThat(result.failures(operation)).isZero();
+    }
+  }
+}
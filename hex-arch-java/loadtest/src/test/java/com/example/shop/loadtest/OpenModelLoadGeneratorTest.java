@@ -0,0 +1,95 @@
+package com.example.shop.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class OpenModelLoadGeneratorTest {
+
+  @Test
+  void givenARate_run_issuesRequestsAtThatRate() {
+    OpenModelLoadGenerator generator = new OpenModelLoadGenerator(200);
+
+    LoadTestResult result =
+        generator.run(Duration.ofMillis(500), () -> new LoadRequest(Operation.SEARCH, () -> true));
+
+    assertThat(result.completedRequests()).isEqualTo(100);
+    assertThat(result.failures(Operation.SEARCH)).isZero();
+    assertThat(result.elapsed()).isGreaterThanOrEqualTo(Duration.ofMillis(495));
+  }
+
+  @Test
+  void givenSlowRequests_run_doesNotWaitForThemBeforeIssuingTheNextOnes() {
+    OpenModelLoadGenerator generator = new OpenModelLoadGenerator(100);
+
+    LoadTestResult result =
+        generator.run(
+            Duration.ofMillis(200),
+            () ->
+                new LoadRequest(
+                    Operation.GET_CART,
+                    () -> {
+                      TimeUnit.MILLISECONDS.sleep(300);
+                      return true;
+                    }));
+
+    assertThat(result.completedRequests()).isEqualTo(20);
+    // Sequential requests would have taken 20 x 300 ms
+    assertThat(result.elapsed()).isLessThan(Duration.ofSeconds(3));
+  }
+
+  @Test
+  void givenAStalledGenerator_run_countsTheStallInTheResponseTimes() {
+    OpenModelLoadGenerator generator = new OpenModelLoadGenerator(100);
+    AtomicInteger requests = new AtomicInteger();
+
+    LoadTestResult result =
+        generator.run(
+            Duration.ofMillis(500),
+            () -> {
+              if (requests.incrementAndGet() == 10) {
+                sleepUninterruptibly(200); // e.g. a GC pause of the load generator
+              }
+              return new LoadRequest(Operation.SEARCH, () -> true);
+            });
+
+    long stall = TimeUnit.MILLISECONDS.toNanos(200);
+    assertThat(result.responseTimes(Operation.SEARCH).max()).isGreaterThanOrEqualTo(stall);
+    assertThat(result.serviceTimes(Operation.SEARCH).max()).isLessThan(stall);
+  }
+
+  @Test
+  void givenAFailingRequest_run_countsItAsFailure() {
+    OpenModelLoadGenerator generator = new OpenModelLoadGenerator(100);
+    AtomicInteger requests = new AtomicInteger();
+
+    LoadTestResult result =
+        generator.run(
+            Duration.ofMillis(100),
+            () -> {
+              boolean fail = requests.incrementAndGet() % 2 == 0;
+              return new LoadRequest(
+                  Operation.ADD_TO_CART,
+                  () -> {
+                    if (fail) {
+                      throw new IllegalStateException("Connection refused");
+                    }
+                    return true;
+                  });
+            });
+
+    assertThat(result.completedRequests()).isEqualTo(10);
+    assertThat(result.failures(Operation.ADD_TO_CART)).isEqualTo(5);
+  }
+
+  private static void sleepUninterruptibly(long millis) {
+    try {
+      TimeUnit.MILLISECONDS.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -1,12 +1,17 @@
 package com.example.shop.model.cart;
 
+import com.example.shop.model.cart.CartEvent.CartEmptied;
+import com.example.shop.model.cart.CartEvent.ProductAdded;
+import com.example.shop.model.cart.CartEvent.ProductUpdated;
 import com.example.shop.model.customer.CustomerId;
+import com.example.shop.model.money.ExchangeRates;
 import com.example.shop.model.money.Money;
 import com.example.shop.model.product.Product;
 import com.example.shop.model.product.ProductId;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
 import java.util.List;
-import java.util.Map;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
@@ -14,31 +19,271 @@ import lombok.experimental.Accessors;
 /**
  * A shopping cart of a particular customer, containing several line items.
  *
+ * <p>Every change is also recorded as a {@link CartEvent}, so a repository can persist just the
+ * changes since the cart was loaded (see {@link #uncommittedEvents()}) instead of the whole cart,
+ * and rebuild the cart later with {@link #replay(CustomerId, List, List)}.
+ *
+ * <p>Most carts have only a few line items, and the in-memory repositories keep millions of them,
+ * so the line items are stored inline, in insertion order: the products and quantities in parallel
+ * arrays, found by a linear scan. Only above {@link #INDEX_THRESHOLD} line items, a hash index
+ * (open addressing with linear probing) maps product IDs to their positions. The {@link
+ * CartLineItem}s are created on demand by {@link #lineItems()}.
+ *
  * @author Paul Anthony Begley
  */
 @Accessors(fluent = true)
 @RequiredArgsConstructor
 public class Cart {
 
+  // Up to this many line items, scanning the product IDs is faster than hashing them
+  static final int INDEX_THRESHOLD = 8;
+
+  private static final int INITIAL_CAPACITY = 4;
+  private static final Product[] NO_PRODUCTS = new Product[0];
+  private static final int[] NO_QUANTITIES = new int[0];
+
   @Getter private final CustomerId id; // cart ID = customer ID
 
-  private final Map<ProductId, CartLineItem> lineItems = new LinkedHashMap<>();
+  // The line items, in the order in which they were added:
+  private Product[] products = NO_PRODUCTS;
+  private int[] quantities = NO_QUANTITIES;
+  private int size;
+
+  // Positions + 1 of the line items by product ID hash, 0 = empty; null up to INDEX_THRESHOLD
+  private int[] index;
+
+  private final List<CartEvent> uncommittedEvents = new ArrayList<>();
+
+  /**
+   * Rebuilds a cart from a snapshot of its line items and the events that happened after the
+   * snapshot was taken. The rebuilt cart has no uncommitted events.
+   */
+  public static Cart replay(
+      CustomerId id, List<CartLineItem> snapshot, List<? extends CartEvent> events) {
+    Cart cart = new Cart(id);
+    for (CartLineItem lineItem : snapshot) {
+      int position = cart.positionOf(lineItem.product().id());
+      if (position < 0) {
+        cart.append(lineItem.product(), lineItem.quantity());
+      } else {
+        cart.products[position] = lineItem.product();
+        cart.quantities[position] = lineItem.quantity();
+      }
+    }
+    events.forEach(cart::apply);
+    return cart;
+  }
 
   public void addProduct(Product product, int quantity) throws NotEnoughItemsInStockException {
-    lineItems
-        .computeIfAbsent(product.id(), ignored -> new CartLineItem(product))
-        .increaseQuantityBy(quantity, product.itemsInStock());
+    int position = positionOf(product.id());
+    if (position < 0) {
+      new CartLineItem(product).increaseQuantityBy(quantity, product.itemsInStock());
+      append(product, quantity);
+    } else {
+      CartLineItem lineItem = new CartLineItem(products[position], quantities[position]);
+      lineItem.increaseQuantityBy(quantity, product.itemsInStock());
+      quantities[position] = lineItem.quantity();
+    }
+    uncommittedEvents.add(new ProductAdded(product, quantity));
+  }
+
+  /**
+   * Like {@link #addProduct(Product, int)}, but returns {@code false} instead of throwing an
+   * exception if there aren't enough items in stock, leaving the cart unchanged. Rejected additions
+   * cost no more than successful ones, which matters when a product sells out and most additions
+   * fail.
+   */
+  public boolean tryAddProduct(Product product, int quantity) {
+    if (quantity < 1) {
+      throw new IllegalArgumentException("You must add at least one item");
+    }
+
+    int position = positionOf(product.id());
+    int newQuantity = (position >= 0 ? quantities[position] : 0) + quantity;
+    if (product.itemsInStock() < newQuantity) {
+      return false;
+    }
+
+    if (position < 0) {
+      append(product, newQuantity);
+    } else {
+      quantities[position] = newQuantity;
+    }
+    uncommittedEvents.add(new ProductAdded(product, quantity));
+    return true;
+  }
+
+  /**
+   * Updates the line item of the given product, if there is one, to show the product's current
+   * price and stock; the quantity stays the same, even if it exceeds the stock now.
+   *
+   * @return {@code true} if the cart changed, i.e. it has a line item of the product, and the
+   *     product's price or stock differs from the one in the line item
+   */
+  public boolean updateProduct(Product product) {
+    int position = positionOf(product.id());
+    if (position < 0) {
+      return false;
+    }
+    Product lineItemProduct = products[position];
+    if (lineItemProduct.price().equals(product.price())
+        && lineItemProduct.itemsInStock() == product.itemsInStock()) {
+      return false;
+    }
+
+    products[position] = product;
+    uncommittedEvents.add(new ProductUpdated(product));
+    return true;
+  }
+
+  /** Returns the IDs of the products in the cart, in the order of the line items. */
+  public List<ProductId> productIds() {
+    ProductId[] productIds = new ProductId[size];
+    for (int i = 0; i < size; i++) {
+      productIds[i] = products[i].id();
+    }
+    return List.of(productIds);
   }
 
   public List<CartLineItem> lineItems() {
-    return List.copyOf(lineItems.values());
+    CartLineItem[] lineItems = new CartLineItem[size];
+    for (int i = 0; i < size; i++) {
+      lineItems[i] = new CartLineItem(products[i], quantities[i]);
+    }
+    return List.of(lineItems);
   }
 
   public int numberOfItems() {
-    return lineItems.values().stream().mapToInt(CartLineItem::quantity).sum();
+    int numberOfItems = 0;
+    for (int i = 0; i < size; i++) {
+      numberOfItems += quantities[i];
+    }
+    return numberOfItems;
   }
 
   public Money subTotal() {
-    return lineItems.values().stream().map(CartLineItem::subTotal).reduce(Money::add).orElse(null);
+    Money subTotal = null;
+    for (int i = 0; i < size; i++) {
+      Money lineItemSubTotal = products[i].price().multiply(quantities[i]);
+      subTotal = subTotal == null ? lineItemSubTotal : subTotal.add(lineItemSubTotal);
+    }
+    return subTotal;
+  }
+
+  /**
+   * Returns the sum of the line items in the given currency, converting the prices in other
+   * currencies with the given exchange rates (see there for the rounding); zero if the cart is
+   * empty. Unlike {@link #subTotal()}, this works for products priced in different currencies.
+   */
+  public Money subTotal(Currency currency, ExchangeRates exchangeRates) {
+    ExchangeRates.Sum subTotal = exchangeRates.sum(currency);
+    for (int i = 0; i < size; i++) {
+      subTotal.add(products[i].price(), quantities[i]);
+    }
+    return subTotal.total();
+  }
+
+  /** Returns the changes made since the cart was created or loaded, the oldest one first. */
+  public List<CartEvent> uncommittedEvents() {
+    return List.copyOf(uncommittedEvents);
+  }
+
+  /** Marks the uncommitted events as persisted; to be called by repositories after saving. */
+  public void markEventsCommitted() {
+    uncommittedEvents.clear();
+  }
+
+  /**
+   * Applies an event that happened before, e.g. one loaded from an event log, with the same effect
+   * on the line items as the change that recorded it. Unlike {@link #addProduct(Product, int)},
+   * this doesn't check the stock, which may have changed since.
+   */
+  private void apply(CartEvent event) {
+    switch (event) {
+      case ProductAdded(Product product, int quantity) -> {
+        int position = positionOf(product.id());
+        if (position < 0) {
+          append(product, quantity);
+        } else {
+          quantities[position] += quantity; // the line item keeps its product, as when added
+        }
+      }
+      case ProductUpdated(Product product) -> {
+        int position = positionOf(product.id());
+        if (position >= 0) {
+          products[position] = product;
+        }
+      }
+      case CartEmptied() -> clear();
+    }
+  }
+
+  /** Returns the position of the line item with the given product, or -1 if there's none. */
+  private int positionOf(ProductId productId) {
+    if (index == null) {
+      for (int i = 0; i < size; i++) {
+        if (products[i].id().equals(productId)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    int mask = index.length - 1;
+    for (int slot = hash(productId) & mask; ; slot = (slot + 1) & mask) {
+      int entry = index[slot];
+      if (entry == 0) {
+        return -1;
+      }
+      if (products[entry - 1].id().equals(productId)) {
+        return entry - 1;
+      }
+    }
+  }
+
+  private void append(Product product, int quantity) {
+    if (size == products.length) {
+      int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+      products = Arrays.copyOf(products, capacity);
+      quantities = Arrays.copyOf(quantities, capacity);
+    }
+    products[size] = product;
+    quantities[size] = quantity;
+    size++;
+
+    if (index != null && size * 2 <= index.length) {
+      addToIndex(size - 1);
+    } else if (size > INDEX_THRESHOLD) {
+      rebuildIndex();
+    }
+  }
+
+  /** Creates an index with a load factor of at most 1/2 and adds all line items to it. */
+  private void rebuildIndex() {
+    index = new int[Integer.highestOneBit(size * 4 - 1)];
+    for (int i = 0; i < size; i++) {
+      addToIndex(i);
+    }
+  }
+
+  private void addToIndex(int position) {
+    int mask = index.length - 1;
+    int slot = hash(products[position].id()) & mask;
+    while (index[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    index[slot] = position + 1;
+  }
+
+  private void clear() {
+    Arrays.fill(products, 0, size, null);
+    size = 0;
+    index = null;
+  }
+
+  /** Spreads the hash code's higher bits, as product IDs may differ only in those. */
+  private static int hash(ProductId productId) {
+    int hashCode = productId.hashCode();
+    return hashCode ^ (hashCode >>> 16);
   }
 }
@@ -0,0 +1,30 @@
+package com.example.shop.model.cart;
+
+import com.example.shop.model.money.Money;
+import com.example.shop.model.product.Product;
+import java.util.List;
+
+/**
+ * Aggregates over all open (non-empty) carts: their number, the number of items and the value in
+ * them, and the products in them with the most items.
+ *
+ * @author Paul Anthony Begley
+ */
+public record CartAnalytics(
+    long openCarts, long numberOfItems, Money totalValue, List<ProductInCarts> topProducts) {
+
+  public CartAnalytics {
+    topProducts = List.copyOf(topProducts);
+  }
+
+  /** Returns the average number of items per open cart; zero if there are none. */
+  public double averageNumberOfItems() {
+    return openCarts > 0 ? (double) numberOfItems / openCarts : 0;
+  }
+
+  /**
+   * A product together with the number of its items in all carts and the number of carts containing
+   * it.
+   */
+  public record ProductInCarts(Product product, long numberOfItems, long carts) {}
+}
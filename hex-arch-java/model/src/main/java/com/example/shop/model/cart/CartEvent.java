@@ -0,0 +1,59 @@
+package com.example.shop.model.cart;
+
+import com.example.shop.model.product.Product;
+
+/**
+ * A change of a shopping cart. Replaying the events of a cart in order, starting with an empty cart
+ * or a snapshot, yields its current state.
+ *
+ * <p>Events are immutable: they keep a copy of the product they were created with, and hand out
+ * copies of it, so changing a product afterwards doesn't rewrite a cart's history.
+ *
+ * @author Paul Anthony Begley
+ */
+public sealed interface CartEvent {
+
+  /**
+   * Items of a product were added to the cart. A new line item shows the product as it was at the
+   * time; an existing one keeps its product, and only its quantity grows.
+   */
+  record ProductAdded(Product product, int quantity) implements CartEvent {
+
+    public ProductAdded {
+      product = copyOf(product);
+    }
+
+    @Override
+    public Product product() {
+      return copyOf(product);
+    }
+  }
+
+  /**
+   * The product of a line item changed, e.g. its price; the line item shows it from now on, with
+   * the same quantity.
+   */
+  record ProductUpdated(Product product) implements CartEvent {
+
+    public ProductUpdated {
+      product = copyOf(product);
+    }
+
+    @Override
+    public Product product() {
+      return copyOf(product);
+    }
+  }
+
+  /** All line items were removed from the cart. */
+  record CartEmptied() implements CartEvent {}
+
+  private static Product copyOf(Product product) {
+    return new Product(
+        product.id(),
+        product.name(),
+        product.description(),
+        product.price(),
+        product.itemsInStock());
+  }
+}
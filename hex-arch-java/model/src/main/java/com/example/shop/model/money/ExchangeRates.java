@@ -0,0 +1,221 @@
+package com.example.shop.model.money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable table of exchange rates, for converting money amounts and totals into another
+ * currency.
+ *
+ * <p>The table is built from the rates of each currency against a base currency. For every pair of
+ * currencies, it precomputes a fixed-point factor that converts an amount in minor units (e.g.
+ * cents) of the one currency into {@code 10^-12} minor units of the other. A conversion is then a
+ * single long multiplication, and a {@link Sum} of any number of amounts needs no {@code
+ * BigDecimal} arithmetic but for the final rounding.
+ *
+ * <p>Rounding rules:
+ *
+ * <ul>
+ *   <li>A factor is the quotient of the two rates, scaled by the ratio of the minor units, and
+ *       rounded half-even to 12 decimal places once, when the table is built. Converting a currency
+ *       into itself is exact.
+ *   <li>A sum is accumulated exactly, in 128 bits, and rounded half-even to the minor unit of the
+ *       target currency once, at the end. So the total doesn't depend on the order of the amounts,
+ *       and it's not the sum of individually rounded conversions.
+ * </ul>
+ *
+ * @author Paul Anthony Begley
+ */
+public final class ExchangeRates {
+
+  static final int FACTOR_SCALE = 12;
+
+  private static final long ONE = 1_000_000_000_000L; // 10^FACTOR_SCALE
+  private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000};
+  private static final MathContext RATE_PRECISION = MathContext.DECIMAL128;
+  private static final ExchangeRates NONE = new ExchangeRates(Map.of(), new long[0][0]);
+
+  private final Map<Currency, Integer> indexes;
+  private final long[][] factors; // [from][to]
+
+  private ExchangeRates(Map<Currency, Integer> indexes, long[][] factors) {
+    this.indexes = indexes;
+    this.factors = factors;
+  }
+
+  /** Returns a table without rates, which converts amounts into their own currency only. */
+  public static ExchangeRates none() {
+    return NONE;
+  }
+
+  /**
+   * Creates a table from the given rates, each being the amount of a currency that one unit of the
+   * base currency buys (e.g. {@code USD -> 1.0842} for the base currency EUR).
+   */
+  public static ExchangeRates of(Currency baseCurrency, Map<Currency, BigDecimal> rates) {
+    Map<Currency, BigDecimal> allRates = new HashMap<>(rates);
+    allRates.put(baseCurrency, BigDecimal.ONE);
+
+    Currency[] currencies = allRates.keySet().toArray(Currency[]::new);
+    Map<Currency, Integer> indexes = new HashMap<>();
+    for (int i = 0; i < currencies.length; i++) {
+      Currency currency = currencies[i];
+      BigDecimal rate = allRates.get(currency);
+      if (rate.signum() <= 0) {
+        throw new IllegalArgumentException("Rate of %s must be positive".formatted(currency));
+      }
+      minorUnitDigits(currency);
+      indexes.put(currency, i);
+    }
+
+    long[][] factors = new long[currencies.length][currencies.length];
+    for (Currency from : currencies) {
+      for (Currency to : currencies) {
+        factors[indexes.get(from)][indexes.get(to)] = factor(allRates, from, to);
+      }
+    }
+    return new ExchangeRates(Map.copyOf(indexes), factors);
+  }
+
+  /** Returns whether amounts in the one currency can be converted into the other. */
+  public boolean canConvert(Currency from, Currency to) {
+    return from.equals(to) || (indexes.containsKey(from) && indexes.containsKey(to));
+  }
+
+  /** Converts the given amount into the target currency; see the class comment for rounding. */
+  public Money convert(Money money, Currency targetCurrency) {
+    return sum(targetCurrency).add(money, 1).total();
+  }
+
+  /** Starts a sum of amounts, to be converted into the target currency. */
+  public Sum sum(Currency targetCurrency) {
+    return new Sum(targetCurrency);
+  }
+
+  /**
+   * A sum of amounts in any currencies of the table, converted into a target currency. Not
+   * thread-safe.
+   */
+  public final class Sum {
+
+    private final Currency targetCurrency;
+    private final int targetIndex;
+    private final int targetDigits;
+
+    // The exact sum in 10^-12 minor units of the target currency, as a signed 128-bit integer
+    private long high;
+    private long low;
+
+    private Sum(Currency targetCurrency) {
+      this.targetCurrency = targetCurrency;
+      this.targetIndex = indexes.getOrDefault(targetCurrency, -1);
+      this.targetDigits = minorUnitDigits(targetCurrency);
+    }
+
+    /**
+     * Adds the given amount, multiplied by the given quantity.
+     *
+     * @throws IllegalArgumentException if there's no rate for the amount's currency
+     * @throws ArithmeticException if the amount times the quantity exceeds {@code Long.MAX_VALUE}
+     *     minor units
+     */
+    public Sum add(Money money, int quantity) {
+      long minorUnits = Math.multiplyExact(minorUnits(money), quantity);
+      long factor = factor(money.currency());
+      long productLow = minorUnits * factor;
+      long productHigh = Math.multiplyHigh(minorUnits, factor);
+      long sumLow = low + productLow;
+      high += productHigh + (Long.compareUnsigned(sumLow, low) < 0 ? 1 : 0);
+      low = sumLow;
+      return this;
+    }
+
+    /**
+     * Adds another sum into the same target currency, e.g. one collected by another thread.
+     *
+     * @throws IllegalArgumentException if the other sum is into a different currency
+     */
+    public Sum add(Sum other) {
+      if (!other.targetCurrency.equals(targetCurrency)) {
+        throw new IllegalArgumentException(
+            "Can't add a sum in %s to one in %s".formatted(other.targetCurrency, targetCurrency));
+      }
+      long sumLow = low + other.low;
+      high += other.high + (Long.compareUnsigned(sumLow, low) < 0 ? 1 : 0);
+      low = sumLow;
+      return this;
+    }
+
+    /** Returns the sum, rounded half-even to the minor unit of the target currency. */
+    public Money total() {
+      return new Money(targetCurrency, BigDecimal.valueOf(roundedMinorUnits(), targetDigits));
+    }
+
+    private long factor(Currency currency) {
+      if (currency.equals(targetCurrency)) {
+        return ONE;
+      }
+      Integer index = indexes.get(currency);
+      if (index == null || targetIndex < 0) {
+        throw new IllegalArgumentException(
+            "No exchange rate from %s to %s".formatted(currency, targetCurrency));
+      }
+      return factors[index][targetIndex];
+    }
+
+    private long roundedMinorUnits() {
+      if (high != (low >> 63)) { // totals beyond about 9.2 million minor units
+        BigInteger value = BigInteger.valueOf(high).shiftLeft(64).add(unsigned(low));
+        return new BigDecimal(value, FACTOR_SCALE)
+            .setScale(0, RoundingMode.HALF_EVEN)
+            .longValueExact();
+      }
+
+      long quotient = low / ONE;
+      long remainder = Math.abs(low % ONE);
+      if (remainder * 2 > ONE || (remainder * 2 == ONE && (quotient & 1) != 0)) {
+        quotient += Long.signum(low);
+      }
+      return quotient;
+    }
+  }
+
+  private static long factor(Map<Currency, BigDecimal> rates, Currency from, Currency to) {
+    if (from.equals(to)) {
+      return ONE;
+    }
+    BigDecimal rate = rates.get(to).divide(rates.get(from), RATE_PRECISION);
+    return rate.scaleByPowerOfTen(minorUnitDigits(to) - minorUnitDigits(from) + FACTOR_SCALE)
+        .setScale(0, RoundingMode.HALF_EVEN)
+        .longValueExact();
+  }
+
+  private static long minorUnits(Money money) {
+    BigDecimal amount = money.amount();
+    int digits = money.currency().getDefaultFractionDigits();
+    // The scale of a money amount is at most the number of digits (see the Money constructor)
+    int shift = digits - amount.scale();
+    return shift < POWERS_OF_TEN.length
+        ? Math.multiplyExact(amount.unscaledValue().longValueExact(), POWERS_OF_TEN[shift])
+        : amount.movePointRight(digits).longValueExact();
+  }
+
+  private static int minorUnitDigits(Currency currency) {
+    int digits = currency.getDefaultFractionDigits();
+    if (digits < 0 || digits >= POWERS_OF_TEN.length) {
+      throw new IllegalArgumentException(
+          "Currency %s has no usable minor unit".formatted(currency));
+    }
+    return digits;
+  }
+
+  private static BigInteger unsigned(long value) {
+    BigInteger bigInteger = BigInteger.valueOf(value & Long.MAX_VALUE);
+    return value < 0 ? bigInteger.setBit(63) : bigInteger;
+  }
+}
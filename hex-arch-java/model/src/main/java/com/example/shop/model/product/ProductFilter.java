@@ -0,0 +1,43 @@
+package com.example.shop.model.product;
+
+import com.example.shop.model.money.Money;
+import java.util.Currency;
+import java.util.Optional;
+
+/**
+ * Criteria restricting a product search: an optional price range (each bound is optional and
+ * inclusive) and whether to return only products in stock.
+ *
+ * <p>A price range matches only products priced in the currency of its bounds.
+ *
+ * @author Paul Anthony Begley
+ */
+public record ProductFilter(Money minPrice, Money maxPrice, boolean inStockOnly) {
+
+  public static final ProductFilter NONE = new ProductFilter(null, null, false);
+
+  public ProductFilter {
+    if (minPrice != null && maxPrice != null) {
+      if (!minPrice.currency().equals(maxPrice.currency())) {
+        throw new IllegalArgumentException(
+            "Currencies of minimum price %s and maximum price %s don't match"
+                .formatted(minPrice.currency(), maxPrice.currency()));
+      }
+      if (minPrice.amount().compareTo(maxPrice.amount()) > 0) {
+        throw new IllegalArgumentException(
+            "Minimum price %s is greater than maximum price %s"
+                .formatted(minPrice.amount(), maxPrice.amount()));
+      }
+    }
+  }
+
+  public boolean hasPriceRange() {
+    return minPrice != null || maxPrice != null;
+  }
+
+  /** Returns the currency of the price range, if there is one. */
+  public Optional<Currency> currency() {
+    Money bound = minPrice != null ? minPrice : maxPrice;
+    return Optional.ofNullable(bound).map(Money::currency);
+  }
+}
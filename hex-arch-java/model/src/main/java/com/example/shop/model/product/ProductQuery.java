@@ -0,0 +1,95 @@
+package com.example.shop.model.product;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A search query of whole words combined with AND and OR, e.g. {@code curved monitor OR display
+ * 27}.
+ *
+ * <p>All words separated by spaces must occur in a product; {@code OR} (in upper case) separates
+ * alternatives and binds weaker, so the example matches products containing "curved" and "monitor",
+ * or "display" and "27". A word prefixed with {@code name:} or {@code description:} must occur in
+ * that field, any other word in either. Words are lower-cased and split at characters other than
+ * letters and digits, like product texts: {@code name:Wi-Fi} requires both "wi" and "fi" in the
+ * name.
+ *
+ * @param text the query as entered
+ * @param clauses the alternatives, each a list of terms that must all occur
+ * @author Paul Anthony Begley
+ */
+public record ProductQuery(String text, List<List<Term>> clauses) {
+
+  public static final int MAX_TERMS = 32;
+
+  private static final String OR = "OR";
+
+  public ProductQuery {
+    clauses = clauses.stream().map(List::copyOf).toList();
+  }
+
+  /** The field a term must occur in. */
+  public enum Field {
+    ANY,
+    NAME,
+    DESCRIPTION
+  }
+
+  /** A lower-case word that must occur in the given field. */
+  public record Term(Field field, String word) {}
+
+  /**
+   * Parses a query.
+   *
+   * @throws IllegalArgumentException if the query has no words, an {@code OR} without words on
+   *     either side, a field prefix without a word, or more than {@link #MAX_TERMS} terms
+   */
+  public static ProductQuery parse(String text) {
+    List<List<Term>> clauses = new ArrayList<>();
+    Set<Term> clause = new LinkedHashSet<>();
+    int terms = 0;
+    for (String word : text.trim().split("\\s+")) {
+      if (word.equals(OR)) {
+        addClause(clauses, clause);
+        clause = new LinkedHashSet<>();
+        continue;
+      }
+
+      Field field = Field.ANY;
+      String lowerCase = word.toLowerCase(Locale.ROOT);
+      if (lowerCase.startsWith("name:")) {
+        field = Field.NAME;
+        lowerCase = lowerCase.substring("name:".length());
+      } else if (lowerCase.startsWith("description:")) {
+        field = Field.DESCRIPTION;
+        lowerCase = lowerCase.substring("description:".length());
+      }
+
+      Set<String> tokens = Tokenizer.distinctTokens(lowerCase);
+      if (tokens.isEmpty() && field != Field.ANY) {
+        throw new IllegalArgumentException("No word after '%s'".formatted(word));
+      }
+      for (String token : tokens) {
+        clause.add(new Term(field, token));
+      }
+      terms += tokens.size();
+      if (terms > MAX_TERMS) {
+        throw new IllegalArgumentException(
+            "The query must not have more than %d terms".formatted(MAX_TERMS));
+      }
+    }
+    addClause(clauses, clause);
+    return new ProductQuery(text, clauses);
+  }
+
+  private static void addClause(List<List<Term>> clauses, Set<Term> clause) {
+    if (clause.isEmpty()) {
+      throw new IllegalArgumentException(
+          clauses.isEmpty() ? "The query has no words" : "'OR' must be followed by words");
+    }
+    clauses.add(List.copyOf(clause));
+  }
+}
@@ -0,0 +1,15 @@
+package com.example.shop.model.product;
+
+/**
+ * The order of product search results.
+ *
+ * <p>Sorting by price orders by currency first, as prices in different currencies can't be
+ * compared; equally priced products are ordered by ID.
+ *
+ * @author Paul Anthony Begley
+ */
+public enum ProductSortOrder {
+  RELEVANCE,
+  PRICE_ASCENDING,
+  PRICE_DESCENDING
+}
@@ -0,0 +1,45 @@
+package com.example.shop.model.product;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Splits lower-cased product texts into words (tokens): maximal runs of letters and digits.
+ *
+ * <p>Product texts are indexed and queries are parsed with the same rules, so that every word of a
+ * query can be found in the indexes.
+ *
+ * @author Paul Anthony Begley
+ */
+public final class Tokenizer {
+
+  private Tokenizer() {}
+
+  /** Returns the distinct tokens of the given text, in order of their first occurrence. */
+  public static Set<String> distinctTokens(String text) {
+    Set<String> tokens = new LinkedHashSet<>();
+    int start = -1;
+    for (int i = 0; i <= text.length(); i++) {
+      boolean partOfToken = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+      if (partOfToken && start < 0) {
+        start = i;
+      } else if (!partOfToken && start >= 0) {
+        tokens.add(text.substring(start, i));
+        start = -1;
+      }
+    }
+    return tokens;
+  }
+
+  /**
+   * Returns the index at which the token the given text ends with starts, or the text's length if
+   * it doesn't end with a token.
+   */
+  public static int lastTokenStart(String text) {
+    int start = text.length();
+    while (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+      start--;
+    }
+    return start;
+  }
+}
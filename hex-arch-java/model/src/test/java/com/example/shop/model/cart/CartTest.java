@@ -2,13 +2,23 @@ package com.example.shop.model.cart;
 
 import static com.example.shop.model.cart.TestCartFactory.emptyCartForRandomCustomer;
 import static com.example.shop.model.money.TestMoneyFactory.euros;
+import static com.example.shop.model.money.TestMoneyFactory.usDollars;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.assertThatNoException;
 
+import com.example.shop.model.cart.CartEvent.CartEmptied;
+import com.example.shop.model.cart.CartEvent.ProductAdded;
+import com.example.shop.model.money.ExchangeRates;
+import com.example.shop.model.money.Money;
 import com.example.shop.model.product.Product;
 import com.example.shop.model.product.TestProductFactory;
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -70,6 +80,45 @@ class CartTest {
     assertThatNoException().isThrownBy(invocation);
   }
 
+  @Test
+  void givenAProductWithAFewItemsAvailable_tryAddMoreItemsThanAvailable_returnsFalseAndLeavesCart()
+      throws NotEnoughItemsInStockException {
+    Cart cart = emptyCartForRandomCustomer();
+    Product product = TestProductFactory.createTestProduct(euros(9, 97), 3);
+    cart.addProduct(product, 2);
+    cart.markEventsCommitted();
+
+    boolean added = cart.tryAddProduct(product, 2);
+
+    assertThat(added).isFalse();
+    assertThat(cart.lineItems().get(0).quantity()).isEqualTo(2);
+    assertThat(cart.uncommittedEvents()).isEmpty();
+  }
+
+  @Test
+  void givenAProductWithAFewItemsAvailable_tryAddAllAvailableItems_addsThemAndRecordsAnEvent() {
+    Cart cart = emptyCartForRandomCustomer();
+    Product product = TestProductFactory.createTestProduct(euros(9, 97), 3);
+
+    boolean added = cart.tryAddProduct(product, 3);
+
+    assertThat(added).isTrue();
+    assertThat(cart.lineItems().get(0).product()).isEqualTo(product);
+    assertThat(cart.lineItems().get(0).quantity()).isEqualTo(3);
+    assertThat(cart.uncommittedEvents()).containsExactly(new ProductAdded(product, 3));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {-100, -1, 0})
+  void givenEmptyCart_tryAddLessThanOneItemOfAProduct_throwsException(int quantity) {
+    Cart cart = emptyCartForRandomCustomer();
+    Product product = TestProductFactory.createTestProduct(euros(1, 49));
+
+    ThrowingCallable invocation = () -> cart.tryAddProduct(product, quantity);
+
+    assertThatIllegalArgumentException().isThrownBy(invocation);
+  }
+
   @ParameterizedTest
   @ValueSource(ints = {-100, -1, 0})
   void givenEmptyCart_addLessThanOneItemOfAProduct_throwsException(int quantity) {
@@ -80,4 +129,133 @@ class CartTest {
 
     assertThatIllegalArgumentException().isThrownBy(invocation);
   }
+
+  @Test
+  void givenAddedProducts_uncommittedEvents_recordsEachAddition()
+      throws NotEnoughItemsInStockException {
+    Cart cart = emptyCartForRandomCustomer();
+    Product product = TestProductFactory.createTestProduct(euros(3, 50));
+
+    cart.addProduct(product, 2);
+    cart.addProduct(product, 1);
+
+    assertThat(cart.uncommittedEvents())
+        .containsExactly(new ProductAdded(product, 2), new ProductAdded(product, 1));
+    cart.markEventsCommitted();
+    assertThat(cart.uncommittedEvents()).isEmpty();
+  }
+
+  @Test
+  void givenASnapshotAndEvents_replay_rebuildsTheCartWithoutCheckingTheStock()
+      throws NotEnoughItemsInStockException {
+    Cart cart = emptyCartForRandomCustomer();
+    Product product1 = TestProductFactory.createTestProduct(euros(12, 99), 5);
+    Product product2 = TestProductFactory.createTestProduct(euros(5, 97), 1);
+    cart.addProduct(product1, 3);
+
+    Cart replayedCart =
+        Cart.replay(
+            cart.id(),
+            cart.lineItems(),
+            List.of(
+                new ProductAdded(product1, 4), new CartEmptied(), new ProductAdded(product2, 2)));
+
+    assertThat(replayedCart.lineItems()).hasSize(1);
+    assertThat(replayedCart.lineItems().get(0).product()).isEqualTo(product2);
+    assertThat(replayedCart.lineItems().get(0).quantity()).isEqualTo(2);
+    assertThat(replayedCart.uncommittedEvents()).isEmpty();
+    assertThat(cart.lineItems().get(0).quantity()).isEqualTo(3);
+  }
+
+  @Test
+  void givenAProductAddedAgainAtAnotherPrice_replay_showsTheSamePricesAsTheLiveCart()
+      throws NotEnoughItemsInStockException {
+    Cart cart = emptyCartForRandomCustomer();
+    Product product = TestProductFactory.createTestProduct(euros(10, 0));
+    Product repricedProduct =
+        new Product(product.id(), product.name(), product.description(), euros(12, 0), 100);
+    cart.addProduct(product, 1);
+    cart.addProduct(repricedProduct, 2);
+
+    Cart replayedCart = Cart.replay(cart.id(), List.of(), cart.uncommittedEvents());
+
+    assertThat(replayedCart.lineItems())
+        .usingRecursiveFieldByFieldElementComparator()
+        .isEqualTo(cart.lineItems());
+    assertThat(replayedCart.subTotal()).isEqualTo(cart.subTotal()).isEqualTo(euros(30, 0));
+  }
+
+  @Test
+  void givenAProductChangedAfterItWasAdded_uncommittedEvents_keepTheProductAsItWasAdded() {
+    Cart cart = emptyCartForRandomCustomer();
+    Product product = TestProductFactory.createTestProduct(euros(10, 0));
+    cart.tryAddProduct(product, 1);
+
+    product.price(euros(99, 0));
+    ((ProductAdded) cart.uncommittedEvents().get(0)).product().price(euros(98, 0));
+
+    ProductAdded event = (ProductAdded) cart.uncommittedEvents().get(0);
+    assertThat(event.product().price()).isEqualTo(euros(10, 0));
+  }
+
+  @Test
+  void givenManyProducts_addEachTwice_keepsOneLineItemPerProductInInsertionOrder() {
+    Cart cart = emptyCartForRandomCustomer();
+    List<Product> products =
+        IntStream.range(0, Cart.INDEX_THRESHOLD * 4)
+            .mapToObj(i -> TestProductFactory.createTestProduct(euros(1, i)))
+            .toList();
+
+    products.forEach(product -> cart.tryAddProduct(product, 1));
+    products.forEach(product -> cart.tryAddProduct(product, 2));
+
+    assertThat(cart.lineItems()).extracting(CartLineItem::product).isEqualTo(products);
+    assertThat(cart.lineItems()).extracting(CartLineItem::quantity).containsOnly(3);
+    assertThat(cart.numberOfItems()).isEqualTo(products.size() * 3);
+  }
+
+  @Test
+  void givenAProductWithAFewItemsAvailable_addMoreItemsThanAvailable_leavesNoLineItemBehind() {
+    Cart cart = emptyCartForRandomCustomer();
+    Product product = TestProductFactory.createTestProduct(euros(9, 97), 3);
+
+    ThrowingCallable invocation = () -> cart.addProduct(product, 4);
+
+    assertThatExceptionOfType(NotEnoughItemsInStockException.class).isThrownBy(invocation);
+    assertThat(cart.lineItems()).isEmpty();
+    assertThat(cart.subTotal()).isNull();
+  }
+
+  @Test
+  void givenALargeSnapshot_replayWithCartEmptied_rebuildsTheCartFromTheLaterEventsOnly() {
+    Cart cart = emptyCartForRandomCustomer();
+    for (int i = 0; i <= Cart.INDEX_THRESHOLD; i++) {
+      cart.tryAddProduct(TestProductFactory.createTestProduct(euros(1, i)), 1);
+    }
+    Product product = cart.lineItems().get(0).product();
+
+    Cart replayedCart =
+        Cart.replay(
+            cart.id(),
+            cart.lineItems(),
+            List.of(new CartEmptied(), new ProductAdded(product, 2), new ProductAdded(product, 3)));
+
+    assertThat(replayedCart.lineItems()).hasSize(1);
+    assertThat(replayedCart.lineItems().get(0).quantity()).isEqualTo(5);
+  }
+
+  @Test
+  void givenProductsInDifferentCurrencies_subTotalInACurrency_convertsAndAddsThem() {
+    Cart cart = emptyCartForRandomCustomer();
+    cart.tryAddProduct(TestProductFactory.createTestProduct(euros(10, 0)), 2);
+    cart.tryAddProduct(TestProductFactory.createTestProduct(usDollars(5, 42)), 1);
+    ExchangeRates rates =
+        ExchangeRates.of(
+            Currency.getInstance("EUR"),
+            Map.of(Currency.getInstance("USD"), new BigDecimal("1.0842")));
+
+    Money subTotal = cart.subTotal(Currency.getInstance("USD"), rates);
+
+    assertThat(subTotal).isEqualTo(usDollars(27, 10)); // 21.684 + 5.42 = 27.104
+  }
 }
@@ -0,0 +1,102 @@
+package com.example.shop.model.money;
+
+import static com.example.shop.model.money.TestMoneyFactory.euros;
+import static com.example.shop.model.money.TestMoneyFactory.usDollars;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Map;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.Test;
+
+class ExchangeRatesTest {
+
+  private static final Currency EUR = Currency.getInstance("EUR");
+  private static final Currency USD = Currency.getInstance("USD");
+  private static final Currency GBP = Currency.getInstance("GBP");
+  private static final Currency JPY = Currency.getInstance("JPY");
+
+  private static final ExchangeRates RATES =
+      ExchangeRates.of(
+          EUR,
+          Map.of(
+              USD, new BigDecimal("1.0842"),
+              GBP, new BigDecimal("0.8571"),
+              JPY, new BigDecimal("160.5")));
+
+  @Test
+  void givenAmountsInTheTargetCurrency_sum_addsThemExactly() {
+    Money total = RATES.sum(EUR).add(euros(19, 99), 3).add(euros(0, 1), 1).total();
+
+    assertThat(total).isEqualTo(euros(59, 98));
+  }
+
+  @Test
+  void givenAnAmountInTheBaseCurrency_convert_multipliesByTheRateAndRoundsToTheMinorUnit() {
+    assertThat(RATES.convert(euros(10, 0), USD)).isEqualTo(usDollars(10, 84));
+    assertThat(RATES.convert(euros(1, 99), JPY)).isEqualTo(new Money(JPY, new BigDecimal("319")));
+  }
+
+  @Test
+  void givenAnAmountInAnotherCurrency_convert_usesTheCrossRate() {
+    // 100 USD * 0.8571 / 1.0842 = 79.0537... GBP
+    assertThat(RATES.convert(usDollars(100, 0), GBP))
+        .isEqualTo(new Money(GBP, new BigDecimal("79.05")));
+    assertThat(RATES.convert(usDollars(10, 84), EUR)).isEqualTo(euros(10, 0));
+  }
+
+  @Test
+  void givenExactlyHalfAMinorUnit_convert_roundsHalfEven() {
+    ExchangeRates rates = ExchangeRates.of(EUR, Map.of(USD, new BigDecimal("1.005")));
+
+    assertThat(rates.convert(euros(1, 0), USD)).isEqualTo(usDollars(1, 0)); // 1.005
+    assertThat(rates.convert(euros(3, 0), USD)).isEqualTo(usDollars(3, 2)); // 3.015
+  }
+
+  @Test
+  void givenSeveralAmounts_sum_roundsOnlyTheTotal() {
+    ExchangeRates rates = ExchangeRates.of(EUR, Map.of(USD, new BigDecimal("1.5")));
+
+    Money total =
+        rates.sum(USD).add(euros(0, 1), 1).add(euros(0, 1), 1).add(euros(0, 1), 1).total();
+
+    // Each amount is 0.015 USD and would be rounded to 0.02; the sum of 0.045 is rounded to 0.04
+    assertThat(total).isEqualTo(usDollars(0, 4));
+  }
+
+  @Test
+  void givenTwoSums_add_combinesThemBeforeRounding() {
+    ExchangeRates rates = ExchangeRates.of(EUR, Map.of(USD, new BigDecimal("1.5")));
+    ExchangeRates.Sum otherSum = rates.sum(USD).add(euros(0, 1), 1);
+
+    Money total = rates.sum(USD).add(euros(0, 1), 2).add(otherSum).total();
+
+    assertThat(total).isEqualTo(usDollars(0, 4));
+  }
+
+  @Test
+  void givenATotalBeyondTheFastPath_sum_convertsItExactly() {
+    Money total = RATES.sum(USD).add(euros(1_000_000, 0), 1_000).total();
+
+    assertThat(total).isEqualTo(new Money(USD, new BigDecimal("1084200000.00")));
+  }
+
+  @Test
+  void givenACurrencyWithoutRate_sum_throwsAnIllegalArgumentException() {
+    ExchangeRates.Sum sum = RATES.sum(EUR);
+    Money swissFrancs = new Money(Currency.getInstance("CHF"), new BigDecimal("1.00"));
+
+    ThrowingCallable invocation = () -> sum.add(swissFrancs, 1);
+
+    assertThatIllegalArgumentException().isThrownBy(invocation);
+  }
+
+  @Test
+  void givenANonPositiveRate_of_throwsAnIllegalArgumentException() {
+    ThrowingCallable invocation = () -> ExchangeRates.of(EUR, Map.of(USD, BigDecimal.ZERO));
+
+    assertThatIllegalArgumentException().isThrownBy(invocation);
+  }
+}
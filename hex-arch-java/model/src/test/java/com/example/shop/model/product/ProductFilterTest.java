@@ -0,0 +1,41 @@
+package com.example.shop.model.product;
+
+import static com.example.shop.model.money.TestMoneyFactory.euros;
+import static com.example.shop.model.money.TestMoneyFactory.usDollars;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.Currency;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.Test;
+
+class ProductFilterTest {
+
+  @Test
+  void givenBoundsInDifferentCurrencies_newProductFilter_throwsIllegalArgumentException() {
+    ThrowingCallable invocation = () -> new ProductFilter(euros(10, 0), usDollars(20, 0), false);
+
+    assertThatIllegalArgumentException().isThrownBy(invocation);
+  }
+
+  @Test
+  void givenAMinimumGreaterThanTheMaximum_newProductFilter_throwsIllegalArgumentException() {
+    ThrowingCallable invocation = () -> new ProductFilter(euros(20, 0), euros(10, 0), false);
+
+    assertThatIllegalArgumentException().isThrownBy(invocation);
+  }
+
+  @Test
+  void givenOnlyAMaximumPrice_currency_returnsItsCurrency() {
+    ProductFilter filter = new ProductFilter(null, euros(10, 0), true);
+
+    assertThat(filter.hasPriceRange()).isTrue();
+    assertThat(filter.currency()).contains(Currency.getInstance("EUR"));
+  }
+
+  @Test
+  void givenNoPriceRange_currency_returnsEmpty() {
+    assertThat(ProductFilter.NONE.hasPriceRange()).isFalse();
+    assertThat(ProductFilter.NONE.currency()).isEmpty();
+  }
+}
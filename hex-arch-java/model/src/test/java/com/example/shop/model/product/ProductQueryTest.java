@@ -0,0 +1,45 @@
+package com.example.shop.model.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import com.example.shop.model.product.ProductQuery.Field;
+import com.example.shop.model.product.ProductQuery.Term;
+import java.util.List;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.Test;
+
+class ProductQueryTest {
+
+  @Test
+  void givenWordsAndOr_parse_returnsAlternativesOfWordsThatMustAllOccur() {
+    ProductQuery query = ProductQuery.parse("Curved monitor  OR display 27");
+
+    assertThat(query.clauses())
+        .containsExactly(
+            List.of(new Term(Field.ANY, "curved"), new Term(Field.ANY, "monitor")),
+            List.of(new Term(Field.ANY, "display"), new Term(Field.ANY, "27")));
+  }
+
+  @Test
+  void givenFieldPrefixesAndPunctuation_parse_splitsWordsAndScopesAllOfThemToTheField() {
+    ProductQuery query = ProductQuery.parse("name:Wi-Fi description:router or");
+
+    assertThat(query.clauses())
+        .containsExactly(
+            List.of(
+                new Term(Field.NAME, "wi"),
+                new Term(Field.NAME, "fi"),
+                new Term(Field.DESCRIPTION, "router"),
+                new Term(Field.ANY, "or")));
+  }
+
+  @Test
+  void givenNoWordsOrADanglingOr_parse_throwsAnIllegalArgumentException() {
+    for (String text : List.of("", " - ", "monitor OR", "OR monitor", "a OR OR b", "name:")) {
+      ThrowingCallable invocation = () -> ProductQuery.parse(text);
+
+      assertThatIllegalArgumentException().as(text).isThrownBy(invocation);
+    }
+  }
+}
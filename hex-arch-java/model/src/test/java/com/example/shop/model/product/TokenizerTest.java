@@ -0,0 +1,23 @@
+package com.example.shop.model.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TokenizerTest {
+
+  @Test
+  void
+      givenATextWithSeparatorsAndRepeatedWords_distinctTokens_returnsEachRunOfLettersAndDigitsOnce() {
+    assertThat(Tokenizer.distinctTokens("27-inch usb-c\tusb hub, 27 ports"))
+        .containsExactly("27", "inch", "usb", "c", "hub", "ports");
+  }
+
+  @Test
+  void givenTextsEndingWithAndWithoutAToken_lastTokenStart_returnsWhereTheLastTokenStarts() {
+    assertThat(Tokenizer.lastTokenStart("usb-c")).isEqualTo(4);
+    assertThat(Tokenizer.lastTokenStart("hub")).isZero();
+    assertThat(Tokenizer.lastTokenStart("usb-")).isEqualTo(4);
+    assertThat(Tokenizer.lastTokenStart("")).isZero();
+  }
+}